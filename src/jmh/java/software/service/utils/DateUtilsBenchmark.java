@@ -0,0 +1,97 @@
+package software.service.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Confronta i parser di DateUtils basati su DateTimeFormatter con quelli veloci,
+ * su un milione di stringhe di cui una parte non valida (come in un'importazione reale).
+ *
+ * Esecuzione: mvn -Pbenchmark test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateUtilsBenchmark {
+    private static final int INPUTS = 1_000_000;
+
+    /** Percentuale di input non validi */
+    @Param({"0", "10", "50"})
+    private int percentualeErrori;
+
+    private String[] date;
+    private String[] orari;
+
+    @Setup
+    public void prepara() {
+        Random random = new Random(42);
+        date = new String[INPUTS];
+        orari = new String[INPUTS];
+        LocalDate base = LocalDate.of(2000, 1, 1);
+        for (int i = 0; i < INPUTS; i++) {
+            boolean errato = random.nextInt(100) < percentualeErrori;
+            date[i] = errato ? "3x/02/2024" : DateUtils.formatDate(base.plusDays(random.nextInt(20_000)));
+            orari[i] = errato ? "25:61" : DateUtils.formatTime(LocalTime.of(random.nextInt(24), random.nextInt(60)));
+        }
+    }
+
+    @Benchmark
+    public void parseDate(Blackhole blackhole) {
+        for (String data : date) {
+            blackhole.consume(DateUtils.parseDate(data));
+        }
+    }
+
+    @Benchmark
+    public void parseEpochDay(Blackhole blackhole) {
+        for (String data : date) {
+            blackhole.consume(DateUtils.parseEpochDay(data));
+        }
+    }
+
+    @Benchmark
+    public void parseTime(Blackhole blackhole) {
+        for (String orario : orari) {
+            blackhole.consume(DateUtils.parseTime(orario));
+        }
+    }
+
+    @Benchmark
+    public void parseMinuteOfDay(Blackhole blackhole) {
+        for (String orario : orari) {
+            blackhole.consume(DateUtils.parseMinuteOfDay(orario));
+        }
+    }
+
+    @Benchmark
+    public void getDatesBetween(Blackhole blackhole) {
+        for (LocalDate data : DateUtils.getDatesBetween(LocalDate.of(2000, 1, 1), LocalDate.of(2999, 12, 31))) {
+            blackhole.consume(data);
+        }
+    }
+
+    @Benchmark
+    public void datesBetween(Blackhole blackhole) {
+        for (LocalDate data : DateUtils.datesBetween(LocalDate.of(2000, 1, 1), LocalDate.of(2999, 12, 31))) {
+            blackhole.consume(data);
+        }
+    }
+}
@@ -1,10 +1,23 @@
 package software;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.stage.Stage;
@@ -14,73 +27,148 @@ import software.service.EventoService;
 import software.service.MenuService;
 import software.service.RicettaService;
 import software.service.UtenteService;
+import software.service.pubblicazione.PubblicatoreMenu;
 import software.ui.controllers.CompitiCucinaController;
 import software.ui.controllers.MenuController;
 import software.ui.controllers.RicettaController;
 
 public class Main extends Application {
+    private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+    
+    // Un solo thread: servizi e viste vengono preparati in ordine, a partire dalla tab visibile
+    private final ExecutorService caricamento = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "caricamento-viste");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     private MenuService menuService;
     private CompitoCucinaService compitoCucinaService;
     private EventoService eventoService;
     private RicettaService ricettaService;
     private UtenteService utenteService;
+    private PubblicatoreMenu pubblicatoreMenu;
     private Chef chefCorrente;
     
     @Override
     public void start(Stage primaryStage) {
-        // Inizializza i servizi
-        inizializzaServizi();
+        long avvio = System.nanoTime();
+        
+        // Crea il TabPane principale con le tab ancora vuote
+        TabPane tabPane = new TabPane();
+        Tab menuTab = creaTab("Gestione menu");
+        Tab compitiTab = creaTab("Gestione Compiti Cucina");
+        Tab ricetteTab = creaTab("Gestione Ricette");
+        tabPane.getTabs().addAll(menuTab, compitiTab, ricetteTab);
+        
+        // Mostra subito la finestra
+        Scene scene = new Scene(tabPane, 900, 700);
+        misuraPrimoFrame(scene, avvio);
+        primaryStage.setTitle("Sistema Gestione Catering");
+        primaryStage.setScene(scene);
+        primaryStage.show();
         
+        // Servizi, dati di esempio e viste vengono preparati in background;
+        // ogni vista viene agganciata alla sua tab appena è pronta, ma resta disabilitata
+        // finché tutte le viste non sono caricate
+        CompletableFuture<Void> servizi = CompletableFuture.runAsync(this::inizializzaServizi, caricamento);
+        CompletableFuture<Parent> menu = caricaVista(servizi, "/software/ui/views/menu-view.fxml",
+            () -> new MenuController(menuService, ricettaService, chefCorrente));
+        CompletableFuture<Parent> compiti = caricaVista(menu, "/software/ui/views/compiti-cucina-view.fxml",
+            () -> new CompitiCucinaController(
+                compitoCucinaService, eventoService, utenteService, ricettaService, chefCorrente));
+        CompletableFuture<Parent> ricette = caricaVista(compiti, "/software/ui/views/ricette-view.fxml",
+            () -> new RicettaController(ricettaService, chefCorrente));
+        CompletableFuture.allOf(
+            aggancia(menu, menuTab, avvio),
+            aggancia(compiti, compitiTab, avvio),
+            aggancia(ricette, ricetteTab, avvio)
+        ).whenCompleteAsync((v, errore) -> {
+            tabPane.getTabs().forEach(tab -> tab.getContent().setDisable(false));
+            LOGGER.info(() -> String.format("Viste abilitate dopo %d ms", millisecondiDa(avvio)));
+        }, Platform::runLater);
+    }
+    
+    @Override
+    public void stop() throws InterruptedException {
+        caricamento.shutdownNow();
+        caricamento.awaitTermination(1, TimeUnit.SECONDS);
+        if (pubblicatoreMenu != null) {
+            pubblicatoreMenu.chiudi();
+        }
+    }
+    
+    private Tab creaTab(String titolo) {
+        Tab tab = new Tab(titolo, new ProgressIndicator());
+        tab.setClosable(false);
+        return tab;
+    }
+    
+    /**
+     * Carica una vista sul thread di caricamento, dopo il passo precedente.
+     * I nodi possono essere creati fuori dal thread JavaFX finché non fanno parte di una scena visibile.
+     */
+    private CompletableFuture<Parent> caricaVista(CompletableFuture<?> precedente, String risorsa,
+                                                  Supplier<Object> controller) {
+        return precedente.thenApplyAsync(v -> carica(risorsa, controller.get()), caricamento);
+    }
+    
+    /**
+     * Aggancia la vista alla tab sul thread JavaFX, disabilitata: l'initialize dei controller
+     * delle viste successive legge i servizi dal thread di caricamento, quindi l'utente non
+     * deve poterli modificare finché il caricamento non è finito.
+     * @return L'aggancio, completato sul thread JavaFX
+     */
+    private CompletableFuture<Void> aggancia(CompletableFuture<Parent> vista, Tab tab, long avvio) {
+        return vista.handleAsync((contenuto, errore) -> {
+            if (errore != null) {
+                LOGGER.log(Level.SEVERE, "Impossibile caricare " + tab.getText(), errore);
+                tab.setContent(new Label("Impossibile caricare la vista: " + errore.getMessage()));
+                return null;
+            }
+            contenuto.setDisable(true);
+            tab.setContent(contenuto);
+            LOGGER.info(() -> String.format("%s pronta dopo %d ms", tab.getText(), millisecondiDa(avvio)));
+            return null;
+        }, Platform::runLater);
+    }
+    
+    private Parent carica(String risorsa, Object controller) {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(risorsa));
+        loader.setController(controller);
         try {
-            // Crea il TabPane principale
-            TabPane tabPane = new TabPane();
-            
-            // Carica la vista per la gestione dei menu
-            FXMLLoader menuLoader = new FXMLLoader(getClass().getResource("/software/ui/views/menu-view.fxml"));
-            MenuController menuController = new MenuController(menuService, ricettaService, chefCorrente);
-            menuLoader.setController(menuController);
-            Tab menuTab = new Tab("Gestione menu");
-            menuTab.setContent(menuLoader.load());
-            menuTab.setClosable(false);
-            
-            // Carica la vista per la gestione dei compiti di cucina
-            FXMLLoader compitiLoader = new FXMLLoader(getClass().getResource("/software/ui/views/compiti-cucina-view.fxml"));
-            CompitiCucinaController compitiController = new CompitiCucinaController(
-                compitoCucinaService, eventoService, utenteService, ricettaService, chefCorrente);
-            compitiLoader.setController(compitiController);
-            Tab compitiTab = new Tab("Gestione Compiti Cucina");
-            compitiTab.setContent(compitiLoader.load());
-            compitiTab.setClosable(false);
-            
-            // Carica la vista per la gestione delle ricette
-            FXMLLoader ricetteLoader = new FXMLLoader(getClass().getResource("/software/ui/views/ricette-view.fxml"));
-            RicettaController ricetteController = new RicettaController(ricettaService, chefCorrente);
-            ricetteLoader.setController(ricetteController);
-            Tab ricetteTab = new Tab("Gestione Ricette");
-            ricetteTab.setContent(ricetteLoader.load());
-            ricetteTab.setClosable(false);
-            
-            // Aggiungi le tab al TabPane
-            tabPane.getTabs().addAll(menuTab, compitiTab, ricetteTab);
-            
-            // Crea la scena
-            Scene scene = new Scene(tabPane, 900, 700);
-            primaryStage.setTitle("Sistema Gestione Catering");
-            primaryStage.setScene(scene);
-            primaryStage.show();
-            
+            return loader.load();
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new UncheckedIOException(e);
         }
     }
     
+    /**
+     * Registra il tempo tra l'avvio e il primo impulso di rendering della scena.
+     */
+    private void misuraPrimoFrame(Scene scene, long avvio) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                LOGGER.info(() -> String.format("Primo frame dopo %d ms", millisecondiDa(avvio)));
+            }
+        });
+    }
+    
+    private static long millisecondiDa(long avvio) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - avvio);
+    }
+    
     private void inizializzaServizi() {
         // Crea i servizi
         menuService = new MenuService();
+        pubblicatoreMenu = new PubblicatoreMenu(Paths.get(System.getProperty("user.home"), "catering", "pubblicazioni"));
+        menuService.setPubblicatore(pubblicatoreMenu);
         compitoCucinaService = new CompitoCucinaService();
         eventoService = new EventoService();
         ricettaService = new RicettaService();
+        menuService.setOsservatoreUsoRicette(ricettaService::usoCambiato);
         utenteService = new UtenteService();
         
         // Crea lo chef corrente (utente di esempio)
@@ -96,4 +184,4 @@ public class Main extends Application {
     public static void main(String[] args) {
         launch(args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package software.domain.compiti;
+
+import software.domain.utenti.Cuoco;
+
+/**
+ * Richiesta di assegnazione di un compito a un cuoco in un turno.
+ * Usata per assegnare più compiti in un'unica operazione.
+ */
+public class AssegnazioneCompito {
+    private final int idCompito;
+    private final Cuoco cuoco;
+    private final String turno;
+    private final int durata; // durata in minuti
+    private final int quantita;
+    
+    public AssegnazioneCompito(int idCompito, Cuoco cuoco, String turno, int durata, int quantita) {
+        this.idCompito = idCompito;
+        this.cuoco = cuoco;
+        this.turno = turno;
+        this.durata = durata;
+        this.quantita = quantita;
+    }
+    
+    public int getIdCompito() {
+        return idCompito;
+    }
+    
+    public Cuoco getCuoco() {
+        return cuoco;
+    }
+    
+    public String getTurno() {
+        return turno;
+    }
+    
+    public int getDurata() {
+        return durata;
+    }
+    
+    public int getQuantita() {
+        return quantita;
+    }
+    
+    @Override
+    public String toString() {
+        return "Compito " + idCompito + " -> " + (cuoco != null ? cuoco.getNome() : "nessun cuoco") + " (" + turno + ")";
+    }
+}
@@ -2,7 +2,14 @@ package software.domain.compiti;
 
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Cuoco;
-import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Rappresenta un compito di cucina.
@@ -15,8 +22,11 @@ public class Compito {
     private String turno;
     private int durata; // durata in minuti
     private int quantita;
-    private String stato = "Da iniziare";
+    private StatoCompito stato = StatoCompito.DA_INIZIARE;
     private int importanza = 1; // 1-5, dove 5 è la massima importanza
+    private final List<Compito> dipendenze = new ArrayList<>(); // compiti da completare prima di questo
+    private List<CompitoListener> listeners; // creata solo se qualcuno osserva il compito
+    private ReadOnlyStringWrapper etichettaStato; // creata solo se l'interfaccia mostra lo stato
     
     public Compito(int id, Ricetta ricetta, Cuoco cuocoAssegnato, String turno, int durata, int quantita) {
         this.id = id;
@@ -51,17 +61,35 @@ public class Compito {
         return quantita;
     }
     
-    public String getStato() {
+    public StatoCompito getStato() {
         return stato;
     }
     
-    public void setStato(String stato) {
+    public void setStato(StatoCompito stato) {
+        if (stato == null) {
+            throw new IllegalArgumentException("Lo stato del compito non può essere nullo");
+        }
+        StatoCompito vecchioStato = this.stato;
         this.stato = stato;
+        if (etichettaStato != null) {
+            etichettaStato.set(stato.getEtichetta());
+        }
+        if (listeners != null && vecchioStato != stato) {
+            for (CompitoListener listener : listeners) {
+                listener.statoCambiato(this, vecchioStato, stato);
+            }
+        }
     }
     
-    // Metodo di supporto per JavaFX binding
-    public SimpleStringProperty statoProperty() {
-        return new SimpleStringProperty(stato);
+    /**
+     * Restituisce l'etichetta dello stato come proprietà osservabile, per le celle delle tabelle.
+     * La proprietà è creata alla prima richiesta ed è aggiornata da {@link #setStato}.
+     */
+    public ReadOnlyStringProperty statoProperty() {
+        if (etichettaStato == null) {
+            etichettaStato = new ReadOnlyStringWrapper(this, "stato", stato.getEtichetta());
+        }
+        return etichettaStato.getReadOnlyProperty();
     }
     
     public int getImportanza() {
@@ -72,7 +100,13 @@ public class Compito {
         if (importanza < 1 || importanza > 5) {
             throw new IllegalArgumentException("L'importanza deve essere tra 1 e 5");
         }
+        int vecchiaImportanza = this.importanza;
         this.importanza = importanza;
+        if (listeners != null && vecchiaImportanza != importanza) {
+            for (CompitoListener listener : listeners) {
+                listener.importanzaCambiata(this, vecchiaImportanza, importanza);
+            }
+        }
     }
     
     public void setDurata(int durata) {
@@ -84,11 +118,73 @@ public class Compito {
     }
     
     public void setCuocoAssegnato(Cuoco cuocoAssegnato) {
+        Cuoco vecchioCuoco = this.cuocoAssegnato;
         this.cuocoAssegnato = cuocoAssegnato;
+        if (listeners != null && !Objects.equals(vecchioCuoco, cuocoAssegnato)) {
+            for (CompitoListener listener : listeners) {
+                listener.cuocoCambiato(this, vecchioCuoco, cuocoAssegnato);
+            }
+        }
     }
     
     public void setTurno(String turno) {
+        String vecchioTurno = this.turno;
         this.turno = turno;
+        if (listeners != null && !Objects.equals(vecchioTurno, turno)) {
+            for (CompitoListener listener : listeners) {
+                listener.turnoCambiato(this, vecchioTurno, turno);
+            }
+        }
+    }
+    
+    /**
+     * Aggiunge un compito che deve essere completato prima di questo
+     * (es. il brodo prima del risotto).
+     * @param compito Il compito propedeutico
+     */
+    public void aggiungiDipendenza(Compito compito) {
+        if (compito == null || compito.equals(this)) {
+            throw new IllegalArgumentException("Un compito non può dipendere da se stesso");
+        }
+        if (!dipendenze.contains(compito)) {
+            dipendenze.add(compito);
+        }
+    }
+    
+    public void rimuoviDipendenza(Compito compito) {
+        dipendenze.remove(compito);
+    }
+    
+    public List<Compito> getDipendenze() {
+        return Collections.unmodifiableList(dipendenze);
+    }
+    
+    /**
+     * Crea una copia indipendente del compito, senza osservatori.
+     * Le dipendenze fanno riferimento agli stessi compiti dell'originale.
+     */
+    public Compito copia() {
+        Compito copia = new Compito(id, ricetta, cuocoAssegnato, turno, durata, quantita);
+        copia.stato = stato;
+        copia.importanza = importanza;
+        copia.dipendenze.addAll(dipendenze);
+        return copia;
+    }
+    
+    /**
+     * Registra un osservatore delle modifiche al compito.
+     */
+    public void aggiungiListener(CompitoListener listener) {
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+        }
+        listeners.add(listener);
+    }
+    
+    public void rimuoviListener(CompitoListener listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
     }
     
     // Alias per compatibilità con il vecchio codice
@@ -98,7 +194,7 @@ public class Compito {
     
     // Metodi per la compatibilità con il vecchio Controller
     public void aggiornaStato(String nuovoStato) {
-        setStato(nuovoStato);
+        setStato(StatoCompito.daEtichetta(nuovoStato));
     }
     
     public void registraFeedback(String feedback) {
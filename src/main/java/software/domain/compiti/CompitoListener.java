@@ -0,0 +1,35 @@
+package software.domain.compiti;
+
+import software.domain.utenti.Cuoco;
+
+/**
+ * Osservatore delle modifiche a un {@link Compito}.
+ * Permette ai servizi di mantenere aggiornate le proprie strutture
+ * senza dover riesaminare tutti i compiti a ogni cambiamento.
+ */
+public interface CompitoListener {
+    
+    /**
+     * Invocato quando cambia lo stato del compito.
+     */
+    default void statoCambiato(Compito compito, StatoCompito vecchioStato, StatoCompito nuovoStato) {
+    }
+    
+    /**
+     * Invocato quando cambia l'importanza del compito.
+     */
+    default void importanzaCambiata(Compito compito, int vecchiaImportanza, int nuovaImportanza) {
+    }
+    
+    /**
+     * Invocato quando il compito viene spostato in un altro turno.
+     */
+    default void turnoCambiato(Compito compito, String vecchioTurno, String nuovoTurno) {
+    }
+    
+    /**
+     * Invocato quando il compito viene assegnato a un altro cuoco.
+     */
+    default void cuocoCambiato(Compito compito, Cuoco vecchioCuoco, Cuoco nuovoCuoco) {
+    }
+}
@@ -4,38 +4,97 @@ import javafx.beans.property.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
+/**
+ * Disponibilità di un cuoco in una fascia oraria.
+ * Le proprietà JavaFX vengono create alla prima richiesta.
+ */
 public class Disponibilita {
-    private final IntegerProperty id = new SimpleIntegerProperty();
-    private final ObjectProperty<LocalDate> data = new SimpleObjectProperty<>();
-    private final ObjectProperty<LocalTime> oraInizio = new SimpleObjectProperty<>();
-    private final ObjectProperty<LocalTime> oraFine = new SimpleObjectProperty<>();
-    private final BooleanProperty confermata = new SimpleBooleanProperty(false);
-    private final BooleanProperty ritirata = new SimpleBooleanProperty(false);
+    private int id;
+    private LocalDate data;
+    private LocalTime oraInizio;
+    private LocalTime oraFine;
+    private boolean confermata;
+    private boolean ritirata;
+
+    // Proprietà JavaFX, create solo se richieste
+    private IntegerProperty idProperty;
+    private ObjectProperty<LocalDate> dataProperty;
+    private ObjectProperty<LocalTime> oraInizioProperty;
+    private ObjectProperty<LocalTime> oraFineProperty;
+    private BooleanProperty confermataProperty;
+    private BooleanProperty ritirataProperty;
 
     public Disponibilita(int id, LocalDate data, LocalTime oraInizio, LocalTime oraFine) {
-        this.id.set(id);
-        this.data.set(data);
-        this.oraInizio.set(oraInizio);
-        this.oraFine.set(oraFine);
-    }
-
-    // Getters per proprietà JavaFX
-    public IntegerProperty idProperty() { return id; }
-    public ObjectProperty<LocalDate> dataProperty() { return data; }
-    public ObjectProperty<LocalTime> oraInizioProperty() { return oraInizio; }
-    public ObjectProperty<LocalTime> oraFineProperty() { return oraFine; }
-    public BooleanProperty confermataProperty() { return confermata; }
-    public BooleanProperty ritirataProperty() { return ritirata; }
+        this.id = id;
+        this.data = data;
+        this.oraInizio = oraInizio;
+        this.oraFine = oraFine;
+    }
+
+    // Proprietà JavaFX
+    public IntegerProperty idProperty() {
+        if (idProperty == null) {
+            idProperty = new SimpleIntegerProperty(this, "id", id);
+        }
+        return idProperty;
+    }
+
+    public ObjectProperty<LocalDate> dataProperty() {
+        if (dataProperty == null) {
+            dataProperty = new SimpleObjectProperty<>(this, "data", data);
+        }
+        return dataProperty;
+    }
+
+    public ObjectProperty<LocalTime> oraInizioProperty() {
+        if (oraInizioProperty == null) {
+            oraInizioProperty = new SimpleObjectProperty<>(this, "oraInizio", oraInizio);
+        }
+        return oraInizioProperty;
+    }
+
+    public ObjectProperty<LocalTime> oraFineProperty() {
+        if (oraFineProperty == null) {
+            oraFineProperty = new SimpleObjectProperty<>(this, "oraFine", oraFine);
+        }
+        return oraFineProperty;
+    }
+
+    public BooleanProperty confermataProperty() {
+        if (confermataProperty == null) {
+            confermataProperty = new SimpleBooleanProperty(this, "confermata", confermata);
+        }
+        return confermataProperty;
+    }
+
+    public BooleanProperty ritirataProperty() {
+        if (ritirataProperty == null) {
+            ritirataProperty = new SimpleBooleanProperty(this, "ritirata", ritirata);
+        }
+        return ritirataProperty;
+    }
     
     // Getters standard
-    public int getId() { return id.get(); }
-    public LocalDate getData() { return data.get(); }
-    public LocalTime getOraInizio() { return oraInizio.get(); }
-    public LocalTime getOraFine() { return oraFine.get(); }
-    public boolean isConfermata() { return confermata.get(); }
-    public boolean isRitirata() { return ritirata.get(); }
+    public int getId() { return idProperty != null ? idProperty.get() : id; }
+    public LocalDate getData() { return dataProperty != null ? dataProperty.get() : data; }
+    public LocalTime getOraInizio() { return oraInizioProperty != null ? oraInizioProperty.get() : oraInizio; }
+    public LocalTime getOraFine() { return oraFineProperty != null ? oraFineProperty.get() : oraFine; }
+    public boolean isConfermata() { return confermataProperty != null ? confermataProperty.get() : confermata; }
+    public boolean isRitirata() { return ritirataProperty != null ? ritirataProperty.get() : ritirata; }
     
     // Setters
-    public void setConfermata(boolean confermata) { this.confermata.set(confermata); }
-    public void setRitirata(boolean ritirata) { this.ritirata.set(ritirata); }
-}
\ No newline at end of file
+    public void setConfermata(boolean confermata) {
+        if (confermataProperty != null) {
+            confermataProperty.set(confermata);
+        } else {
+            this.confermata = confermata;
+        }
+    }
+    public void setRitirata(boolean ritirata) {
+        if (ritirataProperty != null) {
+            ritirataProperty.set(ritirata);
+        } else {
+            this.ritirata = ritirata;
+        }
+    }
+}
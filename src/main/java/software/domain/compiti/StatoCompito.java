@@ -0,0 +1,56 @@
+package software.domain.compiti;
+
+/**
+ * Stati possibili di un compito di cucina.
+ */
+public enum StatoCompito {
+    DA_INIZIARE("Da iniziare"),
+    PIANIFICATO("Pianificato"),
+    IN_CORSO("In corso"),
+    COMPLETATO("Completato"),
+    BLOCCATO("Bloccato");
+    
+    private final String etichetta;
+    
+    StatoCompito(String etichetta) {
+        this.etichetta = etichetta;
+    }
+    
+    public String getEtichetta() {
+        return etichetta;
+    }
+    
+    /**
+     * Verifica se un compito in questo stato può ancora essere avviato.
+     */
+    public boolean isDaAvviare() {
+        return this == DA_INIZIARE || this == PIANIFICATO;
+    }
+    
+    /**
+     * Converte un'etichetta testuale nello stato corrispondente.
+     * Accetta anche la dicitura "Da fare" usata dalle versioni precedenti dell'interfaccia.
+     * @param etichetta L'etichetta da convertire (non sensibile alle maiuscole)
+     * @return Lo stato corrispondente
+     * @throws IllegalArgumentException se l'etichetta non corrisponde ad alcuno stato
+     */
+    public static StatoCompito daEtichetta(String etichetta) {
+        if (etichetta != null) {
+            String valore = etichetta.trim();
+            for (StatoCompito stato : values()) {
+                if (stato.etichetta.equalsIgnoreCase(valore)) {
+                    return stato;
+                }
+            }
+            if ("Da fare".equalsIgnoreCase(valore)) {
+                return DA_INIZIARE;
+            }
+        }
+        throw new IllegalArgumentException("Stato del compito non valido: " + etichetta);
+    }
+    
+    @Override
+    public String toString() {
+        return etichetta;
+    }
+}
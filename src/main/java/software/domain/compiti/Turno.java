@@ -4,23 +4,41 @@ import javafx.beans.property.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Turno di lavoro in cucina.
+ * Le proprietà JavaFX vengono create alla prima richiesta (es. dalle colonne della
+ * tabella dei turni) e da quel momento contengono il valore.
+ */
 public class Turno {
-    private final IntegerProperty id = new SimpleIntegerProperty();
-    private final ObjectProperty<LocalDate> data = new SimpleObjectProperty<>();
-    private final ObjectProperty<LocalTime> oraInizio = new SimpleObjectProperty<>();
-    private final ObjectProperty<LocalTime> oraFine = new SimpleObjectProperty<>();
-    private final StringProperty luogo = new SimpleStringProperty();
-    private final StringProperty tipo = new SimpleStringProperty();
-    private final BooleanProperty modificabile = new SimpleBooleanProperty(true);
+    private int id;
+    private LocalDate data;
+    private LocalTime oraInizio;
+    private LocalTime oraFine;
+    private String luogo;
+    private String tipo;
+    private boolean modificabile = true;
+
+    // Proprietà JavaFX, create solo se richieste
+    private IntegerProperty idProperty;
+    private ObjectProperty<LocalDate> dataProperty;
+    private ObjectProperty<LocalTime> oraInizioProperty;
+    private ObjectProperty<LocalTime> oraFineProperty;
+    private StringProperty luogoProperty;
+    private StringProperty tipoProperty;
+    private BooleanProperty modificabileProperty;
+    private List<TurnoListener> listeners; // creata solo se qualcuno osserva il turno
 
     public Turno(int id, LocalDate data, LocalTime oraInizio, LocalTime oraFine, String luogo, String tipo) {
-        this.id.set(id);
-        this.data.set(data);
-        this.oraInizio.set(oraInizio);
-        this.oraFine.set(oraFine);
-        this.luogo.set(luogo);
-        this.tipo.set(tipo);
+        this.id = id;
+        this.data = data;
+        this.oraInizio = oraInizio;
+        this.oraFine = oraFine;
+        this.luogo = luogo;
+        this.tipo = tipo;
     }
 
     /**
@@ -28,27 +46,129 @@ public class Turno {
      * Riferimento: UC "Gestione dei Compiti della cucina" - Estensione 5b
      */
     public void aggiornaOrario(LocalTime nuovoInizio, LocalTime nuovoFine) {
-        if (modificabile.get()) {
-            this.oraInizio.set(nuovoInizio);
-            this.oraFine.set(nuovoFine);
+        if (isModificabile()) {
+            // Con le proprietà create sono loro ad avvisare gli osservatori
+            boolean cambiato = false;
+            if (oraInizioProperty != null) {
+                oraInizioProperty.set(nuovoInizio);
+            } else if (!Objects.equals(this.oraInizio, nuovoInizio)) {
+                this.oraInizio = nuovoInizio;
+                cambiato = true;
+            }
+            if (oraFineProperty != null) {
+                oraFineProperty.set(nuovoFine);
+            } else if (!Objects.equals(this.oraFine, nuovoFine)) {
+                this.oraFine = nuovoFine;
+                cambiato = true;
+            }
+            if (cambiato) {
+                orarioCambiato();
+            }
+        }
+    }
+
+    /**
+     * Registra un osservatore dell'orario del turno.
+     */
+    public void aggiungiListener(TurnoListener listener) {
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+        }
+        listeners.add(listener);
+    }
+
+    public void rimuoviListener(TurnoListener listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    private void orarioCambiato() {
+        if (listeners != null) {
+            for (TurnoListener listener : listeners) {
+                listener.orarioCambiato(this);
+            }
+        }
+    }
+
+    // Proprietà JavaFX
+    public IntegerProperty idProperty() {
+        if (idProperty == null) {
+            idProperty = new SimpleIntegerProperty(this, "id", id);
+        }
+        return idProperty;
+    }
+
+    public ObjectProperty<LocalDate> dataProperty() {
+        if (dataProperty == null) {
+            dataProperty = new SimpleObjectProperty<>(this, "data", data) {
+                @Override
+                protected void invalidated() {
+                    orarioCambiato();
+                }
+            };
         }
+        return dataProperty;
     }
 
-    // Getters per proprietà JavaFX
-    public IntegerProperty idProperty() { return id; }
-    public ObjectProperty<LocalDate> dataProperty() { return data; }
-    public ObjectProperty<LocalTime> oraInizioProperty() { return oraInizio; }
-    public ObjectProperty<LocalTime> oraFineProperty() { return oraFine; }
-    public StringProperty luogoProperty() { return luogo; }
-    public StringProperty tipoProperty() { return tipo; }
-    public BooleanProperty modificabileProperty() { return modificabile; }
+    public ObjectProperty<LocalTime> oraInizioProperty() {
+        if (oraInizioProperty == null) {
+            oraInizioProperty = new SimpleObjectProperty<>(this, "oraInizio", oraInizio) {
+                @Override
+                protected void invalidated() {
+                    orarioCambiato();
+                }
+            };
+        }
+        return oraInizioProperty;
+    }
+
+    public ObjectProperty<LocalTime> oraFineProperty() {
+        if (oraFineProperty == null) {
+            oraFineProperty = new SimpleObjectProperty<>(this, "oraFine", oraFine) {
+                @Override
+                protected void invalidated() {
+                    orarioCambiato();
+                }
+            };
+        }
+        return oraFineProperty;
+    }
+
+    public StringProperty luogoProperty() {
+        if (luogoProperty == null) {
+            luogoProperty = new SimpleStringProperty(this, "luogo", luogo);
+        }
+        return luogoProperty;
+    }
+
+    public StringProperty tipoProperty() {
+        if (tipoProperty == null) {
+            tipoProperty = new SimpleStringProperty(this, "tipo", tipo);
+        }
+        return tipoProperty;
+    }
+
+    public BooleanProperty modificabileProperty() {
+        if (modificabileProperty == null) {
+            modificabileProperty = new SimpleBooleanProperty(this, "modificabile", modificabile);
+        }
+        return modificabileProperty;
+    }
     
     // Getters standard
-    public int getId() { return id.get(); }
-    public LocalDate getData() { return data.get(); }
-    public LocalTime getOraInizio() { return oraInizio.get(); }
-    public LocalTime getOraFine() { return oraFine.get(); }
-    public String getLuogo() { return luogo.get(); }
-    public String getTipo() { return tipo.get(); }
-    public boolean isModificabile() { return modificabile.get(); }
-}
\ No newline at end of file
+    public int getId() { return idProperty != null ? idProperty.get() : id; }
+    public LocalDate getData() { return dataProperty != null ? dataProperty.get() : data; }
+    public LocalTime getOraInizio() { return oraInizioProperty != null ? oraInizioProperty.get() : oraInizio; }
+    public LocalTime getOraFine() { return oraFineProperty != null ? oraFineProperty.get() : oraFine; }
+    public String getLuogo() { return luogoProperty != null ? luogoProperty.get() : luogo; }
+    public String getTipo() { return tipoProperty != null ? tipoProperty.get() : tipo; }
+    public boolean isModificabile() { return modificabileProperty != null ? modificabileProperty.get() : modificabile; }
+    
+    /**
+     * Restituisce l'etichetta con cui i compiti fanno riferimento al turno (es. "2025-06-07 08:00-12:00").
+     */
+    public String getEtichetta() {
+        return getData() + " " + getOraInizio() + "-" + getOraFine();
+    }
+}
@@ -0,0 +1,15 @@
+package software.domain.compiti;
+
+/**
+ * Osservatore dell'orario di un {@link Turno}.
+ * Viene avvisato sia da {@link Turno#aggiornaOrario} sia dalle proprietà JavaFX, se sono
+ * già state create, quindi osservare un turno non costringe a crearne le proprietà.
+ */
+@FunctionalInterface
+public interface TurnoListener {
+
+    /**
+     * Invocato quando cambiano la data, l'ora di inizio o l'ora di fine del turno.
+     */
+    void orarioCambiato(Turno turno);
+}
@@ -5,63 +5,256 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Evento di catering.
+ * I dati sono tenuti in campi semplici; la proprietà JavaFX di un campo viene creata
+ * alla prima richiesta (binding, listener, celle delle tabelle) e da quel momento
+ * contiene il valore. Così gli eventi che non vengono mai mostrati restano compatti.
+ */
 public class Evento {
-    private final IntegerProperty id = new SimpleIntegerProperty();
-    private final StringProperty nome = new SimpleStringProperty();
-    private final ObjectProperty<LocalDate> dataInizio = new SimpleObjectProperty<>();
-    private final ObjectProperty<LocalDate> dataFine = new SimpleObjectProperty<>();
-    private final StringProperty luogo = new SimpleStringProperty();
-    private final IntegerProperty numeroDiPersone = new SimpleIntegerProperty();
-    private final BooleanProperty ricorrente = new SimpleBooleanProperty(false);
-    private final StringProperty stato = new SimpleStringProperty("Pianificato");
-    private final StringProperty note = new SimpleStringProperty();
+    private int id;
+    private String nome;
+    private LocalDate dataInizio;
+    private LocalDate dataFine;
+    private String luogo;
+    private int numeroDiPersone;
+    private boolean ricorrente;
+    private RegolaRicorrenza regolaRicorrenza;
+    private String stato = "Pianificato";
+    private String note;
+
+    // Proprietà JavaFX, create solo se richieste
+    private IntegerProperty idProperty;
+    private StringProperty nomeProperty;
+    private ObjectProperty<LocalDate> dataInizioProperty;
+    private ObjectProperty<LocalDate> dataFineProperty;
+    private StringProperty luogoProperty;
+    private IntegerProperty numeroDiPersoneProperty;
+    private BooleanProperty ricorrenteProperty;
+    private ObjectProperty<RegolaRicorrenza> regolaRicorrenzaProperty;
+    private StringProperty statoProperty;
+    private StringProperty noteProperty;
     private final ObservableList<Servizio> servizi = FXCollections.observableArrayList();
+    private List<EventoListener> listeners; // creata solo se qualcuno osserva l'evento
 
     public Evento(int id, String nome, LocalDate dataInizio, LocalDate dataFine, 
                  String luogo, int numeroDiPersone) {
-        this.id.set(id);
-        this.nome.set(nome);
-        this.dataInizio.set(dataInizio);
-        this.dataFine.set(dataFine);
-        this.luogo.set(luogo);
-        this.numeroDiPersone.set(numeroDiPersone);
+        this.id = id;
+        this.nome = nome;
+        this.dataInizio = dataInizio;
+        this.dataFine = dataFine;
+        this.luogo = luogo;
+        this.numeroDiPersone = numeroDiPersone;
     }
 
     public void aggiungiServizio(Servizio servizio) {
         servizi.add(servizio);
     }
 
-    // Getters per proprietà JavaFX
-    public IntegerProperty idProperty() { return id; }
-    public StringProperty nomeProperty() { return nome; }
-    public ObjectProperty<LocalDate> dataInizioProperty() { return dataInizio; }
-    public ObjectProperty<LocalDate> dataFineProperty() { return dataFine; }
-    public StringProperty luogoProperty() { return luogo; }
-    public IntegerProperty numeroDiPersoneProperty() { return numeroDiPersone; }
-    public BooleanProperty ricorrenteProperty() { return ricorrente; }
-    public StringProperty statoProperty() { return stato; }
-    public StringProperty noteProperty() { return note; }
+    /**
+     * Registra un osservatore delle date dell'evento.
+     */
+    public void aggiungiListener(EventoListener listener) {
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+        }
+        listeners.add(listener);
+    }
+
+    public void rimuoviListener(EventoListener listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    private void dateCambiate() {
+        if (listeners != null) {
+            for (EventoListener listener : listeners) {
+                listener.dateCambiate(this);
+            }
+        }
+    }
+
+    // Proprietà JavaFX
+    public IntegerProperty idProperty() {
+        if (idProperty == null) {
+            idProperty = new SimpleIntegerProperty(this, "id", id);
+        }
+        return idProperty;
+    }
+
+    public StringProperty nomeProperty() {
+        if (nomeProperty == null) {
+            nomeProperty = new SimpleStringProperty(this, "nome", nome);
+        }
+        return nomeProperty;
+    }
+
+    public ObjectProperty<LocalDate> dataInizioProperty() {
+        if (dataInizioProperty == null) {
+            dataInizioProperty = new SimpleObjectProperty<>(this, "dataInizio", dataInizio) {
+                @Override
+                protected void invalidated() {
+                    dateCambiate();
+                }
+            };
+        }
+        return dataInizioProperty;
+    }
+
+    public ObjectProperty<LocalDate> dataFineProperty() {
+        if (dataFineProperty == null) {
+            dataFineProperty = new SimpleObjectProperty<>(this, "dataFine", dataFine) {
+                @Override
+                protected void invalidated() {
+                    dateCambiate();
+                }
+            };
+        }
+        return dataFineProperty;
+    }
+
+    public StringProperty luogoProperty() {
+        if (luogoProperty == null) {
+            luogoProperty = new SimpleStringProperty(this, "luogo", luogo);
+        }
+        return luogoProperty;
+    }
+
+    public IntegerProperty numeroDiPersoneProperty() {
+        if (numeroDiPersoneProperty == null) {
+            numeroDiPersoneProperty = new SimpleIntegerProperty(this, "numeroDiPersone", numeroDiPersone);
+        }
+        return numeroDiPersoneProperty;
+    }
+
+    public BooleanProperty ricorrenteProperty() {
+        if (ricorrenteProperty == null) {
+            ricorrenteProperty = new SimpleBooleanProperty(this, "ricorrente", ricorrente);
+        }
+        return ricorrenteProperty;
+    }
+
+    public ObjectProperty<RegolaRicorrenza> regolaRicorrenzaProperty() {
+        if (regolaRicorrenzaProperty == null) {
+            regolaRicorrenzaProperty = new SimpleObjectProperty<>(this, "regolaRicorrenza", regolaRicorrenza) {
+                @Override
+                protected void invalidated() {
+                    dateCambiate();
+                }
+            };
+        }
+        return regolaRicorrenzaProperty;
+    }
+
+    public StringProperty statoProperty() {
+        if (statoProperty == null) {
+            statoProperty = new SimpleStringProperty(this, "stato", stato);
+        }
+        return statoProperty;
+    }
+
+    public StringProperty noteProperty() {
+        if (noteProperty == null) {
+            noteProperty = new SimpleStringProperty(this, "note", note);
+        }
+        return noteProperty;
+    }
+
     public ObservableList<Servizio> getServizi() { return servizi; }
     
     // Getters standard
-    public int getId() { return id.get(); }
-    public String getNome() { return nome.get(); }
-    public LocalDate getDataInizio() { return dataInizio.get(); }
-    public LocalDate getDataFine() { return dataFine.get(); }
-    public String getLuogo() { return luogo.get(); }
-    public int getNumeroDiPersone() { return numeroDiPersone.get(); }
-    public boolean isRicorrente() { return ricorrente.get(); }
-    public String getStato() { return stato.get(); }
-    public String getNote() { return note.get(); }
+    public int getId() { return idProperty != null ? idProperty.get() : id; }
+    public String getNome() { return nomeProperty != null ? nomeProperty.get() : nome; }
+    public LocalDate getDataInizio() { return dataInizioProperty != null ? dataInizioProperty.get() : dataInizio; }
+    public LocalDate getDataFine() { return dataFineProperty != null ? dataFineProperty.get() : dataFine; }
+    public String getLuogo() { return luogoProperty != null ? luogoProperty.get() : luogo; }
+    public int getNumeroDiPersone() { return numeroDiPersoneProperty != null ? numeroDiPersoneProperty.get() : numeroDiPersone; }
+    public boolean isRicorrente() { return ricorrenteProperty != null ? ricorrenteProperty.get() : ricorrente; }
+    public RegolaRicorrenza getRegolaRicorrenza() { return regolaRicorrenzaProperty != null ? regolaRicorrenzaProperty.get() : regolaRicorrenza; }
+    public String getStato() { return statoProperty != null ? statoProperty.get() : stato; }
+    public String getNote() { return noteProperty != null ? noteProperty.get() : note; }
+    
+    /**
+     * Verifica se l'evento si è concluso e i suoi consumi sono definitivi.
+     */
+    public boolean isConcluso() { return "Concluso".equalsIgnoreCase(getStato()); }
     
     // Setters
-    public void setNome(String nome) { this.nome.set(nome); }
-    public void setDataInizio(LocalDate dataInizio) { this.dataInizio.set(dataInizio); }
-    public void setDataFine(LocalDate dataFine) { this.dataFine.set(dataFine); }
-    public void setLuogo(String luogo) { this.luogo.set(luogo); }
-    public void setNumeroDiPersone(int numeroDiPersone) { this.numeroDiPersone.set(numeroDiPersone); }
-    public void setRicorrente(boolean ricorrente) { this.ricorrente.set(ricorrente); }
-    public void setStato(String stato) { this.stato.set(stato); }
-    public void setNote(String note) { this.note.set(note); }
-}
\ No newline at end of file
+    public void setNome(String nome) {
+        if (nomeProperty != null) {
+            nomeProperty.set(nome);
+        } else {
+            this.nome = nome;
+        }
+    }
+    public void setDataInizio(LocalDate dataInizio) {
+        if (dataInizioProperty != null) {
+            dataInizioProperty.set(dataInizio);
+        } else if (!Objects.equals(this.dataInizio, dataInizio)) {
+            this.dataInizio = dataInizio;
+            dateCambiate();
+        }
+    }
+    public void setDataFine(LocalDate dataFine) {
+        if (dataFineProperty != null) {
+            dataFineProperty.set(dataFine);
+        } else if (!Objects.equals(this.dataFine, dataFine)) {
+            this.dataFine = dataFine;
+            dateCambiate();
+        }
+    }
+    public void setLuogo(String luogo) {
+        if (luogoProperty != null) {
+            luogoProperty.set(luogo);
+        } else {
+            this.luogo = luogo;
+        }
+    }
+    public void setNumeroDiPersone(int numeroDiPersone) {
+        if (numeroDiPersoneProperty != null) {
+            numeroDiPersoneProperty.set(numeroDiPersone);
+        } else {
+            this.numeroDiPersone = numeroDiPersone;
+        }
+    }
+    public void setRicorrente(boolean ricorrente) {
+        if (ricorrenteProperty != null) {
+            ricorrenteProperty.set(ricorrente);
+        } else {
+            this.ricorrente = ricorrente;
+        }
+    }
+    public void setStato(String stato) {
+        if (statoProperty != null) {
+            statoProperty.set(stato);
+        } else {
+            this.stato = stato;
+        }
+    }
+    public void setNote(String note) {
+        if (noteProperty != null) {
+            noteProperty.set(note);
+        } else {
+            this.note = note;
+        }
+    }
+    
+    /**
+     * Imposta la regola con cui l'evento si ripete; i servizi dell'evento si ripetono con lui.
+     * Con null l'evento torna a essere singolo.
+     */
+    public void setRegolaRicorrenza(RegolaRicorrenza regola) {
+        if (regolaRicorrenzaProperty != null) {
+            regolaRicorrenzaProperty.set(regola);
+        } else if (!Objects.equals(this.regolaRicorrenza, regola)) {
+            this.regolaRicorrenza = regola;
+            dateCambiate();
+        }
+        setRicorrente(regola != null);
+    }
+}
@@ -0,0 +1,15 @@
+package software.domain.eventi;
+
+/**
+ * Osservatore delle date di un {@link Evento}.
+ * Viene avvisato sia dai setter sia dalle proprietà JavaFX, se sono già state create,
+ * quindi osservare un evento non costringe a crearne le proprietà.
+ */
+@FunctionalInterface
+public interface EventoListener {
+
+    /**
+     * Invocato quando cambiano la data di inizio, la data di fine o la regola di ricorrenza.
+     */
+    void dateCambiate(Evento evento);
+}
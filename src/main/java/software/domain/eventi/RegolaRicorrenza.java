@@ -0,0 +1,139 @@
+package software.domain.eventi;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Regola di ripetizione di un evento (es. "ogni settimana fino al 2030").
+ * Le occorrenze non vengono mai memorizzate: la k-esima data si calcola
+ * dalla prima, quindi una serie lunga anni non occupa memoria finché
+ * non se ne chiede una finestra. La regola è immutabile.
+ */
+public final class RegolaRicorrenza {
+
+    public enum Frequenza {
+        GIORNALIERA,
+        SETTIMANALE,
+        MENSILE
+    }
+
+    private final Frequenza frequenza;
+    private final int intervallo;
+    private final LocalDate fino;
+
+    /**
+     * @param frequenza Unità di ripetizione
+     * @param intervallo Ogni quante unità si ripete (1 = ogni settimana, 2 = una settimana sì e una no...)
+     * @param fino Ultima data in cui può iniziare un'occorrenza (inclusa), null per una serie senza fine
+     */
+    public RegolaRicorrenza(Frequenza frequenza, int intervallo, LocalDate fino) {
+        if (frequenza == null) {
+            throw new IllegalArgumentException("La frequenza è obbligatoria");
+        }
+        if (intervallo < 1) {
+            throw new IllegalArgumentException("L'intervallo deve essere almeno 1");
+        }
+        this.frequenza = frequenza;
+        this.intervallo = intervallo;
+        this.fino = fino;
+    }
+
+    public static RegolaRicorrenza settimanale(LocalDate fino) {
+        return new RegolaRicorrenza(Frequenza.SETTIMANALE, 1, fino);
+    }
+
+    public Frequenza getFrequenza() {
+        return frequenza;
+    }
+
+    public int getIntervallo() {
+        return intervallo;
+    }
+
+    public LocalDate getFino() {
+        return fino;
+    }
+
+    public boolean isSenzaFine() {
+        return fino == null;
+    }
+
+    /**
+     * Restituisce la data di inizio dell'occorrenza indicata (0 = la prima).
+     * Per la frequenza mensile il giorno viene adattato ai mesi più corti
+     * (il 31 diventa il 30 o il 28) senza spostare le occorrenze successive.
+     */
+    public LocalDate occorrenza(LocalDate primo, long indice) {
+        switch (frequenza) {
+            case GIORNALIERA:
+                return primo.plusDays(indice * intervallo);
+            case SETTIMANALE:
+                return primo.plusWeeks(indice * intervallo);
+            default:
+                return primo.plusMonths(indice * intervallo);
+        }
+    }
+
+    /**
+     * Verifica se l'occorrenza con la data indicata rientra nella serie.
+     */
+    public boolean isValida(LocalDate inizioOccorrenza) {
+        return fino == null || !inizioOccorrenza.isAfter(fino);
+    }
+
+    /**
+     * Restituisce l'indice della prima occorrenza che inizia il giorno indicato o dopo.
+     * Il calcolo è aritmetico: non scorre le occorrenze precedenti.
+     */
+    public long primoIndiceDa(LocalDate primo, LocalDate data) {
+        if (!data.isAfter(primo)) {
+            return 0;
+        }
+        long indice;
+        if (frequenza == Frequenza.MENSILE) {
+            indice = ChronoUnit.MONTHS.between(primo, data) / intervallo;
+        } else {
+            long passo = frequenza == Frequenza.SETTIMANALE ? 7L * intervallo : intervallo;
+            indice = ChronoUnit.DAYS.between(primo, data) / passo;
+        }
+        // La divisione arrotonda per difetto: al più un paio di passi in avanti
+        while (occorrenza(primo, indice).isBefore(data)) {
+            indice++;
+        }
+        return indice;
+    }
+
+    /**
+     * Restituisce la data di inizio dell'ultima occorrenza, null se la serie non ha fine.
+     */
+    public LocalDate ultimaOccorrenza(LocalDate primo) {
+        if (fino == null) {
+            return null;
+        }
+        if (fino.isBefore(primo)) {
+            return primo;
+        }
+        long indice = primoIndiceDa(primo, fino);
+        LocalDate data = occorrenza(primo, indice);
+        return data.isAfter(fino) ? occorrenza(primo, indice - 1) : data;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RegolaRicorrenza that = (RegolaRicorrenza) o;
+        return intervallo == that.intervallo && frequenza == that.frequenza && Objects.equals(fino, that.fino);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(frequenza, intervallo, fino);
+    }
+
+    @Override
+    public String toString() {
+        return frequenza + " ogni " + intervallo + (fino != null ? " fino al " + fino : "");
+    }
+}
@@ -4,43 +4,160 @@ import javafx.beans.property.*;
 import software.domain.menu.Menu;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Servizio di un evento (pranzo, cena, buffet...).
+ * Le proprietà JavaFX vengono create solo quando servono, come in {@link Evento}.
+ */
 public class Servizio {
-    private final IntegerProperty id = new SimpleIntegerProperty();
-    private final StringProperty tipo = new SimpleStringProperty();
-    private final ObjectProperty<LocalDateTime> dataOraInizio = new SimpleObjectProperty<>();
-    private final ObjectProperty<LocalDateTime> dataOraFine = new SimpleObjectProperty<>();
-    private final StringProperty luogo = new SimpleStringProperty();
-    private final ObjectProperty<Menu> menu = new SimpleObjectProperty<>();
+    private int id;
+    private String tipo;
+    private LocalDateTime dataOraInizio;
+    private LocalDateTime dataOraFine;
+    private String luogo;
+    private Menu menu;
+
+    // Proprietà JavaFX, create solo se richieste
+    private IntegerProperty idProperty;
+    private StringProperty tipoProperty;
+    private ObjectProperty<LocalDateTime> dataOraInizioProperty;
+    private ObjectProperty<LocalDateTime> dataOraFineProperty;
+    private StringProperty luogoProperty;
+    private ObjectProperty<Menu> menuProperty;
+    private List<ServizioListener> listeners; // creata solo se qualcuno osserva il servizio
 
     public Servizio(int id, String tipo, LocalDateTime dataOraInizio, LocalDateTime dataOraFine, String luogo) {
-        this.id.set(id);
-        this.tipo.set(tipo);
-        this.dataOraInizio.set(dataOraInizio);
-        this.dataOraFine.set(dataOraFine);
-        this.luogo.set(luogo);
-    }
-
-    // Getters per proprietà JavaFX
-    public IntegerProperty idProperty() { return id; }
-    public StringProperty tipoProperty() { return tipo; }
-    public ObjectProperty<LocalDateTime> dataOraInizioProperty() { return dataOraInizio; }
-    public ObjectProperty<LocalDateTime> dataOraFineProperty() { return dataOraFine; }
-    public StringProperty luogoProperty() { return luogo; }
-    public ObjectProperty<Menu> menuProperty() { return menu; }
+        this.id = id;
+        this.tipo = tipo;
+        this.dataOraInizio = dataOraInizio;
+        this.dataOraFine = dataOraFine;
+        this.luogo = luogo;
+    }
+
+    /**
+     * Registra un osservatore degli orari del servizio.
+     */
+    public void aggiungiListener(ServizioListener listener) {
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+        }
+        listeners.add(listener);
+    }
+
+    public void rimuoviListener(ServizioListener listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    private void orarioCambiato() {
+        if (listeners != null) {
+            for (ServizioListener listener : listeners) {
+                listener.orarioCambiato(this);
+            }
+        }
+    }
+
+    // Proprietà JavaFX
+    public IntegerProperty idProperty() {
+        if (idProperty == null) {
+            idProperty = new SimpleIntegerProperty(this, "id", id);
+        }
+        return idProperty;
+    }
+
+    public StringProperty tipoProperty() {
+        if (tipoProperty == null) {
+            tipoProperty = new SimpleStringProperty(this, "tipo", tipo);
+        }
+        return tipoProperty;
+    }
+
+    public ObjectProperty<LocalDateTime> dataOraInizioProperty() {
+        if (dataOraInizioProperty == null) {
+            dataOraInizioProperty = new SimpleObjectProperty<>(this, "dataOraInizio", dataOraInizio) {
+                @Override
+                protected void invalidated() {
+                    orarioCambiato();
+                }
+            };
+        }
+        return dataOraInizioProperty;
+    }
+
+    public ObjectProperty<LocalDateTime> dataOraFineProperty() {
+        if (dataOraFineProperty == null) {
+            dataOraFineProperty = new SimpleObjectProperty<>(this, "dataOraFine", dataOraFine) {
+                @Override
+                protected void invalidated() {
+                    orarioCambiato();
+                }
+            };
+        }
+        return dataOraFineProperty;
+    }
+
+    public StringProperty luogoProperty() {
+        if (luogoProperty == null) {
+            luogoProperty = new SimpleStringProperty(this, "luogo", luogo);
+        }
+        return luogoProperty;
+    }
+
+    public ObjectProperty<Menu> menuProperty() {
+        if (menuProperty == null) {
+            menuProperty = new SimpleObjectProperty<>(this, "menu", menu);
+        }
+        return menuProperty;
+    }
     
     // Getters standard
-    public int getId() { return id.get(); }
-    public String getTipo() { return tipo.get(); }
-    public LocalDateTime getDataOraInizio() { return dataOraInizio.get(); }
-    public LocalDateTime getDataOraFine() { return dataOraFine.get(); }
-    public String getLuogo() { return luogo.get(); }
-    public Menu getMenu() { return menu.get(); }
+    public int getId() { return idProperty != null ? idProperty.get() : id; }
+    public String getTipo() { return tipoProperty != null ? tipoProperty.get() : tipo; }
+    public LocalDateTime getDataOraInizio() { return dataOraInizioProperty != null ? dataOraInizioProperty.get() : dataOraInizio; }
+    public LocalDateTime getDataOraFine() { return dataOraFineProperty != null ? dataOraFineProperty.get() : dataOraFine; }
+    public String getLuogo() { return luogoProperty != null ? luogoProperty.get() : luogo; }
+    public Menu getMenu() { return menuProperty != null ? menuProperty.get() : menu; }
     
     // Setters
-    public void setTipo(String tipo) { this.tipo.set(tipo); }
-    public void setDataOraInizio(LocalDateTime dataOraInizio) { this.dataOraInizio.set(dataOraInizio); }
-    public void setDataOraFine(LocalDateTime dataOraFine) { this.dataOraFine.set(dataOraFine); }
-    public void setLuogo(String luogo) { this.luogo.set(luogo); }
-    public void setMenu(Menu menu) { this.menu.set(menu); }
-}
\ No newline at end of file
+    public void setTipo(String tipo) {
+        if (tipoProperty != null) {
+            tipoProperty.set(tipo);
+        } else {
+            this.tipo = tipo;
+        }
+    }
+    public void setDataOraInizio(LocalDateTime dataOraInizio) {
+        if (dataOraInizioProperty != null) {
+            dataOraInizioProperty.set(dataOraInizio);
+        } else if (!Objects.equals(this.dataOraInizio, dataOraInizio)) {
+            this.dataOraInizio = dataOraInizio;
+            orarioCambiato();
+        }
+    }
+    public void setDataOraFine(LocalDateTime dataOraFine) {
+        if (dataOraFineProperty != null) {
+            dataOraFineProperty.set(dataOraFine);
+        } else if (!Objects.equals(this.dataOraFine, dataOraFine)) {
+            this.dataOraFine = dataOraFine;
+            orarioCambiato();
+        }
+    }
+    public void setLuogo(String luogo) {
+        if (luogoProperty != null) {
+            luogoProperty.set(luogo);
+        } else {
+            this.luogo = luogo;
+        }
+    }
+    public void setMenu(Menu menu) {
+        if (menuProperty != null) {
+            menuProperty.set(menu);
+        } else {
+            this.menu = menu;
+        }
+    }
+}
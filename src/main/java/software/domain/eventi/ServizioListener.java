@@ -0,0 +1,15 @@
+package software.domain.eventi;
+
+/**
+ * Osservatore degli orari di un {@link Servizio}.
+ * Viene avvisato sia dai setter sia dalle proprietà JavaFX, se sono già state create,
+ * quindi osservare un servizio non costringe a crearne le proprietà.
+ */
+@FunctionalInterface
+public interface ServizioListener {
+
+    /**
+     * Invocato quando cambia l'orario di inizio o di fine del servizio.
+     */
+    void orarioCambiato(Servizio servizio);
+}
@@ -0,0 +1,233 @@
+package software.domain.menu;
+
+import software.domain.ricette.Ricetta;
+import javafx.collections.ListChangeListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Indice inverso dalle ricette alle sezioni (e quindi ai menu) che le contengono.
+ * Si aggiorna da solo a ogni inserimento, sostituzione o rimozione di una ricetta
+ * o di una sezione nei menu registrati, e tiene aggiornato {@link Ricetta#isInUso()}:
+ * una ricetta è in uso finché compare in almeno un menu registrato.
+ *
+ * L'indice punta agli array di ricette, non alle singole sezioni: le copie di un menu
+ * modello, che condividono gli array finché non vengono modificate, aggiungono solo
+ * una voce per sezione e nessuna per ricetta.
+ *
+ * Le ricette sono confrontate con {@code equals}, cioè per ID.
+ * Come i menu, va usato dal thread JavaFX.
+ */
+public class IndiceRicetteMenu {
+    // Per ogni ricetta, gli array indicizzati che la contengono: una voce per ogni occorrenza
+    private final Map<Ricetta, List<RicetteSezione>> contenutiPerRicetta = new HashMap<>();
+    // Per ogni array indicizzato, le sezioni registrate che lo usano
+    private final Map<RicetteSezione, List<SezioneMenu>> sezioniPerContenuto = new IdentityHashMap<>();
+    private final Map<Menu, ListChangeListener<SezioneMenu>> osservatoriSezioni = new IdentityHashMap<>();
+    private Consumer<Ricetta> osservatoreUso;
+
+    /**
+     * Imposta chi avvisare quando una ricetta entra in uso o smette di esserlo.
+     */
+    public void setOsservatoreUso(Consumer<Ricetta> osservatoreUso) {
+        this.osservatoreUso = osservatoreUso;
+    }
+
+    /**
+     * Aggiunge all'indice le ricette del menu e ne segue le modifiche.
+     * Registrare di nuovo un menu già registrato non ha effetto.
+     * @throws IllegalArgumentException se una sezione del menu è già registrata con un altro menu
+     */
+    public void registra(Menu menu) {
+        if (osservatoriSezioni.containsKey(menu)) {
+            return;
+        }
+        for (SezioneMenu sezione : menu.getSezioni()) {
+            collega(sezione, menu);
+        }
+        ListChangeListener<SezioneMenu> osservatore = new OsservatoreSezioni(menu);
+        osservatoriSezioni.put(menu, osservatore);
+        menu.getSezioni().addListener(osservatore);
+    }
+
+    /**
+     * Toglie dall'indice le ricette del menu e smette di seguirlo.
+     */
+    public void rimuovi(Menu menu) {
+        ListChangeListener<SezioneMenu> osservatore = osservatoriSezioni.remove(menu);
+        if (osservatore == null) {
+            return;
+        }
+        menu.getSezioni().removeListener(osservatore);
+        for (SezioneMenu sezione : menu.getSezioni()) {
+            scollega(sezione);
+        }
+    }
+
+    /**
+     * Indica se il menu è registrato nell'indice.
+     */
+    public boolean isRegistrato(Menu menu) {
+        return osservatoriSezioni.containsKey(menu);
+    }
+
+    /**
+     * Restituisce le sezioni dei menu registrati che contengono la ricetta,
+     * ripetute se la contengono più volte.
+     */
+    public List<SezioneMenu> getSezioni(Ricetta ricetta) {
+        List<RicetteSezione> contenuti = contenutiPerRicetta.get(ricetta);
+        if (contenuti == null) {
+            return List.of();
+        }
+        List<SezioneMenu> sezioni = new ArrayList<>();
+        for (RicetteSezione contenuto : contenuti) {
+            sezioni.addAll(sezioniPerContenuto.get(contenuto));
+        }
+        return Collections.unmodifiableList(sezioni);
+    }
+
+    /**
+     * Restituisce i menu registrati che contengono la ricetta, senza ripetizioni.
+     */
+    public Set<Menu> getMenu(Ricetta ricetta) {
+        Set<Menu> menu = new LinkedHashSet<>();
+        for (SezioneMenu sezione : getSezioni(ricetta)) {
+            menu.add(sezione.getMenu());
+        }
+        return Collections.unmodifiableSet(menu);
+    }
+
+    /**
+     * Restituisce il menu registrato a cui appartiene la sezione, o null.
+     */
+    public Menu getMenu(SezioneMenu sezione) {
+        return sezione.getIndice() == this ? sezione.getMenu() : null;
+    }
+
+    void ricettaAggiunta(RicetteSezione contenuto, Ricetta ricetta) {
+        if (ricetta == null) {
+            return;
+        }
+        contenutiPerRicetta.computeIfAbsent(ricetta, r -> new ArrayList<>(2)).add(contenuto);
+        if (!ricetta.isInUso()) {
+            ricetta.setInUso(true);
+            usoCambiato(ricetta);
+        }
+    }
+
+    void ricettaRimossa(RicetteSezione contenuto, Ricetta ricetta) {
+        if (ricetta == null) {
+            return;
+        }
+        List<RicetteSezione> contenuti = contenutiPerRicetta.get(ricetta);
+        if (contenuti == null || !contenuti.remove(contenuto)) {
+            return;
+        }
+        if (contenuti.isEmpty()) {
+            contenutiPerRicetta.remove(ricetta);
+            ricetta.setInUso(false);
+            usoCambiato(ricetta);
+        }
+    }
+
+    /**
+     * La sezione è passata a un nuovo array di ricette (la prima ricetta o la
+     * prima modifica di un array condiviso) e lascia quello vecchio, se c'era.
+     */
+    void contenutoCambiato(SezioneMenu sezione, RicetteSezione vecchio) {
+        // Prima il nuovo array, così le ricette presenti in entrambi restano in uso
+        aggiungiSezione(sezione.getContenuto(), sezione);
+        if (vecchio != null) {
+            rimuoviSezione(vecchio, sezione);
+        }
+    }
+
+    private void usoCambiato(Ricetta ricetta) {
+        if (osservatoreUso != null) {
+            osservatoreUso.accept(ricetta);
+        }
+    }
+
+    private void collega(SezioneMenu sezione, Menu menu) {
+        if (sezione.getIndice() != null) {
+            if (sezione.getIndice() == this && sezione.getMenu() == menu) {
+                return;
+            }
+            throw new IllegalArgumentException("La sezione '" + sezione.getNome() + "' appartiene già a un altro menu");
+        }
+        sezione.collega(this, menu);
+        if (sezione.getContenuto() != null) {
+            aggiungiSezione(sezione.getContenuto(), sezione);
+        }
+    }
+
+    private void scollega(SezioneMenu sezione) {
+        if (sezione.getIndice() != this) {
+            return;
+        }
+        sezione.collega(null, null);
+        if (sezione.getContenuto() != null) {
+            rimuoviSezione(sezione.getContenuto(), sezione);
+        }
+    }
+
+    private void aggiungiSezione(RicetteSezione contenuto, SezioneMenu sezione) {
+        List<SezioneMenu> sezioni = sezioniPerContenuto.get(contenuto);
+        if (sezioni == null) {
+            sezioni = new ArrayList<>(1);
+            sezioniPerContenuto.put(contenuto, sezioni);
+            for (int i = 0; i < contenuto.numero; i++) {
+                ricettaAggiunta(contenuto, contenuto.elementi[i]);
+            }
+        }
+        sezioni.add(sezione);
+    }
+
+    private void rimuoviSezione(RicetteSezione contenuto, SezioneMenu sezione) {
+        List<SezioneMenu> sezioni = sezioniPerContenuto.get(contenuto);
+        if (sezioni == null || !sezioni.remove(sezione)) {
+            return;
+        }
+        if (sezioni.isEmpty()) {
+            sezioniPerContenuto.remove(contenuto);
+            for (int i = 0; i < contenuto.numero; i++) {
+                ricettaRimossa(contenuto, contenuto.elementi[i]);
+            }
+        }
+    }
+
+    /**
+     * Collega e scollega le sezioni aggiunte e tolte da un menu registrato.
+     */
+    private final class OsservatoreSezioni implements ListChangeListener<SezioneMenu> {
+        private final Menu menu;
+
+        OsservatoreSezioni(Menu menu) {
+            this.menu = menu;
+        }
+
+        @Override
+        public void onChanged(Change<? extends SezioneMenu> cambiamento) {
+            while (cambiamento.next()) {
+                if (cambiamento.wasPermutated()) {
+                    continue;
+                }
+                for (SezioneMenu sezione : cambiamento.getRemoved()) {
+                    scollega(sezione);
+                }
+                for (SezioneMenu sezione : cambiamento.getAddedSubList()) {
+                    collega(sezione, menu);
+                }
+            }
+        }
+    }
+}
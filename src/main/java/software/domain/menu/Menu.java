@@ -6,29 +6,35 @@ import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Rappresenta un menù creato da uno Chef.
  * Implementa le operazioni del caso d'uso "Gestione dei Menù".
+ * Titolo, note e stato diventano proprietà JavaFX solo quando l'interfaccia le osserva.
  */
 public class Menu {
-    private final IntegerProperty id = new SimpleIntegerProperty();
-    private final StringProperty titolo = new SimpleStringProperty();
-    private final StringProperty note = new SimpleStringProperty();
-    private final BooleanProperty piattiCaldi = new SimpleBooleanProperty();
-    private final BooleanProperty piattiFreddi = new SimpleBooleanProperty();
-    private final BooleanProperty richiedeCucina = new SimpleBooleanProperty();
-    private final BooleanProperty adattoBuffet = new SimpleBooleanProperty();
-    private final BooleanProperty fingerFood = new SimpleBooleanProperty();
-    private final StringProperty stato = new SimpleStringProperty("Bozza");
+    private int id;
+    private String titolo;
+    private String note;
+    private String stato = "Bozza";
+    private boolean piattiCaldi;
+    private boolean piattiFreddi;
+    private boolean richiedeCucina;
+    private boolean adattoBuffet;
+    private boolean fingerFood;
+
+    // Proprietà JavaFX, create solo se richieste
+    private IntegerProperty idProperty;
+    private StringProperty titoloProperty;
+    private StringProperty noteProperty;
+    private StringProperty statoProperty;
     private final ObservableList<SezioneMenu> sezioni = FXCollections.observableArrayList();
-    private final ObjectProperty<Chef> creatore = new SimpleObjectProperty<>();
+    private final Chef creatore;
 
     public Menu(int id, Chef creatore) {
-        this.id.set(id);
-        this.creatore.set(creatore);
+        this.id = id;
+        this.creatore = creatore;
     }
 
     /**
@@ -36,7 +42,11 @@ public class Menu {
      * Riferimento: UC "Gestione dei Menù" - Passo 2
      */
     public void setTitolo(String titolo) {
-        this.titolo.set(titolo);
+        if (titoloProperty != null) {
+            titoloProperty.set(titolo);
+        } else {
+            this.titolo = titolo;
+        }
     }
 
     /**
@@ -58,12 +68,33 @@ public class Menu {
         sezione.aggiungiRicetta(ricetta);
     }
 
+    /**
+     * Crea un nuovo menu con le sezioni, le ricette e le note di questo, senza titolo.
+     * Le sezioni della copia condividono le ricette con quelle di questo menu finché
+     * una delle due non viene modificata, quindi copiare un menu modello non duplica le sue ricette.
+     */
+    public Menu copia(int id, Chef creatore) {
+        Menu copia = new Menu(id, creatore);
+        SezioneMenu[] copieSezioni = new SezioneMenu[sezioni.size()];
+        for (int i = 0; i < copieSezioni.length; i++) {
+            SezioneMenu sezione = sezioni.get(i);
+            copieSezioni[i] = sezione.copia(sezione.getId());
+        }
+        copia.sezioni.setAll(copieSezioni);
+        copia.note = getNote();
+        return copia;
+    }
+
     /**
      * Aggiunge note e informazioni utili al menu.
      * Riferimento: UC "Gestione dei Menù" - Passo 6
      */
     public void annotaInformazioni(String note) {
-        this.note.set(note);
+        if (noteProperty != null) {
+            noteProperty.set(note);
+        } else {
+            this.note = note;
+        }
     }
 
     /**
@@ -71,21 +102,52 @@ public class Menu {
      * Riferimento: UC "Gestione dei Menù" - Passo 7
      */
     public void pubblica() {
-        this.stato.set("Pubblicato");
+        setStato("Pubblicato");
     }
 
     // Getters per proprietà JavaFX (per binding)
-    public IntegerProperty idProperty() { return id; }
-    public StringProperty titoloProperty() { return titolo; }
-    public StringProperty noteProperty() { return note; }
-    public StringProperty statoProperty() { return stato; }
+    public IntegerProperty idProperty() {
+        if (idProperty == null) {
+            idProperty = new SimpleIntegerProperty(this, "id", id);
+        }
+        return idProperty;
+    }
+
+    public StringProperty titoloProperty() {
+        if (titoloProperty == null) {
+            titoloProperty = new SimpleStringProperty(this, "titolo", titolo);
+        }
+        return titoloProperty;
+    }
+
+    public StringProperty noteProperty() {
+        if (noteProperty == null) {
+            noteProperty = new SimpleStringProperty(this, "note", note);
+        }
+        return noteProperty;
+    }
+
+    public StringProperty statoProperty() {
+        if (statoProperty == null) {
+            statoProperty = new SimpleStringProperty(this, "stato", stato);
+        }
+        return statoProperty;
+    }
+
     public ObservableList<SezioneMenu> getSezioni() { return sezioni; }
     
     // Altri getters e setters
-    public int getId() { return id.get(); }
-    public String getTitolo() { return titolo.get(); }
-    public String getNote() { return note.get(); }
-    public String getStato() { return stato.get(); }
-    public Chef getCreatore() { return creatore.get(); }
-    public void setStato(String stato) { this.stato.set(stato); }
-}
\ No newline at end of file
+    public int getId() { return idProperty != null ? idProperty.get() : id; }
+    public String getTitolo() { return titoloProperty != null ? titoloProperty.get() : titolo; }
+    public String getNote() { return noteProperty != null ? noteProperty.get() : note; }
+    public String getStato() { return statoProperty != null ? statoProperty.get() : stato; }
+    public Chef getCreatore() { return creatore; }
+
+    public void setStato(String stato) {
+        if (statoProperty != null) {
+            statoProperty.set(stato);
+        } else {
+            this.stato = stato;
+        }
+    }
+}
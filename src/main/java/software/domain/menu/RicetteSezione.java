@@ -0,0 +1,42 @@
+package software.domain.menu;
+
+import software.domain.ricette.Ricetta;
+
+import java.util.Arrays;
+
+/**
+ * Array delle ricette di una sezione, condiviso tra le copie della sezione
+ * finché una di esse non lo modifica. L'indice dei menu lo usa come chiave,
+ * così le copie di un menu modello non aggiungono una voce per ogni ricetta.
+ */
+final class RicetteSezione {
+    Ricetta[] elementi;
+    int numero;
+    // Vero da quando una copia della sezione usa lo stesso array: chi scrive deve duplicarlo
+    boolean condivise;
+
+    RicetteSezione(int capacita) {
+        elementi = new Ricetta[capacita];
+    }
+
+    private RicetteSezione(Ricetta[] elementi, int numero) {
+        this.elementi = elementi;
+        this.numero = numero;
+    }
+
+    /**
+     * Restituisce una copia privata, con spazio per almeno {@code capacita} ricette.
+     */
+    RicetteSezione duplica(int capacita) {
+        return new RicetteSezione(Arrays.copyOf(elementi, Math.max(capacita, numero)), numero);
+    }
+
+    /**
+     * Fa spazio per almeno {@code capacita} ricette, crescendo di metà alla volta.
+     */
+    void garantisciCapacita(int capacita) {
+        if (capacita > elementi.length) {
+            elementi = Arrays.copyOf(elementi, Math.max(capacita, elementi.length + (elementi.length >> 1) + 1));
+        }
+    }
+}
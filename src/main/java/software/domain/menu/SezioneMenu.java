@@ -5,30 +5,210 @@ import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Sezione di un menu con le sue ricette.
+ * Le ricette sono tenute in un array che le copie della sezione (vedi {@link #copia(int)})
+ * condividono finché una delle due non lo modifica: solo allora viene duplicato.
+ */
 public class SezioneMenu {
-    private final IntegerProperty id = new SimpleIntegerProperty();
-    private final StringProperty nome = new SimpleStringProperty();
-    private final ObservableList<Ricetta> ricette = FXCollections.observableArrayList();
+    private int id;
+    private String nome;
+    // Null finché la sezione non ha mai avuto ricette
+    private RicetteSezione ricette;
+    // Indice dei menu a cui segnalare le ricette aggiunte e rimosse, e il menu in cui vi è registrata
+    private IndiceRicetteMenu indice;
+    private Menu menu;
+
+    // Proprietà JavaFX e lista osservabile, create solo se richieste
+    private IntegerProperty idProperty;
+    private StringProperty nomeProperty;
+    private ObservableList<Ricetta> ricetteOsservabili;
 
     public SezioneMenu(int id, String nome) {
-        this.id.set(id);
-        this.nome.set(nome);
+        this.id = id;
+        this.nome = nome;
+    }
+
+    /**
+     * Crea una sezione con lo stesso nome e le stesse ricette, senza copiarle:
+     * l'array delle ricette viene duplicato solo alla prima modifica di una delle due sezioni.
+     */
+    public SezioneMenu copia(int id) {
+        SezioneMenu copia = new SezioneMenu(id, getNome());
+        if (getNumeroRicette() == 0) {
+            // Una sezione svuotata può avere ancora un array: la copia non deve scriverci
+            return copia;
+        }
+        ricette.condivise = true;
+        copia.ricette = ricette;
+        return copia;
     }
 
     public void aggiungiRicetta(Ricetta ricetta) {
-        ricette.add(ricetta);
+        if (ricetteOsservabili != null) {
+            ricetteOsservabili.add(ricetta);
+        } else {
+            inserisci(getNumeroRicette(), ricetta);
+        }
     }
-    
+
     public void rimuoviRicetta(Ricetta ricetta) {
-        ricette.remove(ricetta);
+        if (ricetteOsservabili != null) {
+            ricetteOsservabili.remove(ricetta);
+            return;
+        }
+        for (int i = 0; i < getNumeroRicette(); i++) {
+            if (Objects.equals(ricette.elementi[i], ricetta)) {
+                rimuovi(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indica se le ricette sono ancora condivise con un'altra copia della sezione.
+     */
+    boolean isRicetteCondivise() {
+        return ricette != null && ricette.condivise;
+    }
+
+    void collega(IndiceRicetteMenu indice, Menu menu) {
+        this.indice = indice;
+        this.menu = menu;
+    }
+
+    IndiceRicetteMenu getIndice() {
+        return indice;
+    }
+
+    Menu getMenu() {
+        return menu;
+    }
+
+    RicetteSezione getContenuto() {
+        return ricette;
+    }
+
+    int getNumeroRicette() {
+        return ricette != null ? ricette.numero : 0;
     }
 
     // Getters per proprietà JavaFX
-    public IntegerProperty idProperty() { return id; }
-    public StringProperty nomeProperty() { return nome; }
-    public ObservableList<Ricetta> getRicette() { return ricette; }
-    
+    public IntegerProperty idProperty() {
+        if (idProperty == null) {
+            idProperty = new SimpleIntegerProperty(this, "id", id);
+        }
+        return idProperty;
+    }
+
+    public StringProperty nomeProperty() {
+        if (nomeProperty == null) {
+            nomeProperty = new SimpleStringProperty(this, "nome", nome);
+        }
+        return nomeProperty;
+    }
+
+    public ObservableList<Ricetta> getRicette() {
+        if (ricetteOsservabili == null) {
+            ricetteOsservabili = FXCollections.observableList(new ListaRicette());
+        }
+        return ricetteOsservabili;
+    }
+
     // Getters standard
-    public int getId() { return id.get(); }
-    public String getNome() { return nome.get(); }
-}
\ No newline at end of file
+    public int getId() { return idProperty != null ? idProperty.get() : id; }
+    public String getNome() { return nomeProperty != null ? nomeProperty.get() : nome; }
+
+    /**
+     * Rende l'array delle ricette modificabile da questa sezione, con spazio per almeno
+     * {@code richieste} elementi, duplicandolo se è condiviso con una copia.
+     */
+    private void preparaScrittura(int richieste) {
+        if (ricette == null) {
+            ricette = new RicetteSezione(Math.max(richieste, 4));
+            if (indice != null) {
+                indice.contenutoCambiato(this, null);
+            }
+        } else if (ricette.condivise) {
+            RicetteSezione condivise = ricette;
+            ricette = condivise.duplica(richieste);
+            if (indice != null) {
+                indice.contenutoCambiato(this, condivise);
+            }
+        } else {
+            ricette.garantisciCapacita(richieste);
+        }
+    }
+
+    private void inserisci(int posizione, Ricetta ricetta) {
+        preparaScrittura(getNumeroRicette() + 1);
+        Ricetta[] elementi = ricette.elementi;
+        System.arraycopy(elementi, posizione, elementi, posizione + 1, ricette.numero - posizione);
+        elementi[posizione] = ricetta;
+        ricette.numero++;
+        if (indice != null) {
+            indice.ricettaAggiunta(ricette, ricetta);
+        }
+    }
+
+    private Ricetta rimuovi(int posizione) {
+        preparaScrittura(ricette.numero);
+        Ricetta[] elementi = ricette.elementi;
+        Ricetta rimossa = elementi[posizione];
+        System.arraycopy(elementi, posizione + 1, elementi, posizione, ricette.numero - posizione - 1);
+        elementi[--ricette.numero] = null;
+        if (indice != null) {
+            indice.ricettaRimossa(ricette, rimossa);
+        }
+        return rimossa;
+    }
+
+    /**
+     * Lista sull'array delle ricette, avvolta dalla lista osservabile della sezione.
+     */
+    private final class ListaRicette extends AbstractList<Ricetta> implements RandomAccess {
+
+        @Override
+        public Ricetta get(int posizione) {
+            Objects.checkIndex(posizione, getNumeroRicette());
+            return ricette.elementi[posizione];
+        }
+
+        @Override
+        public int size() {
+            return getNumeroRicette();
+        }
+
+        @Override
+        public Ricetta set(int posizione, Ricetta ricetta) {
+            Objects.checkIndex(posizione, getNumeroRicette());
+            preparaScrittura(ricette.numero);
+            Ricetta precedente = ricette.elementi[posizione];
+            ricette.elementi[posizione] = ricetta;
+            if (indice != null) {
+                // Prima l'aggiunta: una ricetta uguale alla precedente resta in uso senza notifiche
+                indice.ricettaAggiunta(ricette, ricetta);
+                indice.ricettaRimossa(ricette, precedente);
+            }
+            return precedente;
+        }
+
+        @Override
+        public void add(int posizione, Ricetta ricetta) {
+            Objects.checkIndex(posizione, getNumeroRicette() + 1);
+            inserisci(posizione, ricetta);
+            modCount++;
+        }
+
+        @Override
+        public Ricetta remove(int posizione) {
+            Objects.checkIndex(posizione, getNumeroRicette());
+            modCount++;
+            return rimuovi(posizione);
+        }
+    }
+}
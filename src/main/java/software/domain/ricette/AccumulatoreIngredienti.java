@@ -0,0 +1,16 @@
+package software.domain.ricette;
+
+/**
+ * Riceve le dosi degli ingredienti di una ricetta, già convertite in codici
+ * (vedi {@link DizionarioIngredienti}), durante {@link Ricetta#accumulaIngredienti}.
+ */
+@FunctionalInterface
+public interface AccumulatoreIngredienti {
+
+    /**
+     * @param codiceNome Codice del nome dell'ingrediente
+     * @param codiceUnita Codice dell'unità di misura
+     * @param quantita Dose dell'ingrediente moltiplicata per il fattore richiesto
+     */
+    void aggiungi(int codiceNome, int codiceUnita, double quantita);
+}
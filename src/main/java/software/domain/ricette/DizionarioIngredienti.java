@@ -0,0 +1,118 @@
+package software.domain.ricette;
+
+import java.lang.ref.Cleaner;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codici interi per i nomi e le unità di misura degli ingredienti.
+ * Ogni valore distinto riceve un codice progressivo: le ricette memorizzano solo
+ * i codici e li riconvertono in stringhe quando servono.
+ *
+ * I codici sono contati per riferimento: chi memorizza un codice lo trattiene e lo
+ * rilascia quando non lo usa più, e un valore che nessuno trattiene viene tolto dal
+ * dizionario. Un codice rilasciato non viene mai riassegnato a un altro valore, quindi
+ * chi lo usa come chiave di una cache al più non lo ritrova. I codici non vanno salvati:
+ * le ricette si serializzano con i valori testuali.
+ *
+ * I valori arrivano già resi canonici dai pool di {@link Ingrediente}, e il dizionario
+ * ne conserva la stessa istanza: i due non duplicano le stringhe. Servono entrambi perché
+ * il pool copre anche gli ingredienti che non stanno in una ricetta (es. quelli di un
+ * modulo in compilazione) e non dà codici, mentre il dizionario dà i codici delle
+ * tabelle e li tiene solo finché una ricetta li usa.
+ * È thread-safe; la lettura di un valore non prende lock.
+ */
+public final class DizionarioIngredienti {
+    private static final Map<String, Integer> CODICI = new HashMap<>();
+    private static final Map<Integer, Voce> VOCI = new ConcurrentHashMap<>();
+    // Rilascia i codici delle tabelle di ingredienti non più raggiungibili
+    private static final Cleaner PULIZIA = Cleaner.create();
+    private static int prossimo;
+
+    private DizionarioIngredienti() {
+    }
+
+    /**
+     * Restituisce il codice del valore e lo trattiene, assegnandone uno nuovo
+     * se il valore non è ancora noto. Va bilanciato da {@link #rilascia(int)}.
+     * @param valore Nome o unità di misura
+     * @return Il codice del valore
+     */
+    static synchronized int trattieni(String valore) {
+        if (valore == null) {
+            throw new IllegalArgumentException("Il valore da codificare non può essere nullo");
+        }
+        Integer codice = CODICI.get(valore);
+        if (codice == null) {
+            if (prossimo == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Codici degli ingredienti esauriti");
+            }
+            codice = prossimo++;
+            CODICI.put(valore, codice);
+            VOCI.put(codice, new Voce(valore));
+        }
+        VOCI.get(codice).riferimenti++;
+        return codice;
+    }
+
+    /**
+     * Rilascia un codice trattenuto; all'ultimo rilascio il valore esce dal dizionario.
+     */
+    static synchronized void rilascia(int codice) {
+        Voce voce = VOCI.get(codice);
+        if (voce == null) {
+            throw new IllegalArgumentException("Codice ingrediente sconosciuto: " + codice);
+        }
+        if (--voce.riferimenti == 0) {
+            VOCI.remove(codice);
+            CODICI.remove(voce.valore);
+        }
+    }
+
+    /**
+     * Esegue l'azione quando il proprietario diventa irraggiungibile.
+     * L'azione non deve fare riferimento al proprietario.
+     */
+    static void allaRaccolta(Object proprietario, Runnable azione) {
+        PULIZIA.register(proprietario, azione);
+    }
+
+    /**
+     * Restituisce il codice del valore senza registrarlo né trattenerlo.
+     * @return Il codice, -1 se il valore non compare in nessun ingrediente
+     */
+    public static synchronized int cercaCodice(String valore) {
+        Integer codice = valore != null ? CODICI.get(valore) : null;
+        return codice != null ? codice : -1;
+    }
+
+    /**
+     * Restituisce il valore associato al codice.
+     * @throws IllegalArgumentException se il codice non è assegnato o è già stato rilasciato
+     */
+    public static String valore(int codice) {
+        Voce voce = VOCI.get(codice);
+        if (voce == null) {
+            throw new IllegalArgumentException("Codice ingrediente sconosciuto: " + codice);
+        }
+        return voce.valore;
+    }
+
+    /**
+     * Restituisce il numero di valori ancora trattenuti da qualche ricetta.
+     */
+    static int size() {
+        return VOCI.size();
+    }
+
+    private static final class Voce {
+        final String valore;
+        // Protetto dal lock della classe
+        int riferimenti;
+
+        Voce(String valore) {
+            this.valore = valore;
+        }
+    }
+}
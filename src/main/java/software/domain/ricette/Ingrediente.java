@@ -11,10 +11,17 @@ import software.domain.exceptions.DomainException;
 public class Ingrediente implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    // Nomi e unità si ripetono in quasi tutte le ricette ("Sale", "g", "Olio d'oliva"):
+    // ogni ingrediente fa riferimento a un'unica istanza per ciascun valore
+    static final PoolCanonico<String> NOMI = new PoolCanonico<>();
+    static final PoolCanonico<String> UNITA_MISURA = new PoolCanonico<>();
+    
     private String nome;
     private double dose;
     private String unitaMisura;
     private boolean ingredienteBase;
+    // Vero per gli ingredienti letti da una ricetta, che non ne sono la copia memorizzata
+    private transient boolean solaLettura;
     
     /**
      * Crea un nuovo ingrediente.
@@ -31,6 +38,31 @@ public class Ingrediente implements Serializable {
         this.ingredienteBase = false;
     }
     
+    private Ingrediente() {
+    }
+    
+    /**
+     * Ricostruisce un ingrediente in sola lettura da valori già validati e resi canonici,
+     * senza ripetere i controlli (usato dalla tabella degli ingredienti di una ricetta).
+     */
+    static Ingrediente daValidi(String nome, double dose, String unitaMisura, boolean ingredienteBase) {
+        Ingrediente ingrediente = new Ingrediente();
+        ingrediente.nome = nome;
+        ingrediente.dose = dose;
+        ingrediente.unitaMisura = unitaMisura;
+        ingrediente.ingredienteBase = ingredienteBase;
+        ingrediente.solaLettura = true;
+        return ingrediente;
+    }
+    
+    /**
+     * Verifica se l'ingrediente è stato letto da una ricetta e quindi non può essere modificato.
+     * Per cambiarlo si usa {@link Ricetta#sostituisciIngrediente}, partendo eventualmente da {@link #clone()}.
+     */
+    public boolean isSolaLettura() {
+        return solaLettura;
+    }
+    
     // Getters
     public String getNome() {
         return nome;
@@ -50,13 +82,15 @@ public class Ingrediente implements Serializable {
     
     // Setters con validazione
     public void setNome(String nome) {
+        verificaModificabile();
         if (nome == null || nome.trim().isEmpty()) {
             throw new DomainException("Il nome dell'ingrediente non può essere vuoto");
         }
-        this.nome = nome.trim();
+        this.nome = NOMI.canonico(nome.trim());
     }
     
     public void setDose(double dose) {
+        verificaModificabile();
         if (dose <= 0) {
             throw new DomainException("La dose deve essere maggiore di zero");
         }
@@ -64,16 +98,33 @@ public class Ingrediente implements Serializable {
     }
     
     public void setUnitaMisura(String unitaMisura) {
+        verificaModificabile();
         if (unitaMisura == null || unitaMisura.trim().isEmpty()) {
             throw new DomainException("L'unità di misura non può essere vuota");
         }
-        this.unitaMisura = unitaMisura.trim();
+        this.unitaMisura = UNITA_MISURA.canonico(unitaMisura.trim());
     }
     
     public void setIngredienteBase(boolean ingredienteBase) {
+        verificaModificabile();
         this.ingredienteBase = ingredienteBase;
     }
     
+    private void verificaModificabile() {
+        if (solaLettura) {
+            throw new UnsupportedOperationException("L'ingrediente '" + nome + "' è letto da una ricetta e non può essere modificato");
+        }
+    }
+    
+    /**
+     * Dopo la deserializzazione riporta nome e unità alle istanze condivise.
+     */
+    private Object readResolve() {
+        nome = NOMI.canonico(nome);
+        unitaMisura = UNITA_MISURA.canonico(unitaMisura);
+        return this;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -96,7 +147,7 @@ public class Ingrediente implements Serializable {
     }
     
     /**
-     * Crea una copia profonda dell'ingrediente.
+     * Crea una copia profonda dell'ingrediente, sempre modificabile.
      */
     public Ingrediente clone() {
         Ingrediente clone = new Ingrediente(this.nome, this.dose, this.unitaMisura);
@@ -1,70 +1,253 @@
 package software.domain.ricette;
 
 import javafx.beans.property.*;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
+/**
+ * Passo di una ricetta.
+ * Ogni valore è memorizzato una sola volta in un campo semplice; le proprietà JavaFX
+ * servono solo durante la modifica e vengono create alla prima richiesta.
+ *
+ * La forma binaria ({@link #scrivi}, {@link #leggi}, usata anche dalla serializzazione) è:
+ * id e ordine come interi a lunghezza variabile, un byte di formato, la lunghezza
+ * dei byte della descrizione e i byte stessi, in UTF-8 o compressi con Deflate
+ * se la descrizione è lunga e la compressione conviene.
+ * In lettura le lunghezze dichiarate vengono controllate prima di allocare memoria,
+ * perché i dati possono arrivare da una fonte non fidata.
+ */
 public class Istruzione implements Serializable {
-    private static final long serialVersionUID = 1L;
-    
-    // Utilizziamo transient per le proprietà JavaFX che non sono serializzabili
-    private transient IntegerProperty id = new SimpleIntegerProperty();
-    private transient IntegerProperty ordine = new SimpleIntegerProperty();
-    private transient StringProperty descrizione = new SimpleStringProperty();
-    
-    // Campi di backup per serializzazione
-    private int idValue;
-    private int ordineValue;
-    private String descrizioneValue;
+    private static final long serialVersionUID = 2L;
+
+    // Sotto questa lunghezza (in byte UTF-8) la compressione non fa risparmiare nulla
+    static final int SOGLIA_COMPRESSIONE = 256;
+    // Lunghezza massima della descrizione in byte UTF-8, ben oltre quella di un passo reale
+    static final int LUNGHEZZA_MASSIMA = 1 << 20;
+    private static final byte FORMATO_NULLA = 0;
+    private static final byte FORMATO_UTF8 = 1;
+    private static final byte FORMATO_DEFLATE = 2;
+
+    private transient int id;
+    private transient int ordine;
+    private transient String descrizione;
+
+    // Proprietà JavaFX, create solo se richieste
+    private transient IntegerProperty idProperty;
+    private transient IntegerProperty ordineProperty;
+    private transient StringProperty descrizioneProperty;
 
     public Istruzione(int id, int ordine, String descrizione) {
-        this.id.set(id);
-        this.ordine.set(ordine);
-        this.descrizione.set(descrizione);
-        
-        // Aggiorna anche i campi di backup
-        this.idValue = id;
-        this.ordineValue = ordine;
-        this.descrizioneValue = descrizione;
+        this.id = id;
+        this.ordine = ordine;
+        this.descrizione = descrizione;
     }
 
     // Getters per proprietà JavaFX
-    public IntegerProperty idProperty() { return id; }
-    public IntegerProperty ordineProperty() { return ordine; }
-    public StringProperty descrizioneProperty() { return descrizione; }
-    
+    public IntegerProperty idProperty() {
+        if (idProperty == null) {
+            idProperty = new SimpleIntegerProperty(this, "id", id);
+        }
+        return idProperty;
+    }
+
+    public IntegerProperty ordineProperty() {
+        if (ordineProperty == null) {
+            ordineProperty = new SimpleIntegerProperty(this, "ordine", ordine);
+        }
+        return ordineProperty;
+    }
+
+    public StringProperty descrizioneProperty() {
+        if (descrizioneProperty == null) {
+            descrizioneProperty = new SimpleStringProperty(this, "descrizione", descrizione);
+        }
+        return descrizioneProperty;
+    }
+
     // Getters standard
-    public int getId() { return id.get(); }
-    public int getOrdine() { return ordine.get(); }
-    public String getDescrizione() { return descrizione.get(); }
-    
+    public int getId() { return idProperty != null ? idProperty.get() : id; }
+    public int getOrdine() { return ordineProperty != null ? ordineProperty.get() : ordine; }
+    public String getDescrizione() { return descrizioneProperty != null ? descrizioneProperty.get() : descrizione; }
+
     // Setters
-    public void setOrdine(int ordine) { 
-        this.ordine.set(ordine);
-        this.ordineValue = ordine;
+    public void setOrdine(int ordine) {
+        if (ordineProperty != null) {
+            ordineProperty.set(ordine);
+        } else {
+            this.ordine = ordine;
+        }
     }
-    
-    public void setDescrizione(String descrizione) { 
-        this.descrizione.set(descrizione);
-        this.descrizioneValue = descrizione;
+
+    public void setDescrizione(String descrizione) {
+        if (descrizioneProperty != null) {
+            descrizioneProperty.set(descrizione);
+        } else {
+            this.descrizione = descrizione;
+        }
+    }
+
+    /**
+     * Scrive l'istruzione nella forma binaria compatta.
+     * @param out Destinazione dei dati
+     */
+    public void scrivi(DataOutput out) throws IOException {
+        scriviIntero(out, getId());
+        scriviIntero(out, getOrdine());
+        String testo = getDescrizione();
+        if (testo == null) {
+            out.writeByte(FORMATO_NULLA);
+            return;
+        }
+        byte[] byteTesto = testo.getBytes(StandardCharsets.UTF_8);
+        if (byteTesto.length > LUNGHEZZA_MASSIMA) {
+            throw new IOException("Descrizione di " + byteTesto.length + " byte, oltre il massimo di "
+                                  + LUNGHEZZA_MASSIMA);
+        }
+        byte[] compressi = byteTesto.length >= SOGLIA_COMPRESSIONE ? comprimi(byteTesto) : null;
+        if (compressi != null && compressi.length < byteTesto.length) {
+            out.writeByte(FORMATO_DEFLATE);
+            scriviIntero(out, byteTesto.length);
+            scriviIntero(out, compressi.length);
+            out.write(compressi);
+        } else {
+            out.writeByte(FORMATO_UTF8);
+            scriviIntero(out, byteTesto.length);
+            out.write(byteTesto);
+        }
     }
-    
-    // Metodi custom per gestire la serializzazione
+
+    /**
+     * Legge un'istruzione scritta con {@link #scrivi}.
+     * @param in Sorgente dei dati
+     * @return L'istruzione letta
+     * @throws IOException se i dati non sono un'istruzione valida
+     */
+    public static Istruzione leggi(DataInput in) throws IOException {
+        Istruzione istruzione = new Istruzione(0, 0, null);
+        istruzione.leggiCampi(in);
+        return istruzione;
+    }
+
+    private void leggiCampi(DataInput in) throws IOException {
+        id = leggiIntero(in);
+        ordine = leggiIntero(in);
+        byte formato = in.readByte();
+        switch (formato) {
+            case FORMATO_NULLA:
+                descrizione = null;
+                break;
+            case FORMATO_UTF8: {
+                byte[] byteTesto = new byte[leggiLunghezza(in, LUNGHEZZA_MASSIMA)];
+                in.readFully(byteTesto);
+                descrizione = new String(byteTesto, StandardCharsets.UTF_8);
+                break;
+            }
+            case FORMATO_DEFLATE: {
+                int lunghezza = leggiLunghezza(in, LUNGHEZZA_MASSIMA);
+                // Si comprime solo quando i dati compressi sono più corti dell'originale
+                byte[] compressi = new byte[leggiLunghezza(in, lunghezza - 1)];
+                in.readFully(compressi);
+                descrizione = new String(decomprimi(compressi, lunghezza), StandardCharsets.UTF_8);
+                break;
+            }
+            default:
+                throw new InvalidObjectException("Formato della descrizione sconosciuto: " + formato);
+        }
+    }
+
+    // La serializzazione Java usa la stessa forma binaria
     private void writeObject(ObjectOutputStream out) throws IOException {
         out.defaultWriteObject();
-        out.writeInt(getId());
-        out.writeInt(getOrdine());
-        out.writeObject(getDescrizione());
+        scrivi(out);
     }
-    
+
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
-        
-        // Ricrea le proprietà JavaFX
-        id = new SimpleIntegerProperty(in.readInt());
-        ordine = new SimpleIntegerProperty(in.readInt());
-        descrizione = new SimpleStringProperty((String) in.readObject());
+        leggiCampi(in);
+    }
+
+    private static byte[] comprimi(byte[] dati) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(dati);
+            deflater.finish();
+            ByteArrayOutputStream risultato = new ByteArrayOutputStream(dati.length / 2);
+            byte[] blocco = new byte[512];
+            while (!deflater.finished()) {
+                risultato.write(blocco, 0, deflater.deflate(blocco));
+            }
+            return risultato.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decomprimi(byte[] compressi, int lunghezza) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressi);
+            byte[] dati = new byte[lunghezza];
+            int letti = 0;
+            while (letti < lunghezza && !inflater.finished()) {
+                int n = inflater.inflate(dati, letti, lunghezza - letti);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                letti += n;
+            }
+            if (letti != lunghezza) {
+                throw new InvalidObjectException("Descrizione compressa troncata");
+            }
+            return dati;
+        } catch (DataFormatException e) {
+            throw new InvalidObjectException("Descrizione compressa non valida: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Intero a lunghezza variabile: 7 bit per byte, il bit alto indica che ne seguono altri.
+     * Gli id e gli ordini piccoli occupano un solo byte.
+     */
+    private static void scriviIntero(DataOutput out, int valore) throws IOException {
+        while ((valore & ~0x7F) != 0) {
+            out.writeByte((valore & 0x7F) | 0x80);
+            valore >>>= 7;
+        }
+        out.writeByte(valore);
+    }
+
+    /**
+     * Legge una lunghezza e la rifiuta se è negativa o supera il massimo.
+     */
+    private static int leggiLunghezza(DataInput in, int massimo) throws IOException {
+        int lunghezza = leggiIntero(in);
+        if (lunghezza < 0 || lunghezza > massimo) {
+            throw new InvalidObjectException("Lunghezza della descrizione non valida: " + lunghezza);
+        }
+        return lunghezza;
+    }
+
+    private static int leggiIntero(DataInput in) throws IOException {
+        int valore = 0;
+        for (int spostamento = 0; spostamento < 32; spostamento += 7) {
+            byte b = in.readByte();
+            valore |= (b & 0x7F) << spostamento;
+            if ((b & 0x80) == 0) {
+                return valore;
+            }
+        }
+        throw new InvalidObjectException("Intero a lunghezza variabile non valido");
     }
-}
\ No newline at end of file
+}
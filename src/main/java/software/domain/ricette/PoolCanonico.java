@@ -0,0 +1,48 @@
+package software.domain.ricette;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Insieme di istanze canoniche: valori uguali vengono sostituiti da un'unica istanza
+ * condivisa, che può quindi essere confrontata per identità.
+ * Il pool tiene solo riferimenti deboli, per cui un valore non più usato da nessuna
+ * ricetta viene raccolto dal garbage collector insieme alla sua voce.
+ * I valori devono essere immutabili, o almeno non cambiare equals e hashCode.
+ * È thread-safe.
+ *
+ * @param <T> Tipo dei valori
+ */
+public final class PoolCanonico<T> {
+    // Il valore è un riferimento debole all'istanza canonica, che è anche la chiave:
+    // un riferimento forte impedirebbe alla WeakHashMap di rimuovere la voce
+    private final Map<T, WeakReference<T>> istanze = new WeakHashMap<>();
+
+    /**
+     * Restituisce l'istanza canonica uguale al valore, registrando il valore
+     * stesso se non ce n'è ancora una.
+     * @param valore Il valore da rendere canonico (null viene restituito così com'è)
+     * @return L'istanza condivisa uguale al valore
+     */
+    public synchronized T canonico(T valore) {
+        if (valore == null) {
+            return null;
+        }
+        WeakReference<T> riferimento = istanze.get(valore);
+        T esistente = riferimento != null ? riferimento.get() : null;
+        if (esistente != null) {
+            return esistente;
+        }
+        istanze.put(valore, new WeakReference<>(valore));
+        return valore;
+    }
+
+    /**
+     * Restituisce il numero di istanze ancora registrate.
+     * Può includere valori non più raggiungibili e non ancora raccolti.
+     */
+    public synchronized int size() {
+        return istanze.size();
+    }
+}
@@ -11,15 +11,18 @@ import java.util.List;
  * dalla tecnologia di presentazione (JavaFX).
  */
 public class Ricetta implements Serializable {
-    private static final long serialVersionUID = 1L;
+    // 2: gli ingredienti sono una TabellaIngredienti invece di una lista
+    private static final long serialVersionUID = 2L;
     
     private int id;
     private String nome;
     private String descrizione;
     private String stato = "Bozza";
     private int tempoPreparazione;
+    private int porzioni = 1; // porzioni ottenute con le dosi indicate negli ingredienti
     private boolean inUso = false;
-    private List<Ingrediente> ingredienti = new ArrayList<>();
+    private TabellaIngredienti ingredienti = new TabellaIngredienti();
+    private int revisione; // cresce a ogni modifica di ingredienti o porzioni
     private List<Istruzione> istruzioni = new ArrayList<>();
     private List<Tag> tags = new ArrayList<>();
     private Chef proprietario;
@@ -30,8 +33,26 @@ public class Ricetta implements Serializable {
         this.proprietario = proprietario;
     }
 
+    /**
+     * Aggiunge un ingrediente. La ricetta ne copia i valori: modifiche successive
+     * all'oggetto passato non cambiano la ricetta.
+     */
     public void aggiungiIngrediente(Ingrediente ingrediente) {
-        ingredienti.add(ingrediente);
+        ingredienti.aggiungi(ingrediente);
+        revisione++;
+    }
+
+    /**
+     * Sostituisce l'ingrediente in posizione indicata con i valori di un altro ingrediente.
+     */
+    public void sostituisciIngrediente(int indice, Ingrediente ingrediente) {
+        ingredienti.imposta(indice, ingrediente);
+        revisione++;
+    }
+
+    public void rimuoviIngrediente(int indice) {
+        ingredienti.rimuovi(indice);
+        revisione++;
     }
 
     public void aggiungiIstruzione(Istruzione istruzione) {
@@ -48,17 +69,54 @@ public class Ricetta implements Serializable {
     public String getDescrizione() { return descrizione; }
     public String getStato() { return stato; }
     public int getTempoPreparazione() { return tempoPreparazione; }
+    public int getPorzioni() { return porzioni; }
+
+    /**
+     * Restituisce un contatore che cambia a ogni modifica di ingredienti o porzioni,
+     * per capire se un valore calcolato dalla ricetta (es. il costo) è ancora valido.
+     */
+    public int getRevisione() { return revisione; }
     public boolean isInUso() { return inUso; }
-    public List<Ingrediente> getIngredienti() { return ingredienti; }
+
+    /**
+     * Restituisce gli ingredienti, ricreati a ogni lettura a partire dai valori memorizzati.
+     * Gli ingredienti restituiti sono in sola lettura: per modificarli si usa
+     * {@link #sostituisciIngrediente(int, Ingrediente)}.
+     */
+    public List<Ingrediente> getIngredienti() { return ingredienti.vista(); }
     public List<Istruzione> getIstruzioni() { return istruzioni; }
     public List<Tag> getTags() { return tags; }
     public Chef getProprietario() { return proprietario; }
     
+    // Accesso per colonne agli ingredienti, senza creare oggetti
+    public int getNumeroIngredienti() { return ingredienti.size(); }
+    public double getDoseIngrediente(int indice) { return ingredienti.dose(indice); }
+    public int getCodiceNomeIngrediente(int indice) { return ingredienti.codiceNome(indice); }
+    public int getCodiceUnitaIngrediente(int indice) { return ingredienti.codiceUnita(indice); }
+    public boolean isIngredienteBase(int indice) { return ingredienti.isBase(indice); }
+
+    /**
+     * Passa all'accumulatore la dose di ogni ingrediente moltiplicata per il fattore
+     * (es. porzioni richieste / porzioni della ricetta).
+     */
+    public void accumulaIngredienti(double fattore, AccumulatoreIngredienti accumulatore) {
+        ingredienti.accumula(fattore, accumulatore);
+    }
+    
     // Setters
     public void setNome(String nome) { this.nome = nome; }
     public void setDescrizione(String descrizione) { this.descrizione = descrizione; }
     public void setStato(String stato) { this.stato = stato; }
     public void setTempoPreparazione(int minuti) { this.tempoPreparazione = minuti; }
+    public void setPorzioni(int porzioni) {
+        if (porzioni < 1) {
+            throw new IllegalArgumentException("Le porzioni devono essere almeno 1");
+        }
+        if (this.porzioni != porzioni) {
+            this.porzioni = porzioni;
+            revisione++;
+        }
+    }
     public void setInUso(boolean inUso) { this.inUso = inUso; }
     
     @Override
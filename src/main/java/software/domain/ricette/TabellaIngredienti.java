@@ -0,0 +1,239 @@
+package software.domain.ricette;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Ingredienti di una ricetta memorizzati per colonne: dosi, codici dei nomi e delle
+ * unità (vedi {@link DizionarioIngredienti}) in array paralleli, e un bitset per gli
+ * ingredienti base, allocato solo se ce n'è almeno uno.
+ * I calcoli numerici scorrono gli array senza toccare oggetti; gli {@link Ingrediente}
+ * vengono creati solo quando qualcuno li legge.
+ * La tabella trattiene i codici che contiene e li rilascia quando una riga cambia o
+ * viene rimossa, e tutti insieme quando la tabella diventa irraggiungibile.
+ * Non è thread-safe, come la ricetta che la contiene.
+ */
+final class TabellaIngredienti implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final double[] NESSUNA_DOSE = new double[0];
+    private static final int[] NESSUN_CODICE = new int[0];
+    private static final int CAPACITA_MINIMA = 4;
+    // Codice delle righe libere
+    private static final int NESSUNO = -1;
+
+    private transient int numero;
+    private transient double[] dosi = NESSUNA_DOSE;
+    // Null finché la tabella non ha mai avuto ingredienti
+    private transient Codici codici;
+    private transient BitSet base;
+
+    int size() {
+        return numero;
+    }
+
+    double dose(int riga) {
+        verificaRiga(riga);
+        return dosi[riga];
+    }
+
+    int codiceNome(int riga) {
+        verificaRiga(riga);
+        return codici.nomi[riga];
+    }
+
+    int codiceUnita(int riga) {
+        verificaRiga(riga);
+        return codici.unita[riga];
+    }
+
+    boolean isBase(int riga) {
+        verificaRiga(riga);
+        return base != null && base.get(riga);
+    }
+
+    /**
+     * Passa all'accumulatore la dose di ogni riga moltiplicata per il fattore.
+     */
+    void accumula(double fattore, AccumulatoreIngredienti accumulatore) {
+        for (int i = 0; i < numero; i++) {
+            accumulatore.aggiungi(codici.nomi[i], codici.unita[i], dosi[i] * fattore);
+        }
+    }
+
+    void aggiungi(Ingrediente ingrediente) {
+        if (numero == dosi.length) {
+            garantisciCapacita(Math.max(CAPACITA_MINIMA, numero * 2));
+        }
+        scrivi(numero++, ingrediente);
+    }
+
+    void imposta(int riga, Ingrediente ingrediente) {
+        verificaRiga(riga);
+        scrivi(riga, ingrediente);
+    }
+
+    void rimuovi(int riga) {
+        verificaRiga(riga);
+        int[] nomi = codici.nomi;
+        int[] unita = codici.unita;
+        DizionarioIngredienti.rilascia(nomi[riga]);
+        DizionarioIngredienti.rilascia(unita[riga]);
+        int spostate = numero - riga - 1;
+        System.arraycopy(dosi, riga + 1, dosi, riga, spostate);
+        System.arraycopy(nomi, riga + 1, nomi, riga, spostate);
+        System.arraycopy(unita, riga + 1, unita, riga, spostate);
+        nomi[numero - 1] = NESSUNO;
+        unita[numero - 1] = NESSUNO;
+        if (base != null) {
+            for (int i = riga; i < numero - 1; i++) {
+                base.set(i, base.get(i + 1));
+            }
+            base.clear(numero - 1);
+        }
+        numero--;
+    }
+
+    Ingrediente ingrediente(int riga) {
+        verificaRiga(riga);
+        return Ingrediente.daValidi(DizionarioIngredienti.valore(codici.nomi[riga]), dosi[riga],
+                                    DizionarioIngredienti.valore(codici.unita[riga]), base != null && base.get(riga));
+    }
+
+    /**
+     * Restituisce una vista non modificabile che crea gli ingredienti, in sola lettura, a ogni lettura.
+     */
+    List<Ingrediente> vista() {
+        return new Vista();
+    }
+
+    private void garantisciCapacita(int capacita) {
+        if (codici == null) {
+            codici = new Codici();
+            DizionarioIngredienti.allaRaccolta(this, codici);
+        }
+        dosi = Arrays.copyOf(dosi, capacita);
+        codici.nomi = allarga(codici.nomi, capacita);
+        codici.unita = allarga(codici.unita, capacita);
+    }
+
+    private static int[] allarga(int[] codici, int capacita) {
+        int[] allargato = Arrays.copyOf(codici, capacita);
+        Arrays.fill(allargato, codici.length, capacita, NESSUNO);
+        return allargato;
+    }
+
+    private void scrivi(int riga, Ingrediente ingrediente) {
+        dosi[riga] = ingrediente.getDose();
+        // Prima si trattengono i nuovi codici, così un valore che non cambia non esce dal dizionario
+        int nome = DizionarioIngredienti.trattieni(ingrediente.getNome());
+        int unitaMisura = DizionarioIngredienti.trattieni(ingrediente.getUnitaMisura());
+        codici.sostituisci(riga, nome, unitaMisura);
+        if (ingrediente.isIngredienteBase()) {
+            if (base == null) {
+                base = new BitSet();
+            }
+            base.set(riga);
+        } else if (base != null) {
+            base.clear(riga);
+        }
+    }
+
+    private void verificaRiga(int riga) {
+        if (riga < 0 || riga >= numero) {
+            throw new IndexOutOfBoundsException("Ingrediente " + riga + " inesistente, la ricetta ne ha " + numero);
+        }
+    }
+
+    // I codici valgono solo nel processo corrente: si salvano i valori testuali
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(numero);
+        for (int i = 0; i < numero; i++) {
+            out.writeUTF(DizionarioIngredienti.valore(codici.nomi[i]));
+            out.writeDouble(dosi[i]);
+            out.writeUTF(DizionarioIngredienti.valore(codici.unita[i]));
+            out.writeBoolean(base != null && base.get(i));
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int righe = in.readInt();
+        if (righe < 0) {
+            throw new InvalidObjectException("Numero di ingredienti negativo: " + righe);
+        }
+        dosi = NESSUNA_DOSE;
+        for (int i = 0; i < righe; i++) {
+            String nome = in.readUTF();
+            double dose = in.readDouble();
+            String unitaMisura = in.readUTF();
+            boolean ingredienteBase = in.readBoolean();
+            if (numero == dosi.length) {
+                garantisciCapacita(Math.max(CAPACITA_MINIMA, numero * 2));
+            }
+            dosi[numero] = dose;
+            // Attraverso il pool, così il dizionario tiene la stessa istanza degli ingredienti liberi
+            codici.sostituisci(numero, DizionarioIngredienti.trattieni(Ingrediente.NOMI.canonico(nome)),
+                               DizionarioIngredienti.trattieni(Ingrediente.UNITA_MISURA.canonico(unitaMisura)));
+            if (ingredienteBase) {
+                if (base == null) {
+                    base = new BitSet();
+                }
+                base.set(numero);
+            }
+            numero++;
+        }
+    }
+
+    /**
+     * Codici trattenuti dalla tabella, separati da essa perché il rilascio alla raccolta
+     * non deve fare riferimento alla tabella. Le posizioni libere valgono {@link #NESSUNO}.
+     */
+    private static final class Codici implements Runnable {
+        int[] nomi = NESSUN_CODICE;
+        int[] unita = NESSUN_CODICE;
+
+        /**
+         * Scrive i codici già trattenuti nella riga e rilascia quelli che sostituiscono.
+         */
+        void sostituisci(int riga, int nome, int unitaMisura) {
+            int vecchioNome = nomi[riga];
+            int vecchiaUnita = unita[riga];
+            nomi[riga] = nome;
+            unita[riga] = unitaMisura;
+            if (vecchioNome != NESSUNO) {
+                DizionarioIngredienti.rilascia(vecchioNome);
+                DizionarioIngredienti.rilascia(vecchiaUnita);
+            }
+        }
+
+        // Chiamato una sola volta, quando la tabella diventa irraggiungibile
+        @Override
+        public void run() {
+            for (int i = 0; i < nomi.length && nomi[i] != NESSUNO; i++) {
+                DizionarioIngredienti.rilascia(nomi[i]);
+                DizionarioIngredienti.rilascia(unita[i]);
+            }
+        }
+    }
+
+    private final class Vista extends AbstractList<Ingrediente> implements RandomAccess {
+        @Override
+        public Ingrediente get(int indice) {
+            return ingrediente(indice);
+        }
+
+        @Override
+        public int size() {
+            return numero;
+        }
+    }
+}
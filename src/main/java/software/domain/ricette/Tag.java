@@ -4,13 +4,18 @@ import java.io.Serializable;
 
 /**
  * Rappresenta un tag di categorizzazione per le ricette.
+ * I tag semplici, fatti solo di un nome, si ottengono con {@link #di(String)}:
+ * tutte le ricette con lo stesso tag condividono la stessa istanza.
  */
 public class Tag implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    private static final PoolCanonico<Tag> CONDIVISI = new PoolCanonico<>();
+    
     private String nome;
     private String descrizione;
     private String colore;
+    private transient boolean condiviso;
     
     public Tag(String nome) {
         this.nome = nome;
@@ -22,11 +27,35 @@ public class Tag implements Serializable {
         this.colore = colore;
     }
     
+    /**
+     * Restituisce il tag condiviso con il nome indicato, creandolo se necessario.
+     * Il tag restituito non può essere modificato.
+     * @param nome Il nome del tag
+     * @return L'istanza condivisa del tag
+     * @throws IllegalArgumentException se il nome è vuoto
+     */
+    public static Tag di(String nome) {
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new IllegalArgumentException("Il nome del tag non può essere vuoto");
+        }
+        Tag tag = new Tag(nome.trim());
+        tag.condiviso = true;
+        return CONDIVISI.canonico(tag);
+    }
+    
+    /**
+     * Verifica se il tag è l'istanza condivisa ottenuta con {@link #di(String)}.
+     */
+    public boolean isCondiviso() {
+        return condiviso;
+    }
+    
     public String getNome() {
         return nome;
     }
     
     public void setNome(String nome) {
+        verificaModificabile();
         this.nome = nome;
     }
     
@@ -35,6 +64,7 @@ public class Tag implements Serializable {
     }
     
     public void setDescrizione(String descrizione) {
+        verificaModificabile();
         this.descrizione = descrizione;
     }
     
@@ -43,9 +73,16 @@ public class Tag implements Serializable {
     }
     
     public void setColore(String colore) {
+        verificaModificabile();
         this.colore = colore;
     }
     
+    private void verificaModificabile() {
+        if (condiviso) {
+            throw new UnsupportedOperationException("Il tag '" + nome + "' è condiviso tra più ricette e non può essere modificato");
+        }
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
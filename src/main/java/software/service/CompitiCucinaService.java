@@ -1,11 +1,18 @@
 package software.service;
 
+import software.domain.compiti.AssegnazioneCompito;
 import software.domain.compiti.Compito;
+import software.domain.compiti.StatoCompito;
+import software.domain.compiti.Turno;
 import software.domain.menu.Menu;
 import software.domain.menu.SezioneMenu;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
+import software.domain.exceptions.DomainException;
 import software.domain.utenti.Cuoco;
+import software.service.pianificazione.MonitorAvanzamento;
+import software.service.pianificazione.SimulazionePiano;
+import software.service.utils.IntMap;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -19,7 +26,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class CompitiCucinaService {
     private final List<Compito> compiti = new ArrayList<>();
+    private final IntMap<Compito> compitiPerId = new IntMap<>();
     private final AtomicInteger nextCompitoId = new AtomicInteger(1);
+    private final MonitorAvanzamento monitor = new MonitorAvanzamento();
     
     /**
      * Crea un riepilogo dei compiti basato su un menu.
@@ -46,6 +55,10 @@ public class CompitiCucinaService {
         }
         
         compiti.addAll(compitiMenu);
+        for (Compito compito : compitiMenu) {
+            compitiPerId.put(compito.getId(), compito);
+            monitor.registra(compito);
+        }
         return compitiMenu;
     }
     
@@ -72,6 +85,57 @@ public class CompitiCucinaService {
         return compito;
     }
     
+    /**
+     * Assegna più compiti in un'unica operazione.
+     * Tutte le assegnazioni vengono validate insieme prima di applicarne una:
+     * se anche una sola non è valida nessun compito viene modificato.
+     * @param assegnazioni Le assegnazioni da applicare
+     * @return I compiti aggiornati, nello stesso ordine delle assegnazioni
+     * @throws DomainException con l'elenco di tutti gli errori trovati
+     */
+    public List<Compito> assegnaCompiti(List<AssegnazioneCompito> assegnazioni) {
+        List<Compito> daAggiornare = new ArrayList<>(assegnazioni.size());
+        IntMap<AssegnazioneCompito> giaRichiesti = new IntMap<>(assegnazioni.size());
+        List<String> errori = new ArrayList<>();
+        
+        for (AssegnazioneCompito assegnazione : assegnazioni) {
+            int id = assegnazione.getIdCompito();
+            Compito compito = compitiPerId.get(id);
+            if (compito == null) {
+                errori.add("il compito " + id + " non esiste");
+            } else if (giaRichiesti.put(id, assegnazione) != null) {
+                errori.add("il compito " + id + " è assegnato più volte");
+            }
+            if (assegnazione.getCuoco() == null) {
+                errori.add("il compito " + id + " non ha un cuoco");
+            }
+            if (assegnazione.getTurno() == null) {
+                errori.add("il compito " + id + " non ha un turno");
+            }
+            if (assegnazione.getDurata() <= 0) {
+                errori.add("il compito " + id + " ha una durata non positiva");
+            }
+            if (assegnazione.getQuantita() <= 0) {
+                errori.add("il compito " + id + " ha una quantità non positiva");
+            }
+            daAggiornare.add(compito);
+        }
+        
+        if (!errori.isEmpty()) {
+            throw new DomainException("Assegnazioni non valide: " + String.join("; ", errori));
+        }
+        
+        for (int i = 0; i < assegnazioni.size(); i++) {
+            AssegnazioneCompito assegnazione = assegnazioni.get(i);
+            Compito compito = daAggiornare.get(i);
+            compito.setCuocoAssegnato(assegnazione.getCuoco());
+            compito.setTurno(assegnazione.getTurno());
+            compito.setDurata(assegnazione.getDurata());
+            compito.setQuantita(assegnazione.getQuantita());
+        }
+        return daAggiornare;
+    }
+    
     /**
      * Ordina i compiti per importanza.
      * Riferimento: UC "Gestione dei compiti della cucina" - Passo 4
@@ -88,6 +152,18 @@ public class CompitiCucinaService {
         return compitiOrdinati;
     }
     
+    /**
+     * Avvia una simulazione "what-if" del piano, da usare prima di finalizzarlo.
+     * Le modifiche fatte nella simulazione non toccano i compiti reali.
+     * @param compitiPiano I compiti del piano
+     * @param turni I turni in cui sono distribuiti i compiti
+     * @param numeroOspiti Il numero di ospiti per cui è dimensionato il piano
+     * @return La simulazione
+     */
+    public SimulazionePiano simulaPiano(List<Compito> compitiPiano, List<Turno> turni, int numeroOspiti) {
+        return new SimulazionePiano(compitiPiano, turni, numeroOspiti);
+    }
+    
     /**
      * Finalizza il piano dei compiti per un menu.
      * Riferimento: UC "Gestione dei compiti della cucina" - Passo 7
@@ -108,7 +184,7 @@ public class CompitiCucinaService {
         
         // Se tutti i controlli sono passati, imposta lo stato a "Pianificato"
         for (Compito compito : compitiDaFinalizzare) {
-            compito.setStato("Pianificato");
+            compito.setStato(StatoCompito.PIANIFICATO);
         }
     }
     
@@ -124,7 +200,7 @@ public class CompitiCucinaService {
         int completati = 0;
         
         for (Compito compito : listaCompiti) {
-            if ("Completato".equals(compito.getStato())) {
+            if (compito.getStato() == StatoCompito.COMPLETATO) {
                 completati++;
             }
         }
@@ -132,18 +208,29 @@ public class CompitiCucinaService {
         return (completati * 100) / listaCompiti.size();
     }
     
+    /**
+     * Restituisce la percentuale di completamento di tutti i compiti del servizio.
+     * Il valore è letto dai contatori mantenuti a ogni cambio di stato, in O(1).
+     * @return Percentuale di completamento (0-100)
+     */
+    public int monitoraAvanzamento() {
+        return monitor.getAvanzamentoGlobale().getPercentualeCompletamento();
+    }
+    
+    /**
+     * Restituisce il monitor che mantiene i contatori di avanzamento per turno e cuoco.
+     */
+    public MonitorAvanzamento getMonitorAvanzamento() {
+        return monitor;
+    }
+    
     /**
      * Ottiene un compito tramite il suo ID.
      * @param id L'ID del compito da cercare
      * @return Il compito trovato, null se non esiste
      */
     public Compito getCompitoById(int id) {
-        for (Compito compito : compiti) {
-            if (compito.getId() == id) {
-                return compito;
-            }
-        }
-        return null;
+        return compitiPerId.get(id);
     }
     
     /**
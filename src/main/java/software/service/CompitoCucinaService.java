@@ -3,13 +3,24 @@ package software.service;
 import software.domain.compiti.Compito;
 import software.domain.compiti.Turno;
 import software.domain.eventi.Evento;
+import software.domain.exceptions.DomainException;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
 import software.domain.utenti.Cuoco;
+import software.service.pianificazione.DispatcherCompiti;
+import software.service.calendario.CalendarioEventi;
+import software.service.calendario.RilevatoreConflitti;
+import software.service.pianificazione.ContatoreAvanzamento;
+import software.service.pianificazione.GrafoCompiti;
+import software.service.pianificazione.MonitorAvanzamento;
+import software.service.pianificazione.PercorsoCritico;
+import software.service.pianificazione.SimulazionePiano;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
@@ -22,9 +33,12 @@ public class CompitoCucinaService {
     private final ObservableList<Turno> turni = FXCollections.observableArrayList();
     private int nextCompitoId = 1;
     private int nextTurnoId = 1;
+    private final MonitorAvanzamento monitor = new MonitorAvanzamento();
     
     /**
-     * Crea un riepilogo dei compiti per un evento.
+     * Crea un riepilogo dei compiti per un evento e li associa all'evento nel monitor di avanzamento.
+     * Se l'evento non ha ricette mostra tutti i compiti (vedi {@link #calcolaRiepilogoDaMostrare}),
+     * senza associarli all'evento.
      * Riferimento: UC "Gestione dei Compiti della cucina" - Passo 1
      */
     public ObservableList<Compito> creaRiepilogoCompiti(Evento evento) {
@@ -32,7 +46,18 @@ public class CompitoCucinaService {
             return FXCollections.observableArrayList(); // Lista vuota se l'evento è nullo
         }
         
-        // Ottieni le ricette associate all'evento
+        List<Ricetta> ricetteEvento = getRicetteEvento(evento);
+        List<Compito> compitiEvento = calcolaRiepilogoDaMostrare(ricetteEvento, compiti);
+        if (!ricetteEvento.isEmpty()) {
+            associaCompitiEvento(compitiEvento, evento);
+        }
+        return FXCollections.observableArrayList(compitiEvento);
+    }
+    
+    /**
+     * Restituisce le ricette dei menu associati ai servizi dell'evento.
+     */
+    public List<Ricetta> getRicetteEvento(Evento evento) {
         List<Ricetta> ricetteEvento = new ArrayList<>();
         evento.getServizi().stream()
             .filter(servizio -> servizio.getMenu() != null)
@@ -41,36 +66,52 @@ public class CompitoCucinaService {
                     .flatMap(sezione -> sezione.getRicette().stream())
                     .forEach(ricetteEvento::add)
             );
-        
+        return ricetteEvento;
+    }
+    
+    /**
+     * Seleziona i compiti che preparano le ricette di un evento.
+     * Non modifica lo stato del servizio: può essere eseguito fuori dal thread JavaFX
+     * su copie delle liste, che poi vanno associate con {@link #associaCompitiEvento}.
+     * @param ricetteEvento Le ricette dell'evento
+     * @param compiti I compiti tra cui cercare
+     * @return I compiti dell'evento, nessuno se l'evento non ha ricette
+     */
+    public List<Compito> calcolaRiepilogoCompiti(List<Ricetta> ricetteEvento, List<Compito> compiti) {
         if (ricetteEvento.isEmpty()) {
-            // Log di debug
-            System.out.println("Non sono state trovate ricette per l'evento: " + evento.getNome());
-            // Se non ci sono ricette, per scopi dimostrativi, includiamo tutti i compiti
-            // Questo permette all'interfaccia di funzionare anche con dati incompleti
-            return FXCollections.observableArrayList(compiti);
-        }
-        
-        // Debug: stampa le ricette trovate
-        System.out.println("Ricette trovate per l'evento " + evento.getNome() + ": " + ricetteEvento.size());
-        for (Ricetta r : ricetteEvento) {
-            System.out.println(" - " + r.getNome());
+            return new ArrayList<>();
         }
         
         // Filtra i compiti per ricette dell'evento
-        List<Compito> compitiEvento = compiti.stream()
+        Set<Ricetta> ricette = new HashSet<>(ricetteEvento);
+        return compiti.stream()
             .filter(compito -> 
                 compito.getRicetta() != null && 
-                ricetteEvento.contains(compito.getRicetta()))
+                ricette.contains(compito.getRicetta()))
             .collect(Collectors.toList());
-        
-        System.out.println("Compiti filtrati per l'evento: " + compitiEvento.size());
-        
-        // Se non ci sono compiti per questo evento, creiamo compiti di esempio
-        if (compitiEvento.isEmpty() && !ricetteEvento.isEmpty()) {
-            System.out.println("Nessun compito trovato per l'evento, si potrebbero creare compiti di esempio");
+    }
+    
+    /**
+     * Come {@link #calcolaRiepilogoCompiti}, ma se l'evento non ha ricette restituisce tutti
+     * i compiti: per scopi dimostrativi, così l'interfaccia funziona anche con dati incompleti.
+     * Questi compiti vanno solo mostrati, non associati all'evento.
+     * @param ricetteEvento Le ricette dell'evento
+     * @param compiti I compiti tra cui cercare
+     * @return I compiti da mostrare nel riepilogo dell'evento
+     */
+    public List<Compito> calcolaRiepilogoDaMostrare(List<Ricetta> ricetteEvento, List<Compito> compiti) {
+        if (ricetteEvento.isEmpty()) {
+            return new ArrayList<>(compiti);
         }
-        
-        return FXCollections.observableArrayList(compitiEvento);
+        return calcolaRiepilogoCompiti(ricetteEvento, compiti);
+    }
+    
+    /**
+     * Associa all'evento i compiti di un riepilogo, aggiornando i contatori di avanzamento.
+     * Va chiamato dal thread JavaFX.
+     */
+    public void associaCompitiEvento(List<Compito> compitiEvento, Evento evento) {
+        compitiEvento.forEach(compito -> monitor.associaEvento(compito, evento));
     }
     
     /**
@@ -97,18 +138,81 @@ public class CompitoCucinaService {
                                   Ricetta ricetta, int tempoStimato, double quantita) {
         Compito nuovoCompito = chef.assegnaCompito(nextCompitoId++, cuoco, turno, ricetta, tempoStimato, (int)quantita);
         compiti.add(nuovoCompito);
+        monitor.registra(nuovoCompito);
         return nuovoCompito;
     }
     
     /**
      * Ordina i compiti per importanza.
      * Riferimento: UC "Gestione dei Compiti della cucina" - Passo 4
+     * I compiti più lunghi vengono prima, ma ogni compito segue sempre le sue dipendenze.
+     * @throws DomainException se le dipendenze contengono un ciclo
      */
     public ObservableList<Compito> ordinaCompitiPerImportanza(List<Compito> compitiDaOrdinare) {
         // Logica di ordinamento (esempio: prima le ricette con lunghe lievitazioni)
-        ObservableList<Compito> compitiOrdinati = FXCollections.observableArrayList(compitiDaOrdinare);
-        compitiOrdinati.sort((c1, c2) -> c2.getTempoStimato() - c1.getTempoStimato());
-        return compitiOrdinati;
+        List<Compito> perDurata = new ArrayList<>(compitiDaOrdinare);
+        perDurata.sort((c1, c2) -> c2.getTempoStimato() - c1.getTempoStimato());
+        
+        // L'ordinamento topologico preserva l'ordine per durata dove le dipendenze lo consentono
+        return FXCollections.observableArrayList(new GrafoCompiti(perDurata).ordinamentoTopologico());
+    }
+    
+    /**
+     * Aggiunge una dipendenza tra due compiti: "dopo" potrà iniziare solo quando "prima" è completato.
+     * La dipendenza viene rifiutata se introduce un ciclo nel piano.
+     * @param prima Il compito propedeutico
+     * @param dopo Il compito che dipende da "prima"
+     * @throws DomainException se la dipendenza crea un ciclo
+     */
+    public void aggiungiDipendenza(Compito prima, Compito dopo) {
+        dopo.aggiungiDipendenza(prima);
+        GrafoCompiti grafo = new GrafoCompiti(compiti);
+        if (grafo.contieneCicli()) {
+            dopo.rimuoviDipendenza(prima);
+            throw new DomainException("La dipendenza crea un ciclo tra i compiti");
+        }
+    }
+    
+    /**
+     * Calcola il percorso critico e lo slack dei compiti di un evento.
+     * @param evento L'evento da analizzare
+     * @return Il percorso critico dei compiti dell'evento
+     * @throws DomainException se le dipendenze contengono un ciclo
+     */
+    public PercorsoCritico calcolaPercorsoCritico(Evento evento) {
+        return new GrafoCompiti(calcolaRiepilogoCompiti(getRicetteEvento(evento), compiti)).calcolaPercorsoCritico();
+    }
+    
+    /**
+     * Crea un dispatcher che, durante il servizio, indica a ogni cuoco il prossimo compito da eseguire.
+     * Il dispatcher osserva i compiti reali: il chiamante deve chiuderlo quando non serve più.
+     * @param evento L'evento in esecuzione
+     * @return Il dispatcher dei compiti dell'evento, da chiudere
+     * @throws DomainException se le dipendenze contengono un ciclo
+     */
+    public DispatcherCompiti creaDispatcher(Evento evento) {
+        return new DispatcherCompiti(calcolaRiepilogoCompiti(getRicetteEvento(evento), compiti));
+    }
+    
+    /**
+     * Avvia una simulazione "what-if" sul piano dei compiti di un evento.
+     * Le modifiche fatte nella simulazione non toccano i compiti reali.
+     * @param evento L'evento da simulare
+     * @return La simulazione
+     */
+    public SimulazionePiano simulaPiano(Evento evento) {
+        return new SimulazionePiano(calcolaRiepilogoCompiti(getRicetteEvento(evento), compiti), turni,
+                                   evento.getNumeroDiPersone());
+    }
+    
+    /**
+     * Crea un rilevatore dei conflitti tra i servizi del calendario e i turni e compiti di questo servizio.
+     * Il rilevatore resta aggiornato mentre turni e compiti cambiano.
+     * @param calendario Il calendario degli eventi
+     * @return Il rilevatore dei conflitti
+     */
+    public RilevatoreConflitti creaRilevatoreConflitti(CalendarioEventi calendario) {
+        return new RilevatoreConflitti(calendario, turni, compiti);
     }
     
     /**
@@ -120,7 +224,7 @@ public class CompitoCucinaService {
             return false;
         }
         
-        String turnoStr = turno.getData() + " " + turno.getOraInizio() + "-" + turno.getOraFine();
+        String turnoStr = turno.getEtichetta();
         int tempoTotale = compiti.stream()
             .filter(compito -> turnoStr.equals(compito.getTurno()))
             .mapToInt(Compito::getTempoStimato)
@@ -142,12 +246,42 @@ public class CompitoCucinaService {
         return compiti;
     }
     
+    /**
+     * Restituisce i contatori di avanzamento dei compiti di un evento.
+     * I contatori sono aggiornati a ogni cambio di stato, quindi la lettura è O(1).
+     */
+    public ContatoreAvanzamento getAvanzamentoEvento(Evento evento) {
+        return monitor.getAvanzamentoEvento(evento);
+    }
+    
+    /**
+     * Associa un compito all'evento per cui viene svolto, includendolo nel suo avanzamento.
+     */
+    public void associaCompitoEvento(Compito compito, Evento evento) {
+        monitor.associaEvento(compito, evento);
+    }
+    
+    /**
+     * Restituisce il monitor che mantiene i contatori di avanzamento per evento, turno e cuoco.
+     */
+    public MonitorAvanzamento getMonitorAvanzamento() {
+        return monitor;
+    }
+    
     /**
      * Controlla lo stato dei compiti a fine turno.
      * Riferimento: UC "Gestione dei Compiti della cucina" - Passo 7
      */
     public List<Compito> controllaStatoTurno(Turno turno) {
-        String turnoStr = turno.getData() + " " + turno.getOraInizio() + "-" + turno.getOraFine();
+        return controllaStatoTurno(turno, compiti);
+    }
+    
+    /**
+     * Seleziona i compiti del turno tra quelli indicati, senza modificare lo stato del servizio.
+     * Può essere eseguito fuori dal thread JavaFX su una copia dei compiti.
+     */
+    public List<Compito> controllaStatoTurno(Turno turno, List<Compito> compiti) {
+        String turnoStr = turno.getEtichetta();
         return compiti.stream()
             .filter(compito -> turnoStr.equals(compito.getTurno()))
             .collect(Collectors.toList());
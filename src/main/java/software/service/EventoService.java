@@ -1,18 +1,33 @@
 package software.service;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import software.domain.eventi.Evento;
 import software.domain.eventi.Servizio;
+import software.service.calendario.CalendarioEventi;
+import software.service.calendario.OccorrenzaEvento;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class EventoService {
     private final ObservableList<Evento> eventi = FXCollections.observableArrayList();
+    private final CalendarioEventi calendario = new CalendarioEventi();
     private int nextEventoId = 1;
     private int nextServizioId = 1;
     
+    public EventoService() {
+        // Il calendario segue la lista degli eventi, anche se modificata direttamente dall'interfaccia
+        eventi.addListener((ListChangeListener<Evento>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(calendario::rimuovi);
+                change.getAddedSubList().forEach(calendario::aggiungi);
+            }
+        });
+    }
+    
     public Evento creaEvento(String nome, LocalDate dataInizio, LocalDate dataFine, 
                            String luogo, int numeroDiPersone) {
         Evento nuovoEvento = new Evento(nextEventoId++, nome, dataInizio, dataFine, luogo, numeroDiPersone);
@@ -31,6 +46,34 @@ public class EventoService {
         return eventi;
     }
     
+    /**
+     * Restituisce gli eventi che occupano almeno un giorno del periodo (estremi inclusi),
+     * ordinati per data di inizio.
+     */
+    public List<Evento> getEventiNelPeriodo(LocalDate da, LocalDate a) {
+        return calendario.getEventiNelPeriodo(da, a);
+    }
+    
+    /**
+     * Restituisce le singole occorrenze degli eventi nel periodo (estremi inclusi):
+     * gli eventi ricorrenti compaiono una volta per ogni ripetizione.
+     */
+    public List<OccorrenzaEvento> getOccorrenzeNelPeriodo(LocalDate da, LocalDate a) {
+        return calendario.getOccorrenzeNelPeriodo(da, a);
+    }
+    
+    /**
+     * Restituisce i servizi che si sovrappongono all'intervallo [da, a),
+     * ordinati per orario di inizio.
+     */
+    public List<Servizio> getServiziSovrapposti(LocalDateTime da, LocalDateTime a) {
+        return calendario.getServiziSovrapposti(da, a);
+    }
+    
+    public CalendarioEventi getCalendario() {
+        return calendario;
+    }
+    
     public void creaEventiDiEsempio() {
         // Crea eventi di esempio
         // per test e demo dell'applicazione
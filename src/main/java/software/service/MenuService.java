@@ -1,14 +1,21 @@
 package software.service;
 
+import software.domain.menu.IndiceRicetteMenu;
 import software.domain.menu.Menu;
 import software.domain.menu.SezioneMenu;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
+import software.service.pubblicazione.PubblicatoreMenu;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -19,6 +26,18 @@ public class MenuService {
     private final ObservableList<Menu> menus = FXCollections.observableArrayList();
     private int nextMenuId = 1;
     private final AtomicInteger nextSezioneId = new AtomicInteger(1);
+    private PubblicatoreMenu pubblicatore;
+    // Ricette dei menu del servizio: si aggiorna da solo e tiene aggiornato Ricetta.isInUso()
+    private final IndiceRicetteMenu indiceRicette = new IndiceRicetteMenu();
+    
+    public MenuService() {
+        menus.addListener((ListChangeListener<Menu>) cambiamento -> {
+            while (cambiamento.next()) {
+                cambiamento.getRemoved().forEach(indiceRicette::rimuovi);
+                cambiamento.getAddedSubList().forEach(indiceRicette::registra);
+            }
+        });
+    }
     
     /**
      * Crea un nuovo menu.
@@ -42,38 +61,41 @@ public class MenuService {
      * Riferimento: UC "Gestione dei Menù" - Estensione 1b
      */
     public Menu modificaMenuEsistente(Menu menuOriginale, Chef chef) {
-        Menu nuovoMenu = chef.creaNuovoMenu(nextMenuId++);
+        // Le sezioni della copia condividono le ricette con l'originale finché non vengono modificate
+        Menu nuovoMenu = menuOriginale.copia(nextMenuId++, chef);
         nuovoMenu.setTitolo("Copia di " + menuOriginale.getTitolo());
-        
-        // Copia le sezioni
-        List<String> nomiSezioni = new ArrayList<>();
-        for (SezioneMenu sezione : menuOriginale.getSezioni()) {
-            nomiSezioni.add(sezione.getNome());
-        }
-        nuovoMenu.definisciSezioni(nomiSezioni);
-        
-        // Copia le ricette in ogni sezione
-        for (int i = 0; i < menuOriginale.getSezioni().size(); i++) {
-            SezioneMenu sezioneOriginale = menuOriginale.getSezioni().get(i);
-            SezioneMenu nuovaSezione = nuovoMenu.getSezioni().get(i);
-            
-            for (Ricetta ricetta : sezioneOriginale.getRicette()) {
-                nuovoMenu.inserisciRicetta(ricetta, nuovaSezione);
-            }
-        }
-        
-        nuovoMenu.annotaInformazioni(menuOriginale.getNote());
         menus.add(nuovoMenu);
         return nuovoMenu;
     }
     
     /**
-     * Pubblica un menu.
+     * Imposta chi avvisare quando una ricetta entra in un menu del servizio o ne esce del tutto,
+     * cioè quando cambia {@link Ricetta#isInUso()} (es. {@link RicettaService#usoCambiato(Ricetta)}).
+     */
+    public void setOsservatoreUsoRicette(Consumer<Ricetta> osservatore) {
+        indiceRicette.setOsservatoreUso(osservatore);
+    }
+    
+    /**
+     * Imposta il pubblicatore con cui esportare i menu ai destinatari.
+     * Senza pubblicatore, la pubblicazione cambia solo lo stato del menu.
+     */
+    public void setPubblicatore(PubblicatoreMenu pubblicatore) {
+        this.pubblicatore = pubblicatore;
+    }
+    
+    /**
+     * Pubblica un menu, esportandolo nel formato richiesto per ciascun destinatario.
+     * Se l'esportazione non riesce il menu resta nello stato precedente.
      * Riferimento: UC "Gestione dei Menù" - Passo 7
+     * @throws software.domain.exceptions.DomainException se il formato non è supportato
+     *         o l'esportazione verso un destinatario non riesce
      */
     public void pubblicaMenu(Menu menu, String formato, List<String> destinatari) {
+        if (pubblicatore != null && destinatari != null && !destinatari.isEmpty()) {
+            pubblicatore.pubblica(menu, formato, destinatari);
+        }
         menu.pubblica();
-        // Qui ci sarebbe la logica per l'esportazione in diversi formati
     }
     
     /**
@@ -93,20 +115,70 @@ public class MenuService {
      * @return true se la ricetta è stata modificata con successo, false altrimenti
      */
     public boolean modificaRicetta(Menu menu, Ricetta ricettaDaModificare, Ricetta nuovaRicetta) {
-        boolean ricettaTrovata = false;
-        
-        for (SezioneMenu sezione : menu.getSezioni()) {
-            for (int i = 0; i < sezione.getRicette().size(); i++) {
-                if (sezione.getRicette().get(i).equals(ricettaDaModificare)) {
-                    sezione.getRicette().set(i, nuovaRicetta);
-                    ricettaTrovata = true;
-                    break;
+        if (!indiceRicette.isRegistrato(menu)) {
+            return sostituisciNellaPrimaSezione(menu.getSezioni(), ricettaDaModificare, nuovaRicetta);
+        }
+        // L'indice dice quali sezioni contengono la ricetta; la prima si cerca nell'ordine del menu
+        Set<SezioneMenu> conRicetta = sezioniDistinte(indiceRicette.getSezioni(ricettaDaModificare));
+        List<SezioneMenu> sezioniDelMenu = menu.getSezioni().stream()
+            .filter(conRicetta::contains)
+            .collect(Collectors.toList());
+        return sostituisciNellaPrimaSezione(sezioniDelMenu, ricettaDaModificare, nuovaRicetta);
+    }
+    
+    /**
+     * Sostituisce una ricetta in tutti i menu del servizio, usando l'indice delle ricette
+     * invece di scorrere i menu.
+     * @return Il numero di occorrenze sostituite
+     */
+    public int sostituisciRicetta(Ricetta ricettaDaModificare, Ricetta nuovaRicetta) {
+        int sostituite = 0;
+        // Ogni sezione una volta sola, scorrendo le posizioni: la nuova ricetta può essere
+        // uguale a quella sostituita e non va ritrovata al posto delle occorrenze successive
+        for (SezioneMenu sezione : sezioniDistinte(indiceRicette.getSezioni(ricettaDaModificare))) {
+            List<Ricetta> ricette = sezione.getRicette();
+            for (int i = 0; i < ricette.size(); i++) {
+                if (ricettaDaModificare.equals(ricette.get(i))) {
+                    ricette.set(i, nuovaRicetta);
+                    sostituite++;
                 }
             }
-            if (ricettaTrovata) break;
         }
-        
-        return ricettaTrovata;
+        return sostituite;
+    }
+    
+    /**
+     * Restituisce i menu del servizio che contengono la ricetta.
+     */
+    public Set<Menu> getMenuConRicetta(Ricetta ricetta) {
+        return indiceRicette.getMenu(ricetta);
+    }
+    
+    /**
+     * Restituisce i menu pubblicati che contengono la ricetta.
+     */
+    public List<Menu> getMenuPubblicatiConRicetta(Ricetta ricetta) {
+        return indiceRicette.getMenu(ricetta).stream()
+            .filter(menu -> "Pubblicato".equals(menu.getStato()))
+            .collect(Collectors.toList());
+    }
+    
+    private static Set<SezioneMenu> sezioniDistinte(List<SezioneMenu> sezioni) {
+        Set<SezioneMenu> distinte = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinte.addAll(sezioni);
+        return distinte;
+    }
+    
+    private static boolean sostituisciNellaPrimaSezione(List<SezioneMenu> sezioni, Ricetta ricettaDaModificare,
+                                                        Ricetta nuovaRicetta) {
+        for (SezioneMenu sezione : sezioni) {
+            int posizione = sezione.getRicette().indexOf(ricettaDaModificare);
+            if (posizione >= 0) {
+                sezione.getRicette().set(posizione, nuovaRicetta);
+                return true;
+            }
+        }
+        return false;
     }
     
     public ObservableList<Menu> getMenus() {
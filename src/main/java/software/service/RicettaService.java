@@ -9,13 +9,14 @@ import software.domain.ricette.Ricetta;
 import software.domain.ricette.Tag;
 import software.domain.utenti.Chef;
 import software.service.persistence.InMemoryRepository;
+import software.service.utils.CacheLRU;
+import software.ui.viewmodels.ListaRicetteViewModel;
 import software.ui.viewmodels.RicettaViewModel;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Servizio per la gestione delle ricette.
@@ -24,10 +25,30 @@ import java.util.stream.Collectors;
  */
 public class RicettaService {
     private final InMemoryRepository<Ricetta, Integer> ricettaRepository;
-    private final ObservableList<RicettaViewModel> ricetteViewModel = FXCollections.observableArrayList();
+    
+    /**
+     * Numero massimo di ViewModel trattenuti in memoria: basta per le righe visibili
+     * delle liste aperte, gli altri vengono ricreati quando servono.
+     */
+    public static final int CAPACITA_CACHE_VIEW_MODEL = 512;
+    
+    // Catalogo delle ricette; i ViewModel sono creati solo quando una lista li chiede
+    private final ObservableList<Ricetta> ricette = FXCollections.observableArrayList();
+    private final ObservableList<RicettaViewModel> ricetteViewModel;
+    private final ObservableList<RicettaViewModel> ricetteDisponibiliViewModel;
+    
+    // Viste del catalogo per stato, condivise: ogni modifica del catalogo
+    // (creazione, aggiornamento, pubblicazione, eliminazione) riesamina solo la ricetta coinvolta
+    private final ObservableList<Ricetta> ricettePubblicate;
+    private final ObservableList<Ricetta> ricetteInBozza;
+    private final ObservableList<Ricetta> ricetteInUso;
     
     // Cache per i ViewModel
-    private final Map<Integer, RicettaViewModel> viewModelCache = new ConcurrentHashMap<>();
+    private final CacheLRU<Integer, RicettaViewModel> viewModelCache = new CacheLRU<>(CAPACITA_CACHE_VIEW_MODEL);
+    
+    // Posizione di ogni ricetta nel catalogo, per ID.
+    // Viene verificata a ogni uso e ricostruita solo se la lista è cambiata in mezzo (es. eliminazioni)
+    private final Map<Integer, Integer> posizioni = new HashMap<>();
     
     /**
      * Costruttore che utilizza un repository predefinito.
@@ -43,12 +64,15 @@ public class RicettaService {
      */
     public RicettaService(InMemoryRepository<Ricetta, Integer> ricettaRepository) {
         this.ricettaRepository = ricettaRepository;
+        this.ricettePubblicate = ricette.filtered(ricetta -> "Pubblicata".equals(ricetta.getStato()));
+        this.ricetteInBozza = ricette.filtered(ricetta -> "Bozza".equals(ricetta.getStato()));
+        this.ricetteInUso = ricette.filtered(Ricetta::isInUso);
+        this.ricetteViewModel = new ListaRicetteViewModel(ricette, this::getViewModel);
+        this.ricetteDisponibiliViewModel = new ListaRicetteViewModel(ricettePubblicate, this::getViewModel);
         
-        // Inizializza i ViewModel dalle ricette nel repository
+        // Carica il catalogo dal repository, senza creare i ViewModel
         for (Ricetta ricetta : ricettaRepository.findAll()) {
-            RicettaViewModel viewModel = new RicettaViewModel(ricetta);
-            ricetteViewModel.add(viewModel);
-            viewModelCache.put(ricetta.getId(), viewModel);
+            aggiungiAlCatalogo(ricetta);
         }
     }
     
@@ -76,9 +100,7 @@ public class RicettaService {
         nuovaRicetta = ricettaRepository.save(nuovaRicetta);
         
         // Crea e memorizza il ViewModel
-        RicettaViewModel viewModel = new RicettaViewModel(nuovaRicetta);
-        ricetteViewModel.add(viewModel);
-        viewModelCache.put(nuovaRicetta.getId(), viewModel);
+        aggiungiAlCatalogo(nuovaRicetta);
         
         return nuovaRicetta;
     }
@@ -101,15 +123,20 @@ public class RicettaService {
         // Elimina la ricetta dal repository
         ricettaRepository.delete(ricetta);
         
-        // Rimuovi il ViewModel dalla lista e dalla cache
-        RicettaViewModel viewModel = viewModelCache.remove(ricetta.getId());
-        if (viewModel != null) {
-            ricetteViewModel.remove(viewModel);
+        // Rimuovi la ricetta dal catalogo e il suo ViewModel dalla cache
+        int posizione = posizione(ricetta.getId());
+        if (posizione >= 0) {
+            ricette.remove(posizione);
         }
+        posizioni.remove(ricetta.getId());
+        viewModelCache.remove(ricetta.getId());
     }
     
     /**
      * Ottiene la lista osservabile di tutte le ricette come ViewModel.
+     * I ViewModel vengono creati quando un elemento viene letto (es. quando una
+     * riga di una ListView diventa visibile), quindi conviene non scorrere
+     * l'intera lista: per le ricette usare {@link #getRicetteOsservabili()}.
      * 
      * @return Lista osservabile di ViewModel delle ricette
      */
@@ -117,13 +144,66 @@ public class RicettaService {
         return ricetteViewModel;
     }
     
+    /**
+     * Ottiene la lista osservabile, non modificabile, delle ricette del catalogo.
+     * 
+     * @return Lista osservabile delle ricette
+     */
+    public ObservableList<Ricetta> getRicetteOsservabili() {
+        return FXCollections.unmodifiableObservableList(ricette);
+    }
+    
+    /**
+     * Ottiene la vista condivisa delle ricette pubblicate, nell'ordine del catalogo.
+     * 
+     * @return Lista osservabile non modificabile
+     */
+    public ObservableList<Ricetta> getRicettePubblicate() {
+        return ricettePubblicate;
+    }
+    
+    /**
+     * Ottiene la vista condivisa delle ricette in bozza, nell'ordine del catalogo.
+     * 
+     * @return Lista osservabile non modificabile
+     */
+    public ObservableList<Ricetta> getRicetteInBozza() {
+        return ricetteInBozza;
+    }
+    
+    /**
+     * Ottiene la vista condivisa delle ricette in uso, nell'ordine del catalogo.
+     * 
+     * @return Lista osservabile non modificabile
+     */
+    public ObservableList<Ricetta> getRicetteInUso() {
+        return ricetteInUso;
+    }
+    
+    /**
+     * Restituisce il ViewModel di una ricetta, creandolo se non è in cache.
+     * Finché un ViewModel è in uso viene restituita sempre la stessa istanza.
+     * 
+     * @param ricetta La ricetta
+     * @return Il ViewModel della ricetta
+     */
+    public RicettaViewModel getViewModel(Ricetta ricetta) {
+        RicettaViewModel viewModel = viewModelCache.get(ricetta.getId());
+        if (viewModel == null || viewModel.getRicetta() != ricetta) {
+            viewModel = new RicettaViewModel(ricetta);
+            viewModelCache.put(ricetta.getId(), viewModel);
+        }
+        return viewModel;
+    }
+    
     /**
      * Ottiene la lista osservabile delle ricette disponibili (stato "Pubblicata") come ViewModel.
+     * La lista è condivisa e resta aggiornata: non serve richiederla di nuovo.
      * 
      * @return Lista osservabile di ViewModel delle ricette disponibili
      */
     public ObservableList<RicettaViewModel> getRicetteDisponibiliViewModel() {
-        return ricetteViewModel.filtered(vm -> "Pubblicata".equals(vm.getRicetta().getStato()));
+        return ricetteDisponibiliViewModel;
     }
     
     /**
@@ -141,25 +221,73 @@ public class RicettaService {
         // Aggiorna la ricetta nel repository
         Ricetta ricettaAggiornata = ricettaRepository.save(ricetta);
         
-        // Aggiorna il ViewModel se presente
+        // Aggiorna sul posto solo i campi cambiati del ViewModel, se è stato creato;
+        // se l'istanza è cambiata il nuovo ViewModel verrà creato quando serve
         RicettaViewModel viewModel = viewModelCache.get(ricetta.getId());
         if (viewModel != null) {
-            // Crea un nuovo ViewModel con la ricetta aggiornata
-            RicettaViewModel nuovoViewModel = new RicettaViewModel(ricettaAggiornata);
-            
-            // Sostituisci il vecchio ViewModel nella lista
-            int index = ricetteViewModel.indexOf(viewModel);
-            if (index >= 0) {
-                ricetteViewModel.set(index, nuovoViewModel);
+            if (viewModel.getRicetta() == ricettaAggiornata) {
+                viewModel.aggiorna();
+            } else {
+                viewModelCache.remove(ricetta.getId());
             }
-            
-            // Aggiorna la cache
-            viewModelCache.put(ricetta.getId(), nuovoViewModel);
+        }
+        
+        // Notifica la riga come sostituita, così liste filtrate e sezioni la riesaminano
+        int posizione = posizione(ricetta.getId());
+        if (posizione >= 0) {
+            ricette.set(posizione, ricettaAggiornata);
         }
         
         return ricettaAggiornata;
     }
     
+    /**
+     * Riallinea il ViewModel e le viste del catalogo dopo che la ricetta è entrata in un menu
+     * o ne è uscita. A differenza di {@link #aggiornaRicetta(Ricetta)} non salva la ricetta:
+     * cambia solo {@link Ricetta#isInUso()}, che dipende dai menu.
+     * 
+     * @param ricetta La ricetta il cui uso è cambiato
+     */
+    public void usoCambiato(Ricetta ricetta) {
+        RicettaViewModel viewModel = viewModelCache.get(ricetta.getId());
+        if (viewModel != null && viewModel.getRicetta() == ricetta) {
+            viewModel.inUsoProperty().set(ricetta.isInUso());
+        }
+        // Una riga sostituita viene riesaminata dalle liste filtrate, tra cui quella delle ricette in uso
+        int posizione = posizione(ricetta.getId());
+        if (posizione >= 0 && ricette.get(posizione) == ricetta) {
+            ricette.set(posizione, ricetta);
+        }
+    }
+    
+    /**
+     * Restituisce il numero di ViewModel trattenuti dalla cache.
+     */
+    int getNumeroViewModelInCache() {
+        return viewModelCache.size();
+    }
+    
+    private void aggiungiAlCatalogo(Ricetta ricetta) {
+        ricette.add(ricetta);
+        posizioni.put(ricetta.getId(), ricette.size() - 1);
+    }
+    
+    /**
+     * Restituisce la posizione della ricetta nel catalogo, -1 se non presente.
+     * O(1) finché il catalogo cambia solo in coda o sul posto.
+     */
+    private int posizione(int id) {
+        Integer posizione = posizioni.get(id);
+        if (posizione == null || posizione >= ricette.size() || ricette.get(posizione).getId() != id) {
+            posizioni.clear();
+            for (int i = 0; i < ricette.size(); i++) {
+                posizioni.put(ricette.get(i).getId(), i);
+            }
+            posizione = posizioni.get(id);
+        }
+        return posizione != null ? posizione : -1;
+    }
+    
     /**
      * Pubblica una ricetta.
      * 
@@ -194,13 +322,13 @@ public class RicettaService {
     }
     
     /**
+     * Restituisce la vista condivisa e non modificabile delle ricette pubblicate.
+     * 
      * @deprecated Usa getRicetteDisponibiliViewModel() invece per ottenere un'interfaccia UI-friendly
      */
     @Deprecated
     public List<Ricetta> getRicetteDisponibili() {
-        return ricettaRepository.findAll().stream()
-                .filter(r -> "Pubblicata".equals(r.getStato()))
-                .collect(Collectors.toList());
+        return ricettePubblicate;
     }
     
     /**
@@ -254,9 +382,9 @@ public class RicettaService {
         ricetta.aggiungiIstruzione(new Istruzione(5, 5, "Aggiungere il composto di uova e formaggio, mescolando velocemente."));
         
         // Aggiungi tag
-        ricetta.aggiungiTag(new Tag("Primo piatto"));
-        ricetta.aggiungiTag(new Tag("Tradizionale"));
-        ricetta.aggiungiTag(new Tag("Cucina romana"));
+        ricetta.aggiungiTag(Tag.di("Primo piatto"));
+        ricetta.aggiungiTag(Tag.di("Tradizionale"));
+        ricetta.aggiungiTag(Tag.di("Cucina romana"));
         
         // Pubblica la ricetta
         ricetta.setStato("Pubblicata");
@@ -294,9 +422,9 @@ public class RicettaService {
         ricetta.aggiungiIstruzione(new Istruzione(8, 8, "Servire con prezzemolo tritato e pepe nero."));
         
         // Aggiungi tag
-        ricetta.aggiungiTag(new Tag("Primo piatto"));
-        ricetta.aggiungiTag(new Tag("Vegetariano"));
-        ricetta.aggiungiTag(new Tag("Cucina italiana"));
+        ricetta.aggiungiTag(Tag.di("Primo piatto"));
+        ricetta.aggiungiTag(Tag.di("Vegetariano"));
+        ricetta.aggiungiTag(Tag.di("Cucina italiana"));
         
         // Pubblica la ricetta
         ricetta.setStato("Pubblicata");
@@ -329,9 +457,9 @@ public class RicettaService {
         ricetta.aggiungiIstruzione(new Istruzione(8, 8, "Spolverizzare con cacao e lasciar riposare in frigorifero per almeno 4 ore."));
         
         // Aggiungi tag
-        ricetta.aggiungiTag(new Tag("Dessert"));
-        ricetta.aggiungiTag(new Tag("Cucina italiana"));
-        ricetta.aggiungiTag(new Tag("Senza cottura"));
+        ricetta.aggiungiTag(Tag.di("Dessert"));
+        ricetta.aggiungiTag(Tag.di("Cucina italiana"));
+        ricetta.aggiungiTag(Tag.di("Senza cottura"));
         
         // Pubblica la ricetta
         ricetta.setStato("Pubblicata");
@@ -366,9 +494,9 @@ public class RicettaService {
         ricetta.aggiungiIstruzione(new Istruzione(8, 8, "Servire caldo, tagliando il pollo a porzioni."));
         
         // Aggiungi tag
-        ricetta.aggiungiTag(new Tag("Secondo piatto"));
-        ricetta.aggiungiTag(new Tag("Carne"));
-        ricetta.aggiungiTag(new Tag("Pranzo domenicale"));
+        ricetta.aggiungiTag(Tag.di("Secondo piatto"));
+        ricetta.aggiungiTag(Tag.di("Carne"));
+        ricetta.aggiungiTag(Tag.di("Pranzo domenicale"));
         
         // Pubblica la ricetta
         ricetta.setStato("Pubblicata");
@@ -406,9 +534,9 @@ public class RicettaService {
         ricetta.aggiungiIstruzione(new Istruzione(8, 8, "Servire freddo o a temperatura ambiente."));
         
         // Aggiungi tag
-        ricetta.aggiungiTag(new Tag("Piatto unico"));
-        ricetta.aggiungiTag(new Tag("Estivo"));
-        ricetta.aggiungiTag(new Tag("Freddo"));
+        ricetta.aggiungiTag(Tag.di("Piatto unico"));
+        ricetta.aggiungiTag(Tag.di("Estivo"));
+        ricetta.aggiungiTag(Tag.di("Freddo"));
         
         // Pubblica la ricetta
         ricetta.setStato("Pubblicata");
@@ -0,0 +1,221 @@
+package software.service.calendario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Albero di intervalli semiaperti [inizio, fine), ordinato per inizio.
+ * È un treap (albero binario di ricerca bilanciato in modo casuale) in cui
+ * ogni nodo conosce la fine massima del proprio sottoalbero: inserimento e
+ * rimozione costano O(log n) attesi, la ricerca degli intervalli che si
+ * sovrappongono a un periodo O(log n + k), con k intervalli trovati.
+ * Più intervalli possono avere lo stesso inizio. Non è thread-safe.
+ *
+ * @param <K> Il tipo degli estremi (date, orari...)
+ * @param <V> Il tipo dei valori associati agli intervalli
+ */
+public class AlberoIntervalli<K extends Comparable<? super K>, V> {
+
+    /**
+     * Intervallo memorizzato nell'albero; serve anche come riferimento per rimuoverlo.
+     */
+    public static final class Intervallo<K, V> {
+        private final K inizio;
+        private final K fine;
+        private final V valore;
+        private final long sequenza; // distingue intervalli con lo stesso inizio
+        private final int priorita;
+        private K fineMassima;
+        private Intervallo<K, V> sinistro;
+        private Intervallo<K, V> destro;
+
+        private Intervallo(K inizio, K fine, V valore, long sequenza) {
+            this.inizio = inizio;
+            this.fine = fine;
+            this.valore = valore;
+            this.sequenza = sequenza;
+            this.priorita = ThreadLocalRandom.current().nextInt();
+            this.fineMassima = fine;
+        }
+
+        public K getInizio() {
+            return inizio;
+        }
+
+        public K getFine() {
+            return fine;
+        }
+
+        public V getValore() {
+            return valore;
+        }
+    }
+
+    private Intervallo<K, V> radice;
+    private long prossimaSequenza;
+    private int dimensione;
+
+    /**
+     * Inserisce un intervallo [inizio, fine).
+     * @return Il riferimento da usare per rimuovere l'intervallo
+     */
+    public Intervallo<K, V> inserisci(K inizio, K fine, V valore) {
+        if (fine.compareTo(inizio) < 0) {
+            throw new IllegalArgumentException("La fine dell'intervallo precede l'inizio");
+        }
+        Intervallo<K, V> nodo = new Intervallo<>(inizio, fine, valore, prossimaSequenza++);
+        radice = inserisci(radice, nodo);
+        dimensione++;
+        return nodo;
+    }
+
+    /**
+     * Rimuove un intervallo inserito in precedenza.
+     * @return true se l'intervallo era presente
+     */
+    public boolean rimuovi(Intervallo<K, V> intervallo) {
+        int prima = dimensione;
+        radice = rimuovi(radice, intervallo);
+        return dimensione < prima;
+    }
+
+    /**
+     * Restituisce i valori degli intervalli che si sovrappongono a [da, a),
+     * ordinati per inizio.
+     */
+    public List<V> sovrapposti(K da, K a) {
+        List<V> risultato = new ArrayList<>();
+        cercaSovrapposti(radice, da, a, risultato);
+        return risultato;
+    }
+
+    /**
+     * Restituisce tutti i valori ordinati per inizio.
+     */
+    public List<V> valori() {
+        List<V> risultato = new ArrayList<>(dimensione);
+        visita(radice, risultato);
+        return risultato;
+    }
+
+    public int size() {
+        return dimensione;
+    }
+
+    public boolean isEmpty() {
+        return dimensione == 0;
+    }
+
+    private Intervallo<K, V> inserisci(Intervallo<K, V> nodo, Intervallo<K, V> nuovo) {
+        if (nodo == null) {
+            return nuovo;
+        }
+        if (confronta(nuovo, nodo) < 0) {
+            nodo.sinistro = inserisci(nodo.sinistro, nuovo);
+            if (nodo.sinistro.priorita > nodo.priorita) {
+                nodo = ruotaDestra(nodo);
+            }
+        } else {
+            nodo.destro = inserisci(nodo.destro, nuovo);
+            if (nodo.destro.priorita > nodo.priorita) {
+                nodo = ruotaSinistra(nodo);
+            }
+        }
+        aggiorna(nodo);
+        return nodo;
+    }
+
+    private Intervallo<K, V> rimuovi(Intervallo<K, V> nodo, Intervallo<K, V> bersaglio) {
+        if (nodo == null) {
+            return null;
+        }
+        int cmp = confronta(bersaglio, nodo);
+        if (cmp < 0) {
+            nodo.sinistro = rimuovi(nodo.sinistro, bersaglio);
+        } else if (cmp > 0) {
+            nodo.destro = rimuovi(nodo.destro, bersaglio);
+        } else {
+            dimensione--;
+            return unisci(nodo.sinistro, nodo.destro);
+        }
+        aggiorna(nodo);
+        return nodo;
+    }
+
+    /**
+     * Unisce due sottoalberi in cui tutte le chiavi di a precedono quelle di b.
+     */
+    private Intervallo<K, V> unisci(Intervallo<K, V> a, Intervallo<K, V> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priorita > b.priorita) {
+            a.destro = unisci(a.destro, b);
+            aggiorna(a);
+            return a;
+        }
+        b.sinistro = unisci(a, b.sinistro);
+        aggiorna(b);
+        return b;
+    }
+
+    private void cercaSovrapposti(Intervallo<K, V> nodo, K da, K a, List<V> risultato) {
+        // Nessun intervallo del sottoalbero termina dopo l'inizio del periodo
+        if (nodo == null || nodo.fineMassima.compareTo(da) <= 0) {
+            return;
+        }
+        cercaSovrapposti(nodo.sinistro, da, a, risultato);
+        if (nodo.inizio.compareTo(a) >= 0) {
+            // Questo nodo e tutto il sottoalbero destro iniziano dopo la fine del periodo
+            return;
+        }
+        if (nodo.fine.compareTo(da) > 0) {
+            risultato.add(nodo.valore);
+        }
+        cercaSovrapposti(nodo.destro, da, a, risultato);
+    }
+
+    private void visita(Intervallo<K, V> nodo, List<V> risultato) {
+        if (nodo != null) {
+            visita(nodo.sinistro, risultato);
+            risultato.add(nodo.valore);
+            visita(nodo.destro, risultato);
+        }
+    }
+
+    private Intervallo<K, V> ruotaDestra(Intervallo<K, V> nodo) {
+        Intervallo<K, V> figlio = nodo.sinistro;
+        nodo.sinistro = figlio.destro;
+        figlio.destro = nodo;
+        aggiorna(nodo);
+        return figlio;
+    }
+
+    private Intervallo<K, V> ruotaSinistra(Intervallo<K, V> nodo) {
+        Intervallo<K, V> figlio = nodo.destro;
+        nodo.destro = figlio.sinistro;
+        figlio.sinistro = nodo;
+        aggiorna(nodo);
+        return figlio;
+    }
+
+    private void aggiorna(Intervallo<K, V> nodo) {
+        K massimo = nodo.fine;
+        if (nodo.sinistro != null && nodo.sinistro.fineMassima.compareTo(massimo) > 0) {
+            massimo = nodo.sinistro.fineMassima;
+        }
+        if (nodo.destro != null && nodo.destro.fineMassima.compareTo(massimo) > 0) {
+            massimo = nodo.destro.fineMassima;
+        }
+        nodo.fineMassima = massimo;
+    }
+
+    private int confronta(Intervallo<K, V> a, Intervallo<K, V> b) {
+        int cmp = a.inizio.compareTo(b.inizio);
+        return cmp != 0 ? cmp : Long.compare(a.sequenza, b.sequenza);
+    }
+}
@@ -0,0 +1,354 @@
+package software.service.calendario;
+
+import javafx.collections.ListChangeListener;
+import software.domain.eventi.Evento;
+import software.domain.eventi.EventoListener;
+import software.domain.eventi.RegolaRicorrenza;
+import software.domain.eventi.Servizio;
+import software.domain.eventi.ServizioListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indice per data degli eventi e dei loro servizi.
+ * Gli eventi sono indicizzati sui giorni [dataInizio, dataFine] (estremi inclusi),
+ * i servizi sull'intervallo [dataOraInizio, dataOraFine): un servizio che finisce
+ * alle 16:30 non si sovrappone a uno che inizia alle 16:30.
+ *
+ * Gli eventi ricorrenti (e i loro servizi) sono indicizzati una sola volta, sull'intero
+ * arco della serie; le occorrenze che cadono nel periodo richiesto vengono calcolate
+ * al momento della query, quindi una serie settimanale di dieci anni non costa nulla
+ * finché non se ne guarda una finestra.
+ *
+ * Il calendario osserva le date e la regola di ricorrenza degli eventi, le loro liste
+ * di servizi e gli orari dei servizi, e si aggiorna da solo a ogni modifica in O(log n).
+ * Le date sono osservate con {@link EventoListener} e {@link ServizioListener}, senza
+ * creare le proprietà JavaFX degli oggetti indicizzati.
+ * Gli eventi e i servizi senza data di inizio non sono indicizzati finché non la ricevono.
+ * Va usato dal thread dell'interfaccia, come gli oggetti che osserva.
+ */
+public class CalendarioEventi {
+    private final AlberoIntervalli<LocalDate, Evento> eventi = new AlberoIntervalli<>();
+    private final AlberoIntervalli<LocalDateTime, Servizio> servizi = new AlberoIntervalli<>();
+
+    private final Map<Evento, VoceEvento> vociEventi = new IdentityHashMap<>();
+    private final Map<Servizio, VoceServizio> vociServizi = new IdentityHashMap<>();
+
+    /**
+     * Stato di indicizzazione di un evento e osservatori registrati su di esso.
+     */
+    private final class VoceEvento {
+        final Evento evento;
+        AlberoIntervalli.Intervallo<LocalDate, Evento> intervallo;
+        final EventoListener dateCambiate = evento -> reindicizza(this);
+        final ListChangeListener<Servizio> serviziCambiati = this::serviziCambiati;
+
+        VoceEvento(Evento evento) {
+            this.evento = evento;
+        }
+
+        void serviziCambiati(ListChangeListener.Change<? extends Servizio> change) {
+            while (change.next()) {
+                for (Servizio rimosso : change.getRemoved()) {
+                    rimuoviServizio(rimosso);
+                }
+                for (Servizio aggiunto : change.getAddedSubList()) {
+                    aggiungiServizio(aggiunto, evento);
+                }
+            }
+        }
+    }
+
+    private final class VoceServizio {
+        final Servizio servizio;
+        final Evento evento;
+        AlberoIntervalli.Intervallo<LocalDateTime, Servizio> intervallo;
+        final ServizioListener orariCambiati = servizio -> reindicizza(this);
+
+        VoceServizio(Servizio servizio, Evento evento) {
+            this.servizio = servizio;
+            this.evento = evento;
+        }
+    }
+
+    /**
+     * Aggiunge un evento e i suoi servizi al calendario.
+     * Aggiungere più volte lo stesso evento non ha effetto.
+     */
+    public void aggiungi(Evento evento) {
+        if (vociEventi.containsKey(evento)) {
+            return;
+        }
+        VoceEvento voce = new VoceEvento(evento);
+        vociEventi.put(evento, voce);
+        indicizza(voce);
+        evento.aggiungiListener(voce.dateCambiate);
+        evento.getServizi().addListener(voce.serviziCambiati);
+        for (Servizio servizio : evento.getServizi()) {
+            aggiungiServizio(servizio, evento);
+        }
+    }
+
+    /**
+     * Rimuove un evento e i suoi servizi dal calendario e smette di osservarli.
+     */
+    public void rimuovi(Evento evento) {
+        VoceEvento voce = vociEventi.remove(evento);
+        if (voce == null) {
+            return;
+        }
+        evento.rimuoviListener(voce.dateCambiate);
+        evento.getServizi().removeListener(voce.serviziCambiati);
+        if (voce.intervallo != null) {
+            eventi.rimuovi(voce.intervallo);
+        }
+        for (Servizio servizio : evento.getServizi()) {
+            rimuoviServizio(servizio);
+        }
+    }
+
+    /**
+     * Restituisce gli eventi che occupano almeno un giorno del periodo, estremi inclusi,
+     * ordinati per data di inizio. Un evento ricorrente compare una volta sola
+     * se almeno una sua occorrenza cade nel periodo.
+     */
+    public List<Evento> getEventiNelPeriodo(LocalDate da, LocalDate a) {
+        List<Evento> risultato = new ArrayList<>();
+        List<OccorrenzaEvento> occorrenze = new ArrayList<>(1);
+        for (Evento evento : eventi.sovrapposti(da, a.plusDays(1))) {
+            occorrenze.clear();
+            espandi(evento, da, a, occorrenze, true);
+            if (!occorrenze.isEmpty()) {
+                risultato.add(evento);
+            }
+        }
+        return risultato;
+    }
+
+    /**
+     * Restituisce le occorrenze degli eventi che occupano almeno un giorno del periodo,
+     * estremi inclusi, ordinate per data di inizio. Le occorrenze degli eventi ricorrenti
+     * sono generate solo per il periodo richiesto.
+     */
+    public List<OccorrenzaEvento> getOccorrenzeNelPeriodo(LocalDate da, LocalDate a) {
+        List<OccorrenzaEvento> risultato = new ArrayList<>();
+        for (Evento evento : eventi.sovrapposti(da, a.plusDays(1))) {
+            espandi(evento, da, a, risultato, false);
+        }
+        risultato.sort(Comparator.comparing(OccorrenzaEvento::getDataInizio));
+        return risultato;
+    }
+
+    /**
+     * Restituisce i servizi che si sovrappongono all'intervallo [da, a),
+     * ordinati per orario di inizio. Un servizio ricorrente compare una volta sola
+     * se almeno una sua occorrenza cade nell'intervallo.
+     */
+    public List<Servizio> getServiziSovrapposti(LocalDateTime da, LocalDateTime a) {
+        List<Servizio> risultato = new ArrayList<>();
+        List<OccorrenzaServizio> occorrenze = new ArrayList<>(1);
+        for (Servizio servizio : servizi.sovrapposti(da, a)) {
+            occorrenze.clear();
+            espandi(vociServizi.get(servizio), da, a, occorrenze, true);
+            if (!occorrenze.isEmpty()) {
+                risultato.add(servizio);
+            }
+        }
+        return risultato;
+    }
+
+    /**
+     * Restituisce le occorrenze dei servizi che si sovrappongono all'intervallo [da, a),
+     * ordinate per orario di inizio.
+     */
+    public List<OccorrenzaServizio> getOccorrenzeServizi(LocalDateTime da, LocalDateTime a) {
+        List<OccorrenzaServizio> risultato = new ArrayList<>();
+        for (Servizio servizio : servizi.sovrapposti(da, a)) {
+            espandi(vociServizi.get(servizio), da, a, risultato, false);
+        }
+        risultato.sort(Comparator.comparing(OccorrenzaServizio::getDataOraInizio));
+        return risultato;
+    }
+
+    /**
+     * Restituisce tutti gli eventi indicizzati, ordinati per data di inizio.
+     */
+    public List<Evento> getEventiOrdinati() {
+        return eventi.valori();
+    }
+
+    /**
+     * Restituisce l'evento a cui appartiene un servizio indicizzato, null se sconosciuto.
+     */
+    public Evento getEventoDelServizio(Servizio servizio) {
+        VoceServizio voce = vociServizi.get(servizio);
+        return voce != null ? voce.evento : null;
+    }
+
+    private void aggiungiServizio(Servizio servizio, Evento evento) {
+        if (vociServizi.containsKey(servizio)) {
+            return;
+        }
+        VoceServizio voce = new VoceServizio(servizio, evento);
+        vociServizi.put(servizio, voce);
+        indicizza(voce);
+        servizio.aggiungiListener(voce.orariCambiati);
+    }
+
+    private void rimuoviServizio(Servizio servizio) {
+        VoceServizio voce = vociServizi.remove(servizio);
+        if (voce == null) {
+            return;
+        }
+        servizio.rimuoviListener(voce.orariCambiati);
+        if (voce.intervallo != null) {
+            servizi.rimuovi(voce.intervallo);
+        }
+    }
+
+    private void reindicizza(VoceEvento voce) {
+        if (voce.intervallo != null) {
+            eventi.rimuovi(voce.intervallo);
+            voce.intervallo = null;
+        }
+        indicizza(voce);
+        // Le occorrenze dei servizi dipendono dalle date e dalla regola dell'evento
+        for (Servizio servizio : voce.evento.getServizi()) {
+            VoceServizio voceServizio = vociServizi.get(servizio);
+            if (voceServizio != null) {
+                reindicizza(voceServizio);
+            }
+        }
+    }
+
+    private void reindicizza(VoceServizio voce) {
+        if (voce.intervallo != null) {
+            servizi.rimuovi(voce.intervallo);
+            voce.intervallo = null;
+        }
+        indicizza(voce);
+    }
+
+    private void indicizza(VoceEvento voce) {
+        LocalDate inizio = voce.evento.getDataInizio();
+        if (inizio == null) {
+            return;
+        }
+        LocalDate fine = fine(voce.evento);
+        RegolaRicorrenza regola = voce.evento.getRegolaRicorrenza();
+        LocalDate fineSerie;
+        if (regola == null) {
+            // L'ultimo giorno è incluso: l'intervallo semiaperto termina il giorno dopo
+            fineSerie = fine.plusDays(1);
+        } else {
+            LocalDate ultima = regola.ultimaOccorrenza(inizio);
+            fineSerie = ultima == null
+                ? LocalDate.MAX
+                : ultima.plusDays(ChronoUnit.DAYS.between(inizio, fine) + 1);
+        }
+        voce.intervallo = eventi.inserisci(inizio, fineSerie, voce.evento);
+    }
+
+    private void indicizza(VoceServizio voce) {
+        LocalDateTime inizio = voce.servizio.getDataOraInizio();
+        if (inizio == null) {
+            return;
+        }
+        LocalDateTime fine = fine(voce.servizio);
+        RegolaRicorrenza regola = regolaDi(voce);
+        LocalDateTime fineSerie = fine;
+        if (regola != null) {
+            LocalDate primo = voce.evento.getDataInizio();
+            LocalDate ultima = regola.ultimaOccorrenza(primo);
+            fineSerie = ultima == null
+                ? LocalDateTime.MAX
+                : fine.plusDays(ChronoUnit.DAYS.between(primo, ultima));
+        }
+        voce.intervallo = servizi.inserisci(inizio, fineSerie, voce.servizio);
+    }
+
+    /**
+     * Aggiunge le occorrenze dell'evento che occupano almeno un giorno di [da, a].
+     */
+    private void espandi(Evento evento, LocalDate da, LocalDate a, List<OccorrenzaEvento> risultato,
+                         boolean soloPrima) {
+        LocalDate inizio = evento.getDataInizio();
+        LocalDate fine = fine(evento);
+        RegolaRicorrenza regola = evento.getRegolaRicorrenza();
+        if (regola == null) {
+            risultato.add(new OccorrenzaEvento(evento, 0, inizio, fine));
+            return;
+        }
+        long durata = ChronoUnit.DAYS.between(inizio, fine);
+        for (long k = regola.primoIndiceDa(inizio, da.minusDays(durata)); ; k++) {
+            LocalDate inizioOccorrenza = regola.occorrenza(inizio, k);
+            if (inizioOccorrenza.isAfter(a) || !regola.isValida(inizioOccorrenza)) {
+                return;
+            }
+            risultato.add(new OccorrenzaEvento(evento, k, inizioOccorrenza, inizioOccorrenza.plusDays(durata)));
+            if (soloPrima) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aggiunge le occorrenze del servizio che si sovrappongono a [da, a).
+     */
+    private void espandi(VoceServizio voce, LocalDateTime da, LocalDateTime a,
+                         List<OccorrenzaServizio> risultato, boolean soloPrima) {
+        LocalDateTime inizio = voce.servizio.getDataOraInizio();
+        LocalDateTime fine = fine(voce.servizio);
+        RegolaRicorrenza regola = regolaDi(voce);
+        if (regola == null) {
+            risultato.add(new OccorrenzaServizio(voce.servizio, voce.evento, 0, inizio, fine));
+            return;
+        }
+        // Ogni occorrenza del servizio è spostata di tanti giorni quanti separano
+        // l'occorrenza dell'evento dal suo inizio
+        LocalDate primo = voce.evento.getDataInizio();
+        Duration durata = Duration.between(inizio, fine);
+        LocalDate limite = da.minus(durata).toLocalDate()
+            .minusDays(ChronoUnit.DAYS.between(primo, inizio.toLocalDate()) + 1);
+        for (long k = regola.primoIndiceDa(primo, limite); ; k++) {
+            LocalDate occorrenzaEvento = regola.occorrenza(primo, k);
+            if (!regola.isValida(occorrenzaEvento)) {
+                return;
+            }
+            LocalDateTime inizioOccorrenza = inizio.plusDays(ChronoUnit.DAYS.between(primo, occorrenzaEvento));
+            if (!inizioOccorrenza.isBefore(a)) {
+                return;
+            }
+            LocalDateTime fineOccorrenza = inizioOccorrenza.plus(durata);
+            if (fineOccorrenza.isAfter(da)) {
+                risultato.add(new OccorrenzaServizio(voce.servizio, voce.evento, k, inizioOccorrenza, fineOccorrenza));
+                if (soloPrima) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private RegolaRicorrenza regolaDi(VoceServizio voce) {
+        // Senza data di inizio dell'evento non si possono calcolare le occorrenze
+        return voce.evento.getDataInizio() != null ? voce.evento.getRegolaRicorrenza() : null;
+    }
+
+    private static LocalDate fine(Evento evento) {
+        LocalDate fine = evento.getDataFine();
+        return fine == null || fine.isBefore(evento.getDataInizio()) ? evento.getDataInizio() : fine;
+    }
+
+    private static LocalDateTime fine(Servizio servizio) {
+        LocalDateTime fine = servizio.getDataOraFine();
+        return fine == null || fine.isBefore(servizio.getDataOraInizio()) ? servizio.getDataOraInizio() : fine;
+    }
+}
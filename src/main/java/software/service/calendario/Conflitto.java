@@ -0,0 +1,82 @@
+package software.service.calendario;
+
+import java.time.LocalDateTime;
+
+/**
+ * Conflitto tra due prenotazioni della stessa risorsa in orari sovrapposti.
+ * Gli elementi in conflitto sono servizi ({@link software.domain.eventi.Servizio})
+ * o turni ({@link software.domain.compiti.Turno}).
+ */
+public class Conflitto {
+
+    public enum Tipo {
+        /** Due servizi nello stesso luogo */
+        LUOGO,
+        /** Un cuoco impegnato in due turni contemporaneamente */
+        PERSONALE,
+        /** Due turni che usano la stessa cucina */
+        ATTREZZATURA
+    }
+
+    private final Tipo tipo;
+    private final String risorsa;
+    private final Object primo;
+    private final Object secondo;
+    private final LocalDateTime inizio;
+    private final LocalDateTime fine;
+
+    Conflitto(Tipo tipo, String risorsa, Object primo, Object secondo,
+              LocalDateTime inizio, LocalDateTime fine) {
+        this.tipo = tipo;
+        this.risorsa = risorsa;
+        this.primo = primo;
+        this.secondo = secondo;
+        this.inizio = inizio;
+        this.fine = fine;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Restituisce la risorsa contesa (luogo, nome del cuoco o cucina).
+     */
+    public String getRisorsa() {
+        return risorsa;
+    }
+
+    public Object getPrimo() {
+        return primo;
+    }
+
+    public Object getSecondo() {
+        return secondo;
+    }
+
+    /**
+     * Restituisce l'inizio del periodo in cui le due prenotazioni si sovrappongono.
+     */
+    public LocalDateTime getInizio() {
+        return inizio;
+    }
+
+    /**
+     * Restituisce la fine del periodo in cui le due prenotazioni si sovrappongono.
+     */
+    public LocalDateTime getFine() {
+        return fine;
+    }
+
+    /**
+     * Verifica se l'elemento indicato è coinvolto nel conflitto.
+     */
+    public boolean coinvolge(Object elemento) {
+        return primo == elemento || secondo == elemento;
+    }
+
+    @Override
+    public String toString() {
+        return tipo + " " + risorsa + ": " + inizio + " - " + fine;
+    }
+}
@@ -0,0 +1,47 @@
+package software.service.calendario;
+
+import software.domain.eventi.Evento;
+
+import java.time.LocalDate;
+
+/**
+ * Singola occorrenza di un evento, calcolata al momento della richiesta.
+ * Per un evento non ricorrente esiste una sola occorrenza, con indice 0.
+ */
+public class OccorrenzaEvento {
+    private final Evento evento;
+    private final long indice;
+    private final LocalDate dataInizio;
+    private final LocalDate dataFine;
+
+    OccorrenzaEvento(Evento evento, long indice, LocalDate dataInizio, LocalDate dataFine) {
+        this.evento = evento;
+        this.indice = indice;
+        this.dataInizio = dataInizio;
+        this.dataFine = dataFine;
+    }
+
+    public Evento getEvento() {
+        return evento;
+    }
+
+    /**
+     * Restituisce la posizione dell'occorrenza nella serie (0 = la prima).
+     */
+    public long getIndice() {
+        return indice;
+    }
+
+    public LocalDate getDataInizio() {
+        return dataInizio;
+    }
+
+    public LocalDate getDataFine() {
+        return dataFine;
+    }
+
+    @Override
+    public String toString() {
+        return evento.getNome() + " (" + dataInizio + ")";
+    }
+}
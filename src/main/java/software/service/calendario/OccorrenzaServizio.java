@@ -0,0 +1,56 @@
+package software.service.calendario;
+
+import software.domain.eventi.Evento;
+import software.domain.eventi.Servizio;
+
+import java.time.LocalDateTime;
+
+/**
+ * Singola occorrenza di un servizio, calcolata al momento della richiesta.
+ * I servizi di un evento ricorrente si ripetono con l'evento, mantenendo
+ * la stessa distanza dal suo inizio.
+ */
+public class OccorrenzaServizio {
+    private final Servizio servizio;
+    private final Evento evento;
+    private final long indice;
+    private final LocalDateTime dataOraInizio;
+    private final LocalDateTime dataOraFine;
+
+    OccorrenzaServizio(Servizio servizio, Evento evento, long indice,
+                       LocalDateTime dataOraInizio, LocalDateTime dataOraFine) {
+        this.servizio = servizio;
+        this.evento = evento;
+        this.indice = indice;
+        this.dataOraInizio = dataOraInizio;
+        this.dataOraFine = dataOraFine;
+    }
+
+    public Servizio getServizio() {
+        return servizio;
+    }
+
+    public Evento getEvento() {
+        return evento;
+    }
+
+    /**
+     * Restituisce la posizione dell'occorrenza nella serie dell'evento (0 = la prima).
+     */
+    public long getIndice() {
+        return indice;
+    }
+
+    public LocalDateTime getDataOraInizio() {
+        return dataOraInizio;
+    }
+
+    public LocalDateTime getDataOraFine() {
+        return dataOraFine;
+    }
+
+    @Override
+    public String toString() {
+        return servizio.getTipo() + " (" + dataOraInizio + ")";
+    }
+}
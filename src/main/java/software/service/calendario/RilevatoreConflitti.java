@@ -0,0 +1,350 @@
+package software.service.calendario;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import software.domain.compiti.Compito;
+import software.domain.compiti.CompitoListener;
+import software.domain.compiti.Turno;
+import software.domain.compiti.TurnoListener;
+import software.domain.eventi.Evento;
+import software.domain.eventi.Servizio;
+import software.domain.utenti.Cuoco;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Rileva i conflitti tra servizi e turni:
+ * <ul>
+ *   <li>luogo: due servizi sovrapposti nello stesso luogo dello stesso sito;</li>
+ *   <li>personale: un cuoco con compiti in due turni sovrapposti;</li>
+ *   <li>attrezzatura: due turni sovrapposti nella stessa cucina.</li>
+ * </ul>
+ * {@link #rileva} esamina un intero periodo, comprese le occorrenze dei servizi
+ * ricorrenti, con una scansione (sweep line) degli
+ * intervalli ordinati per inizio, in O(n log n + k). I metodi {@code verifica}
+ * controllano solo l'elemento appena modificato, interrogando gli indici per data.
+ *
+ * Il rilevatore osserva la lista dei turni, i loro orari e i compiti (cuoco e turno
+ * assegnati), quindi i suoi indici sono sempre aggiornati.
+ * Va usato dal thread dell'interfaccia.
+ */
+public class RilevatoreConflitti {
+    private final CalendarioEventi calendario;
+    private final AlberoIntervalli<LocalDateTime, Turno> turni = new AlberoIntervalli<>();
+    private final Map<Turno, VoceTurno> vociTurni = new IdentityHashMap<>();
+    // I compiti si riferiscono ai turni tramite etichetta: per ogni etichetta si usa il primo turno registrato
+    private final Map<String, Turno> turnoPerEtichetta = new HashMap<>();
+    // Numero di compiti di ciascun cuoco in ciascun turno
+    private final Map<String, Map<Cuoco, Integer>> cuochiPerTurno = new HashMap<>();
+    private final Map<Cuoco, Map<String, Integer>> turniPerCuoco = new HashMap<>();
+    private final CompitoListener osservatoreCompiti = new OsservatoreCompiti();
+
+    private final class VoceTurno {
+        final Turno turno;
+        String etichetta;
+        AlberoIntervalli.Intervallo<LocalDateTime, Turno> intervallo;
+        final TurnoListener orarioCambiato = turno -> reindicizza(this);
+
+        VoceTurno(Turno turno) {
+            this.turno = turno;
+        }
+    }
+
+    private final class OsservatoreCompiti implements CompitoListener {
+        @Override
+        public void cuocoCambiato(Compito compito, Cuoco vecchioCuoco, Cuoco nuovoCuoco) {
+            prenota(vecchioCuoco, compito.getTurno(), -1);
+            prenota(nuovoCuoco, compito.getTurno(), 1);
+        }
+
+        @Override
+        public void turnoCambiato(Compito compito, String vecchioTurno, String nuovoTurno) {
+            prenota(compito.getCuocoAssegnato(), vecchioTurno, -1);
+            prenota(compito.getCuocoAssegnato(), nuovoTurno, 1);
+        }
+    }
+
+    /**
+     * Crea un rilevatore che osserva i turni e i compiti indicati.
+     * @param calendario Il calendario dei servizi
+     * @param turni I turni di cucina
+     * @param compiti I compiti, da cui si ricava in quali turni lavora ciascun cuoco
+     */
+    public RilevatoreConflitti(CalendarioEventi calendario, ObservableList<Turno> turni,
+                               ObservableList<Compito> compiti) {
+        this.calendario = calendario;
+        turni.forEach(this::aggiungiTurno);
+        compiti.forEach(this::aggiungiCompito);
+        turni.addListener((ListChangeListener<Turno>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(this::rimuoviTurno);
+                change.getAddedSubList().forEach(this::aggiungiTurno);
+            }
+        });
+        compiti.addListener((ListChangeListener<Compito>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(this::rimuoviCompito);
+                change.getAddedSubList().forEach(this::aggiungiCompito);
+            }
+        });
+    }
+
+    /**
+     * Restituisce tutti i conflitti tra servizi e turni nel periodo [da, a).
+     */
+    public List<Conflitto> rileva(LocalDateTime da, LocalDateTime a) {
+        List<Prenotazione> prenotazioni = new ArrayList<>();
+        for (OccorrenzaServizio occorrenza : calendario.getOccorrenzeServizi(da, a)) {
+            Servizio servizio = occorrenza.getServizio();
+            if (servizio.getLuogo() != null) {
+                String luogo = luogoCompleto(servizio);
+                prenotazioni.add(new Prenotazione(Conflitto.Tipo.LUOGO, luogo, luogo,
+                    occorrenza.getDataOraInizio(), occorrenza.getDataOraFine(), servizio));
+            }
+        }
+        for (Turno turno : turni.sovrapposti(da, a)) {
+            VoceTurno voce = vociTurni.get(turno);
+            if (turno.getLuogo() != null) {
+                prenotazioni.add(new Prenotazione(Conflitto.Tipo.ATTREZZATURA, turno.getLuogo(), turno.getLuogo(),
+                    voce.intervallo.getInizio(), voce.intervallo.getFine(), turno));
+            }
+            if (turnoPerEtichetta.get(voce.etichetta) == turno) {
+                for (Cuoco cuoco : cuochiPerTurno.getOrDefault(voce.etichetta, Collections.emptyMap()).keySet()) {
+                    prenotazioni.add(new Prenotazione(Conflitto.Tipo.PERSONALE, String.valueOf(cuoco.getId()),
+                        nomeCuoco(cuoco), voce.intervallo.getInizio(), voce.intervallo.getFine(), turno));
+                }
+            }
+        }
+
+        // Sweep line: per ogni risorsa restano attive le prenotazioni non ancora terminate
+        prenotazioni.sort(Comparator.comparing((Prenotazione p) -> p.inizio));
+        Map<String, PriorityQueue<Prenotazione>> attive = new HashMap<>();
+        List<Conflitto> conflitti = new ArrayList<>();
+        for (Prenotazione corrente : prenotazioni) {
+            PriorityQueue<Prenotazione> stessaRisorsa = attive.computeIfAbsent(corrente.chiave,
+                k -> new PriorityQueue<>(Comparator.comparing((Prenotazione p) -> p.fine)));
+            while (!stessaRisorsa.isEmpty() && !stessaRisorsa.peek().fine.isAfter(corrente.inizio)) {
+                stessaRisorsa.poll();
+            }
+            for (Prenotazione attiva : stessaRisorsa) {
+                if (attiva.elemento == corrente.elemento) {
+                    continue; // occorrenze della stessa serie
+                }
+                conflitti.add(conflitto(corrente.tipo, corrente.risorsa, attiva.elemento, corrente.elemento,
+                    corrente.inizio, attiva.fine, corrente.fine));
+            }
+            stessaRisorsa.add(corrente);
+        }
+        return conflitti;
+    }
+
+    /**
+     * Controlla solo i conflitti di luogo del servizio indicato, ad esempio dopo averlo modificato.
+     * Per un servizio ricorrente viene controllata la prima occorrenza.
+     */
+    public List<Conflitto> verifica(Servizio servizio) {
+        List<Conflitto> conflitti = new ArrayList<>();
+        LocalDateTime inizio = servizio.getDataOraInizio();
+        LocalDateTime fine = servizio.getDataOraFine();
+        if (inizio == null || fine == null || servizio.getLuogo() == null) {
+            return conflitti;
+        }
+        String luogo = luogoCompleto(servizio);
+        for (OccorrenzaServizio occorrenza : calendario.getOccorrenzeServizi(inizio, fine)) {
+            Servizio altro = occorrenza.getServizio();
+            if (altro != servizio && altro.getLuogo() != null && luogo.equals(luogoCompleto(altro))) {
+                conflitti.add(conflitto(Conflitto.Tipo.LUOGO, luogo, altro, servizio,
+                    max(inizio, occorrenza.getDataOraInizio()), fine, occorrenza.getDataOraFine()));
+            }
+        }
+        return conflitti;
+    }
+
+    /**
+     * Controlla solo i conflitti del turno indicato: cucina condivisa e cuochi già impegnati altrove.
+     */
+    public List<Conflitto> verifica(Turno turno) {
+        List<Conflitto> conflitti = new ArrayList<>();
+        VoceTurno voce = vociTurni.get(turno);
+        if (voce == null || voce.intervallo == null) {
+            return conflitti;
+        }
+        Map<Cuoco, Integer> cuochi = cuochiPerTurno.getOrDefault(voce.etichetta, Collections.emptyMap());
+        for (Turno altro : turni.sovrapposti(voce.intervallo.getInizio(), voce.intervallo.getFine())) {
+            if (altro == turno) {
+                continue;
+            }
+            VoceTurno voceAltro = vociTurni.get(altro);
+            LocalDateTime inizio = max(voce.intervallo.getInizio(), voceAltro.intervallo.getInizio());
+            if (turno.getLuogo() != null && turno.getLuogo().equals(altro.getLuogo())) {
+                conflitti.add(conflitto(Conflitto.Tipo.ATTREZZATURA, turno.getLuogo(), altro, turno,
+                    inizio, voce.intervallo.getFine(), voceAltro.intervallo.getFine()));
+            }
+            if (!voceAltro.etichetta.equals(voce.etichetta) && turnoPerEtichetta.get(voceAltro.etichetta) == altro) {
+                for (Cuoco cuoco : cuochiPerTurno.getOrDefault(voceAltro.etichetta, Collections.emptyMap()).keySet()) {
+                    if (cuochi.containsKey(cuoco)) {
+                        conflitti.add(conflitto(Conflitto.Tipo.PERSONALE, nomeCuoco(cuoco), altro, turno,
+                            inizio, voce.intervallo.getFine(), voceAltro.intervallo.getFine()));
+                    }
+                }
+            }
+        }
+        return conflitti;
+    }
+
+    /**
+     * Controlla solo se il cuoco del compito è già impegnato in un turno sovrapposto
+     * a quello del compito.
+     */
+    public List<Conflitto> verifica(Compito compito) {
+        List<Conflitto> conflitti = new ArrayList<>();
+        Cuoco cuoco = compito.getCuocoAssegnato();
+        Turno turno = compito.getTurno() != null ? turnoPerEtichetta.get(compito.getTurno()) : null;
+        if (cuoco == null || turno == null || vociTurni.get(turno).intervallo == null) {
+            return conflitti;
+        }
+        VoceTurno voce = vociTurni.get(turno);
+        Map<String, Integer> turniCuoco = turniPerCuoco.getOrDefault(cuoco, Collections.emptyMap());
+        for (Turno altro : turni.sovrapposti(voce.intervallo.getInizio(), voce.intervallo.getFine())) {
+            VoceTurno voceAltro = vociTurni.get(altro);
+            if (!voceAltro.etichetta.equals(voce.etichetta)
+                    && turnoPerEtichetta.get(voceAltro.etichetta) == altro
+                    && turniCuoco.containsKey(voceAltro.etichetta)) {
+                conflitti.add(conflitto(Conflitto.Tipo.PERSONALE, nomeCuoco(cuoco), altro, turno,
+                    max(voce.intervallo.getInizio(), voceAltro.intervallo.getInizio()),
+                    voce.intervallo.getFine(), voceAltro.intervallo.getFine()));
+            }
+        }
+        return conflitti;
+    }
+
+    private void aggiungiTurno(Turno turno) {
+        if (vociTurni.containsKey(turno)) {
+            return;
+        }
+        VoceTurno voce = new VoceTurno(turno);
+        vociTurni.put(turno, voce);
+        indicizza(voce);
+        turno.aggiungiListener(voce.orarioCambiato);
+    }
+
+    private void rimuoviTurno(Turno turno) {
+        VoceTurno voce = vociTurni.remove(turno);
+        if (voce == null) {
+            return;
+        }
+        turno.rimuoviListener(voce.orarioCambiato);
+        deindicizza(voce);
+    }
+
+    private void reindicizza(VoceTurno voce) {
+        deindicizza(voce);
+        indicizza(voce);
+    }
+
+    private void indicizza(VoceTurno voce) {
+        Turno turno = voce.turno;
+        voce.etichetta = turno.getEtichetta();
+        turnoPerEtichetta.putIfAbsent(voce.etichetta, turno);
+        if (turno.getData() == null || turno.getOraInizio() == null || turno.getOraFine() == null) {
+            return;
+        }
+        LocalDateTime inizio = turno.getData().atTime(turno.getOraInizio());
+        LocalDateTime fine = turno.getData().atTime(turno.getOraFine());
+        if (fine.isBefore(inizio)) {
+            fine = fine.plusDays(1); // turno a cavallo della mezzanotte
+        }
+        voce.intervallo = turni.inserisci(inizio, fine, turno);
+    }
+
+    private void deindicizza(VoceTurno voce) {
+        if (voce.intervallo != null) {
+            turni.rimuovi(voce.intervallo);
+            voce.intervallo = null;
+        }
+        if (turnoPerEtichetta.get(voce.etichetta) == voce.turno) {
+            turnoPerEtichetta.remove(voce.etichetta);
+            // Un altro turno con la stessa etichetta diventa il riferimento per i compiti
+            for (VoceTurno altra : vociTurni.values()) {
+                if (altra != voce && voce.etichetta.equals(altra.etichetta)) {
+                    turnoPerEtichetta.put(voce.etichetta, altra.turno);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void aggiungiCompito(Compito compito) {
+        prenota(compito.getCuocoAssegnato(), compito.getTurno(), 1);
+        compito.aggiungiListener(osservatoreCompiti);
+    }
+
+    private void rimuoviCompito(Compito compito) {
+        compito.rimuoviListener(osservatoreCompiti);
+        prenota(compito.getCuocoAssegnato(), compito.getTurno(), -1);
+    }
+
+    private void prenota(Cuoco cuoco, String turno, int delta) {
+        if (cuoco == null || turno == null) {
+            return;
+        }
+        aggiungiConteggio(cuochiPerTurno.computeIfAbsent(turno, t -> new HashMap<>()), cuoco, delta);
+        aggiungiConteggio(turniPerCuoco.computeIfAbsent(cuoco, c -> new HashMap<>()), turno, delta);
+    }
+
+    private static <T> void aggiungiConteggio(Map<T, Integer> conteggi, T chiave, int delta) {
+        // merge rimuove la voce quando il conteggio torna a zero
+        conteggi.merge(chiave, delta, (vecchio, d) -> vecchio + d == 0 ? null : vecchio + d);
+    }
+
+    private String luogoCompleto(Servizio servizio) {
+        Evento evento = calendario.getEventoDelServizio(servizio);
+        if (evento == null || evento.getLuogo() == null) {
+            return servizio.getLuogo();
+        }
+        return evento.getLuogo() + " - " + servizio.getLuogo();
+    }
+
+    private static String nomeCuoco(Cuoco cuoco) {
+        return cuoco.getNome() + " " + cuoco.getCognome();
+    }
+
+    private static Conflitto conflitto(Conflitto.Tipo tipo, String risorsa, Object primo, Object secondo,
+                                       LocalDateTime inizio, LocalDateTime fine1, LocalDateTime fine2) {
+        return new Conflitto(tipo, risorsa, primo, secondo, inizio, fine1.isBefore(fine2) ? fine1 : fine2);
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Occupazione di una risorsa in un intervallo, usata durante la scansione.
+     */
+    private static final class Prenotazione {
+        final Conflitto.Tipo tipo;
+        final String chiave;
+        final String risorsa;
+        final LocalDateTime inizio;
+        final LocalDateTime fine;
+        final Object elemento;
+
+        Prenotazione(Conflitto.Tipo tipo, String risorsa, String nome, LocalDateTime inizio,
+                     LocalDateTime fine, Object elemento) {
+            this.tipo = tipo;
+            this.chiave = tipo + ":" + risorsa;
+            this.risorsa = nome;
+            this.inizio = inizio;
+            this.fine = fine;
+            this.elemento = elemento;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package software.service.costi;
+
+import software.domain.eventi.Evento;
+import software.domain.eventi.Servizio;
+import software.domain.menu.Menu;
+import software.domain.menu.SezioneMenu;
+import software.domain.ricette.DizionarioIngredienti;
+import software.domain.ricette.Ricetta;
+import software.service.utils.IntMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Calcola il costo degli ingredienti di ricette, sezioni, menu ed eventi
+ * usando i prezzi di un {@link ListinoPrezzi}.
+ *
+ * Il costo di ogni ricetta viene memorizzato e riusato finché la ricetta non cambia
+ * (vedi {@link Ricetta#getRevisione()}) e finché non cambia il prezzo di uno dei suoi
+ * ingredienti: un indice inverso dagli ingredienti alle ricette permette di invalidare
+ * solo le ricette toccate da un cambio di prezzo. Il preventivo di un evento con molti
+ * menu costa quindi una somma per ricetta, più il ricalcolo delle sole ricette cambiate.
+ *
+ * I costi di sezioni e menu sono riferiti a un ospite, con una porzione di ogni ricetta.
+ * È thread-safe.
+ */
+public class CalcolatoreCosti {
+    private final ListinoPrezzi listino;
+    private final Consumer<String> osservatoreListino = this::prezzoCambiato;
+
+    private final IntMap<CostoMemorizzato> costi = new IntMap<>();
+    // Prezzo per coppia (codice nome, codice unità), NaN se manca nel listino
+    private final Map<Long, Double> prezziPerCodici = new HashMap<>();
+    // Coppie di codici risolte per ogni chiave del listino ("olio d'oliva|ml")
+    private final Map<String, List<Long>> codiciPerChiave = new HashMap<>();
+    // Ricette il cui costo memorizzato usa la coppia di codici
+    private final Map<Long, Set<Integer>> ricettePerCodici = new HashMap<>();
+    private int ricalcoli;
+
+    public CalcolatoreCosti(ListinoPrezzi listino) {
+        this.listino = listino;
+        listino.aggiungiOsservatore(osservatoreListino);
+    }
+
+    /**
+     * Restituisce il costo degli ingredienti della ricetta, ricalcolandolo solo se
+     * la ricetta o i prezzi dei suoi ingredienti sono cambiati.
+     */
+    public synchronized CostoRicetta costoRicetta(Ricetta ricetta) {
+        CostoMemorizzato memorizzato = costi.get(ricetta.getId());
+        if (memorizzato != null && memorizzato.ricetta == ricetta
+            && memorizzato.revisione == ricetta.getRevisione()) {
+            return memorizzato.costo;
+        }
+        if (memorizzato != null) {
+            scollega(memorizzato);
+        }
+
+        int numero = ricetta.getNumeroIngredienti();
+        long[] coppie = new long[numero];
+        double totale = 0;
+        List<String> senzaPrezzo = new ArrayList<>();
+        for (int i = 0; i < numero; i++) {
+            int codiceNome = ricetta.getCodiceNomeIngrediente(i);
+            int codiceUnita = ricetta.getCodiceUnitaIngrediente(i);
+            coppie[i] = coppia(codiceNome, codiceUnita);
+            double prezzo = prezzo(coppie[i], codiceNome, codiceUnita);
+            if (Double.isNaN(prezzo)) {
+                senzaPrezzo.add(DizionarioIngredienti.valore(codiceNome) + " ("
+                                + DizionarioIngredienti.valore(codiceUnita) + ")");
+            } else {
+                totale += ricetta.getDoseIngrediente(i) * prezzo;
+            }
+        }
+
+        CostoRicetta costo = new CostoRicetta(totale, ricetta.getPorzioni(), senzaPrezzo);
+        CostoMemorizzato nuovo = new CostoMemorizzato(ricetta, ricetta.getRevisione(), costo, coppie);
+        costi.put(ricetta.getId(), nuovo);
+        for (long c : coppie) {
+            ricettePerCodici.computeIfAbsent(c, k -> new HashSet<>()).add(ricetta.getId());
+        }
+        ricalcoli++;
+        return costo;
+    }
+
+    /**
+     * Restituisce il costo di una porzione di ciascuna ricetta della sezione.
+     */
+    public double costoSezione(SezioneMenu sezione) {
+        double totale = 0;
+        for (Ricetta ricetta : sezione.getRicette()) {
+            totale += costoRicetta(ricetta).getCostoPorzione();
+        }
+        return totale;
+    }
+
+    /**
+     * Restituisce il costo del menu per un ospite.
+     */
+    public double costoMenu(Menu menu) {
+        double totale = 0;
+        for (SezioneMenu sezione : menu.getSezioni()) {
+            totale += costoSezione(sezione);
+        }
+        return totale;
+    }
+
+    /**
+     * Restituisce il costo del menu per il numero di ospiti indicato.
+     */
+    public double costoMenu(Menu menu, int ospiti) {
+        if (ospiti < 0) {
+            throw new IllegalArgumentException("Il numero di ospiti non può essere negativo");
+        }
+        return costoMenu(menu) * ospiti;
+    }
+
+    /**
+     * Restituisce il costo degli ingredienti di tutti i servizi dell'evento
+     * per il suo numero di persone. I servizi senza menu non hanno costo.
+     */
+    public double costoEvento(Evento evento) {
+        double totale = 0;
+        for (Servizio servizio : evento.getServizi()) {
+            if (servizio.getMenu() != null) {
+                totale += costoMenu(servizio.getMenu(), evento.getNumeroDiPersone());
+            }
+        }
+        return totale;
+    }
+
+    /**
+     * Scarta il costo memorizzato della ricetta (es. dopo averla eliminata).
+     */
+    public synchronized void invalida(Ricetta ricetta) {
+        CostoMemorizzato memorizzato = costi.remove(ricetta.getId());
+        if (memorizzato != null) {
+            scollega(memorizzato);
+        }
+    }
+
+    /**
+     * Smette di osservare il listino. Il calcolatore non va più usato dopo la chiusura.
+     */
+    public void chiudi() {
+        listino.rimuoviOsservatore(osservatoreListino);
+    }
+
+    /**
+     * Restituisce quante volte è stato calcolato il costo di una ricetta.
+     */
+    synchronized int getNumeroRicalcoli() {
+        return ricalcoli;
+    }
+
+    private synchronized void prezzoCambiato(String chiave) {
+        List<Long> coppie = codiciPerChiave.remove(chiave);
+        if (coppie == null) {
+            return;
+        }
+        for (long c : coppie) {
+            prezziPerCodici.remove(c);
+            Set<Integer> ricette = ricettePerCodici.remove(c);
+            if (ricette == null) {
+                continue;
+            }
+            for (int id : ricette) {
+                CostoMemorizzato memorizzato = costi.remove(id);
+                if (memorizzato != null) {
+                    scollega(memorizzato);
+                }
+            }
+        }
+    }
+
+    private double prezzo(long coppia, int codiceNome, int codiceUnita) {
+        Double prezzo = prezziPerCodici.get(coppia);
+        if (prezzo == null) {
+            String nome = DizionarioIngredienti.valore(codiceNome);
+            String unita = DizionarioIngredienti.valore(codiceUnita);
+            prezzo = listino.getPrezzo(nome, unita).orElse(Double.NaN);
+            prezziPerCodici.put(coppia, prezzo);
+            codiciPerChiave.computeIfAbsent(ListinoPrezzi.chiave(nome, unita), k -> new ArrayList<>()).add(coppia);
+        }
+        return prezzo;
+    }
+
+    private void scollega(CostoMemorizzato memorizzato) {
+        int id = memorizzato.ricetta.getId();
+        for (long c : memorizzato.coppie) {
+            Set<Integer> ricette = ricettePerCodici.get(c);
+            if (ricette != null) {
+                ricette.remove(id);
+                if (ricette.isEmpty()) {
+                    ricettePerCodici.remove(c);
+                }
+            }
+        }
+    }
+
+    private static long coppia(int codiceNome, int codiceUnita) {
+        return ((long) codiceNome << 32) | (codiceUnita & 0xFFFFFFFFL);
+    }
+
+    private static final class CostoMemorizzato {
+        final Ricetta ricetta;
+        final int revisione;
+        final CostoRicetta costo;
+        final long[] coppie;
+
+        CostoMemorizzato(Ricetta ricetta, int revisione, CostoRicetta costo, long[] coppie) {
+            this.ricetta = ricetta;
+            this.revisione = revisione;
+            this.costo = costo;
+            this.coppie = coppie;
+        }
+    }
+}
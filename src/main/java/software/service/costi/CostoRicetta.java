@@ -0,0 +1,53 @@
+package software.service.costi;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Costo degli ingredienti di una ricetta, calcolato con le dosi indicate nella ricetta.
+ * Gli ingredienti senza prezzo nel listino contano zero e sono elencati a parte,
+ * così un preventivo può segnalare che il costo è sottostimato.
+ */
+public class CostoRicetta {
+    private final double totale;
+    private final int porzioni;
+    private final List<String> ingredientiSenzaPrezzo;
+
+    CostoRicetta(double totale, int porzioni, List<String> ingredientiSenzaPrezzo) {
+        this.totale = totale;
+        this.porzioni = porzioni;
+        this.ingredientiSenzaPrezzo = Collections.unmodifiableList(ingredientiSenzaPrezzo);
+    }
+
+    /**
+     * Restituisce il costo di tutti gli ingredienti della ricetta.
+     */
+    public double getTotale() {
+        return totale;
+    }
+
+    /**
+     * Restituisce il costo di una porzione.
+     */
+    public double getCostoPorzione() {
+        return totale / porzioni;
+    }
+
+    public int getPorzioni() {
+        return porzioni;
+    }
+
+    /**
+     * Restituisce gli ingredienti senza prezzo, nel formato "nome (unità)".
+     */
+    public List<String> getIngredientiSenzaPrezzo() {
+        return ingredientiSenzaPrezzo;
+    }
+
+    /**
+     * Verifica se tutti gli ingredienti hanno un prezzo nel listino.
+     */
+    public boolean isCompleto() {
+        return ingredientiSenzaPrezzo.isEmpty();
+    }
+}
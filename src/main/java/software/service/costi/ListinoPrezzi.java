@@ -0,0 +1,89 @@
+package software.service.costi;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Listino dei prezzi degli ingredienti.
+ * Ogni prezzo è riferito a un'unità di misura (es. euro per "g" di "Guanciale").
+ * Nome e unità vengono normalizzati (spazi superflui e maiuscole ignorati), quindi
+ * "Olio d'oliva" e " olio  d'Oliva " hanno lo stesso prezzo.
+ * È thread-safe; gli osservatori vengono avvisati nel thread che cambia il prezzo.
+ */
+public class ListinoPrezzi {
+    private final Map<String, Double> prezzi = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> osservatori = new CopyOnWriteArrayList<>();
+
+    /**
+     * Imposta il prezzo di un ingrediente nell'unità indicata.
+     * @param ingrediente Il nome dell'ingrediente
+     * @param unitaMisura L'unità a cui si riferisce il prezzo
+     * @param prezzoUnitario Il prezzo per unità, non negativo
+     * @throws IllegalArgumentException se il prezzo è negativo o non è un numero
+     */
+    public void impostaPrezzo(String ingrediente, String unitaMisura, double prezzoUnitario) {
+        if (!(prezzoUnitario >= 0) || Double.isInfinite(prezzoUnitario)) {
+            throw new IllegalArgumentException("Il prezzo di " + ingrediente + " deve essere un numero non negativo");
+        }
+        String chiave = chiave(ingrediente, unitaMisura);
+        Double precedente = prezzi.put(chiave, prezzoUnitario);
+        if (precedente == null || precedente != prezzoUnitario) {
+            avvisa(chiave);
+        }
+    }
+
+    public void rimuoviPrezzo(String ingrediente, String unitaMisura) {
+        String chiave = chiave(ingrediente, unitaMisura);
+        if (prezzi.remove(chiave) != null) {
+            avvisa(chiave);
+        }
+    }
+
+    /**
+     * Restituisce il prezzo unitario dell'ingrediente, vuoto se non è nel listino.
+     */
+    public OptionalDouble getPrezzo(String ingrediente, String unitaMisura) {
+        Double prezzo = prezzi.get(chiave(ingrediente, unitaMisura));
+        return prezzo != null ? OptionalDouble.of(prezzo) : OptionalDouble.empty();
+    }
+
+    public int size() {
+        return prezzi.size();
+    }
+
+    /**
+     * Registra un osservatore che riceve la chiave normalizzata di ogni prezzo cambiato.
+     */
+    void aggiungiOsservatore(Consumer<String> osservatore) {
+        osservatori.add(osservatore);
+    }
+
+    void rimuoviOsservatore(Consumer<String> osservatore) {
+        osservatori.remove(osservatore);
+    }
+
+    /**
+     * Restituisce la chiave con cui il listino identifica un ingrediente in un'unità.
+     */
+    static String chiave(String ingrediente, String unitaMisura) {
+        if (ingrediente == null || unitaMisura == null) {
+            throw new IllegalArgumentException("Ingrediente e unità di misura sono obbligatori");
+        }
+        return normalizza(ingrediente) + '|' + normalizza(unitaMisura);
+    }
+
+    private static String normalizza(String valore) {
+        return valore.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ITALIAN);
+    }
+
+    private void avvisa(String chiave) {
+        for (Consumer<String> osservatore : osservatori) {
+            osservatore.accept(chiave);
+        }
+    }
+}
@@ -4,7 +4,9 @@ import software.domain.exceptions.DomainException;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -16,15 +18,18 @@ import java.util.stream.Collectors;
  * Repository in-memory ultra semplificato senza persistenza.
  * Mantiene i dati solo durante l'esecuzione dell'applicazione.
  * Ideale per prototipi e testing.
+ * Le entità sono indicizzate per ID mantenendo l'ordine di inserimento:
+ * ricerca, aggiornamento ed eliminazione per ID costano O(1).
  */
 public class InMemoryRepository<T, ID> {
     
     private static final Logger LOGGER = Logger.getLogger(InMemoryRepository.class.getName());
-    private static final ConcurrentHashMap<String, List<?>> GLOBAL_STORAGE = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Map<Integer, ?>> GLOBAL_STORAGE = new ConcurrentHashMap<>();
     
     private final String entityName;
     private final Class<T> entityClass;
     private final String idFieldName;
+    private final Field idField;
     private final AtomicInteger nextId;
     
     /**
@@ -39,17 +44,15 @@ public class InMemoryRepository<T, ID> {
         this.entityName = entityName;
         this.entityClass = entityClass;
         this.idFieldName = idFieldName;
+        this.idField = trovaCampoId();
         
         // Inizializza lo storage se non esiste
-        if (!GLOBAL_STORAGE.containsKey(entityName)) {
-            GLOBAL_STORAGE.put(entityName, new ArrayList<T>());
-        }
+        GLOBAL_STORAGE.putIfAbsent(entityName, new LinkedHashMap<Integer, T>());
         
         // Determina il prossimo ID
         int maxId = 0;
-        for (Object entity : getEntities()) {
-            Integer id = getId((T) entity);
-            if (id != null && id > maxId) {
+        for (Integer id : getEntities().keySet()) {
+            if (id > maxId) {
                 maxId = id;
             }
         }
@@ -59,8 +62,22 @@ public class InMemoryRepository<T, ID> {
     }
     
     @SuppressWarnings("unchecked")
-    private List<T> getEntities() {
-        return (List<T>) GLOBAL_STORAGE.get(entityName);
+    private Map<Integer, T> getEntities() {
+        return (Map<Integer, T>) GLOBAL_STORAGE.get(entityName);
+    }
+    
+    /**
+     * Cerca una volta sola il campo ID, invece che a ogni accesso.
+     */
+    private Field trovaCampoId() {
+        try {
+            Field campo = entityClass.getDeclaredField(idFieldName);
+            campo.setAccessible(true);
+            return campo;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Errore nell'accesso al campo ID: " + idFieldName, e);
+            return null;
+        }
     }
     
     /**
@@ -68,8 +85,6 @@ public class InMemoryRepository<T, ID> {
      */
     private void setId(T entity, Integer id) {
         try {
-            Field idField = entityClass.getDeclaredField(idFieldName);
-            idField.setAccessible(true);
             idField.set(entity, id);
         } catch (Exception e) {
             throw new DomainException("Impossibile impostare l'ID sull'entità", e);
@@ -80,9 +95,10 @@ public class InMemoryRepository<T, ID> {
      * Ottiene l'ID da un'entità.
      */
     private Integer getId(T entity) {
+        if (idField == null) {
+            return null;
+        }
         try {
-            Field idField = entityClass.getDeclaredField(idFieldName);
-            idField.setAccessible(true);
             Object idValue = idField.get(entity);
             
             if (idValue instanceof Integer) {
@@ -104,27 +120,16 @@ public class InMemoryRepository<T, ID> {
             throw new DomainException("Impossibile salvare un'entità null");
         }
         
-        List<T> entities = getEntities();
         Integer id = getId(entity);
         
         // Nuova entità (ID nullo o zero)
         if (id == null || id == 0) {
-            int newId = nextId.getAndIncrement();
-            setId(entity, newId);
-            entities.add(entity);
-            return entity;
-        }
-        
-        // Aggiorna entità esistente
-        for (int i = 0; i < entities.size(); i++) {
-            if (Objects.equals(getId(entities.get(i)), id)) {
-                entities.set(i, entity);
-                return entity;
-            }
+            id = nextId.getAndIncrement();
+            setId(entity, id);
         }
         
-        // Se non esiste, aggiungi
-        entities.add(entity);
+        // Aggiorna l'entità esistente mantenendone la posizione, altrimenti la aggiunge in fondo
+        getEntities().put(id, entity);
         return entity;
     }
     
@@ -137,17 +142,14 @@ public class InMemoryRepository<T, ID> {
             return null;
         }
         
-        return getEntities().stream()
-                .filter(e -> Objects.equals(getId(e), id))
-                .findFirst()
-                .orElse(null);
+        return getEntities().get(id);
     }
     
     /**
      * Trova tutte le entità.
      */
     public List<T> findAll() {
-        return new ArrayList<>(getEntities());
+        return new ArrayList<>(getEntities().values());
     }
     
     /**
@@ -170,8 +172,7 @@ public class InMemoryRepository<T, ID> {
             throw new DomainException("ID non può essere null");
         }
         
-        List<T> entities = getEntities();
-        entities.removeIf(e -> Objects.equals(getId(e), id));
+        getEntities().remove(id);
     }
     
     /**
@@ -182,8 +183,7 @@ public class InMemoryRepository<T, ID> {
             return false;
         }
         
-        return getEntities().stream()
-                .anyMatch(e -> Objects.equals(getId(e), id));
+        return getEntities().containsKey(id);
     }
     
     /**
@@ -194,7 +194,7 @@ public class InMemoryRepository<T, ID> {
             return new ArrayList<>();
         }
         
-        return getEntities().stream()
+        return getEntities().values().stream()
                 .filter(e -> {
                     try {
                         Field field = entityClass.getDeclaredField(fieldName);
@@ -0,0 +1,119 @@
+package software.service.pianificazione;
+
+import java.util.Arrays;
+
+/**
+ * Heap binario di indici interi con posizione indicizzata.
+ * Permette di leggere il minimo in O(1) e di inserire, rimuovere o
+ * riposizionare un elemento qualsiasi in O(log n).
+ * L'array delle posizioni può essere condiviso tra più code, purché
+ * ogni elemento appartenga al più a una coda alla volta.
+ */
+class CodaPrioritaIndicizzata {
+
+    /**
+     * Confronto tra due elementi: valore negativo se a ha priorità maggiore di b.
+     */
+    interface Confronto {
+        int confronta(int a, int b);
+    }
+
+    private final int[] posizione;
+    private final Confronto confronto;
+    private int[] heap = new int[8];
+    private int dimensione;
+
+    CodaPrioritaIndicizzata(int[] posizione, Confronto confronto) {
+        this.posizione = posizione;
+        this.confronto = confronto;
+    }
+
+    boolean isEmpty() {
+        return dimensione == 0;
+    }
+
+    int size() {
+        return dimensione;
+    }
+
+    /**
+     * Restituisce l'elemento a priorità massima, -1 se la coda è vuota.
+     */
+    int primo() {
+        return dimensione == 0 ? -1 : heap[0];
+    }
+
+    void inserisci(int elemento) {
+        if (dimensione == heap.length) {
+            heap = Arrays.copyOf(heap, dimensione * 2);
+        }
+        heap[dimensione] = elemento;
+        posizione[elemento] = dimensione;
+        dimensione++;
+        risali(dimensione - 1);
+    }
+
+    void rimuovi(int elemento) {
+        int i = posizione[elemento];
+        posizione[elemento] = -1;
+        dimensione--;
+        if (i == dimensione) {
+            return;
+        }
+        heap[i] = heap[dimensione];
+        posizione[heap[i]] = i;
+        riposiziona(i);
+    }
+
+    /**
+     * Ripristina l'ordine dopo che la priorità di un elemento è cambiata
+     * (sia in aumento che in diminuzione).
+     */
+    void aggiornaPriorita(int elemento) {
+        riposiziona(posizione[elemento]);
+    }
+
+    private void riposiziona(int i) {
+        if (i > 0 && confronto.confronta(heap[i], heap[(i - 1) / 2]) < 0) {
+            risali(i);
+        } else {
+            scendi(i);
+        }
+    }
+
+    private void risali(int i) {
+        int elemento = heap[i];
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (confronto.confronta(elemento, heap[padre]) >= 0) {
+                break;
+            }
+            heap[i] = heap[padre];
+            posizione[heap[i]] = i;
+            i = padre;
+        }
+        heap[i] = elemento;
+        posizione[elemento] = i;
+    }
+
+    private void scendi(int i) {
+        int elemento = heap[i];
+        while (true) {
+            int figlio = 2 * i + 1;
+            if (figlio >= dimensione) {
+                break;
+            }
+            if (figlio + 1 < dimensione && confronto.confronta(heap[figlio + 1], heap[figlio]) < 0) {
+                figlio++;
+            }
+            if (confronto.confronta(heap[figlio], elemento) >= 0) {
+                break;
+            }
+            heap[i] = heap[figlio];
+            posizione[heap[i]] = i;
+            i = figlio;
+        }
+        heap[i] = elemento;
+        posizione[elemento] = i;
+    }
+}
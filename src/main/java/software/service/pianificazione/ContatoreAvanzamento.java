@@ -0,0 +1,66 @@
+package software.service.pianificazione;
+
+import software.domain.compiti.StatoCompito;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Conta i compiti di un gruppo (evento, turno, cuoco) per ciascuno stato.
+ * I contatori sono atomici: possono essere letti da qualsiasi thread,
+ * ad esempio da una dashboard che li interroga più volte al secondo.
+ * Letture di più contatori fatte da un altro thread possono però cadere a metà
+ * di uno spostamento e contare per un attimo un compito in più: per un totale
+ * coerente vanno lette dal thread che cambia gli stati.
+ * Tutte le letture sono O(1).
+ */
+public class ContatoreAvanzamento {
+    private static final StatoCompito[] STATI = StatoCompito.values();
+    
+    private final AtomicIntegerArray perStato = new AtomicIntegerArray(STATI.length);
+    
+    void aggiungi(StatoCompito stato) {
+        perStato.incrementAndGet(stato.ordinal());
+    }
+    
+    void rimuovi(StatoCompito stato) {
+        perStato.decrementAndGet(stato.ordinal());
+    }
+    
+    void sposta(StatoCompito da, StatoCompito a) {
+        perStato.incrementAndGet(a.ordinal());
+        perStato.decrementAndGet(da.ordinal());
+    }
+    
+    /**
+     * Restituisce il numero di compiti nello stato indicato.
+     */
+    public int getNumero(StatoCompito stato) {
+        return perStato.get(stato.ordinal());
+    }
+    
+    /**
+     * Restituisce il numero di compiti ancora da avviare (da iniziare o pianificati).
+     */
+    public int getDaAvviare() {
+        return getNumero(StatoCompito.DA_INIZIARE) + getNumero(StatoCompito.PIANIFICATO);
+    }
+    
+    /**
+     * Restituisce il numero totale di compiti del gruppo.
+     */
+    public int getTotale() {
+        int totale = 0;
+        for (int i = 0; i < STATI.length; i++) {
+            totale += perStato.get(i);
+        }
+        return totale;
+    }
+    
+    /**
+     * Restituisce la percentuale di compiti completati (0-100).
+     */
+    public int getPercentualeCompletamento() {
+        int totale = getTotale();
+        return totale == 0 ? 0 : (getNumero(StatoCompito.COMPLETATO) * 100) / totale;
+    }
+}
@@ -0,0 +1,234 @@
+package software.service.pianificazione;
+
+import software.domain.compiti.Compito;
+import software.domain.compiti.CompitoListener;
+import software.domain.compiti.StatoCompito;
+import software.domain.exceptions.DomainException;
+import software.domain.utenti.Cuoco;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Distribuisce i compiti pronti ai cuochi durante il servizio.
+ * Un compito è pronto quando non è ancora stato avviato e tutte le sue
+ * dipendenze sono completate. I compiti pronti sono mantenuti in code di
+ * priorità indicizzate (una per cuoco più una per i compiti non assegnati),
+ * ordinate per importanza, scadenza (inizio al più tardi) e slack.
+ *
+ * Il dispatcher osserva i compiti: ogni cambio di stato, importanza o cuoco
+ * aggiorna le code in O(log n) senza riordinare l'intero piano.
+ * Le dipendenze sono lette alla creazione; se cambiano va creato un nuovo dispatcher.
+ * Chi crea il dispatcher lo possiede e deve chiuderlo ({@link #chiudi()}, o
+ * try-with-resources) quando il servizio finisce: fino ad allora i compiti lo tengono
+ * in vita e lo avvisano a ogni modifica.
+ * Non è thread-safe: va usato dal thread dell'interfaccia.
+ */
+public class DispatcherCompiti implements CompitoListener, AutoCloseable {
+    private final GrafoCompiti grafo;
+    private PercorsoCritico percorso;
+    private final int[][] dipendenti;
+    private final int[] dipendenzeAperte;
+    private final int[] posizione;
+    private final Map<Cuoco, CodaPrioritaIndicizzata> codePerCuoco = new HashMap<>();
+    private CodaPrioritaIndicizzata codaNonAssegnati;
+
+    /**
+     * Crea un dispatcher per i compiti indicati.
+     * @param compiti I compiti da eseguire
+     * @throws DomainException se le dipendenze contengono un ciclo
+     */
+    public DispatcherCompiti(Collection<Compito> compiti) {
+        this.grafo = new GrafoCompiti(compiti);
+        this.percorso = grafo.calcolaPercorsoCritico();
+
+        int n = grafo.getNumeroCompiti();
+        this.dipendenti = new int[n][];
+        this.dipendenzeAperte = new int[n];
+        this.posizione = new int[n];
+        Arrays.fill(posizione, -1);
+
+        for (int i = 0; i < n; i++) {
+            dipendenti[i] = grafo.successoriDi(i);
+        }
+        for (int i = 0; i < n; i++) {
+            if (grafo.compito(i).getStato() != StatoCompito.COMPLETATO) {
+                for (int v : dipendenti[i]) {
+                    dipendenzeAperte[v]++;
+                }
+            }
+        }
+
+        popolaCode();
+        for (int i = 0; i < n; i++) {
+            grafo.compito(i).aggiungiListener(this);
+        }
+    }
+
+    /**
+     * Restituisce il prossimo compito per il cuoco, senza avviarlo. Operazione O(1).
+     * Vengono proposti prima i compiti assegnati al cuoco, poi quelli non ancora assegnati.
+     * @param cuoco Il cuoco che chiede cosa fare
+     * @return Il compito da eseguire, null se non ci sono compiti pronti
+     */
+    public Compito prossimoCompito(Cuoco cuoco) {
+        CodaPrioritaIndicizzata coda = codePerCuoco.get(cuoco);
+        int prossimo = coda != null ? coda.primo() : -1;
+        if (prossimo < 0) {
+            prossimo = codaNonAssegnati.primo();
+        }
+        return prossimo >= 0 ? grafo.compito(prossimo) : null;
+    }
+
+    /**
+     * Avvia il prossimo compito del cuoco, assegnandoglielo se necessario.
+     * @param cuoco Il cuoco che prende in carico il compito
+     * @return Il compito avviato, null se non ci sono compiti pronti
+     */
+    public Compito avviaProssimoCompito(Cuoco cuoco) {
+        Compito compito = prossimoCompito(cuoco);
+        if (compito != null) {
+            if (compito.getCuocoAssegnato() == null) {
+                compito.setCuocoAssegnato(cuoco);
+            }
+            compito.setStato(StatoCompito.IN_CORSO);
+        }
+        return compito;
+    }
+
+    /**
+     * Verifica se il compito è pronto per essere avviato.
+     */
+    public boolean isPronto(Compito compito) {
+        int i = grafo.indiceDi(compito);
+        return i >= 0 && posizione[i] >= 0;
+    }
+
+    /**
+     * Restituisce il numero di compiti pronti, assegnati o meno.
+     */
+    public int getNumeroCompitiPronti() {
+        int totale = codaNonAssegnati.size();
+        for (CodaPrioritaIndicizzata coda : codePerCuoco.values()) {
+            totale += coda.size();
+        }
+        return totale;
+    }
+
+    /**
+     * Ricalcola scadenze e slack dopo una modifica delle durate e riordina le code.
+     */
+    public void ricalcolaPercorsoCritico() {
+        percorso = grafo.calcolaPercorsoCritico();
+        Arrays.fill(posizione, -1);
+        codePerCuoco.clear();
+        popolaCode();
+    }
+
+    /**
+     * Smette di osservare i compiti. Il dispatcher non va più usato dopo la chiusura.
+     * Chiudere più volte non ha effetto.
+     */
+    public void chiudi() {
+        for (int i = 0; i < grafo.getNumeroCompiti(); i++) {
+            grafo.compito(i).rimuoviListener(this);
+        }
+    }
+
+    /**
+     * Equivale a {@link #chiudi()}.
+     */
+    @Override
+    public void close() {
+        chiudi();
+    }
+
+    @Override
+    public void statoCambiato(Compito compito, StatoCompito vecchioStato, StatoCompito nuovoStato) {
+        int i = grafo.indiceDi(compito);
+        if (i < 0) {
+            return;
+        }
+
+        if (posizione[i] >= 0 && !nuovoStato.isDaAvviare()) {
+            coda(compito.getCuocoAssegnato()).rimuovi(i);
+        } else if (posizione[i] < 0 && nuovoStato.isDaAvviare() && dipendenzeAperte[i] == 0) {
+            coda(compito.getCuocoAssegnato()).inserisci(i);
+        }
+
+        boolean eraCompletato = vecchioStato == StatoCompito.COMPLETATO;
+        boolean completato = nuovoStato == StatoCompito.COMPLETATO;
+        if (eraCompletato == completato) {
+            return;
+        }
+
+        // Sblocca (o blocca di nuovo, in caso di annullamento) i compiti dipendenti
+        for (int v : dipendenti[i]) {
+            Compito dipendente = grafo.compito(v);
+            if (completato) {
+                if (--dipendenzeAperte[v] == 0 && posizione[v] < 0 && dipendente.getStato().isDaAvviare()) {
+                    coda(dipendente.getCuocoAssegnato()).inserisci(v);
+                }
+            } else {
+                if (dipendenzeAperte[v]++ == 0 && posizione[v] >= 0) {
+                    coda(dipendente.getCuocoAssegnato()).rimuovi(v);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void importanzaCambiata(Compito compito, int vecchiaImportanza, int nuovaImportanza) {
+        int i = grafo.indiceDi(compito);
+        if (i >= 0 && posizione[i] >= 0) {
+            coda(compito.getCuocoAssegnato()).aggiornaPriorita(i);
+        }
+    }
+
+    @Override
+    public void cuocoCambiato(Compito compito, Cuoco vecchioCuoco, Cuoco nuovoCuoco) {
+        int i = grafo.indiceDi(compito);
+        if (i >= 0 && posizione[i] >= 0) {
+            coda(vecchioCuoco).rimuovi(i);
+            coda(nuovoCuoco).inserisci(i);
+        }
+    }
+
+    private void popolaCode() {
+        codaNonAssegnati = new CodaPrioritaIndicizzata(posizione, this::confronta);
+        for (int i = 0; i < grafo.getNumeroCompiti(); i++) {
+            Compito compito = grafo.compito(i);
+            if (dipendenzeAperte[i] == 0 && compito.getStato().isDaAvviare()) {
+                coda(compito.getCuocoAssegnato()).inserisci(i);
+            }
+        }
+    }
+
+    private CodaPrioritaIndicizzata coda(Cuoco cuoco) {
+        if (cuoco == null) {
+            return codaNonAssegnati;
+        }
+        return codePerCuoco.computeIfAbsent(cuoco, c -> new CodaPrioritaIndicizzata(posizione, this::confronta));
+    }
+
+    /**
+     * Priorità: importanza più alta, poi scadenza più vicina, poi slack minore.
+     */
+    private int confronta(int a, int b) {
+        int diff = grafo.compito(b).getImportanza() - grafo.compito(a).getImportanza();
+        if (diff != 0) {
+            return diff;
+        }
+        diff = Integer.compare(percorso.inizioAlPiuTardi(a), percorso.inizioAlPiuTardi(b));
+        if (diff != 0) {
+            return diff;
+        }
+        diff = Integer.compare(percorso.slack(a), percorso.slack(b));
+        if (diff != 0) {
+            return diff;
+        }
+        return Integer.compare(grafo.compito(a).getId(), grafo.compito(b).getId());
+    }
+}
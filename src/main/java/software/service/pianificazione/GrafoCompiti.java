@@ -0,0 +1,319 @@
+package software.service.pianificazione;
+
+import software.domain.compiti.Compito;
+import software.domain.exceptions.DomainException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Grafo orientato aciclico delle dipendenze tra compiti di cucina.
+ * Un arco A -> B indica che il compito A deve essere completato prima di B.
+ * Le operazioni sono lineari nel numero di compiti e dipendenze (O(V + E)), tranne
+ * l'ordinamento topologico stabile che costa O(V log V + E), quindi il grafo può
+ * essere ricostruito a ogni modifica del piano.
+ * Le dipendenze verso compiti non inclusi nel grafo sono ignorate.
+ */
+public class GrafoCompiti {
+    private final List<Compito> nodi;
+    private final Map<Integer, Integer> indicePerId;
+
+    // Lista di adiacenza compatta: i successori del nodo i sono
+    // successori[inizioSuccessori[i]] ... successori[inizioSuccessori[i + 1] - 1]
+    private final int[] inizioSuccessori;
+    private final int[] successori;
+    private final int[] gradoEntrante;
+
+    /**
+     * Costruisce il grafo a partire da una collezione di compiti.
+     * @param compiti I compiti da includere nel grafo
+     */
+    public GrafoCompiti(Collection<Compito> compiti) {
+        this.nodi = new ArrayList<>(compiti);
+        int n = nodi.size();
+        this.indicePerId = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indicePerId.put(nodi.get(i).getId(), i);
+        }
+
+        // Primo passaggio: conta gli archi uscenti ed entranti
+        this.inizioSuccessori = new int[n + 1];
+        this.gradoEntrante = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (Compito dipendenza : nodi.get(i).getDipendenze()) {
+                Integer j = indicePerId.get(dipendenza.getId());
+                if (j != null) {
+                    inizioSuccessori[j + 1]++;
+                    gradoEntrante[i]++;
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            inizioSuccessori[i + 1] += inizioSuccessori[i];
+        }
+
+        // Secondo passaggio: riempie la lista di adiacenza
+        this.successori = new int[inizioSuccessori[n]];
+        int[] posizione = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (Compito dipendenza : nodi.get(i).getDipendenze()) {
+                Integer j = indicePerId.get(dipendenza.getId());
+                if (j != null) {
+                    successori[inizioSuccessori[j] + posizione[j]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Restituisce i compiti in ordine topologico: ogni compito compare dopo
+     * tutte le sue dipendenze. A parità di vincoli viene mantenuto l'ordine
+     * della collezione di partenza: tra i compiti pronti viene sempre scelto
+     * quello che compare prima nella collezione.
+     * @return Lista ordinata dei compiti
+     * @throws DomainException se le dipendenze contengono un ciclo
+     */
+    public List<Compito> ordinamentoTopologico() {
+        int[] ordine = calcolaOrdineStabile();
+        if (ordine.length < nodi.size()) {
+            throw eccezioneCiclo();
+        }
+        List<Compito> risultato = new ArrayList<>(ordine.length);
+        for (int i : ordine) {
+            risultato.add(nodi.get(i));
+        }
+        return risultato;
+    }
+
+    /**
+     * Verifica se le dipendenze tra i compiti formano almeno un ciclo.
+     * @return true se esiste un ciclo
+     */
+    public boolean contieneCicli() {
+        return calcolaOrdine().length < nodi.size();
+    }
+
+    /**
+     * Individua un ciclo tra le dipendenze.
+     * @return I compiti che formano il ciclo, nell'ordine di esecuzione richiesto;
+     *         lista vuota se il grafo è aciclico
+     */
+    public List<Compito> trovaCiclo() {
+        int n = nodi.size();
+        int[] ordine = calcolaOrdine();
+        if (ordine.length == n) {
+            return Collections.emptyList();
+        }
+
+        // I nodi non ordinati hanno tutti almeno un predecessore non ordinato:
+        // risalendo i predecessori si ricade necessariamente in un ciclo
+        boolean[] ordinato = new boolean[n];
+        for (int i : ordine) {
+            ordinato[i] = true;
+        }
+        int[] passo = new int[n];
+        int corrente = 0;
+        while (ordinato[corrente]) {
+            corrente++;
+        }
+        List<Integer> cammino = new ArrayList<>();
+        while (passo[corrente] == 0) {
+            cammino.add(corrente);
+            passo[corrente] = cammino.size();
+            corrente = predecessoreNonOrdinato(corrente, ordinato);
+        }
+
+        List<Compito> ciclo = new ArrayList<>();
+        for (int k = cammino.size() - 1; k >= passo[corrente] - 1; k--) {
+            ciclo.add(nodi.get(cammino.get(k)));
+        }
+        return ciclo;
+    }
+
+    /**
+     * Calcola il percorso critico del piano usando la durata di ogni compito.
+     * Per ogni compito determina inizio al più presto, inizio al più tardi e slack.
+     * @return Il risultato del calcolo
+     * @throws DomainException se le dipendenze contengono un ciclo
+     */
+    public PercorsoCritico calcolaPercorsoCritico() {
+        int n = nodi.size();
+        int[] ordine = calcolaOrdine();
+        if (ordine.length < n) {
+            throw eccezioneCiclo();
+        }
+
+        int[] durata = new int[n];
+        for (int i = 0; i < n; i++) {
+            durata[i] = Math.max(0, nodi.get(i).getDurata());
+        }
+
+        // Passo in avanti: inizio al più presto
+        int[] inizioPresto = new int[n];
+        int durataTotale = 0;
+        for (int u : ordine) {
+            int finePresto = inizioPresto[u] + durata[u];
+            durataTotale = Math.max(durataTotale, finePresto);
+            for (int k = inizioSuccessori[u]; k < inizioSuccessori[u + 1]; k++) {
+                int v = successori[k];
+                if (inizioPresto[v] < finePresto) {
+                    inizioPresto[v] = finePresto;
+                }
+            }
+        }
+
+        // Passo all'indietro: fine al più tardi
+        int[] fineTardi = new int[n];
+        for (int idx = n - 1; idx >= 0; idx--) {
+            int u = ordine[idx];
+            int limite = durataTotale;
+            for (int k = inizioSuccessori[u]; k < inizioSuccessori[u + 1]; k++) {
+                int v = successori[k];
+                limite = Math.min(limite, fineTardi[v] - durata[v]);
+            }
+            fineTardi[u] = limite;
+        }
+
+        int[] inizioTardi = new int[n];
+        for (int i = 0; i < n; i++) {
+            inizioTardi[i] = fineTardi[i] - durata[i];
+        }
+
+        return new PercorsoCritico(nodi, indicePerId, inizioPresto, inizioTardi, durataTotale,
+                                   estraiCatenaCritica(ordine, durata, inizioPresto, inizioTardi));
+    }
+
+    /**
+     * Restituisce il numero di compiti nel grafo.
+     */
+    public int getNumeroCompiti() {
+        return nodi.size();
+    }
+
+    /**
+     * Restituisce l'indice interno del compito, -1 se non fa parte del grafo.
+     */
+    int indiceDi(Compito compito) {
+        Integer i = indicePerId.get(compito.getId());
+        return i != null ? i : -1;
+    }
+
+    Compito compito(int indice) {
+        return nodi.get(indice);
+    }
+
+    /**
+     * Restituisce gli indici dei compiti che dipendono direttamente dal nodo indicato.
+     */
+    int[] successoriDi(int nodo) {
+        return Arrays.copyOfRange(successori, inizioSuccessori[nodo], inizioSuccessori[nodo + 1]);
+    }
+
+    /**
+     * Algoritmo di Kahn. Restituisce gli indici ordinati; se l'array è più corto
+     * del numero di nodi, i nodi mancanti appartengono a un ciclo o ne dipendono.
+     */
+    private int[] calcolaOrdine() {
+        int n = nodi.size();
+        int[] residuo = gradoEntrante.clone();
+        int[] coda = new int[n];
+        int testa = 0;
+        int fondo = 0;
+        for (int i = 0; i < n; i++) {
+            if (residuo[i] == 0) {
+                coda[fondo++] = i;
+            }
+        }
+        while (testa < fondo) {
+            int u = coda[testa++];
+            for (int k = inizioSuccessori[u]; k < inizioSuccessori[u + 1]; k++) {
+                int v = successori[k];
+                if (--residuo[v] == 0) {
+                    coda[fondo++] = v;
+                }
+            }
+        }
+        return fondo == n ? coda : Arrays.copyOf(coda, fondo);
+    }
+
+    /**
+     * Come {@link #calcolaOrdine()}, ma sceglie sempre il nodo pronto con l'indice più basso,
+     * così l'ordine di partenza è rispettato ovunque le dipendenze lo consentono.
+     */
+    private int[] calcolaOrdineStabile() {
+        int n = nodi.size();
+        int[] residuo = gradoEntrante.clone();
+        CodaPrioritaIndicizzata pronti = new CodaPrioritaIndicizzata(new int[n], Integer::compare);
+        for (int i = 0; i < n; i++) {
+            if (residuo[i] == 0) {
+                pronti.inserisci(i);
+            }
+        }
+        int[] ordine = new int[n];
+        int fondo = 0;
+        while (!pronti.isEmpty()) {
+            int u = pronti.primo();
+            pronti.rimuovi(u);
+            ordine[fondo++] = u;
+            for (int k = inizioSuccessori[u]; k < inizioSuccessori[u + 1]; k++) {
+                int v = successori[k];
+                if (--residuo[v] == 0) {
+                    pronti.inserisci(v);
+                }
+            }
+        }
+        return fondo == n ? ordine : Arrays.copyOf(ordine, fondo);
+    }
+
+    private int predecessoreNonOrdinato(int nodo, boolean[] ordinato) {
+        for (Compito dipendenza : nodi.get(nodo).getDipendenze()) {
+            Integer j = indicePerId.get(dipendenza.getId());
+            if (j != null && !ordinato[j]) {
+                return j;
+            }
+        }
+        throw new IllegalStateException("Nodo non ordinato senza predecessori non ordinati");
+    }
+
+    /**
+     * Segue una catena di compiti a slack nullo dall'inizio alla fine del piano.
+     */
+    private List<Compito> estraiCatenaCritica(int[] ordine, int[] durata, int[] inizioPresto,
+                                              int[] inizioTardi) {
+        List<Compito> catena = new ArrayList<>();
+        int corrente = -1;
+        for (int u : ordine) {
+            if (inizioPresto[u] == 0 && inizioTardi[u] == 0) {
+                corrente = u;
+                break;
+            }
+        }
+        while (corrente >= 0) {
+            catena.add(nodi.get(corrente));
+            int fine = inizioPresto[corrente] + durata[corrente];
+            int prossimo = -1;
+            for (int k = inizioSuccessori[corrente]; k < inizioSuccessori[corrente + 1]; k++) {
+                int v = successori[k];
+                if (inizioPresto[v] == fine && inizioTardi[v] == inizioPresto[v]) {
+                    prossimo = v;
+                    break;
+                }
+            }
+            corrente = prossimo;
+        }
+        return catena;
+    }
+
+    private DomainException eccezioneCiclo() {
+        String ciclo = trovaCiclo().stream()
+            .map(c -> c.getRicetta() != null ? c.getRicetta().getNome() : "#" + c.getId())
+            .collect(Collectors.joining(" -> "));
+        return new DomainException("Le dipendenze tra i compiti contengono un ciclo: " + ciclo);
+    }
+}
@@ -0,0 +1,161 @@
+package software.service.pianificazione;
+
+import software.domain.compiti.Compito;
+import software.domain.compiti.CompitoListener;
+import software.domain.compiti.StatoCompito;
+import software.domain.eventi.Evento;
+import software.domain.utenti.Cuoco;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tiene aggiornati i contatori di avanzamento dei compiti per evento, turno e cuoco.
+ * Il monitor osserva i compiti registrati: ogni cambio di stato, turno o cuoco
+ * sposta il compito tra i contatori in O(1), quindi leggere l'avanzamento
+ * non richiede mai di scorrere la lista dei compiti.
+ * Le modifiche arrivano dal thread dell'interfaccia; le letture possono
+ * avvenire da qualsiasi thread.
+ */
+public class MonitorAvanzamento implements CompitoListener {
+    private final ContatoreAvanzamento globale = new ContatoreAvanzamento();
+    private final Map<Integer, ContatoreAvanzamento> perEvento = new ConcurrentHashMap<>();
+    private final Map<String, ContatoreAvanzamento> perTurno = new ConcurrentHashMap<>();
+    private final Map<Integer, ContatoreAvanzamento> perCuoco = new ConcurrentHashMap<>();
+    
+    // Compiti registrati e, per ciascuno, l'evento a cui appartiene
+    private final Map<Integer, Compito> compiti = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> eventoPerCompito = new ConcurrentHashMap<>();
+    
+    /**
+     * Inizia a monitorare un compito. Registrare più volte lo stesso compito non ha effetto.
+     * @param compito Il compito da monitorare
+     */
+    public void registra(Compito compito) {
+        if (compiti.putIfAbsent(compito.getId(), compito) != null) {
+            return;
+        }
+        StatoCompito stato = compito.getStato();
+        globale.aggiungi(stato);
+        if (compito.getTurno() != null) {
+            contatoreTurno(compito.getTurno()).aggiungi(stato);
+        }
+        if (compito.getCuocoAssegnato() != null) {
+            contatoreCuoco(compito.getCuocoAssegnato()).aggiungi(stato);
+        }
+        compito.aggiungiListener(this);
+    }
+    
+    /**
+     * Associa un compito a un evento, registrandolo se necessario.
+     * Un compito appartiene a un solo evento: una nuova associazione sostituisce la precedente.
+     * @param compito Il compito
+     * @param evento L'evento per cui il compito viene svolto
+     */
+    public void associaEvento(Compito compito, Evento evento) {
+        registra(compito);
+        Integer precedente = eventoPerCompito.put(compito.getId(), evento.getId());
+        if (precedente != null && precedente == evento.getId()) {
+            return;
+        }
+        StatoCompito stato = compito.getStato();
+        if (precedente != null) {
+            perEvento.get(precedente).rimuovi(stato);
+        }
+        perEvento.computeIfAbsent(evento.getId(), id -> new ContatoreAvanzamento()).aggiungi(stato);
+    }
+    
+    /**
+     * Smette di monitorare un compito e lo toglie da tutti i contatori.
+     * @param compito Il compito da rimuovere
+     */
+    public void rimuovi(Compito compito) {
+        if (compiti.remove(compito.getId()) == null) {
+            return;
+        }
+        compito.rimuoviListener(this);
+        StatoCompito stato = compito.getStato();
+        globale.rimuovi(stato);
+        if (compito.getTurno() != null) {
+            contatoreTurno(compito.getTurno()).rimuovi(stato);
+        }
+        if (compito.getCuocoAssegnato() != null) {
+            contatoreCuoco(compito.getCuocoAssegnato()).rimuovi(stato);
+        }
+        Integer evento = eventoPerCompito.remove(compito.getId());
+        if (evento != null) {
+            perEvento.get(evento).rimuovi(stato);
+        }
+    }
+    
+    /**
+     * Restituisce l'avanzamento di tutti i compiti monitorati.
+     */
+    public ContatoreAvanzamento getAvanzamentoGlobale() {
+        return globale;
+    }
+    
+    /**
+     * Restituisce l'avanzamento dei compiti di un evento.
+     */
+    public ContatoreAvanzamento getAvanzamentoEvento(Evento evento) {
+        return perEvento.computeIfAbsent(evento.getId(), id -> new ContatoreAvanzamento());
+    }
+    
+    /**
+     * Restituisce l'avanzamento dei compiti di un turno.
+     */
+    public ContatoreAvanzamento getAvanzamentoTurno(String turno) {
+        return contatoreTurno(turno);
+    }
+    
+    /**
+     * Restituisce l'avanzamento dei compiti assegnati a un cuoco.
+     */
+    public ContatoreAvanzamento getAvanzamentoCuoco(Cuoco cuoco) {
+        return contatoreCuoco(cuoco);
+    }
+    
+    @Override
+    public void statoCambiato(Compito compito, StatoCompito vecchioStato, StatoCompito nuovoStato) {
+        globale.sposta(vecchioStato, nuovoStato);
+        if (compito.getTurno() != null) {
+            contatoreTurno(compito.getTurno()).sposta(vecchioStato, nuovoStato);
+        }
+        if (compito.getCuocoAssegnato() != null) {
+            contatoreCuoco(compito.getCuocoAssegnato()).sposta(vecchioStato, nuovoStato);
+        }
+        Integer evento = eventoPerCompito.get(compito.getId());
+        if (evento != null) {
+            perEvento.get(evento).sposta(vecchioStato, nuovoStato);
+        }
+    }
+    
+    @Override
+    public void turnoCambiato(Compito compito, String vecchioTurno, String nuovoTurno) {
+        if (vecchioTurno != null) {
+            contatoreTurno(vecchioTurno).rimuovi(compito.getStato());
+        }
+        if (nuovoTurno != null) {
+            contatoreTurno(nuovoTurno).aggiungi(compito.getStato());
+        }
+    }
+    
+    @Override
+    public void cuocoCambiato(Compito compito, Cuoco vecchioCuoco, Cuoco nuovoCuoco) {
+        if (vecchioCuoco != null) {
+            contatoreCuoco(vecchioCuoco).rimuovi(compito.getStato());
+        }
+        if (nuovoCuoco != null) {
+            contatoreCuoco(nuovoCuoco).aggiungi(compito.getStato());
+        }
+    }
+    
+    private ContatoreAvanzamento contatoreTurno(String turno) {
+        return perTurno.computeIfAbsent(turno, t -> new ContatoreAvanzamento());
+    }
+    
+    private ContatoreAvanzamento contatoreCuoco(Cuoco cuoco) {
+        return perCuoco.computeIfAbsent(cuoco.getId(), id -> new ContatoreAvanzamento());
+    }
+}
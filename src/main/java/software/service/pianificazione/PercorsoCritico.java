@@ -0,0 +1,104 @@
+package software.service.pianificazione;
+
+import software.domain.compiti.Compito;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Risultato del calcolo del percorso critico su un {@link GrafoCompiti}.
+ * I tempi sono espressi in minuti a partire dall'inizio del piano.
+ */
+public class PercorsoCritico {
+    private final List<Compito> compiti;
+    private final Map<Integer, Integer> indicePerId;
+    private final int[] inizioPresto;
+    private final int[] inizioTardi;
+    private final int durataTotale;
+    private final List<Compito> catenaCritica;
+
+    PercorsoCritico(List<Compito> compiti, Map<Integer, Integer> indicePerId, int[] inizioPresto,
+                    int[] inizioTardi, int durataTotale, List<Compito> catenaCritica) {
+        this.compiti = compiti;
+        this.indicePerId = indicePerId;
+        this.inizioPresto = inizioPresto;
+        this.inizioTardi = inizioTardi;
+        this.durataTotale = durataTotale;
+        this.catenaCritica = Collections.unmodifiableList(catenaCritica);
+    }
+
+    /**
+     * Restituisce la durata minima dell'intero piano in minuti.
+     */
+    public int getDurataTotale() {
+        return durataTotale;
+    }
+
+    /**
+     * Restituisce la catena di compiti critici, dall'inizio alla fine del piano.
+     * Un ritardo su uno qualsiasi di questi compiti ritarda l'intero piano.
+     */
+    public List<Compito> getCatenaCritica() {
+        return catenaCritica;
+    }
+
+    /**
+     * Restituisce il minuto in cui il compito può iniziare al più presto.
+     */
+    public int getInizioAlPiuPresto(Compito compito) {
+        return inizioPresto[indice(compito)];
+    }
+
+    /**
+     * Restituisce il minuto entro cui il compito deve iniziare per non ritardare il piano.
+     */
+    public int getInizioAlPiuTardi(Compito compito) {
+        return inizioTardi[indice(compito)];
+    }
+
+    /**
+     * Restituisce lo slack del compito, cioè i minuti di ritardo tollerabili.
+     */
+    public int getSlack(Compito compito) {
+        int i = indice(compito);
+        return inizioTardi[i] - inizioPresto[i];
+    }
+
+    /**
+     * Verifica se il compito ha slack nullo.
+     */
+    public boolean isCritico(Compito compito) {
+        return getSlack(compito) == 0;
+    }
+
+    /**
+     * Verifica se il compito è stato incluso nel calcolo.
+     */
+    public boolean contiene(Compito compito) {
+        return compito != null && indicePerId.containsKey(compito.getId());
+    }
+
+    /**
+     * Restituisce i compiti inclusi nel calcolo.
+     */
+    public List<Compito> getCompiti() {
+        return Collections.unmodifiableList(compiti);
+    }
+
+    int inizioAlPiuTardi(int indice) {
+        return inizioTardi[indice];
+    }
+
+    int slack(int indice) {
+        return inizioTardi[indice] - inizioPresto[indice];
+    }
+
+    private int indice(Compito compito) {
+        Integer i = indicePerId.get(compito.getId());
+        if (i == null) {
+            throw new IllegalArgumentException("Il compito " + compito.getId() + " non fa parte del piano");
+        }
+        return i;
+    }
+}
@@ -0,0 +1,96 @@
+package software.service.pianificazione;
+
+import software.domain.compiti.Compito;
+import software.domain.utenti.Cuoco;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Risultato del ricalcolo di una {@link SimulazionePiano}.
+ * I tempi sono espressi in minuti.
+ */
+public class RisultatoSimulazione {
+    private final List<Compito> compiti;
+    private final Map<String, Integer> caricoTurni;
+    private final Map<String, Integer> capacitaTurni;
+    private final Map<Cuoco, Integer> caricoCuochi;
+    private final PercorsoCritico percorsoCritico;
+
+    RisultatoSimulazione(List<Compito> compiti, Map<String, Integer> caricoTurni,
+                         Map<String, Integer> capacitaTurni, Map<Cuoco, Integer> caricoCuochi,
+                         PercorsoCritico percorsoCritico) {
+        this.compiti = Collections.unmodifiableList(compiti);
+        this.caricoTurni = Collections.unmodifiableMap(caricoTurni);
+        this.capacitaTurni = Collections.unmodifiableMap(capacitaTurni);
+        this.caricoCuochi = Collections.unmodifiableMap(caricoCuochi);
+        this.percorsoCritico = percorsoCritico;
+    }
+
+    /**
+     * Restituisce i compiti del piano simulato.
+     */
+    public List<Compito> getCompiti() {
+        return compiti;
+    }
+
+    /**
+     * Restituisce i minuti di lavoro assegnati a ciascun turno.
+     */
+    public Map<String, Integer> getCaricoTurni() {
+        return caricoTurni;
+    }
+
+    /**
+     * Restituisce i minuti di lavoro assegnati al turno, 0 se il turno non ha compiti.
+     */
+    public int getCaricoTurno(String turno) {
+        return caricoTurni.getOrDefault(turno, 0);
+    }
+
+    /**
+     * Restituisce la durata in minuti del turno nella simulazione, -1 se il turno non è noto.
+     */
+    public int getCapacitaTurno(String turno) {
+        return capacitaTurni.getOrDefault(turno, -1);
+    }
+
+    /**
+     * Restituisce i turni il cui carico supera la durata del turno.
+     */
+    public List<String> getTurniSovraccarichi() {
+        List<String> sovraccarichi = new ArrayList<>();
+        for (Map.Entry<String, Integer> carico : caricoTurni.entrySet()) {
+            Integer capacita = capacitaTurni.get(carico.getKey());
+            if (capacita != null && carico.getValue() > capacita) {
+                sovraccarichi.add(carico.getKey());
+            }
+        }
+        return sovraccarichi;
+    }
+
+    /**
+     * Restituisce i minuti di lavoro assegnati a ciascun cuoco.
+     */
+    public Map<Cuoco, Integer> getCaricoCuochi() {
+        return caricoCuochi;
+    }
+
+    public PercorsoCritico getPercorsoCritico() {
+        return percorsoCritico;
+    }
+
+    /**
+     * Stima il tempo di completamento del piano: il piano non può finire prima
+     * del suo percorso critico, né prima che il cuoco più carico abbia finito.
+     */
+    public int getTempoCompletamento() {
+        int massimoCuoco = 0;
+        for (int carico : caricoCuochi.values()) {
+            massimoCuoco = Math.max(massimoCuoco, carico);
+        }
+        return Math.max(percorsoCritico.getDurataTotale(), massimoCuoco);
+    }
+}
@@ -0,0 +1,189 @@
+package software.service.pianificazione;
+
+import software.domain.compiti.Compito;
+import software.domain.compiti.Turno;
+import software.domain.exceptions.DomainException;
+import software.domain.utenti.Cuoco;
+import software.service.utils.IntMap;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simulazione "what-if" di un piano di compiti.
+ * La simulazione parte dal piano reale e vi applica modifiche ipotetiche
+ * (spostare un cuoco, accorciare un turno, aggiungere ospiti) senza mai
+ * modificare i compiti reali.
+ *
+ * Le modifiche sono copy-on-write: i compiti non modificati sono condivisi
+ * con il piano reale e un compito viene copiato solo quando la simulazione
+ * lo cambia. Anche le diramazioni create con {@link #dirama()} condividono
+ * il piano di partenza e le copie già fatte, quindi costano in memoria
+ * solo quanto le modifiche che contengono.
+ * I compiti non modificati riflettono lo stato attuale del piano reale.
+ */
+public class SimulazionePiano {
+    private final List<Compito> base;
+    private final IntMap<Compito> basePerId;
+    private final int numeroOspitiBase;
+    private IntMap<Compito> modificati;
+    private Map<String, Integer> capacitaTurni;
+    private int ospitiAggiuntivi;
+
+    /**
+     * Crea una simulazione a partire dal piano reale.
+     * @param compiti I compiti del piano
+     * @param turni I turni disponibili, da cui si ricava la capacità in minuti
+     * @param numeroOspiti Il numero di ospiti per cui è dimensionato il piano
+     */
+    public SimulazionePiano(Collection<Compito> compiti, Collection<Turno> turni, int numeroOspiti) {
+        this.base = Collections.unmodifiableList(new ArrayList<>(compiti));
+        this.basePerId = new IntMap<>(base.size());
+        for (Compito compito : base) {
+            basePerId.put(compito.getId(), compito);
+        }
+        this.numeroOspitiBase = numeroOspiti;
+        this.modificati = new IntMap<>();
+        this.capacitaTurni = new HashMap<>();
+        for (Turno turno : turni) {
+            capacitaTurni.put(turno.getEtichetta(),
+                (int) Duration.between(turno.getOraInizio(), turno.getOraFine()).toMinutes());
+        }
+    }
+
+    private SimulazionePiano(SimulazionePiano origine) {
+        this.base = origine.base;
+        this.basePerId = origine.basePerId;
+        this.numeroOspitiBase = origine.numeroOspitiBase;
+        this.modificati = origine.modificati.copia();
+        this.capacitaTurni = new HashMap<>(origine.capacitaTurni);
+        this.ospitiAggiuntivi = origine.ospitiAggiuntivi;
+    }
+
+    /**
+     * Crea una nuova simulazione che parte dallo stato di questa.
+     * Le modifiche successive a una delle due non influenzano l'altra.
+     * Il costo è proporzionale al numero di modifiche, non alla dimensione del piano.
+     */
+    public SimulazionePiano dirama() {
+        return new SimulazionePiano(this);
+    }
+
+    /**
+     * Ipotizza di assegnare il compito a un altro cuoco.
+     */
+    public SimulazionePiano assegnaCuoco(Compito compito, Cuoco cuoco) {
+        modifica(compito).setCuocoAssegnato(cuoco);
+        return this;
+    }
+
+    /**
+     * Ipotizza di spostare il compito in un altro turno.
+     */
+    public SimulazionePiano spostaInTurno(Compito compito, String turno) {
+        modifica(compito).setTurno(turno);
+        return this;
+    }
+
+    /**
+     * Ipotizza una durata diversa per il compito.
+     */
+    public SimulazionePiano modificaDurata(Compito compito, int durata) {
+        if (durata <= 0) {
+            throw new IllegalArgumentException("La durata deve essere positiva");
+        }
+        modifica(compito).setDurata(durata);
+        return this;
+    }
+
+    /**
+     * Ipotizza di accorciare un turno.
+     * @param turno Il turno da accorciare
+     * @param minuti I minuti da togliere alla durata del turno
+     */
+    public SimulazionePiano accorciaTurno(Turno turno, int minuti) {
+        String chiave = turno.getEtichetta();
+        Integer capacita = capacitaTurni.get(chiave);
+        if (capacita == null) {
+            throw new IllegalArgumentException("Il turno " + chiave + " non fa parte del piano");
+        }
+        capacitaTurni.put(chiave, Math.max(0, capacita - minuti));
+        return this;
+    }
+
+    /**
+     * Ipotizza di servire altri ospiti. Quantità e durate dei compiti vengono
+     * scalate in proporzione al numero di ospiti (stima lineare).
+     */
+    public SimulazionePiano aggiungiOspiti(int ospiti) {
+        if (numeroOspitiBase + ospitiAggiuntivi + ospiti <= 0) {
+            throw new IllegalArgumentException("Il numero di ospiti deve restare positivo");
+        }
+        ospitiAggiuntivi += ospiti;
+        return this;
+    }
+
+    /**
+     * Restituisce la versione simulata del compito (la copia se modificato, altrimenti l'originale).
+     */
+    public Compito getCompito(Compito compito) {
+        Compito modificato = modificati.get(compito.getId());
+        return modificato != null ? modificato : compito;
+    }
+
+    /**
+     * Restituisce il numero di compiti copiati dalla simulazione.
+     */
+    public int getNumeroModifiche() {
+        return modificati.size();
+    }
+
+    /**
+     * Ricalcola carichi dei turni, percorso critico e tempo di completamento del piano simulato.
+     * @throws DomainException se le dipendenze contengono un ciclo
+     */
+    public RisultatoSimulazione calcola() {
+        double fattore = numeroOspitiBase > 0
+            ? (double) (numeroOspitiBase + ospitiAggiuntivi) / numeroOspitiBase
+            : 1.0;
+
+        List<Compito> piano = new ArrayList<>(base.size());
+        Map<String, Integer> caricoTurni = new LinkedHashMap<>();
+        Map<Cuoco, Integer> caricoCuochi = new LinkedHashMap<>();
+        for (Compito originale : base) {
+            Compito compito = getCompito(originale);
+            if (fattore != 1.0) {
+                // Copia temporanea, usata solo per questo calcolo
+                compito = compito.copia();
+                compito.setDurata((int) Math.ceil(compito.getDurata() * fattore));
+                compito.setQuantita((int) Math.ceil(compito.getQuantita() * fattore));
+            }
+            piano.add(compito);
+            if (compito.getTurno() != null) {
+                caricoTurni.merge(compito.getTurno(), compito.getDurata(), Integer::sum);
+            }
+            if (compito.getCuocoAssegnato() != null) {
+                caricoCuochi.merge(compito.getCuocoAssegnato(), compito.getDurata(), Integer::sum);
+            }
+        }
+
+        PercorsoCritico percorso = new GrafoCompiti(piano).calcolaPercorsoCritico();
+        return new RisultatoSimulazione(piano, caricoTurni, new HashMap<>(capacitaTurni), caricoCuochi, percorso);
+    }
+
+    private Compito modifica(Compito compito) {
+        if (!basePerId.containsKey(compito.getId())) {
+            throw new IllegalArgumentException("Il compito " + compito.getId() + " non fa parte del piano");
+        }
+        // Non si modifica mai una copia esistente: potrebbe essere condivisa con un'altra diramazione
+        Compito copia = getCompito(compito).copia();
+        modificati.put(compito.getId(), copia);
+        return copia;
+    }
+}
@@ -0,0 +1,74 @@
+package software.service.previsioni;
+
+import software.domain.ricette.DizionarioIngredienti;
+import software.domain.ricette.Ricetta;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fabbisogno previsto per un insieme di eventi: porzioni per ricetta e
+ * quantità totale di ogni ingrediente, nella sua unità di misura.
+ */
+public class PrevisioneFabbisogno {
+    private final Map<Ricetta, Double> porzioni = new LinkedHashMap<>();
+    // Chiave: codice del nome nei 32 bit alti, codice dell'unità nei bassi (vedi DizionarioIngredienti).
+    // Il valore è un array di un elemento, sommato sul posto senza creare un Double per ogni dose.
+    private final Map<Long, double[]> ingredienti = new LinkedHashMap<>();
+    // Gli stessi array per "nome (unità)": i codici valgono solo finché qualche ricetta
+    // li usa, quindi i valori testuali si risolvono subito, alla prima dose di ogni ingrediente
+    private final Map<String, double[]> ingredientiPerNome = new LinkedHashMap<>();
+
+    void aggiungiPorzioni(Ricetta ricetta, double quantita) {
+        porzioni.merge(ricetta, quantita, Double::sum);
+    }
+
+    void aggiungiIngrediente(int codiceNome, int codiceUnita, double quantita) {
+        ingredienti.computeIfAbsent(chiave(codiceNome, codiceUnita), k -> nuovaVoce(codiceNome, codiceUnita))[0] += quantita;
+    }
+
+    private double[] nuovaVoce(int codiceNome, int codiceUnita) {
+        double[] voce = new double[1];
+        ingredientiPerNome.put(nomeVoce(DizionarioIngredienti.valore(codiceNome), DizionarioIngredienti.valore(codiceUnita)), voce);
+        return voce;
+    }
+
+    /**
+     * Restituisce le porzioni previste per la ricetta, 0 se non compare negli eventi.
+     */
+    public double getPorzioni(Ricetta ricetta) {
+        return porzioni.getOrDefault(ricetta, 0.0);
+    }
+
+    public Map<Ricetta, Double> getPorzioniPerRicetta() {
+        return Collections.unmodifiableMap(porzioni);
+    }
+
+    /**
+     * Restituisce la quantità prevista di un ingrediente nell'unità indicata.
+     */
+    public double getQuantitaIngrediente(String nome, String unitaMisura) {
+        double[] quantita = ingredientiPerNome.get(nomeVoce(nome, unitaMisura));
+        return quantita != null ? quantita[0] : 0.0;
+    }
+
+    /**
+     * Restituisce le quantità previste per ingrediente, con chiavi nel formato "nome (unità)".
+     */
+    public Map<String, Double> getFabbisognoIngredienti() {
+        Map<String, Double> fabbisogno = new LinkedHashMap<>();
+        for (Map.Entry<String, double[]> voce : ingredientiPerNome.entrySet()) {
+            fabbisogno.put(voce.getKey(), voce.getValue()[0]);
+        }
+        return Collections.unmodifiableMap(fabbisogno);
+    }
+
+    private static String nomeVoce(String nome, String unitaMisura) {
+        return nome + " (" + unitaMisura + ")";
+    }
+
+    private static long chiave(int codiceNome, int codiceUnita) {
+        return ((long) codiceNome << 32) | (codiceUnita & 0xFFFFFFFFL);
+    }
+}
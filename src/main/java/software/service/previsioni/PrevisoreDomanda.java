@@ -0,0 +1,141 @@
+package software.service.previsioni;
+
+import software.domain.eventi.Evento;
+import software.domain.eventi.Servizio;
+import software.domain.exceptions.DomainException;
+import software.domain.menu.SezioneMenu;
+import software.domain.ricette.Ricetta;
+import software.service.utils.IntMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prevede le porzioni e gli ingredienti necessari per gli eventi futuri
+ * a partire dai consumi effettivi degli eventi conclusi.
+ *
+ * Per ogni ricetta (e per ogni tipo di servizio in cui è stata servita) il
+ * previsore mantiene solo poche somme pesate ({@link StatisticheConsumo}),
+ * aggiornate in O(1) a ogni consumo registrato: non conserva lo storico degli
+ * eventi. Una previsione costa O(1) per ricetta, quindi una stagione di eventi
+ * si calcola in pochi millisecondi.
+ * Senza dati su una ricetta si assume una porzione per ospite.
+ */
+public class PrevisoreDomanda {
+    /**
+     * Peso conservato dalle osservazioni precedenti a ogni nuovo evento:
+     * con 0.9 un evento di dieci eventi fa pesa circa un terzo dell'ultimo.
+     */
+    public static final double FATTORE_OBLIO_PREDEFINITO = 0.9;
+
+    private final double fattoreOblio;
+    private final IntMap<StatisticheConsumo> perRicetta = new IntMap<>();
+    private final IntMap<Map<String, StatisticheConsumo>> perRicettaETipo = new IntMap<>();
+
+    public PrevisoreDomanda() {
+        this(FATTORE_OBLIO_PREDEFINITO);
+    }
+
+    /**
+     * @param fattoreOblio Peso conservato dalle osservazioni precedenti (0-1]; 1 le pesa tutte allo stesso modo
+     */
+    public PrevisoreDomanda(double fattoreOblio) {
+        if (fattoreOblio <= 0 || fattoreOblio > 1) {
+            throw new IllegalArgumentException("Il fattore di oblio deve essere compreso tra 0 (escluso) e 1");
+        }
+        this.fattoreOblio = fattoreOblio;
+    }
+
+    /**
+     * Registra le porzioni effettivamente consumate di una ricetta in un servizio.
+     * @param evento L'evento concluso
+     * @param servizio Il servizio in cui è stata servita la ricetta
+     * @param ricetta La ricetta
+     * @param porzioniConsumate Le porzioni consumate
+     * @throws DomainException se l'evento non è concluso
+     */
+    public synchronized void registraConsumo(Evento evento, Servizio servizio, Ricetta ricetta,
+                                             double porzioniConsumate) {
+        if (!evento.isConcluso()) {
+            throw new DomainException("Si possono registrare solo i consumi di eventi conclusi");
+        }
+        if (porzioniConsumate < 0) {
+            throw new IllegalArgumentException("Le porzioni consumate non possono essere negative");
+        }
+        double ospiti = evento.getNumeroDiPersone();
+        statistiche(ricetta).aggiungi(ospiti, porzioniConsumate, fattoreOblio);
+        perRicettaETipo.get(ricetta.getId())
+            .computeIfAbsent(tipo(servizio.getTipo()), t -> new StatisticheConsumo())
+            .aggiungi(ospiti, porzioniConsumate, fattoreOblio);
+    }
+
+    /**
+     * Prevede le porzioni di una ricetta per un servizio.
+     * Si usano i consumi dello stesso tipo di servizio se disponibili,
+     * altrimenti quelli della ricetta in qualsiasi servizio.
+     * @param ricetta La ricetta
+     * @param tipoServizio Il tipo di servizio (es. "Pranzo", "Buffet")
+     * @param ospiti Il numero di ospiti previsto
+     * @return Le porzioni previste
+     */
+    public synchronized double prevediPorzioni(Ricetta ricetta, String tipoServizio, int ospiti) {
+        Map<String, StatisticheConsumo> perTipo = perRicettaETipo.get(ricetta.getId());
+        if (perTipo == null) {
+            return ospiti;
+        }
+        StatisticheConsumo statistiche = perTipo.get(tipo(tipoServizio));
+        if (statistiche == null) {
+            statistiche = perRicetta.get(ricetta.getId());
+        }
+        return statistiche.prevedi(ospiti);
+    }
+
+    /**
+     * Prevede porzioni e ingredienti per un insieme di eventi (es. una stagione).
+     * Per ogni servizio con un menu vengono considerate tutte le ricette del menu.
+     * @param eventi Gli eventi da preparare
+     * @return Il fabbisogno complessivo
+     */
+    public PrevisioneFabbisogno prevediStagione(Collection<Evento> eventi) {
+        PrevisioneFabbisogno previsione = new PrevisioneFabbisogno();
+        for (Evento evento : eventi) {
+            for (Servizio servizio : evento.getServizi()) {
+                if (servizio.getMenu() == null) {
+                    continue;
+                }
+                for (SezioneMenu sezione : servizio.getMenu().getSezioni()) {
+                    for (Ricetta ricetta : sezione.getRicette()) {
+                        double porzioni = prevediPorzioni(ricetta, servizio.getTipo(), evento.getNumeroDiPersone());
+                        previsione.aggiungiPorzioni(ricetta, porzioni);
+                        double fattore = porzioni / Math.max(1, ricetta.getPorzioni());
+                        ricetta.accumulaIngredienti(fattore, previsione::aggiungiIngrediente);
+                    }
+                }
+            }
+        }
+        return previsione;
+    }
+
+    /**
+     * Restituisce il numero di consumi registrati per una ricetta.
+     */
+    public synchronized int getNumeroOsservazioni(Ricetta ricetta) {
+        StatisticheConsumo statistiche = perRicetta.get(ricetta.getId());
+        return statistiche != null ? statistiche.getOsservazioni() : 0;
+    }
+
+    private StatisticheConsumo statistiche(Ricetta ricetta) {
+        StatisticheConsumo statistiche = perRicetta.get(ricetta.getId());
+        if (statistiche == null) {
+            statistiche = new StatisticheConsumo();
+            perRicetta.put(ricetta.getId(), statistiche);
+            perRicettaETipo.put(ricetta.getId(), new HashMap<>(4));
+        }
+        return statistiche;
+    }
+
+    private static String tipo(String tipoServizio) {
+        return tipoServizio != null ? tipoServizio.trim().toLowerCase() : "";
+    }
+}
@@ -0,0 +1,55 @@
+package software.service.previsioni;
+
+/**
+ * Statistiche compatte dei consumi di una ricetta: somme pesate per una
+ * regressione lineare online "porzioni = a + b * ospiti".
+ * A ogni nuova osservazione le somme precedenti vengono moltiplicate per il
+ * fattore di oblio, così gli eventi recenti pesano più di quelli vecchi
+ * (livellamento esponenziale). Occupa sei double e un int, qualunque sia
+ * il numero di eventi osservati.
+ */
+class StatisticheConsumo {
+    private static final double VARIANZA_MINIMA = 1e-9;
+
+    private double peso;
+    private double sommaOspiti;
+    private double sommaPorzioni;
+    private double sommaOspitiQuadrati;
+    private double sommaProdotti;
+    private int osservazioni;
+
+    void aggiungi(double ospiti, double porzioni, double fattoreOblio) {
+        peso = peso * fattoreOblio + 1;
+        sommaOspiti = sommaOspiti * fattoreOblio + ospiti;
+        sommaPorzioni = sommaPorzioni * fattoreOblio + porzioni;
+        sommaOspitiQuadrati = sommaOspitiQuadrati * fattoreOblio + ospiti * ospiti;
+        sommaProdotti = sommaProdotti * fattoreOblio + ospiti * porzioni;
+        osservazioni++;
+    }
+
+    int getOsservazioni() {
+        return osservazioni;
+    }
+
+    /**
+     * Stima le porzioni per il numero di ospiti indicato.
+     * Con un solo evento, o con eventi tutti della stessa dimensione, la retta
+     * non è determinata e si usa il consumo medio per ospite.
+     */
+    double prevedi(double ospiti) {
+        double mediaOspiti = sommaOspiti / peso;
+        double mediaPorzioni = sommaPorzioni / peso;
+        double varianza = sommaOspitiQuadrati / peso - mediaOspiti * mediaOspiti;
+        double stima;
+        if (osservazioni >= 2 && varianza > VARIANZA_MINIMA * (1 + mediaOspiti * mediaOspiti)) {
+            double covarianza = sommaProdotti / peso - mediaOspiti * mediaPorzioni;
+            double pendenza = covarianza / varianza;
+            stima = mediaPorzioni + pendenza * (ospiti - mediaOspiti);
+        } else if (sommaOspiti > 0) {
+            stima = sommaPorzioni / sommaOspiti * ospiti;
+        } else {
+            stima = mediaPorzioni;
+        }
+        return Math.max(0, stima);
+    }
+}
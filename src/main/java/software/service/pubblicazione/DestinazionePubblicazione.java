@@ -0,0 +1,63 @@
+package software.service.pubblicazione;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Luogo in cui viene scritto un menu pubblicato (un file, un allegato, una risposta HTTP...).
+ */
+public interface DestinazionePubblicazione {
+
+    /**
+     * Restituisce un nome leggibile della destinazione, usato nei messaggi di errore.
+     */
+    String getNome();
+
+    /**
+     * Apre il flusso su cui scrivere il menu; viene chiuso da chi lo ha aperto.
+     */
+    OutputStream apri() throws IOException;
+
+    /**
+     * Scrive il menu nella destinazione con lo scrittore indicato: di norma apre il flusso,
+     * scrive e lo chiude. Una destinazione può ridefinirlo per rendere visibile il
+     * contenuto solo se la scrittura riesce.
+     */
+    default void scrivi(FotografiaMenu menu, ScrittoreMenu scrittore) throws IOException {
+        try (OutputStream out = apri()) {
+            scrittore.scrivi(menu, out);
+        }
+    }
+
+    /**
+     * Crea una destinazione che sostituisce il file indicato solo a scrittura completata,
+     * creando le cartelle mancanti (vedi {@link FlussoFileAtomico}). Se la scrittura
+     * non riesce il file resta com'era.
+     */
+    static DestinazionePubblicazione file(Path file) {
+        return new DestinazionePubblicazione() {
+            @Override
+            public String getNome() {
+                return file.toString();
+            }
+
+            @Override
+            public OutputStream apri() throws IOException {
+                return FlussoFileAtomico.apri(file);
+            }
+
+            @Override
+            public void scrivi(FotografiaMenu menu, ScrittoreMenu scrittore) throws IOException {
+                try (FlussoFileAtomico out = FlussoFileAtomico.apri(file)) {
+                    try {
+                        scrittore.scrivi(menu, out);
+                    } catch (IOException | RuntimeException e) {
+                        out.annulla();
+                        throw e;
+                    }
+                }
+            }
+        };
+    }
+}
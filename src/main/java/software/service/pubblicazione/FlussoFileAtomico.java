@@ -0,0 +1,87 @@
+package software.service.pubblicazione;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Flusso su un file temporaneo nella cartella del file di destinazione, che alla chiusura
+ * prende il posto della destinazione con uno spostamento atomico: chi legge vede il file
+ * precedente o quello nuovo completo, mai uno scritto a metà, e due scritture contemporanee
+ * dello stesso file non si mescolano (resta l'ultima chiusa).
+ * Dopo {@link #annulla()} la chiusura elimina il file temporaneo e la destinazione resta com'era.
+ */
+final class FlussoFileAtomico extends FilterOutputStream {
+    private final Path destinazione;
+    private final Path temporaneo;
+    private boolean annullato;
+    private boolean chiuso;
+
+    private FlussoFileAtomico(Path destinazione, Path temporaneo, OutputStream out) {
+        super(out);
+        this.destinazione = destinazione;
+        this.temporaneo = temporaneo;
+    }
+
+    /**
+     * Apre il flusso verso il file, creando le cartelle mancanti.
+     */
+    static FlussoFileAtomico apri(Path file) throws IOException {
+        Path cartella = file.toAbsolutePath().getParent();
+        Files.createDirectories(cartella);
+        Path temporaneo = Files.createTempFile(cartella, "." + file.getFileName(), ".tmp");
+        try {
+            return new FlussoFileAtomico(file, temporaneo, new BufferedOutputStream(Files.newOutputStream(temporaneo)));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaneo);
+            throw e;
+        }
+    }
+
+    /**
+     * Fa sì che la chiusura scarti quanto scritto invece di pubblicarlo.
+     */
+    void annulla() {
+        annullato = true;
+    }
+
+    // FilterOutputStream scriverebbe un byte alla volta
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (chiuso) {
+            return;
+        }
+        chiuso = true;
+        boolean spostato = false;
+        try {
+            super.close();
+            if (!annullato) {
+                sposta();
+                spostato = true;
+            }
+        } finally {
+            if (!spostato) {
+                Files.deleteIfExists(temporaneo);
+            }
+        }
+    }
+
+    private void sposta() throws IOException {
+        try {
+            Files.move(temporaneo, destinazione, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Stessa cartella, quindi succede solo su file system molto particolari
+            Files.move(temporaneo, destinazione, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package software.service.pubblicazione;
+
+import software.domain.menu.Menu;
+import software.domain.menu.SezioneMenu;
+import software.domain.ricette.Ricetta;
+import software.domain.ricette.Tag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copia immutabile del contenuto di un menu al momento della pubblicazione.
+ * Va creata sul thread che possiede il menu (di solito quello JavaFX); dopo può
+ * essere letta da più thread contemporaneamente, uno per destinazione.
+ */
+public final class FotografiaMenu {
+    private final int id;
+    private final String titolo;
+    private final String note;
+    private final String creatore;
+    private final List<Sezione> sezioni;
+
+    private FotografiaMenu(int id, String titolo, String note, String creatore, List<Sezione> sezioni) {
+        this.id = id;
+        this.titolo = titolo;
+        this.note = note;
+        this.creatore = creatore;
+        this.sezioni = Collections.unmodifiableList(sezioni);
+    }
+
+    /**
+     * Copia il contenuto attuale del menu.
+     */
+    public static FotografiaMenu di(Menu menu) {
+        List<Sezione> sezioni = new ArrayList<>(menu.getSezioni().size());
+        for (SezioneMenu sezione : menu.getSezioni()) {
+            List<Piatto> piatti = new ArrayList<>(sezione.getRicette().size());
+            for (Ricetta ricetta : sezione.getRicette()) {
+                List<String> tag = new ArrayList<>(ricetta.getTags().size());
+                for (Tag t : ricetta.getTags()) {
+                    tag.add(t.getNome());
+                }
+                piatti.add(new Piatto(ricetta.getNome(), ricetta.getDescrizione(),
+                                      ricetta.getTempoPreparazione(), tag));
+            }
+            sezioni.add(new Sezione(sezione.getNome(), piatti));
+        }
+        String creatore = menu.getCreatore() != null
+            ? menu.getCreatore().getNome() + " " + menu.getCreatore().getCognome()
+            : null;
+        return new FotografiaMenu(menu.getId(), menu.getTitolo(), menu.getNote(), creatore, sezioni);
+    }
+
+    public int getId() { return id; }
+    public String getTitolo() { return titolo; }
+    public String getNote() { return note; }
+    public String getCreatore() { return creatore; }
+    public List<Sezione> getSezioni() { return sezioni; }
+
+    /**
+     * Sezione del menu con i suoi piatti, nell'ordine del menu.
+     */
+    public static final class Sezione {
+        private final String nome;
+        private final List<Piatto> piatti;
+
+        Sezione(String nome, List<Piatto> piatti) {
+            this.nome = nome;
+            this.piatti = Collections.unmodifiableList(piatti);
+        }
+
+        public String getNome() { return nome; }
+        public List<Piatto> getPiatti() { return piatti; }
+    }
+
+    /**
+     * Ricetta così come compare nel menu pubblicato.
+     */
+    public static final class Piatto {
+        private final String nome;
+        private final String descrizione;
+        private final int tempoPreparazione;
+        private final List<String> tag;
+
+        Piatto(String nome, String descrizione, int tempoPreparazione, List<String> tag) {
+            this.nome = nome;
+            this.descrizione = descrizione;
+            this.tempoPreparazione = tempoPreparazione;
+            this.tag = Collections.unmodifiableList(tag);
+        }
+
+        public String getNome() { return nome; }
+        public String getDescrizione() { return descrizione; }
+        public int getTempoPreparazione() { return tempoPreparazione; }
+        public List<String> getTag() { return tag; }
+    }
+}
@@ -0,0 +1,191 @@
+package software.service.pubblicazione;
+
+import software.domain.exceptions.DomainException;
+import software.domain.menu.Menu;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pubblica i menu nei formati registrati (JSON, HTML, testo e CSV già disponibili).
+ * Il menu viene copiato una volta in una {@link FotografiaMenu} immutabile; poi ogni
+ * destinazione viene scritta in parallelo, in streaming, da un thread del pubblicatore.
+ *
+ * I destinatari indicati come testo (es. indirizzi e-mail) ricevono un file nella
+ * propria cartella sotto la cartella di uscita; la consegna vera e propria è
+ * compito di chi legge quella cartella.
+ */
+public class PubblicatoreMenu {
+    private final Map<String, ScrittoreMenu> scrittori = new ConcurrentHashMap<>();
+    private final Path cartellaUscita;
+    private final ExecutorService esecutore;
+
+    /**
+     * @param cartellaUscita Cartella in cui scrivere i file dei destinatari
+     */
+    public PubblicatoreMenu(Path cartellaUscita) {
+        this(cartellaUscita, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param cartellaUscita Cartella in cui scrivere i file dei destinatari
+     * @param thread Numero massimo di destinazioni scritte contemporaneamente
+     */
+    public PubblicatoreMenu(Path cartellaUscita, int thread) {
+        this.cartellaUscita = cartellaUscita;
+        AtomicInteger contatore = new AtomicInteger();
+        this.esecutore = Executors.newFixedThreadPool(thread, r -> {
+            Thread t = new Thread(r, "pubblicazione-menu-" + contatore.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        registra(new ScrittoreJson());
+        registra(new ScrittoreHtml());
+        registra(new ScrittoreTesto());
+        registra(new ScrittoreCsv());
+    }
+
+    /**
+     * Aggiunge un formato, o sostituisce quello con lo stesso nome.
+     */
+    public void registra(ScrittoreMenu scrittore) {
+        scrittori.put(scrittore.getFormato().toUpperCase(Locale.ROOT), scrittore);
+    }
+
+    /**
+     * Restituisce i nomi dei formati disponibili, in ordine alfabetico.
+     */
+    public Set<String> getFormati() {
+        return Collections.unmodifiableSet(new TreeSet<>(scrittori.keySet()));
+    }
+
+    /**
+     * Restituisce lo scrittore del formato, senza distinguere maiuscole e minuscole.
+     * @throws DomainException se il formato non è disponibile
+     */
+    public ScrittoreMenu getScrittore(String formato) {
+        ScrittoreMenu scrittore = formato != null ? scrittori.get(formato.trim().toUpperCase(Locale.ROOT)) : null;
+        if (scrittore == null) {
+            throw new DomainException("Formato di pubblicazione non supportato: " + formato
+                                      + ". Formati disponibili: " + String.join(", ", getFormati()));
+        }
+        return scrittore;
+    }
+
+    /**
+     * Pubblica il menu per ogni destinatario, in un file nella sua cartella.
+     * Un destinatario ripetuto, anche con maiuscole diverse, riceve un solo file:
+     * su un file system che non distingue le maiuscole sarebbe comunque lo stesso.
+     * @return I file scritti, nell'ordine dei destinatari
+     * @throws DomainException se il formato non è disponibile o la scrittura non riesce
+     */
+    public List<Path> pubblica(Menu menu, String formato, List<String> destinatari) {
+        ScrittoreMenu scrittore = getScrittore(formato);
+        FotografiaMenu fotografia = FotografiaMenu.di(menu);
+        String nomeFile = "menu-" + fotografia.getId() + "." + scrittore.getEstensione();
+        List<Path> file = new ArrayList<>(destinatari.size());
+        List<DestinazionePubblicazione> destinazioni = new ArrayList<>(destinatari.size());
+        Map<String, Path> percorsiPerCartella = new HashMap<>();
+        for (String destinatario : destinatari) {
+            String cartella = nomeCartella(destinatario);
+            Path percorso = percorsiPerCartella.get(cartella.toLowerCase(Locale.ROOT));
+            if (percorso == null) {
+                percorso = cartellaUscita.resolve(cartella).resolve(nomeFile);
+                percorsiPerCartella.put(cartella.toLowerCase(Locale.ROOT), percorso);
+                destinazioni.add(DestinazionePubblicazione.file(percorso));
+            }
+            file.add(percorso);
+        }
+        pubblica(fotografia, scrittore, destinazioni);
+        return file;
+    }
+
+    /**
+     * Scrive la fotografia su tutte le destinazioni in parallelo e attende che abbiano finito.
+     * @throws DomainException se almeno una destinazione non è stata scritta;
+     *         le altre vengono comunque completate
+     */
+    public void pubblica(FotografiaMenu fotografia, ScrittoreMenu scrittore,
+                         List<DestinazionePubblicazione> destinazioni) {
+        List<CompletableFuture<Void>> scritture = new ArrayList<>(destinazioni.size());
+        for (DestinazionePubblicazione destinazione : destinazioni) {
+            scritture.add(CompletableFuture.runAsync(() -> scrivi(fotografia, scrittore, destinazione), esecutore));
+        }
+
+        List<String> fallite = new ArrayList<>();
+        Throwable primoErrore = null;
+        for (int i = 0; i < scritture.size(); i++) {
+            try {
+                scritture.get(i).join();
+            } catch (RuntimeException e) {
+                fallite.add(destinazioni.get(i).getNome());
+                Throwable causa = e.getCause() != null ? e.getCause() : e;
+                if (primoErrore == null) {
+                    primoErrore = causa;
+                } else {
+                    primoErrore.addSuppressed(causa);
+                }
+            }
+        }
+        if (primoErrore != null) {
+            throw new DomainException("Pubblicazione del menu non riuscita verso: " + String.join(", ", fallite),
+                                      primoErrore);
+        }
+    }
+
+    /**
+     * Termina i thread di pubblicazione. Il pubblicatore non va più usato dopo la chiusura.
+     */
+    public void chiudi() {
+        esecutore.shutdown();
+    }
+
+    private static void scrivi(FotografiaMenu fotografia, ScrittoreMenu scrittore,
+                               DestinazionePubblicazione destinazione) {
+        try {
+            destinazione.scrivi(fotografia, scrittore);
+        } catch (IOException e) {
+            throw new DomainException("Impossibile scrivere " + destinazione.getNome() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Trasforma un destinatario in un nome di cartella valido su ogni file system.
+     * Lettere e cifre ASCII e {@code @ . -} restano come sono, lo spazio diventa {@code _}
+     * e ogni altro byte UTF-8, compreso {@code _}, diventa {@code %XX}: destinatari
+     * diversi hanno sempre cartelle diverse.
+     */
+    private static String nomeCartella(String destinatario) {
+        StringBuilder nome = new StringBuilder(destinatario.length());
+        for (byte b : destinatario.trim().getBytes(StandardCharsets.UTF_8)) {
+            int c = b & 0xFF;
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                || c == '@' || c == '.' || c == '-') {
+                nome.append((char) c);
+            } else if (c == ' ') {
+                nome.append('_');
+            } else {
+                nome.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+            }
+        }
+        if (nome.length() == 0 || nome.chars().allMatch(c -> c == '.')) {
+            throw new DomainException("Destinatario non valido: '" + destinatario + "'");
+        }
+        return nome.toString();
+    }
+}
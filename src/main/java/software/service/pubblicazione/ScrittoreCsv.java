@@ -0,0 +1,93 @@
+package software.service.pubblicazione;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Pubblica il menu in CSV (RFC 4180), una riga per piatto:
+ * sezione, piatto, descrizione, tempo di preparazione e tag separati da ";".
+ */
+public class ScrittoreCsv extends ScrittoreTestuale {
+    private static final String FINE_RIGA = "\r\n";
+
+    @Override
+    public String getFormato() {
+        return "CSV";
+    }
+
+    @Override
+    public String getEstensione() {
+        return "csv";
+    }
+
+    @Override
+    protected void scrivi(FotografiaMenu menu, Writer out) throws IOException {
+        out.write("sezione,piatto,descrizione,tempo_preparazione,tag");
+        out.write(FINE_RIGA);
+        for (FotografiaMenu.Sezione sezione : menu.getSezioni()) {
+            for (FotografiaMenu.Piatto piatto : sezione.getPiatti()) {
+                campo(out, sezione.getNome());
+                out.write(',');
+                campo(out, piatto.getNome());
+                out.write(',');
+                campo(out, piatto.getDescrizione());
+                out.write(',');
+                out.write(Integer.toString(piatto.getTempoPreparazione()));
+                out.write(',');
+                tag(out, piatto);
+                out.write(FINE_RIGA);
+            }
+        }
+    }
+
+    /**
+     * Scrive i tag in un unico campo tra virgolette, separati da ";".
+     */
+    private static void tag(Writer out, FotografiaMenu.Piatto piatto) throws IOException {
+        if (piatto.getTag().isEmpty()) {
+            return;
+        }
+        out.write('"');
+        for (int t = 0; t < piatto.getTag().size(); t++) {
+            if (t > 0) {
+                out.write(';');
+            }
+            String tag = piatto.getTag().get(t);
+            for (int i = 0; i < tag.length(); i++) {
+                char c = tag.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+        }
+        out.write('"');
+    }
+
+    /**
+     * Scrive un campo, tra virgolette solo se contiene separatori, virgolette o a capo.
+     */
+    private static void campo(Writer out, String valore) throws IOException {
+        if (valore == null) {
+            return;
+        }
+        boolean virgolette = false;
+        for (int i = 0; i < valore.length() && !virgolette; i++) {
+            char c = valore.charAt(i);
+            virgolette = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!virgolette) {
+            out.write(valore);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < valore.length(); i++) {
+            char c = valore.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
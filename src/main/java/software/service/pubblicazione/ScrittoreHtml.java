@@ -0,0 +1,71 @@
+package software.service.pubblicazione;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Pubblica il menu come pagina HTML autonoma.
+ */
+public class ScrittoreHtml extends ScrittoreTestuale {
+
+    @Override
+    public String getFormato() {
+        return "HTML";
+    }
+
+    @Override
+    public String getEstensione() {
+        return "html";
+    }
+
+    @Override
+    protected void scrivi(FotografiaMenu menu, Writer out) throws IOException {
+        out.write("<!DOCTYPE html>\n<html lang=\"it\">\n<head>\n<meta charset=\"UTF-8\">\n<title>");
+        testo(out, menu.getTitolo());
+        out.write("</title>\n</head>\n<body>\n<h1>");
+        testo(out, menu.getTitolo());
+        out.write("</h1>\n");
+        for (FotografiaMenu.Sezione sezione : menu.getSezioni()) {
+            out.write("<section>\n<h2>");
+            testo(out, sezione.getNome());
+            out.write("</h2>\n<ul>\n");
+            for (FotografiaMenu.Piatto piatto : sezione.getPiatti()) {
+                out.write("<li><strong>");
+                testo(out, piatto.getNome());
+                out.write("</strong>");
+                if (piatto.getDescrizione() != null && !piatto.getDescrizione().isEmpty()) {
+                    out.write(" &ndash; ");
+                    testo(out, piatto.getDescrizione());
+                }
+                out.write("</li>\n");
+            }
+            out.write("</ul>\n</section>\n");
+        }
+        if (menu.getNote() != null && !menu.getNote().isEmpty()) {
+            out.write("<p class=\"note\">");
+            testo(out, menu.getNote());
+            out.write("</p>\n");
+        }
+        out.write("</body>\n</html>\n");
+    }
+
+    /**
+     * Scrive il testo sostituendo i caratteri speciali dell'HTML con le entità.
+     */
+    private static void testo(Writer out, String valore) throws IOException {
+        if (valore == null) {
+            return;
+        }
+        for (int i = 0; i < valore.length(); i++) {
+            char c = valore.charAt(i);
+            switch (c) {
+                case '<': out.write("&lt;"); break;
+                case '>': out.write("&gt;"); break;
+                case '&': out.write("&amp;"); break;
+                case '"': out.write("&quot;"); break;
+                case '\'': out.write("&#39;"); break;
+                default: out.write(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package software.service.pubblicazione;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Pubblica il menu in JSON con il generatore in streaming di Jackson.
+ */
+public class ScrittoreJson implements ScrittoreMenu {
+    // La factory è thread-safe e costosa da creare: una sola per tutte le pubblicazioni
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+
+    @Override
+    public String getFormato() {
+        return "JSON";
+    }
+
+    @Override
+    public String getEstensione() {
+        return "json";
+    }
+
+    @Override
+    public void scrivi(FotografiaMenu menu, OutputStream out) throws IOException {
+        try (JsonGenerator json = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeNumberField("id", menu.getId());
+            json.writeStringField("titolo", menu.getTitolo());
+            json.writeStringField("note", menu.getNote());
+            json.writeStringField("creatore", menu.getCreatore());
+            json.writeArrayFieldStart("sezioni");
+            for (FotografiaMenu.Sezione sezione : menu.getSezioni()) {
+                json.writeStartObject();
+                json.writeStringField("nome", sezione.getNome());
+                json.writeArrayFieldStart("piatti");
+                for (FotografiaMenu.Piatto piatto : sezione.getPiatti()) {
+                    json.writeStartObject();
+                    json.writeStringField("nome", piatto.getNome());
+                    json.writeStringField("descrizione", piatto.getDescrizione());
+                    json.writeNumberField("tempoPreparazione", piatto.getTempoPreparazione());
+                    json.writeArrayFieldStart("tag");
+                    for (String tag : piatto.getTag()) {
+                        json.writeString(tag);
+                    }
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
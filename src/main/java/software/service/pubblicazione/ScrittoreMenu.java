@@ -0,0 +1,35 @@
+package software.service.pubblicazione;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Formato di pubblicazione di un menu.
+ * Uno scrittore scrive direttamente sul flusso, senza comporre prima il documento
+ * in memoria, e non ha stato: la stessa istanza può scrivere in parallelo su più flussi.
+ */
+public interface ScrittoreMenu {
+
+    /**
+     * Restituisce il nome del formato (es. "JSON"), usato per sceglierlo al momento della pubblicazione.
+     */
+    String getFormato();
+
+    /**
+     * Restituisce l'estensione dei file prodotti, senza punto.
+     */
+    String getEstensione();
+
+    /**
+     * Scrive il menu sul flusso, in UTF-8. Il flusso non viene chiuso.
+     */
+    void scrivi(FotografiaMenu menu, OutputStream out) throws IOException;
+
+    /**
+     * Scrive il menu in un file, sostituendolo se esiste già solo a scrittura completata.
+     */
+    default void scrivi(FotografiaMenu menu, Path file) throws IOException {
+        DestinazionePubblicazione.file(file).scrivi(menu, this);
+    }
+}
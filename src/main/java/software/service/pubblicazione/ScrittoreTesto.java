@@ -0,0 +1,56 @@
+package software.service.pubblicazione;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Pubblica il menu come testo semplice, adatto al corpo di un messaggio.
+ */
+public class ScrittoreTesto extends ScrittoreTestuale {
+
+    @Override
+    public String getFormato() {
+        return "TESTO";
+    }
+
+    @Override
+    public String getEstensione() {
+        return "txt";
+    }
+
+    @Override
+    protected void scrivi(FotografiaMenu menu, Writer out) throws IOException {
+        testo(out, menu.getTitolo());
+        out.write('\n');
+        for (FotografiaMenu.Sezione sezione : menu.getSezioni()) {
+            out.write('\n');
+            // Locale fisso: in turco "i" diventerebbe "İ"
+            testo(out, sezione.getNome() != null ? sezione.getNome().toUpperCase(Locale.ROOT) : null);
+            out.write('\n');
+            for (FotografiaMenu.Piatto piatto : sezione.getPiatti()) {
+                out.write("  - ");
+                testo(out, piatto.getNome());
+                if (piatto.getDescrizione() != null && !piatto.getDescrizione().isEmpty()) {
+                    out.write(": ");
+                    out.write(piatto.getDescrizione());
+                }
+                out.write('\n');
+            }
+        }
+        if (menu.getNote() != null && !menu.getNote().isEmpty()) {
+            out.write("\nNote: ");
+            out.write(menu.getNote());
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Scrive il testo; come negli altri formati un valore mancante resta vuoto.
+     */
+    private static void testo(Writer out, String valore) throws IOException {
+        if (valore != null) {
+            out.write(valore);
+        }
+    }
+}
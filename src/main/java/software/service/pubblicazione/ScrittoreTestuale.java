@@ -0,0 +1,27 @@
+package software.service.pubblicazione;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base degli scrittori di formati testuali: codifica in UTF-8 con un buffer
+ * e lascia aperto il flusso sottostante.
+ */
+abstract class ScrittoreTestuale implements ScrittoreMenu {
+
+    @Override
+    public final void scrivi(FotografiaMenu menu, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        scrivi(menu, writer);
+        writer.flush();
+    }
+
+    /**
+     * Scrive il menu; il writer viene svuotato dalla classe base.
+     */
+    protected abstract void scrivi(FotografiaMenu menu, Writer out) throws IOException;
+}
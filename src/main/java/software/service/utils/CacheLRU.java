@@ -0,0 +1,114 @@
+package software.service.utils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache a capacità limitata con rimozione dell'elemento usato meno di recente (LRU).
+ * Gli elementi rimossi per capacità restano raggiungibili tramite riferimenti deboli
+ * finché qualcun altro li usa: chi chiede di nuovo la stessa chiave riceve la stessa
+ * istanza invece di una copia. La memoria trattenuta dalla cache resta comunque
+ * limitata alla capacità.
+ * Non è thread-safe.
+ */
+public class CacheLRU<K, V> {
+    private final int capacita;
+    private final LinkedHashMap<K, V> recenti;
+    private final Map<K, Riferimento<K, V>> deboli = new HashMap<>();
+    private final ReferenceQueue<V> rilasciati = new ReferenceQueue<>();
+
+    /**
+     * @param capacita Numero massimo di elementi trattenuti dalla cache
+     */
+    public CacheLRU(int capacita) {
+        if (capacita < 1) {
+            throw new IllegalArgumentException("La capacità deve essere almeno 1");
+        }
+        this.capacita = capacita;
+        this.recenti = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> piuVecchio) {
+                return size() > CacheLRU.this.capacita;
+            }
+        };
+    }
+
+    /**
+     * Restituisce il valore associato alla chiave, null se non presente o non più in uso.
+     */
+    public V get(K chiave) {
+        V valore = recenti.get(chiave);
+        if (valore == null) {
+            Riferimento<K, V> riferimento = deboli.get(chiave);
+            valore = riferimento != null ? riferimento.get() : null;
+            if (valore != null) {
+                recenti.put(chiave, valore);
+            }
+        }
+        return valore;
+    }
+
+    /**
+     * Restituisce il valore associato alla chiave, creandolo se necessario.
+     */
+    public V get(K chiave, Function<? super K, ? extends V> crea) {
+        V valore = get(chiave);
+        if (valore == null) {
+            valore = crea.apply(chiave);
+            put(chiave, valore);
+        }
+        return valore;
+    }
+
+    public void put(K chiave, V valore) {
+        pulisci();
+        recenti.put(chiave, valore);
+        deboli.put(chiave, new Riferimento<>(chiave, valore, rilasciati));
+    }
+
+    public void remove(K chiave) {
+        recenti.remove(chiave);
+        deboli.remove(chiave);
+    }
+
+    public void clear() {
+        recenti.clear();
+        deboli.clear();
+    }
+
+    /**
+     * Restituisce il numero di elementi trattenuti dalla cache (al più la capacità).
+     */
+    public int size() {
+        return recenti.size();
+    }
+
+    public int getCapacita() {
+        return capacita;
+    }
+
+    /**
+     * Elimina le voci dei valori raccolti dal garbage collector.
+     */
+    private void pulisci() {
+        Object rilasciato;
+        while ((rilasciato = rilasciati.poll()) != null) {
+            @SuppressWarnings("unchecked")
+            Riferimento<K, V> riferimento = (Riferimento<K, V>) rilasciato;
+            deboli.remove(riferimento.chiave, riferimento);
+        }
+    }
+
+    private static final class Riferimento<K, V> extends WeakReference<V> {
+        private final K chiave;
+
+        Riferimento(K chiave, V valore, ReferenceQueue<V> coda) {
+            super(valore, coda);
+            this.chiave = chiave;
+        }
+    }
+}
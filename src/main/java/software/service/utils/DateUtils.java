@@ -6,7 +6,10 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
 
 /**
  * Classe di utilità per la gestione delle date.
@@ -17,6 +20,16 @@ public class DateUtils {
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
     
+    /**
+     * Valore restituito da {@link #parseEpochDay} quando la stringa non è una data valida.
+     */
+    public static final long INVALID_DATE = Long.MIN_VALUE;
+    
+    /**
+     * Valore restituito da {@link #parseMinuteOfDay} quando la stringa non è un orario valido.
+     */
+    public static final int INVALID_TIME = -1;
+    
     /**
      * Formatta una data in stringa nel formato dd/MM/yyyy.
      * 
@@ -118,4 +131,134 @@ public class DateUtils {
         
         return dates;
     }
+    
+    /**
+     * Restituisce le date nell'intervallo specificato (estremi inclusi) come stream,
+     * senza creare una lista. Lo stream è vuoto se la data di fine precede quella di inizio.
+     * 
+     * @param startDate La data di inizio
+     * @param endDate La data di fine
+     * @return Lo stream di date
+     */
+    public static Stream<LocalDate> streamDatesBetween(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return Stream.empty();
+        }
+        return startDate.datesUntil(endDate.plusDays(1));
+    }
+    
+    /**
+     * Restituisce le date nell'intervallo specificato (estremi inclusi) da scorrere con un for-each.
+     * Ogni data viene calcolata solo quando l'iteratore la richiede.
+     * 
+     * @param startDate La data di inizio
+     * @param endDate La data di fine
+     * @return Le date dell'intervallo
+     */
+    public static Iterable<LocalDate> datesBetween(LocalDate startDate, LocalDate endDate) {
+        return () -> new Iterator<LocalDate>() {
+            private LocalDate next = startDate;
+            
+            @Override
+            public boolean hasNext() {
+                return !next.isAfter(endDate);
+            }
+            
+            @Override
+            public LocalDate next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                LocalDate current = next;
+                next = next.plusDays(1);
+                return current;
+            }
+        };
+    }
+    
+    /**
+     * Converte una stringa nel formato dd/MM/yyyy nel giorno epoch corrispondente
+     * (vedi {@link LocalDate#toEpochDay()}), senza creare oggetti né lanciare eccezioni.
+     * Pensato per importazioni massive in cui molti valori possono essere errati.
+     * A differenza di {@link #parseDate}, le date inesistenti (es. 31/02/2025) sono rifiutate.
+     * 
+     * @param dateStr La stringa da convertire
+     * @return Il giorno epoch, o {@link #INVALID_DATE} se la stringa non è valida
+     */
+    public static long parseEpochDay(CharSequence dateStr) {
+        if (dateStr == null || dateStr.length() != 10 || dateStr.charAt(2) != '/' || dateStr.charAt(5) != '/') {
+            return INVALID_DATE;
+        }
+        int day = twoDigits(dateStr, 0);
+        int month = twoDigits(dateStr, 3);
+        int yearHigh = twoDigits(dateStr, 6);
+        int yearLow = twoDigits(dateStr, 8);
+        if (day < 0 || month < 0 || yearHigh < 0 || yearLow < 0) {
+            return INVALID_DATE;
+        }
+        int year = yearHigh * 100 + yearLow;
+        if (year == 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return INVALID_DATE;
+        }
+        return epochDay(year, month, day);
+    }
+    
+    /**
+     * Converte una stringa nel formato HH:mm nei minuti trascorsi dalla mezzanotte,
+     * senza creare oggetti né lanciare eccezioni.
+     * 
+     * @param timeStr La stringa da convertire
+     * @return I minuti dalla mezzanotte (0-1439), o {@link #INVALID_TIME} se la stringa non è valida
+     */
+    public static int parseMinuteOfDay(CharSequence timeStr) {
+        if (timeStr == null || timeStr.length() != 5 || timeStr.charAt(2) != ':') {
+            return INVALID_TIME;
+        }
+        int hour = twoDigits(timeStr, 0);
+        int minute = twoDigits(timeStr, 3);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return INVALID_TIME;
+        }
+        return hour * 60 + minute;
+    }
+    
+    /**
+     * Legge due cifre decimali a partire dalla posizione indicata; -1 se non sono cifre.
+     */
+    private static int twoDigits(CharSequence str, int offset) {
+        int tens = str.charAt(offset) - '0';
+        int units = str.charAt(offset + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+        return tens * 10 + units;
+    }
+    
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+    
+    /**
+     * Giorni dal 1970-01-01 nel calendario gregoriano (stesso risultato di LocalDate.toEpochDay).
+     */
+    private static long epochDay(int year, int month, int day) {
+        // Anno che inizia a marzo: il giorno bisestile cade in fondo all'anno
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
 }
\ No newline at end of file
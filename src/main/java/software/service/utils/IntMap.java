@@ -0,0 +1,180 @@
+package software.service.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mappa con chiavi int primitive a indirizzamento aperto (scansione lineare).
+ * Evita il boxing delle chiavi e gli oggetti nodo di {@link java.util.HashMap}:
+ * ricerca, inserimento e rimozione sono O(1) in media.
+ * I valori null non sono ammessi. Non è thread-safe.
+ *
+ * @param <V> Il tipo dei valori
+ */
+public class IntMap<V> {
+    private static final int CAPACITA_INIZIALE = 16;
+    
+    private int[] chiavi;
+    private Object[] valori; // valori[i] == null indica uno slot libero
+    private int dimensione;
+    
+    public IntMap() {
+        this(CAPACITA_INIZIALE);
+    }
+    
+    /**
+     * @param capacitaAttesa Numero di elementi previsto, per evitare ridimensionamenti
+     */
+    public IntMap(int capacitaAttesa) {
+        int capacita = Integer.highestOneBit(Math.max(CAPACITA_INIZIALE, capacitaAttesa * 2 - 1)) << 1;
+        chiavi = new int[capacita];
+        valori = new Object[capacita];
+    }
+    
+    /**
+     * Crea una copia della mappa. I valori non vengono copiati ma condivisi.
+     */
+    public IntMap<V> copia() {
+        IntMap<V> copia = new IntMap<>(0);
+        copia.chiavi = chiavi.clone();
+        copia.valori = valori.clone();
+        copia.dimensione = dimensione;
+        return copia;
+    }
+    
+    /**
+     * Restituisce il valore associato alla chiave, null se assente.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int chiave) {
+        int i = cerca(chiave);
+        return i >= 0 ? (V) valori[i] : null;
+    }
+    
+    public boolean containsKey(int chiave) {
+        return cerca(chiave) >= 0;
+    }
+    
+    /**
+     * Associa il valore alla chiave.
+     * @return Il valore precedente, null se la chiave era assente
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int chiave, V valore) {
+        if (valore == null) {
+            throw new IllegalArgumentException("IntMap non ammette valori null");
+        }
+        int maschera = chiavi.length - 1;
+        int i = hash(chiave) & maschera;
+        while (valori[i] != null) {
+            if (chiavi[i] == chiave) {
+                V precedente = (V) valori[i];
+                valori[i] = valore;
+                return precedente;
+            }
+            i = (i + 1) & maschera;
+        }
+        chiavi[i] = chiave;
+        valori[i] = valore;
+        if (++dimensione * 2 > chiavi.length) {
+            ridimensiona();
+        }
+        return null;
+    }
+    
+    /**
+     * Rimuove la chiave dalla mappa.
+     * @return Il valore rimosso, null se la chiave era assente
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int chiave) {
+        int i = cerca(chiave);
+        if (i < 0) {
+            return null;
+        }
+        V rimosso = (V) valori[i];
+        valori[i] = null;
+        dimensione--;
+        
+        // Ricompatta la sequenza di collisioni successiva allo slot liberato,
+        // così le ricerche non devono mai saltare slot vuoti "cancellati"
+        int maschera = chiavi.length - 1;
+        int libero = i;
+        int j = (i + 1) & maschera;
+        while (valori[j] != null) {
+            int ideale = hash(chiavi[j]) & maschera;
+            if (((j - ideale) & maschera) >= ((j - libero) & maschera)) {
+                chiavi[libero] = chiavi[j];
+                valori[libero] = valori[j];
+                valori[j] = null;
+                libero = j;
+            }
+            j = (j + 1) & maschera;
+        }
+        return rimosso;
+    }
+    
+    public int size() {
+        return dimensione;
+    }
+    
+    public boolean isEmpty() {
+        return dimensione == 0;
+    }
+    
+    public void clear() {
+        Arrays.fill(valori, null);
+        dimensione = 0;
+    }
+    
+    /**
+     * Restituisce una copia dei valori contenuti, in ordine non specificato.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> risultato = new ArrayList<>(dimensione);
+        for (Object valore : valori) {
+            if (valore != null) {
+                risultato.add((V) valore);
+            }
+        }
+        return risultato;
+    }
+    
+    private int cerca(int chiave) {
+        int maschera = chiavi.length - 1;
+        int i = hash(chiave) & maschera;
+        while (valori[i] != null) {
+            if (chiavi[i] == chiave) {
+                return i;
+            }
+            i = (i + 1) & maschera;
+        }
+        return -1;
+    }
+    
+    private void ridimensiona() {
+        int[] vecchieChiavi = chiavi;
+        Object[] vecchiValori = valori;
+        chiavi = new int[vecchieChiavi.length * 2];
+        valori = new Object[vecchiValori.length * 2];
+        int maschera = chiavi.length - 1;
+        for (int k = 0; k < vecchieChiavi.length; k++) {
+            if (vecchiValori[k] != null) {
+                int i = hash(vecchieChiavi[k]) & maschera;
+                while (valori[i] != null) {
+                    i = (i + 1) & maschera;
+                }
+                chiavi[i] = vecchieChiavi[k];
+                valori[i] = vecchiValori[k];
+            }
+        }
+    }
+    
+    private static int hash(int chiave) {
+        // Gli id sono spesso consecutivi: il rimescolamento distribuisce i bit alti
+        int h = chiave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
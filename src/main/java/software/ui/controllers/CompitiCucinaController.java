@@ -1,8 +1,10 @@
 package software.ui.controllers;
 
 import software.domain.compiti.Compito;
+import software.domain.compiti.StatoCompito;
 import software.domain.compiti.Turno;
 import software.domain.eventi.Evento;
+import software.domain.exceptions.DomainException;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
 import software.domain.utenti.Cuoco;
@@ -10,7 +12,12 @@ import software.service.CompitoCucinaService;
 import software.service.EventoService;
 import software.service.RicettaService;
 import software.service.UtenteService;
+import software.service.calendario.Conflitto;
+import software.service.calendario.RilevatoreConflitti;
+import software.service.pianificazione.ContatoreAvanzamento;
 import software.ui.utils.AlertUtils;
+import software.ui.utils.CalcoloInBackground;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -23,6 +30,7 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
 import javafx.stage.Stage;
 import javafx.stage.Window;
+import javafx.util.Duration;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -67,10 +75,16 @@ public class CompitiCucinaController {
     private final EventoService eventoService;
     private final UtenteService utenteService;
     private final RicettaService ricettaService;
+    private final RilevatoreConflitti rilevatoreConflitti;
     private Chef chefCorrente;
     private Evento eventoCorrente;
     private ObservableList<Compito> compitiCorrente;
     
+    // Calcoli fuori dal thread JavaFX, uno per azione: ogni richiesta supera solo
+    // quella precedente della stessa azione (es. il riepilogo solo al cambio di evento)
+    private final CalcoloInBackground calcoloRiepilogo = new CalcoloInBackground(Duration.millis(250));
+    private final CalcoloInBackground calcoloTurno = new CalcoloInBackground(Duration.ZERO);
+    
     public CompitiCucinaController(CompitoCucinaService compitoCucinaService, 
                                 EventoService eventoService,
                                 UtenteService utenteService,
@@ -80,6 +94,7 @@ public class CompitiCucinaController {
         this.eventoService = eventoService;
         this.utenteService = utenteService;
         this.ricettaService = ricettaService;
+        this.rilevatoreConflitti = compitoCucinaService.creaRilevatoreConflitti(eventoService.getCalendario());
         this.chefCorrente = chef;
     }
     
@@ -90,9 +105,8 @@ public class CompitiCucinaController {
         cmbCuochi.setItems(utenteService.getCuochi());
         cmbTurni.setItems(compitoCucinaService.getTurni());
         
-        // Converti List<Ricetta> a ObservableList<Ricetta>
-        ObservableList<Ricetta> ricetteObs = FXCollections.observableArrayList();
-        ricettaService.getRicetteViewModel().forEach(vm -> ricetteObs.add(vm.getRicetta()));
+        // Copia delle ricette del catalogo, senza creare i ViewModel
+        ObservableList<Ricetta> ricetteObs = FXCollections.observableArrayList(ricettaService.getRicetteOsservabili());
         cmbRicette.setItems(ricetteObs);
         
         // Configurazione TableView per compiti
@@ -124,13 +138,15 @@ public class CompitiCucinaController {
         
         // Aggiungi listener per il cambio di evento
         cmbEventi.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            // Le selezioni ravvicinate (es. scorrendo con la tastiera) caricano solo l'ultimo evento
             if (newVal != null && !newVal.equals(oldVal)) {
-                onCreaRiepilogoCompiti();
+                calcoloRiepilogo.richiediDopoPausa(() -> caricaRiepilogo(newVal));
             }
         });
         
-        // Mostra guida all'avvio
-        mostraGuidaUtilizzo();
+        // Mostra guida all'avvio, senza bloccare il caricamento della vista
+        // (che può avvenire fuori dal thread JavaFX)
+        Platform.runLater(this::mostraGuidaUtilizzo);
     }
     
     private void configureCellFactories() {
@@ -213,28 +229,51 @@ public class CompitiCucinaController {
      */
     @FXML
     public void onCreaRiepilogoCompiti() {
-        eventoCorrente = cmbEventi.getSelectionModel().getSelectedItem();
-        if (eventoCorrente != null) {
-            // Ottieni compiti filtrati per l'evento corrente
-            ObservableList<Compito> compitiEventoFiltrati = compitoCucinaService.creaRiepilogoCompiti(eventoCorrente);
-            
-            // Crea una nuova lista osservabile per evitare problemi di riferimento
-            compitiCorrente = FXCollections.observableArrayList(compitiEventoFiltrati);
-            tblCompiti.setItems(compitiCorrente);
-            
-            // Pulisci la selezione nella tabella
-            tblCompiti.getSelectionModel().clearSelection();
-            
-            if (compitiCorrente.isEmpty()) {
-                AlertUtils.showInfo("Nessun compito", "Non ci sono compiti per l'evento '" + eventoCorrente.getNome() + "'. Puoi crearne di nuovi assegnandoli ai cuochi.");
-            } else {
-                AlertUtils.showInfo("Compiti caricati", "Sono stati caricati " + compitiCorrente.size() + " compiti per l'evento '" + eventoCorrente.getNome() + "'");
-            }
+        Evento evento = cmbEventi.getSelectionModel().getSelectedItem();
+        if (evento != null) {
+            caricaRiepilogo(evento);
         } else {
+            calcoloRiepilogo.annulla();
+            eventoCorrente = null;
             AlertUtils.showWarning("Seleziona evento", "Devi selezionare un evento");
         }
     }
     
+    /**
+     * Calcola i compiti dell'evento e li pubblica nella tabella in un colpo solo.
+     * Sul thread JavaFX restano la lettura delle ricette dal menu dell'evento e la copia
+     * della lista dei compiti, entrambe lineari; in background va solo il filtro dei
+     * compiti per ricetta, che con molti compiti e ricette è la parte più costosa.
+     */
+    private void caricaRiepilogo(Evento evento) {
+        List<Ricetta> ricetteEvento = compitoCucinaService.getRicetteEvento(evento);
+        List<Compito> compiti = new ArrayList<>(compitoCucinaService.getCompiti());
+        // Senza ricette vengono mostrati tutti i compiti, che però non appartengono all'evento
+        boolean associa = !ricetteEvento.isEmpty();
+        calcoloRiepilogo.esegui(() -> compitoCucinaService.calcolaRiepilogoDaMostrare(ricetteEvento, compiti),
+                       compitiEvento -> mostraRiepilogo(evento, compitiEvento, associa));
+    }
+    
+    private void mostraRiepilogo(Evento evento, List<Compito> compitiEvento, boolean associa) {
+        eventoCorrente = evento;
+        if (associa) {
+            compitoCucinaService.associaCompitiEvento(compitiEvento, evento);
+        }
+        
+        // Crea una nuova lista osservabile per evitare problemi di riferimento
+        compitiCorrente = FXCollections.observableArrayList(compitiEvento);
+        tblCompiti.setItems(compitiCorrente);
+        
+        // Pulisci la selezione nella tabella
+        tblCompiti.getSelectionModel().clearSelection();
+        
+        if (compitiCorrente.isEmpty()) {
+            AlertUtils.showInfo("Nessun compito", "Non ci sono compiti per l'evento '" + evento.getNome() + "'. Puoi crearne di nuovi assegnandoli ai cuochi.");
+        } else {
+            AlertUtils.showInfo("Compiti caricati", "Sono stati caricati " + compitiCorrente.size() + " compiti per l'evento '" + evento.getNome() + "'");
+        }
+    }
+    
     /**
      * Verifica i cuochi disponibili.
      * Riferimento: UC "Gestione dei Compiti della cucina" - Passo 2
@@ -318,8 +357,9 @@ public class CompitiCucinaController {
     }
     
     private void creaCompito(Cuoco cuoco, Turno turno, Ricetta ricetta, int tempoStimato, double quantita) {
-        String turnoStr = turno.getData() + " " + turno.getOraInizio() + "-" + turno.getOraFine();
+        String turnoStr = turno.getEtichetta();
         Compito nuovoCompito = compitoCucinaService.assegnaCompito(chefCorrente, cuoco, turnoStr, ricetta, tempoStimato, quantita);
+        mostraConflitti(rilevatoreConflitti.verifica(nuovoCompito));
         
         // Aggiungi il compito alla lista corrente solo se è relativo all'evento corrente
         if (eventoCorrente != null) {
@@ -334,6 +374,7 @@ public class CompitiCucinaController {
                     compitiCorrente = FXCollections.observableArrayList();
                 }
                 compitiCorrente.add(nuovoCompito);
+                compitoCucinaService.associaCompitoEvento(nuovoCompito, eventoCorrente);
                 tblCompiti.setItems(compitiCorrente);
                 
                 // Seleziona il nuovo compito nella tabella
@@ -350,8 +391,12 @@ public class CompitiCucinaController {
     @FXML
     public void onOrdinaCompiti() {
         if (compitiCorrente != null && !compitiCorrente.isEmpty()) {
-            ObservableList<Compito> compitiOrdinati = compitoCucinaService.ordinaCompitiPerImportanza(compitiCorrente);
-            tblCompiti.setItems(compitiOrdinati);
+            try {
+                ObservableList<Compito> compitiOrdinati = compitoCucinaService.ordinaCompitiPerImportanza(compitiCorrente);
+                tblCompiti.setItems(compitiOrdinati);
+            } catch (DomainException e) {
+                AlertUtils.showError("Dipendenze non valide", e.getMessage());
+            }
         }
     }
     
@@ -390,6 +435,7 @@ public class CompitiCucinaController {
                 // Crea il turno solo se non esiste già
                 if (!turnoEsistente) {
                     Turno nuovoTurno = compitoCucinaService.creaTurno(data, oraInizio, oraFine, luogo, "Preparatorio");
+                    mostraConflitti(rilevatoreConflitti.verifica(nuovoTurno));
                     
                     // Aggiorna la ComboBox con il nuovo turno
                     cmbTurni.setItems(compitoCucinaService.getTurni());
@@ -405,6 +451,23 @@ public class CompitiCucinaController {
         }
     }
     
+    /**
+     * Avvisa l'utente se l'ultima modifica ha creato conflitti di personale o di cucina.
+     */
+    private void mostraConflitti(List<Conflitto> conflitti) {
+        if (conflitti.isEmpty()) {
+            return;
+        }
+        StringBuilder messaggio = new StringBuilder();
+        for (Conflitto conflitto : conflitti) {
+            messaggio.append(conflitto.getTipo() == Conflitto.Tipo.PERSONALE ? "Cuoco già impegnato: " : "Cucina già occupata: ")
+                .append(conflitto.getRisorsa())
+                .append(" (").append(conflitto.getInizio().toLocalTime())
+                .append("-").append(conflitto.getFine().toLocalTime()).append(")\n");
+        }
+        AlertUtils.showWarning("Conflitti rilevati", messaggio.toString());
+    }
+    
     /**
      * Monitora l'avanzamento dei compiti.
      * Riferimento: UC "Gestione dei Compiti della cucina" - Passo 6
@@ -415,48 +478,32 @@ public class CompitiCucinaController {
     @FXML
     public void onMonitoraAvanzamento() {
         if (compitiCorrente != null && !compitiCorrente.isEmpty()) {
-            // Aggiorna la tabella per mostrare lo stato corrente
-            tblCompiti.refresh();
-            
-            // Calcola statistiche sullo stato dei compiti
-            int totale = compitiCorrente.size();
-            int completati = 0;
-            int inCorso = 0;
-            int daFare = 0;
-            int bloccati = 0;
-            
-            for (Compito compito : compitiCorrente) {
-                String stato = compito.getStato().toLowerCase();
-                if (stato.contains("complet")) {
-                    completati++;
-                } else if (stato.contains("corso")) {
-                    inCorso++;
-                } else if (stato.contains("blocc")) {
-                    bloccati++;
-                } else {
-                    daFare++;
-                }
-            }
-            
-            // Calcola percentuale di completamento
-            int percentualeCompletamento = (completati * 100) / totale;
+            // Le statistiche sono lette dai contatori dell'evento, aggiornati a ogni cambio di stato.
+            // La lettura costa O(1) e avviene sul thread JavaFX, lo stesso dei cambi di stato,
+            // così i contatori non si vedono mai a metà di uno spostamento
+            ContatoreAvanzamento avanzamento = eventoCorrente != null
+                ? compitoCucinaService.getAvanzamentoEvento(eventoCorrente)
+                : compitoCucinaService.getMonitorAvanzamento().getAvanzamentoGlobale();
             
             // Mostra finestra con statistiche
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Avanzamento Compiti");
             alert.setHeaderText("Stato di avanzamento dei compiti");
-            alert.setContentText(
-                "Completati: " + completati + " (" + percentualeCompletamento + "%)\n" +
-                "In corso: " + inCorso + "\n" +
-                "Da fare: " + daFare + "\n" +
-                "Bloccati: " + bloccati
-            );
+            alert.setContentText(descriviAvanzamento(avanzamento));
             alert.showAndWait();
         } else {
             AlertUtils.showWarning("Nessun compito", "Non ci sono compiti da monitorare. Seleziona un evento e premi 'Crea riepilogo compiti'.");
         }
     }
     
+    private static String descriviAvanzamento(ContatoreAvanzamento avanzamento) {
+        return "Completati: " + avanzamento.getNumero(StatoCompito.COMPLETATO)
+            + " (" + avanzamento.getPercentualeCompletamento() + "%)\n" +
+            "In corso: " + avanzamento.getNumero(StatoCompito.IN_CORSO) + "\n" +
+            "Da fare: " + avanzamento.getDaAvviare() + "\n" +
+            "Bloccati: " + avanzamento.getNumero(StatoCompito.BLOCCATO);
+    }
+    
     /**
      * Controlla lo stato del turno.
      * Riferimento: UC "Gestione dei Compiti della cucina" - Passo 7
@@ -465,11 +512,12 @@ public class CompitiCucinaController {
     public void onControllaStatoTurno() {
         Turno turnoSelezionato = cmbTurni.getSelectionModel().getSelectedItem();
         if (turnoSelezionato != null) {
-            List<Compito> compitiTurno = compitoCucinaService.controllaStatoTurno(turnoSelezionato);
-            
-            // Crea una nuova lista modificabile invece di filtrare
-            ObservableList<Compito> compitiTurnoObs = FXCollections.observableArrayList(compitiTurno);
-            tblCompiti.setItems(compitiTurnoObs);
+            List<Compito> compiti = new ArrayList<>(compitoCucinaService.getCompiti());
+            calcoloTurno.esegui(() -> compitoCucinaService.controllaStatoTurno(turnoSelezionato, compiti),
+                           compitiTurno -> {
+                // Crea una nuova lista modificabile invece di filtrare
+                tblCompiti.setItems(FXCollections.observableArrayList(compitiTurno));
+            });
         } else {
             AlertUtils.showWarning("Seleziona turno", "Devi selezionare un turno");
         }
@@ -482,15 +530,15 @@ public class CompitiCucinaController {
     public void onAggiornaStatoCompito() {
         Compito compitoSelezionato = tblCompiti.getSelectionModel().getSelectedItem();
         if (compitoSelezionato != null) {
-            ChoiceDialog<String> dialog = new ChoiceDialog<>("Completato", 
-                List.of("Da fare", "In corso", "Completato", "Bloccato"));
+            ChoiceDialog<StatoCompito> dialog = new ChoiceDialog<>(StatoCompito.COMPLETATO, 
+                StatoCompito.values());
             dialog.setTitle("Aggiorna stato");
             dialog.setHeaderText("Seleziona il nuovo stato per il compito");
             dialog.setContentText("Stato:");
             
             dialog.showAndWait().ifPresent(nuovoStato -> {
-                compitoSelezionato.aggiornaStato(nuovoStato);
-                tblCompiti.refresh();
+                // La cella dello stato osserva il compito e si aggiorna da sola
+                compitoSelezionato.setStato(nuovoStato);
             });
         } else {
             AlertUtils.showWarning("Seleziona compito", "Devi selezionare un compito");
@@ -511,7 +559,6 @@ public class CompitiCucinaController {
             
             dialog.showAndWait().ifPresent(feedback -> {
                 compitoSelezionato.registraFeedback(feedback);
-                tblCompiti.refresh();
             });
         } else {
             AlertUtils.showWarning("Seleziona compito", "Devi selezionare un compito");
@@ -771,7 +818,7 @@ public class CompitiCucinaController {
         if (turno == null) return false;
         
         // Verifica se ci sono compiti associati al turno
-        String turnoStr = turno.getData() + " " + turno.getOraInizio() + "-" + turno.getOraFine();
+        String turnoStr = turno.getEtichetta();
         boolean hasAssociatedTasks = compitoCucinaService.getCompiti().stream()
             .anyMatch(compito -> turnoStr.equals(compito.getTurno()));
         
@@ -8,6 +8,7 @@ import software.service.MenuService;
 import software.service.RicettaService;
 import software.ui.utils.AlertUtils;
 import software.ui.viewmodels.RicettaViewModel;
+import software.ui.viewmodels.SezioneMenuViewModel;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -199,18 +200,10 @@ public class MenuController {
         
         RicettaViewModel ricettaViewModel = lstRicetteDisponibili.getSelectionModel().getSelectedItem();
         
-        String sezioneNome = tabSelezionato != null ? tabSelezionato.getText() : null;
-        
         if (ricettaViewModel != null && tabSelezionato != null) {
-            // Trova la sezione corrispondente
-            Optional<SezioneMenu> sezioneMenu = menuCorrente.getSezioni().stream()
-                .filter(s -> s.getNome().equals(sezioneNome))
-                .findFirst();
-                
-            if (sezioneMenu.isPresent()) {
-                menuCorrente.inserisciRicetta(ricettaViewModel.getRicetta(), sezioneMenu.get());
-                aggiornaContenutoSezione(sezioneMenu.get());
-            }
+            // La lista della sezione si aggiorna da sola tramite il suo ViewModel
+            SezioneMenuViewModel sezione = (SezioneMenuViewModel) tabSelezionato.getUserData();
+            menuCorrente.inserisciRicetta(ricettaViewModel.getRicetta(), sezione.getSezione());
         } else {
             AlertUtils.showWarning("Selezione incompleta", "Seleziona una ricetta e una sezione");
         }
@@ -277,11 +270,11 @@ public class MenuController {
         // Lista delle ricette nella sezione
         ListView<RicettaViewModel> listView = new ListView<>();
         
-        // Popola la lista con le ricette nella sezione
-        ObservableList<RicettaViewModel> ricetteInSezione = ricettaService.getRicetteViewModel()
-            .filtered(vm -> sezione.getRicette().contains(vm.getRicetta()));
-            
-        listView.setItems(ricetteInSezione);
+        // Popola la lista con le ricette nella sezione, tenute allineate dal ViewModel;
+        // la tab mantiene il riferimento al ViewModel, i cui listener sono deboli
+        SezioneMenuViewModel sezioneViewModel = new SezioneMenuViewModel(sezione, ricettaService);
+        listView.setItems(sezioneViewModel.getRicette());
+        tab.setUserData(sezioneViewModel);
         
         // Personalizza la visualizzazione delle ricette
         listView.setCellFactory(param -> new ListCell<>() {
@@ -302,26 +295,6 @@ public class MenuController {
         return tab;
     }
     
-    /**
-     * Aggiorna il contenuto di una sezione del menu.
-     */
-    private void aggiornaContenutoSezione(SezioneMenu sezione) {
-        // Trova la tab corrispondente
-        Optional<Tab> tab = tabSezioni.getTabs().stream()
-            .filter(t -> t.getText().equals(sezione.getNome()))
-            .findFirst();
-            
-        if (tab.isPresent()) {
-            ListView<RicettaViewModel> listView = (ListView<RicettaViewModel>) tab.get().getContent();
-            
-            // Aggiorna la lista delle ricette
-            ObservableList<RicettaViewModel> ricetteInSezione = ricettaService.getRicetteViewModel()
-                .filtered(vm -> sezione.getRicette().contains(vm.getRicetta()));
-                
-            listView.setItems(ricetteInSezione);
-        }
-    }
-    
     /**
      * Aggiorna l'UI con i dati di un menu esistente.
      */
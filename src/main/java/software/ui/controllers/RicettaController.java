@@ -54,10 +54,8 @@ public class RicettaController {
         lstIstruzioni.setItems(istruzioni);
         lstTags.setItems(tags);
         
-        // Lista ricette
-        ObservableList<Ricetta> ricette = FXCollections.observableArrayList();
-        ricettaService.getRicetteViewModel().forEach(vm -> ricette.add(vm.getRicetta()));
-        lstRicette.setItems(ricette);
+        // Lista ricette: la vista del catalogo segue da sola creazioni e rimozioni
+        lstRicette.setItems(ricettaService.getRicetteOsservabili());
         
         // Configura il rendering personalizzato
         lstRicette.setCellFactory(list -> new ListCell<>() {
@@ -187,8 +185,8 @@ public class RicettaController {
         
         // Conversione risultato
         dialog.setResultConverter(buttonType -> {
-            if (buttonType == btnOk) {
-                return new Tag(txtNomeTag.getText());
+            if (buttonType == btnOk && !txtNomeTag.getText().isBlank()) {
+                return Tag.di(txtNomeTag.getText());
             }
             return null;
         });
@@ -231,11 +229,6 @@ public class RicettaController {
             // Aggiorna la ricetta
             ricettaService.aggiornaRicetta(ricetta);
             
-            // Aggiorna lista ricette
-            ObservableList<Ricetta> ricette = FXCollections.observableArrayList();
-            ricettaService.getRicetteViewModel().forEach(vm -> ricette.add(vm.getRicetta()));
-            lstRicette.setItems(ricette);
-            
             // Seleziona la nuova ricetta
             lstRicette.getSelectionModel().select(ricetta);
             
@@ -254,10 +247,8 @@ public class RicettaController {
         if (ricetta != null) {
             ricettaService.pubblicaRicetta(ricetta);
             
-            // Aggiorna lista ricette
-            ObservableList<Ricetta> ricette = FXCollections.observableArrayList();
-            ricettaService.getRicetteViewModel().forEach(vm -> ricette.add(vm.getRicetta()));
-            lstRicette.setItems(ricette);
+            // Lo stato mostrato nelle celle è cambiato, ma la lista no
+            lstRicette.refresh();
             
             // Seleziona la ricetta aggiornata
             lstRicette.getSelectionModel().select(ricetta);
@@ -0,0 +1,98 @@
+package software.ui.utils;
+
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
+import javafx.util.Duration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Esegue i calcoli di una vista fuori dal thread JavaFX.
+ * Vale sempre solo l'ultima richiesta: una nuova richiesta annulla quella in corso,
+ * e il risultato di un calcolo superato non viene mai pubblicato.
+ * Le richieste ravvicinate fatte con {@link #richiediDopoPausa} vengono accorpate
+ * e viene eseguita solo l'ultima. Il risultato è consegnato in un'unica chiamata sul thread JavaFX.
+ *
+ * Tutti i metodi vanno chiamati dal thread JavaFX; il calcolo deve lavorare su
+ * copie dei dati osservati dall'interfaccia.
+ */
+public class CalcoloInBackground {
+    private static final ExecutorService ESECUTORE = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "calcoli-interfaccia");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PauseTransition pausa;
+    private Task<?> corrente;
+    private Runnable inAttesa;
+
+    /**
+     * @param pausa Tempo di quiete dopo l'ultima richiesta prima di avviare il calcolo
+     */
+    public CalcoloInBackground(Duration pausa) {
+        this.pausa = new PauseTransition(pausa);
+        this.pausa.setOnFinished(e -> {
+            Runnable richiesta = inAttesa;
+            inAttesa = null;
+            if (richiesta != null) {
+                richiesta.run();
+            }
+        });
+    }
+
+    /**
+     * Avvia subito il calcolo, annullando quello in corso o in attesa.
+     * @param calcolo Il calcolo da eseguire in background
+     * @param risultato Riceve il risultato sul thread JavaFX
+     */
+    public <T> void esegui(Callable<T> calcolo, Consumer<T> risultato) {
+        annulla();
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return calcolo.call();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (task == corrente) {
+                corrente = null;
+                risultato.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(e -> {
+            if (task == corrente) {
+                corrente = null;
+                AlertUtils.showError("Errore", task.getException().getMessage());
+            }
+        });
+        corrente = task;
+        ESECUTORE.execute(task);
+    }
+
+    /**
+     * Esegue la richiesta sul thread JavaFX quando per la durata della pausa non ne
+     * arrivano altre. Di solito la richiesta prepara i dati e chiama {@link #esegui}.
+     * Annulla subito il calcolo in corso, il cui risultato è ormai superato.
+     */
+    public void richiediDopoPausa(Runnable richiesta) {
+        annulla();
+        inAttesa = richiesta;
+        pausa.playFromStart();
+    }
+
+    /**
+     * Annulla il calcolo in corso e quello in attesa.
+     */
+    public void annulla() {
+        pausa.stop();
+        inAttesa = null;
+        if (corrente != null) {
+            corrente.cancel();
+            corrente = null;
+        }
+    }
+}
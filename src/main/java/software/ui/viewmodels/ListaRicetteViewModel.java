@@ -0,0 +1,79 @@
+package software.ui.viewmodels;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+import software.domain.ricette.Ricetta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Vista di una lista di ricette come lista di {@link RicettaViewModel} creati solo su richiesta.
+ * Una ListView chiede gli elementi delle sole righe visibili, quindi i ViewModel vengono
+ * costruiti quando una riga viene mostrata o selezionata, non per l'intero catalogo.
+ * Le modifiche della lista di ricette sono inoltrate con gli stessi indici.
+ */
+public class ListaRicetteViewModel extends TransformationList<RicettaViewModel, Ricetta> {
+    private final Function<Ricetta, RicettaViewModel> viewModel;
+
+    /**
+     * @param ricette Le ricette da mostrare
+     * @param viewModel Fornisce il ViewModel di una ricetta, di solito da una cache
+     */
+    public ListaRicetteViewModel(ObservableList<Ricetta> ricette, Function<Ricetta, RicettaViewModel> viewModel) {
+        super(ricette);
+        this.viewModel = viewModel;
+    }
+
+    @Override
+    public RicettaViewModel get(int index) {
+        return viewModel.apply(getSource().get(index));
+    }
+
+    @Override
+    public int size() {
+        return getSource().size();
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        return index;
+    }
+
+    @Override
+    public int getViewIndex(int index) {
+        return index;
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends Ricetta> c) {
+        beginChange();
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                int[] permutazione = new int[c.getTo() - c.getFrom()];
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    permutazione[i - c.getFrom()] = c.getPermutation(i);
+                }
+                nextPermutation(c.getFrom(), c.getTo(), permutazione);
+            } else if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    nextUpdate(i);
+                }
+            } else {
+                if (c.wasRemoved()) {
+                    List<RicettaViewModel> rimossi = new ArrayList<>(c.getRemovedSize());
+                    for (Ricetta ricetta : c.getRemoved()) {
+                        rimossi.add(viewModel.apply(ricetta));
+                    }
+                    nextRemove(c.getFrom(), rimossi);
+                }
+                if (c.wasAdded()) {
+                    nextAdd(c.getFrom(), c.getTo());
+                }
+            }
+        }
+        endChange();
+    }
+}
@@ -9,6 +9,10 @@ import software.domain.ricette.Ricetta;
 import software.domain.ricette.Tag;
 import software.domain.utenti.Chef;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
 /**
  * ViewModel che adatta la classe Ricetta del dominio per l'utilizzo nelle viste JavaFX.
  * Questo adapter separa il modello di dominio dalla UI, applicando il principio di separazione delle responsabilità.
@@ -46,6 +50,63 @@ public class RicettaViewModel {
         tags.addAll(ricetta.getTags());
     }
     
+    /**
+     * Riallinea il ViewModel alla ricetta dopo una modifica del modello.
+     * Le proprietà notificano solo i valori effettivamente cambiati e le liste
+     * ricevono solo la parte diversa, quindi il costo dipende dalle modifiche.
+     */
+    public void aggiorna() {
+        id.set(ricetta.getId());
+        nome.set(ricetta.getNome());
+        descrizione.set(ricetta.getDescrizione());
+        stato.set(ricetta.getStato());
+        tempoPreparazione.set(ricetta.getTempoPreparazione());
+        inUso.set(ricetta.isInUso());
+        proprietario.set(ricetta.getProprietario());
+        
+        // Gli ingredienti della ricetta sono ricreati a ogni lettura: si confrontano per valore
+        allinea(ingredienti, ricetta.getIngredienti(), Objects::equals);
+        allinea(istruzioni, ricetta.getIstruzioni());
+        allinea(tags, ricetta.getTags());
+    }
+    
+    /**
+     * Rende la lista uguale alla sorgente sostituendo solo il tratto compreso tra
+     * il prefisso e il suffisso comuni. Gli elementi sono confrontati per identità.
+     */
+    static <E> void allinea(ObservableList<E> lista, List<E> sorgente) {
+        allinea(lista, sorgente, (a, b) -> a == b);
+    }
+    
+    /**
+     * Come {@link #allinea(ObservableList, List)}, con il confronto indicato.
+     */
+    static <E> void allinea(ObservableList<E> lista, List<E> sorgente, BiPredicate<E, E> uguali) {
+        int inizio = 0;
+        int limite = Math.min(lista.size(), sorgente.size());
+        while (inizio < limite && uguali.test(lista.get(inizio), sorgente.get(inizio))) {
+            inizio++;
+        }
+        int fineLista = lista.size();
+        int fineSorgente = sorgente.size();
+        while (fineLista > inizio && fineSorgente > inizio
+               && uguali.test(lista.get(fineLista - 1), sorgente.get(fineSorgente - 1))) {
+            fineLista--;
+            fineSorgente--;
+        }
+        
+        if (fineLista - inizio == 1 && fineSorgente - inizio == 1) {
+            lista.set(inizio, sorgente.get(inizio));
+            return;
+        }
+        if (fineLista > inizio) {
+            lista.remove(inizio, fineLista);
+        }
+        if (fineSorgente > inizio) {
+            lista.addAll(inizio, sorgente.subList(inizio, fineSorgente));
+        }
+    }
+    
     // Metodo per salvare le modifiche dal ViewModel al modello
     public void commit() {
         ricetta.setNome(nome.get());
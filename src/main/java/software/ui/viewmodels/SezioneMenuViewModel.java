@@ -0,0 +1,104 @@
+package software.ui.viewmodels;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import software.domain.menu.SezioneMenu;
+import software.domain.ricette.Ricetta;
+import software.service.RicettaService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ViewModel delle ricette di una sezione del menu.
+ * Mantiene una lista di {@link RicettaViewModel} allineata, posizione per posizione,
+ * alle ricette della sezione: ogni modifica della sezione viene applicata come
+ * differenza, e l'aggiornamento di un ViewModel nel servizio ricette tocca solo
+ * le righe della ricetta interessata. Il costo degli aggiornamenti dipende quindi
+ * dalla dimensione della sezione e non dal numero di ricette nel catalogo.
+ *
+ * I listener sono deboli: la lista resta aggiornata finché il ViewModel è raggiungibile,
+ * ad esempio come user data della tab che la mostra.
+ */
+public class SezioneMenuViewModel {
+    private final SezioneMenu sezione;
+    private final RicettaService ricettaService;
+    private final ObservableList<RicettaViewModel> ricette = FXCollections.observableArrayList();
+    private final ObservableList<RicettaViewModel> ricetteNonModificabili =
+        FXCollections.unmodifiableObservableList(ricette);
+
+    private final ListChangeListener<Ricetta> listenerSezione = this::sezioneCambiata;
+    private final ListChangeListener<RicettaViewModel> listenerCatalogo = this::catalogoCambiato;
+
+    public SezioneMenuViewModel(SezioneMenu sezione, RicettaService ricettaService) {
+        this.sezione = sezione;
+        this.ricettaService = ricettaService;
+
+        ricette.setAll(adatta(sezione.getRicette()));
+        sezione.getRicette().addListener(new WeakListChangeListener<>(listenerSezione));
+        ricettaService.getRicetteViewModel().addListener(new WeakListChangeListener<>(listenerCatalogo));
+    }
+
+    public SezioneMenu getSezione() {
+        return sezione;
+    }
+
+    /**
+     * Restituisce le ricette della sezione, nello stesso ordine della sezione.
+     */
+    public ObservableList<RicettaViewModel> getRicette() {
+        return ricetteNonModificabili;
+    }
+
+    private void sezioneCambiata(ListChangeListener.Change<? extends Ricetta> c) {
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                List<RicettaViewModel> riordinate = new ArrayList<>(ricette.subList(c.getFrom(), c.getTo()));
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    riordinate.set(c.getPermutation(i) - c.getFrom(), ricette.get(i));
+                }
+                for (int i = 0; i < riordinate.size(); i++) {
+                    ricette.set(c.getFrom() + i, riordinate.get(i));
+                }
+            } else {
+                if (c.wasRemoved()) {
+                    ricette.remove(c.getFrom(), c.getFrom() + c.getRemovedSize());
+                }
+                if (c.wasAdded()) {
+                    ricette.addAll(c.getFrom(), adatta(c.getAddedSubList()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Quando il servizio aggiorna o sostituisce il ViewModel di una ricetta,
+     * reimposta solo le righe della stessa ricetta nella sezione.
+     */
+    private void catalogoCambiato(ListChangeListener.Change<? extends RicettaViewModel> c) {
+        while (c.next()) {
+            if (!c.wasAdded()) {
+                continue;
+            }
+            for (RicettaViewModel nuovo : c.getAddedSubList()) {
+                int id = nuovo.getRicetta().getId();
+                for (int i = 0; i < ricette.size(); i++) {
+                    if (ricette.get(i).getRicetta().getId() == id) {
+                        ricette.set(i, nuovo);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<RicettaViewModel> adatta(List<? extends Ricetta> daAdattare) {
+        List<RicettaViewModel> adattate = new ArrayList<>(daAdattare.size());
+        for (Ricetta ricetta : daAdattare) {
+            RicettaViewModel viewModel = ricettaService.getViewModel(ricetta);
+            adattate.add(viewModel != null ? viewModel : new RicettaViewModel(ricetta));
+        }
+        return adattate;
+    }
+}
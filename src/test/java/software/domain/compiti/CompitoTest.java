@@ -0,0 +1,56 @@
+package software.domain.compiti;
+
+import javafx.beans.property.ReadOnlyStringProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.domain.utenti.Cuoco;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompitoTest {
+
+    private Compito compito;
+
+    @BeforeEach
+    public void setup() {
+        Chef chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        Cuoco cuoco = new Cuoco(2, "Luigi", "Verdi", "luigi@example.com", "987654321");
+        Ricetta ricetta = new Ricetta(1, "Risotto ai funghi", chef);
+        compito = new Compito(1, ricetta, cuoco, "2025-06-07 08:00-12:00", 30, 10);
+    }
+
+    @Test
+    @DisplayName("Test proprietà dello stato creata una sola volta")
+    public void testStatoPropertyUnica() {
+        // Act
+        ReadOnlyStringProperty prima = compito.statoProperty();
+        ReadOnlyStringProperty seconda = compito.statoProperty();
+
+        // Assert
+        assertSame(prima, seconda);
+        assertEquals(StatoCompito.DA_INIZIARE.getEtichetta(), prima.get());
+    }
+
+    @Test
+    @DisplayName("Test proprietà dello stato aggiornata dai cambi di stato")
+    public void testStatoPropertyAggiornata() {
+        // Arrange
+        List<String> etichette = new ArrayList<>();
+        compito.statoProperty().addListener((obs, vecchia, nuova) -> etichette.add(nuova));
+
+        // Act
+        compito.setStato(StatoCompito.IN_CORSO);
+        compito.aggiornaStato(StatoCompito.COMPLETATO.getEtichetta());
+
+        // Assert
+        assertEquals(List.of(StatoCompito.IN_CORSO.getEtichetta(), StatoCompito.COMPLETATO.getEtichetta()),
+                     etichette);
+        assertEquals(StatoCompito.COMPLETATO.getEtichetta(), compito.statoProperty().get());
+    }
+}
@@ -0,0 +1,115 @@
+package software.domain.eventi;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.openjdk.jol.info.GraphLayout;
+import software.domain.compiti.Turno;
+import software.domain.menu.Menu;
+import software.domain.menu.SezioneMenu;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.service.MenuService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Misura la memoria occupata dagli oggetti di dominio con JOL, contando tutto
+ * il grafo raggiungibile tranne i valori condivisi (date, stringhe, chef).
+ */
+public class OccupazioneMemoriaTest {
+
+    private static final int NUMERO_EVENTI = 100_000;
+    private static final int NUMERO_COPIE = 2_000;
+
+    @Test
+    @DisplayName("Test memoria occupata da 100k eventi con un servizio")
+    public void testMemoriaEventi() {
+        // Arrange - valori condivisi, esclusi dalla misura
+        LocalDate data = LocalDate.of(2025, 6, 7);
+        String nome = "Matrimonio";
+        String luogo = "Villa Aurora";
+        String tipo = "Cena";
+        LocalDateTime inizio = data.atTime(19, 0);
+        LocalDateTime fine = data.atTime(23, 0);
+        List<Object> condivisi = List.of(data, nome, luogo, tipo, inizio, fine);
+
+        List<Evento> eventi = new ArrayList<>(NUMERO_EVENTI);
+        for (int i = 0; i < NUMERO_EVENTI; i++) {
+            Evento evento = new Evento(i, nome, data, data, luogo, 100);
+            evento.aggiungiServizio(new Servizio(i, tipo, inizio, fine, luogo));
+            eventi.add(evento);
+        }
+
+        // Act
+        long totale = GraphLayout.parseInstance(eventi.toArray()).subtract(GraphLayout.parseInstance(condivisi.toArray()))
+            .totalSize();
+        long perEvento = totale / NUMERO_EVENTI;
+
+        // Assert
+        assertTrue(perEvento < 480, "Un evento con un servizio occupa " + perEvento + " byte");
+    }
+
+    @Test
+    @DisplayName("Test memoria occupata da menu e turni")
+    public void testMemoriaMenuETurni() {
+        // Arrange
+        Chef chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        LocalDate data = LocalDate.of(2025, 6, 7);
+        LocalTime inizio = LocalTime.of(8, 0);
+        LocalTime fine = LocalTime.of(12, 0);
+        Menu menu = new Menu(1, chef);
+        Turno turno = new Turno(1, data, inizio, fine, "Cucina", "Preparatorio");
+        List<Object> condivisi = List.of(chef, data, inizio, fine, "Cucina", "Preparatorio");
+
+        // Act
+        long perMenu = GraphLayout.parseInstance(menu).subtract(GraphLayout.parseInstance(condivisi.toArray()))
+            .totalSize();
+        long perTurno = GraphLayout.parseInstance(turno).subtract(GraphLayout.parseInstance(condivisi.toArray()))
+            .totalSize();
+
+        // Assert
+        assertTrue(perMenu < 240, "Un menu vuoto occupa " + perMenu + " byte");
+        assertTrue(perTurno < 100, "Un turno occupa " + perTurno + " byte");
+    }
+
+    @Test
+    @DisplayName("Test memoria occupata dalle copie di un menu modello")
+    public void testMemoriaCopieMenu() {
+        // Arrange - un modello con 4 sezioni da 10 ricette; chef e ricette sono condivisi
+        Chef chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        MenuService menuService = new MenuService();
+        Menu modello = menuService.creaNuovoMenu(chef);
+        modello.setTitolo("Matrimonio");
+        modello.definisciSezioni(List.of("Antipasti", "Primi", "Secondi", "Dessert"));
+        List<Ricetta> ricette = new ArrayList<>();
+        for (SezioneMenu sezione : modello.getSezioni()) {
+            for (int r = 0; r < 10; r++) {
+                Ricetta ricetta = new Ricetta(ricette.size(), sezione.getNome() + " " + r, chef);
+                ricette.add(ricetta);
+                modello.inserisciRicetta(ricetta, sezione);
+            }
+        }
+
+        List<Menu> copie = new ArrayList<>(NUMERO_COPIE);
+        for (int i = 0; i < NUMERO_COPIE; i++) {
+            copie.add(menuService.modificaMenuEsistente(modello, chef));
+        }
+
+        // Act - si conta anche l'indice delle ricette del servizio, raggiungibile dalle sezioni;
+        // il titolo "Copia di ..." è una stringa nuova per ogni copia ed è escluso
+        GraphLayout condivisi = GraphLayout.parseInstance(ricette.toArray()).add(GraphLayout.parseInstance(chef));
+        for (Menu copia : copie) {
+            condivisi = condivisi.add(GraphLayout.parseInstance(copia.getTitolo()));
+        }
+        long perCopia = GraphLayout.parseInstance(copie.toArray()).subtract(condivisi).totalSize() / NUMERO_COPIE;
+
+        // Assert
+        assertTrue(perCopia < 600, "Una copia del menu occupa " + perCopia + " byte");
+    }
+}
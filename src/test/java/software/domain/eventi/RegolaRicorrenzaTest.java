@@ -0,0 +1,47 @@
+package software.domain.eventi;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegolaRicorrenzaTest {
+
+    @Test
+    @DisplayName("Test calcolo diretto delle occorrenze settimanali")
+    public void testSettimanale() {
+        // Arrange - ogni due settimane a partire da lunedì 2 giugno 2025
+        LocalDate primo = LocalDate.of(2025, 6, 2);
+        RegolaRicorrenza regola = new RegolaRicorrenza(RegolaRicorrenza.Frequenza.SETTIMANALE, 2, LocalDate.of(2025, 7, 31));
+
+        // Act & Assert
+        assertEquals(LocalDate.of(2025, 6, 16), regola.occorrenza(primo, 1));
+        assertEquals(0, regola.primoIndiceDa(primo, LocalDate.of(2025, 5, 1)));
+        assertEquals(1, regola.primoIndiceDa(primo, LocalDate.of(2025, 6, 3)));
+        assertEquals(1, regola.primoIndiceDa(primo, LocalDate.of(2025, 6, 16)));
+        assertEquals(LocalDate.of(2025, 7, 28), regola.ultimaOccorrenza(primo));
+        assertNull(RegolaRicorrenza.settimanale(null).ultimaOccorrenza(primo));
+    }
+
+    @Test
+    @DisplayName("Test occorrenze mensili con mesi più corti")
+    public void testMensile() {
+        // Arrange
+        LocalDate primo = LocalDate.of(2025, 1, 31);
+        RegolaRicorrenza regola = new RegolaRicorrenza(RegolaRicorrenza.Frequenza.MENSILE, 1, null);
+
+        // Act & Assert - febbraio viene adattato, marzo torna al 31
+        assertEquals(LocalDate.of(2025, 2, 28), regola.occorrenza(primo, 1));
+        assertEquals(LocalDate.of(2025, 3, 31), regola.occorrenza(primo, 2));
+        assertEquals(2, regola.primoIndiceDa(primo, LocalDate.of(2025, 3, 1)));
+    }
+
+    @Test
+    @DisplayName("Test intervallo non valido")
+    public void testIntervalloNonValido() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new RegolaRicorrenza(RegolaRicorrenza.Frequenza.GIORNALIERA, 0, null));
+    }
+}
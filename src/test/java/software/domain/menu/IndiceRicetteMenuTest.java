@@ -0,0 +1,112 @@
+package software.domain.menu;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceRicetteMenuTest {
+
+    private Chef chef;
+    private IndiceRicetteMenu indice;
+    private Ricetta bruschetta;
+    private Ricetta risotto;
+
+    @BeforeEach
+    public void setup() {
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        indice = new IndiceRicetteMenu();
+        bruschetta = new Ricetta(1, "Bruschetta", chef);
+        risotto = new Ricetta(2, "Risotto", chef);
+    }
+
+    private Menu creaMenu(int id) {
+        Menu menu = new Menu(id, chef);
+        menu.definisciSezioni(List.of("Antipasti", "Primi"));
+        return menu;
+    }
+
+    @Test
+    @DisplayName("Test indice aggiornato da inserimenti, sostituzioni e rimozioni")
+    public void testIndiceAggiornato() {
+        // Arrange - il primo menu ha già una ricetta quando viene registrato
+        Menu pranzo = creaMenu(1);
+        Menu cena = creaMenu(2);
+        pranzo.inserisciRicetta(bruschetta, pranzo.getSezioni().get(0));
+        indice.registra(pranzo);
+        indice.registra(cena);
+
+        // Act
+        cena.inserisciRicetta(bruschetta, cena.getSezioni().get(0));
+        cena.inserisciRicetta(risotto, cena.getSezioni().get(1));
+
+        // Assert
+        assertEquals(Set.of(pranzo, cena), indice.getMenu(bruschetta));
+        assertEquals(List.of(cena.getSezioni().get(1)), indice.getSezioni(risotto));
+        assertSame(cena, indice.getMenu(cena.getSezioni().get(1)));
+        assertTrue(bruschetta.isInUso());
+        assertTrue(risotto.isInUso());
+
+        // Sostituzione attraverso la lista osservabile della sezione
+        Ricetta carbonara = new Ricetta(3, "Carbonara", chef);
+        cena.getSezioni().get(1).getRicette().set(0, carbonara);
+        assertFalse(risotto.isInUso());
+        assertEquals(Set.of(cena), indice.getMenu(carbonara));
+
+        // La ricetta resta in uso finché compare in almeno un menu
+        cena.getSezioni().get(0).rimuoviRicetta(bruschetta);
+        assertTrue(bruschetta.isInUso());
+        pranzo.definisciSezioni(List.of("Finger food"));
+        assertFalse(bruschetta.isInUso());
+        assertTrue(indice.getMenu(bruschetta).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test rimozione di un menu dall'indice")
+    public void testRimuoviMenu() {
+        // Arrange
+        Menu menu = creaMenu(1);
+        indice.registra(menu);
+        menu.inserisciRicetta(risotto, menu.getSezioni().get(1));
+        menu.inserisciRicetta(risotto, menu.getSezioni().get(1));
+
+        // Act
+        indice.rimuovi(menu);
+        menu.inserisciRicetta(bruschetta, menu.getSezioni().get(0));
+
+        // Assert - il menu non è più seguito
+        assertFalse(indice.isRegistrato(menu));
+        assertFalse(risotto.isInUso());
+        assertFalse(bruschetta.isInUso());
+        assertTrue(indice.getSezioni(risotto).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test copie di menu indicizzate senza condividere le sezioni")
+    public void testCopieIndicizzate() {
+        // Arrange
+        Menu modello = creaMenu(1);
+        modello.inserisciRicetta(risotto, modello.getSezioni().get(1));
+        Menu copia = modello.copia(2, chef);
+        indice.registra(modello);
+        indice.registra(copia);
+
+        // Act
+        modello.getSezioni().get(1).rimuoviRicetta(risotto);
+
+        // Assert
+        assertEquals(Set.of(copia), indice.getMenu(risotto));
+        assertTrue(risotto.isInUso());
+        assertThrows(IllegalArgumentException.class, () -> {
+            Menu altro = creaMenu(3);
+            altro.getSezioni().setAll(copia.getSezioni());
+            indice.registra(altro);
+        });
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -130,4 +131,21 @@ public class MenuTest {
         menu.titoloProperty().set("Nuovo Titolo");
         assertEquals("Nuovo Titolo", menu.getTitolo());
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test proprietà creata dopo le modifiche")
+    public void testProprietaCreataDopoLeModifiche() {
+        // Arrange - il titolo viene impostato prima che qualcuno osservi il menu
+        menu.setTitolo("Menu Estivo");
+        List<String> stati = new ArrayList<>();
+        menu.statoProperty().addListener((obs, vecchio, nuovo) -> stati.add(nuovo));
+        
+        // Act
+        menu.pubblica();
+        
+        // Assert
+        assertEquals("Menu Estivo", menu.titoloProperty().get());
+        assertEquals(List.of("Pubblicato"), stati);
+        assertEquals("Pubblicato", menu.getStato());
+    }
+}
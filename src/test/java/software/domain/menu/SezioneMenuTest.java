@@ -6,6 +6,8 @@ import org.junit.jupiter.api.BeforeEach;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class SezioneMenuTest {
@@ -72,4 +74,52 @@ public class SezioneMenuTest {
         sezione.nomeProperty().set("Aperitivi");
         assertEquals("Aperitivi", sezione.getNome());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test copia che condivide le ricette fino alla prima modifica")
+    public void testCopiaCondivisa() {
+        // Arrange
+        Ricetta bruschetta = new Ricetta(1, "Bruschetta", chef);
+        Ricetta caprese = new Ricetta(2, "Caprese", chef);
+        Ricetta crostini = new Ricetta(3, "Crostini", chef);
+        sezione.aggiungiRicetta(bruschetta);
+        sezione.aggiungiRicetta(caprese);
+
+        // Act
+        SezioneMenu copia = sezione.copia(5);
+
+        // Assert - la copia vede le stesse ricette senza duplicarle
+        assertEquals(5, copia.getId());
+        assertEquals("Antipasti", copia.getNome());
+        assertEquals(List.of(bruschetta, caprese), copia.getRicette());
+        assertTrue(copia.isRicetteCondivise());
+        assertTrue(sezione.isRicetteCondivise());
+
+        // Le modifiche di una sezione non si vedono nell'altra
+        copia.getRicette().set(0, crostini);
+        sezione.rimuoviRicetta(caprese);
+        sezione.getRicette().add(crostini);
+        assertFalse(copia.isRicetteCondivise());
+        assertEquals(List.of(crostini, caprese), copia.getRicette());
+        assertEquals(List.of(bruschetta, crostini), sezione.getRicette());
+    }
+
+    @Test
+    @DisplayName("Test copia di una sezione svuotata")
+    public void testCopiaSezioneSvuotata() {
+        // Arrange - la sezione svuotata conserva l'array delle ricette
+        Ricetta bruschetta = new Ricetta(1, "Bruschetta", chef);
+        Ricetta caprese = new Ricetta(2, "Caprese", chef);
+        sezione.aggiungiRicetta(bruschetta);
+        sezione.rimuoviRicetta(bruschetta);
+
+        // Act
+        SezioneMenu copia = sezione.copia(2);
+        sezione.aggiungiRicetta(bruschetta);
+        copia.aggiungiRicetta(caprese);
+
+        // Assert
+        assertEquals(List.of(bruschetta), sezione.getRicette());
+        assertEquals(List.of(caprese), copia.getRicette());
+    }
+}
@@ -3,6 +3,7 @@ package software.domain.ricette;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.io.TempDir;
+import javafx.beans.property.IntegerProperty;
 
 import java.io.*;
 import java.nio.file.Path;
@@ -109,4 +110,72 @@ public class IstruzioneTest {
         assertEquals(3, deserializzata.getOrdine()); // Ordine modificato
         assertEquals("Cuocere a fuoco lento", deserializzata.getDescrizione()); // Descrizione modificata
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test forma binaria compatta")
+    public void testFormaBinaria() throws IOException {
+        // Arrange
+        Istruzione breve = new Istruzione(1, 2, "Mescolare gli ingredienti");
+        Istruzione lunga = new Istruzione(300, 3, "Tostare il riso a fuoco vivo, poi sfumare con il vino. ".repeat(20));
+        Istruzione senzaTesto = new Istruzione(4, 4, null);
+        ByteArrayOutputStream dati = new ByteArrayOutputStream();
+        
+        // Act
+        try (DataOutputStream out = new DataOutputStream(dati)) {
+            breve.scrivi(out);
+            // id, ordine, formato e lunghezza occupano un byte ciascuno
+            assertEquals(4 + breve.getDescrizione().length(), out.size());
+            int primaDellaLunga = out.size();
+            lunga.scrivi(out);
+            // La descrizione lunga e ripetitiva viene compressa
+            assertTrue(out.size() - primaDellaLunga < lunga.getDescrizione().length() / 4);
+            senzaTesto.scrivi(out);
+        }
+        Istruzione[] lette = new Istruzione[3];
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(dati.toByteArray()))) {
+            for (int i = 0; i < lette.length; i++) {
+                lette[i] = Istruzione.leggi(in);
+            }
+        }
+        
+        // Assert
+        assertEquals(breve.getDescrizione(), lette[0].getDescrizione());
+        assertEquals(300, lette[1].getId());
+        assertEquals(lunga.getDescrizione(), lette[1].getDescrizione());
+        assertEquals(4, lette[2].getOrdine());
+        assertNull(lette[2].getDescrizione());
+    }
+    
+    @Test
+    @DisplayName("Test lunghezze non valide rifiutate prima di allocare")
+    public void testLunghezzeNonValide() {
+        // Arrange - id 1, ordine 1, formato e lunghezze dichiarate
+        byte[] negativa = { 1, 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+        byte[] enorme = { 1, 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 };
+        byte[] compressaEnorme = { 1, 1, 2, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 4, 0, 0, 0, 0 };
+        byte[] compressaPiuLunga = { 1, 1, 2, 2, 3, 0, 0, 0 };
+        
+        // Act & Assert
+        for (byte[] dati : new byte[][] { negativa, enorme, compressaEnorme, compressaPiuLunga }) {
+            assertThrows(InvalidObjectException.class,
+                () -> Istruzione.leggi(new DataInputStream(new ByteArrayInputStream(dati))));
+        }
+    }
+    
+    @Test
+    @DisplayName("Test proprietà create alla prima richiesta")
+    public void testProprietaSuRichiesta() {
+        // Arrange
+        Istruzione istruzione = new Istruzione(1, 2, "Mescolare gli ingredienti");
+        istruzione.setOrdine(5);
+        
+        // Act
+        IntegerProperty ordine = istruzione.ordineProperty();
+        istruzione.setOrdine(6);
+        
+        // Assert
+        assertSame(ordine, istruzione.ordineProperty());
+        assertEquals(6, ordine.get());
+        assertEquals(6, istruzione.getOrdine());
+    }
+}
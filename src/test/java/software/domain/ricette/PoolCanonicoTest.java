@@ -0,0 +1,96 @@
+package software.domain.ricette;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import software.domain.utenti.Chef;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoolCanonicoTest {
+
+    private static final int NUMERO_RICETTE = 100_000;
+    private static final String[] UNITA = { "g", "kg", "ml", "l", "pz", "cucchiai" };
+    private static final String[] TAG = { "Primo piatto", "Secondo piatto", "Dessert", "Vegetariano",
+                                          "Tradizionale", "Cucina romana", "Senza glutine", "Estivo" };
+
+    @Test
+    @DisplayName("Test valori uguali condividono la stessa istanza")
+    public void testIstanzaCondivisa() {
+        // Act - stringhe uguali ma distinte, come quelle lette da un file
+        Ingrediente sale = new Ingrediente(new String("Sale"), 5, new String("g"));
+        Ingrediente altroSale = new Ingrediente(" Sale ", 3, "g");
+
+        // Assert
+        assertSame(sale.getNome(), altroSale.getNome());
+        assertSame(sale.getUnitaMisura(), altroSale.getUnitaMisura());
+        assertSame(Tag.di("Primo piatto"), Tag.di(new String("Primo piatto")));
+    }
+
+    @Test
+    @DisplayName("Test tag condiviso non modificabile")
+    public void testTagCondivisoNonModificabile() {
+        // Arrange
+        Tag condiviso = Tag.di("Tradizionale");
+        Tag personale = new Tag("Tradizionale");
+
+        // Act & Assert
+        assertTrue(condiviso.isCondiviso());
+        assertThrows(UnsupportedOperationException.class, () -> condiviso.setColore("rosso"));
+        personale.setColore("rosso");
+        assertEquals(condiviso, personale);
+        assertThrows(IllegalArgumentException.class, () -> Tag.di(" "));
+    }
+
+    @Test
+    @org.junit.jupiter.api.Tag("gc")
+    @DisplayName("Test valori non più usati rimossi dal pool")
+    public void testRiferimentiDeboli() throws InterruptedException {
+        // Arrange
+        PoolCanonico<String> pool = new PoolCanonico<>();
+        ReferenceQueue<String> coda = new ReferenceQueue<>();
+        WeakReference<String> riferimento = new WeakReference<>(pool.canonico(new String("Zafferano")), coda);
+
+        // Act - il pool da solo non deve tenere in vita il valore
+        boolean raccolto = RaccoltaMemoria.attendi(coda);
+
+        // Assert
+        assertTrue(raccolto, "Il valore non è stato raccolto");
+        assertNull(riferimento.get());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    @DisplayName("Test memoria occupata da un catalogo di 100k ricette")
+    public void testMemoriaCatalogo() {
+        // Arrange - i valori vengono ricreati per ogni ricetta, come se fossero letti da un archivio
+        Chef chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        List<Ricetta> catalogo = new ArrayList<>(NUMERO_RICETTE);
+        for (int i = 0; i < NUMERO_RICETTE; i++) {
+            Ricetta ricetta = new Ricetta(i, "Ricetta " + i, chef);
+            for (int k = 0; k < 8; k++) {
+                int voce = (i * 7 + k * 31) % 200;
+                ricetta.aggiungiIngrediente(new Ingrediente("Ingrediente " + voce, k + 1, new String(UNITA[voce % UNITA.length])));
+            }
+            for (int k = 0; k < 3; k++) {
+                ricetta.aggiungiTag(Tag.di(new String(TAG[(i + k) % TAG.length])));
+            }
+            catalogo.add(ricetta);
+        }
+
+        // Act
+        long totale = GraphLayout.parseInstance(catalogo.toArray()).subtract(GraphLayout.parseInstance(chef))
+            .totalSize();
+        long perRicetta = totale / NUMERO_RICETTE;
+
+        // Assert - misurati circa 460 byte con riferimenti compressi e 620 senza
+        long limite = VM.current().sizeOfField("object") == 4 ? 600 : 800;
+        assertTrue(perRicetta < limite, "Una ricetta occupa " + perRicetta + " byte");
+    }
+}
@@ -0,0 +1,38 @@
+package software.domain.ricette;
+
+import java.lang.ref.ReferenceQueue;
+
+/**
+ * Attesa limitata della raccolta di un oggetto, per i test che dipendono dal garbage collector.
+ * {@code System.gc()} è solo un suggerimento: oltre a chiederlo si alloca un po' di memoria,
+ * così anche un collector che lo ignora prima o poi deve fare un giro.
+ */
+final class RaccoltaMemoria {
+    private static final int TENTATIVI = 50;
+    private static final int BLOCCHI_PER_TENTATIVO = 16;
+    private static final int DIMENSIONE_BLOCCO = 1 << 20;
+
+    // Impedisce al compilatore di eliminare le allocazioni
+    private static volatile Object zavorra;
+
+    private RaccoltaMemoria() {
+    }
+
+    /**
+     * Attende che un riferimento registrato sulla coda venga accodato, per al più qualche secondo.
+     * @return true se il riferimento è stato accodato
+     */
+    static boolean attendi(ReferenceQueue<?> coda) throws InterruptedException {
+        for (int i = 0; i < TENTATIVI; i++) {
+            for (int k = 0; k < BLOCCHI_PER_TENTATIVO; k++) {
+                zavorra = new byte[DIMENSIONE_BLOCCO];
+            }
+            zavorra = null;
+            System.gc();
+            if (coda.remove(100) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
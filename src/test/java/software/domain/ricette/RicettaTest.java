@@ -5,6 +5,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 import software.domain.utenti.Chef;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RicettaTest {
@@ -122,4 +129,106 @@ public class RicettaTest {
         assertTrue(result.contains("nome='Carbonara'"));
         assertTrue(result.contains("stato='Bozza'"));
     }
-} 
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test ingredienti memorizzati per colonne")
+    public void testIngredientiPerColonne() {
+        // Arrange
+        Ingrediente pasta = new Ingrediente("Pasta", 350, "g");
+        Ingrediente guanciale = new Ingrediente("Guanciale", 150, "g");
+        guanciale.setIngredienteBase(true);
+        Ingrediente uova = new Ingrediente("Uova", 4, "pz");
+        ricetta.aggiungiIngrediente(pasta);
+        ricetta.aggiungiIngrediente(guanciale);
+        ricetta.aggiungiIngrediente(uova);
+        
+        // Act
+        ricetta.rimuoviIngrediente(0);
+        ricetta.sostituisciIngrediente(1, new Ingrediente("Uova", 5, "pz"));
+        double[] grammi = new double[1];
+        ricetta.accumulaIngredienti(2, (nome, unita, quantita) -> {
+            if (unita == DizionarioIngredienti.cercaCodice("g")) {
+                grammi[0] += quantita;
+            }
+        });
+        
+        // Assert
+        assertEquals(2, ricetta.getNumeroIngredienti());
+        assertTrue(ricetta.isIngredienteBase(0));
+        assertFalse(ricetta.isIngredienteBase(1));
+        assertEquals("Guanciale", DizionarioIngredienti.valore(ricetta.getCodiceNomeIngrediente(0)));
+        assertEquals(5, ricetta.getDoseIngrediente(1));
+        assertEquals(guanciale, ricetta.getIngredienti().get(0));
+        assertEquals(300, grammi[0]);
+        assertThrows(UnsupportedOperationException.class, () -> ricetta.getIngredienti().add(pasta));
+        assertThrows(IndexOutOfBoundsException.class, () -> ricetta.getDoseIngrediente(2));
+    }
+    
+    @Test
+    @DisplayName("Test serializzazione degli ingredienti")
+    public void testSerializzazioneIngredienti() throws Exception {
+        // Arrange
+        ricetta.aggiungiIngrediente(new Ingrediente("Pecorino Romano", 100, "g"));
+        ricetta.aggiungiIngrediente(new Ingrediente("Pepe nero", 5, "g"));
+        ByteArrayOutputStream dati = new ByteArrayOutputStream();
+        
+        // Act
+        try (ObjectOutputStream out = new ObjectOutputStream(dati)) {
+            out.writeObject(ricetta);
+        }
+        Ricetta copia;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(dati.toByteArray()))) {
+            copia = (Ricetta) in.readObject();
+        }
+        
+        // Assert
+        assertEquals(ricetta.getIngredienti(), copia.getIngredienti());
+        assertSame(ricetta.getIngredienti().get(0).getNome(), copia.getIngredienti().get(0).getNome());
+    }
+    
+    @Test
+    @DisplayName("Test ingredienti letti dalla ricetta in sola lettura")
+    public void testIngredientiInSolaLettura() {
+        // Arrange
+        ricetta.aggiungiIngrediente(new Ingrediente("Pasta", 350, "g"));
+        Ingrediente letto = ricetta.getIngredienti().get(0);
+        
+        // Act & Assert - una modifica andrebbe persa, perché l'ingrediente è ricreato a ogni lettura
+        assertTrue(letto.isSolaLettura());
+        assertThrows(UnsupportedOperationException.class, () -> letto.setDose(400));
+        assertThrows(UnsupportedOperationException.class, () -> letto.setIngredienteBase(true));
+        Ingrediente modificato = letto.clone();
+        modificato.setDose(400);
+        ricetta.sostituisciIngrediente(0, modificato);
+        assertEquals(400, ricetta.getIngredienti().get(0).getDose());
+    }
+    
+    @Test
+    @org.junit.jupiter.api.Tag("gc")
+    @DisplayName("Test codici degli ingredienti rilasciati quando non più usati")
+    public void testRilascioCodici() throws InterruptedException {
+        // Arrange
+        ricetta.aggiungiIngrediente(new Ingrediente("Bottarga di muggine", 30, "g"));
+        ricetta.aggiungiIngrediente(new Ingrediente("Pasta", 350, "g"));
+        Ricetta altra = new Ricetta(2, "Spaghetti alla bottarga", chef);
+        altra.aggiungiIngrediente(new Ingrediente("Colatura di alici", 10, "ml"));
+        
+        // Act & Assert - rimozione esplicita
+        assertTrue(DizionarioIngredienti.cercaCodice("Bottarga di muggine") >= 0);
+        ricetta.rimuoviIngrediente(0);
+        assertEquals(-1, DizionarioIngredienti.cercaCodice("Bottarga di muggine"));
+        assertEquals("Pasta", ricetta.getIngredienti().get(0).getNome());
+        
+        // Act & Assert - ricetta raccolta dal garbage collector
+        ReferenceQueue<Ricetta> coda = new ReferenceQueue<>();
+        WeakReference<Ricetta> riferimento = new WeakReference<>(altra, coda);
+        altra = null;
+        assertTrue(RaccoltaMemoria.attendi(coda), "La ricetta non è stata raccolta");
+        // Il rilascio avviene poco dopo, nel thread del Cleaner
+        for (int i = 0; i < 100 && DizionarioIngredienti.cercaCodice("Colatura di alici") >= 0; i++) {
+            Thread.sleep(10);
+        }
+        assertNull(riferimento.get());
+        assertEquals(-1, DizionarioIngredienti.cercaCodice("Colatura di alici"));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
 import software.domain.compiti.Compito;
+import software.domain.compiti.StatoCompito;
 import software.domain.menu.Menu;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
@@ -104,14 +105,14 @@ public class MenuCompitiIntegrationTest {
         
         // Verifica che tutti i compiti siano stati pianificati
         for (Compito compito : compiti) {
-            assertEquals("Pianificato", compito.getStato());
+            assertEquals(StatoCompito.PIANIFICATO, compito.getStato());
         }
         
         // FASE 3: Monitoraggio dell'avanzamento
         
         // Simula l'avanzamento dei compiti
-        compiti.get(0).setStato("Completato"); // Bruschetta completata
-        compiti.get(3).setStato("Completato"); // Tiramisù completato
+        compiti.get(0).setStato(StatoCompito.COMPLETATO); // Bruschetta completata
+        compiti.get(3).setStato(StatoCompito.COMPLETATO); // Tiramisù completato
         
         // Monitora l'avanzamento
         int percentualeCompletamento = compitiService.monitoraAvanzamento(compiti);
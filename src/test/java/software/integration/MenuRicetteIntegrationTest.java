@@ -0,0 +1,61 @@
+package software.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.domain.exceptions.DomainException;
+import software.domain.menu.Menu;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.service.MenuService;
+import software.service.RicettaService;
+import software.service.persistence.InMemoryRepository;
+import software.ui.viewmodels.RicettaViewModel;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test di integrazione tra menu e catalogo delle ricette: l'uso di una ricetta nei menu
+ * si riflette subito sulle viste del catalogo.
+ */
+public class MenuRicetteIntegrationTest {
+
+    private MenuService menuService;
+    private RicettaService ricettaService;
+    private Chef chef;
+
+    @BeforeEach
+    public void setup() {
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        ricettaService = new RicettaService(new InMemoryRepository<>("integrazione-menu-ricette", Ricetta.class, "id"));
+        menuService = new MenuService();
+        menuService.setOsservatoreUsoRicette(ricettaService::usoCambiato);
+    }
+
+    @Test
+    @DisplayName("Test ricette in uso aggiornate dai menu")
+    public void testRicetteInUso() {
+        // Arrange
+        Ricetta risotto = ricettaService.creaRicetta("Risotto", chef);
+        RicettaViewModel viewModel = ricettaService.getViewModel(risotto);
+        Menu menu = menuService.creaNuovoMenu(chef);
+        menu.definisciSezioni(List.of("Primi"));
+
+        // Act
+        menu.inserisciRicetta(risotto, menu.getSezioni().get(0));
+
+        // Assert
+        assertTrue(risotto.isInUso());
+        assertEquals(List.of(risotto), ricettaService.getRicetteInUso());
+        assertTrue(viewModel.inUsoProperty().get());
+        assertThrows(DomainException.class, () -> ricettaService.eliminaRicetta(risotto));
+
+        // Eliminare il menu libera la ricetta
+        menuService.eliminaMenu(menu);
+        assertTrue(ricettaService.getRicetteInUso().isEmpty());
+        assertFalse(viewModel.inUsoProperty().get());
+        ricettaService.eliminaRicetta(risotto);
+    }
+}
@@ -3,7 +3,10 @@ package software.service;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import software.domain.compiti.AssegnazioneCompito;
 import software.domain.compiti.Compito;
+import software.domain.compiti.StatoCompito;
+import software.domain.exceptions.DomainException;
 import software.domain.menu.Menu;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
@@ -94,6 +97,47 @@ public class CompitiCucinaServiceTest {
         assertEquals(10, compitoAggiornato.getQuantita());
     }
     
+    @Test
+    @DisplayName("Test assegnazione di più compiti in un'unica operazione")
+    public void testAssegnaCompiti() {
+        // Arrange
+        Menu menu = menuService.creaNuovoMenu(chef);
+        menu.definisciSezioni(Arrays.asList("Antipasti"));
+        menu.inserisciRicetta(new Ricetta(1, "Bruschetta", chef), menu.getSezioni().get(0));
+        menu.inserisciRicetta(new Ricetta(2, "Caprese", chef), menu.getSezioni().get(0));
+        List<Compito> compiti = compitiService.creaRiepilogoCompiti(menu);
+        
+        // Act
+        List<Compito> aggiornati = compitiService.assegnaCompiti(Arrays.asList(
+            new AssegnazioneCompito(compiti.get(0).getId(), cuoco, "Mattina", 30, 10),
+            new AssegnazioneCompito(compiti.get(1).getId(), cuoco, "Pomeriggio", 20, 5)));
+        
+        // Assert
+        assertEquals(compiti, aggiornati);
+        assertEquals("Mattina", compiti.get(0).getTurno());
+        assertEquals(20, compiti.get(1).getDurata());
+        assertEquals(cuoco, compitiService.getCompitoById(compiti.get(1).getId()).getCuocoAssegnato());
+    }
+    
+    @Test
+    @DisplayName("Test assegnazione multipla rifiutata per intero se una richiesta non è valida")
+    public void testAssegnaCompitiNonValidi() {
+        // Arrange
+        Menu menu = menuService.creaNuovoMenu(chef);
+        menu.definisciSezioni(Arrays.asList("Antipasti"));
+        menu.inserisciRicetta(new Ricetta(1, "Bruschetta", chef), menu.getSezioni().get(0));
+        Compito compito = compitiService.creaRiepilogoCompiti(menu).get(0);
+        
+        // Act & Assert - compito duplicato e compito inesistente
+        DomainException e = assertThrows(DomainException.class, () -> compitiService.assegnaCompiti(Arrays.asList(
+            new AssegnazioneCompito(compito.getId(), cuoco, "Mattina", 30, 10),
+            new AssegnazioneCompito(compito.getId(), cuoco, "Sera", 30, 10),
+            new AssegnazioneCompito(999, cuoco, "Mattina", 30, 10))));
+        assertTrue(e.getMessage().contains("più volte"));
+        assertTrue(e.getMessage().contains("999"));
+        assertNull(compito.getCuocoAssegnato(), "Nessuna assegnazione deve essere applicata");
+    }
+    
     @Test
     @DisplayName("Test ordinamento compiti per importanza")
     public void testOrdinaCompiti() {
@@ -148,7 +192,7 @@ public class CompitiCucinaServiceTest {
         compitiService.finalizzaPiano(compiti);
         
         // Assert
-        assertEquals("Pianificato", compito.getStato(), "Lo stato del compito dovrebbe essere Pianificato");
+        assertEquals(StatoCompito.PIANIFICATO, compito.getStato(), "Lo stato del compito dovrebbe essere Pianificato");
     }
     
     @Test
@@ -187,14 +231,15 @@ public class CompitiCucinaServiceTest {
         List<Compito> compiti = compitiService.creaRiepilogoCompiti(menu);
         
         // Assegna stati ai compiti
-        compiti.get(0).setStato("Completato");
-        compiti.get(1).setStato("In corso");
-        compiti.get(2).setStato("Da iniziare");
+        compiti.get(0).setStato(StatoCompito.COMPLETATO);
+        compiti.get(1).setStato(StatoCompito.IN_CORSO);
+        compiti.get(2).setStato(StatoCompito.DA_INIZIARE);
         
         // Act
         int percentualeCompletamento = compitiService.monitoraAvanzamento(compiti);
         
         // Assert
         assertEquals(33, percentualeCompletamento, "La percentuale di completamento dovrebbe essere circa 33%");
+        assertEquals(33, compitiService.monitoraAvanzamento(), "I contatori incrementali devono dare lo stesso risultato");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,88 @@
+package software.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.domain.compiti.Compito;
+import software.domain.eventi.Evento;
+import software.domain.eventi.Servizio;
+import software.domain.menu.Menu;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.domain.utenti.Cuoco;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompitoCucinaServiceTest {
+
+    private CompitoCucinaService service;
+    private Chef chef;
+    private Cuoco cuoco;
+    private LocalDate data;
+
+    @BeforeEach
+    public void setup() {
+        service = new CompitoCucinaService();
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        cuoco = new Cuoco(2, "Luigi", "Verdi", "luigi@example.com", "987654321");
+        data = LocalDate.of(2025, 6, 7);
+    }
+
+    private Evento creaEvento(int id, Ricetta... ricette) {
+        Evento evento = new Evento(id, "Evento " + id, data, data, "Villa Aurora", 50);
+        Servizio servizio = new Servizio(id, "Cena", data.atTime(19, 0), data.atTime(23, 0), "Sala");
+        if (ricette.length > 0) {
+            Menu menu = new Menu(id, chef);
+            menu.definisciSezioni(List.of("Portate"));
+            for (Ricetta ricetta : ricette) {
+                menu.inserisciRicetta(ricetta, menu.getSezioni().get(0));
+            }
+            servizio.setMenu(menu);
+        }
+        evento.aggiungiServizio(servizio);
+        return evento;
+    }
+
+    @Test
+    @DisplayName("Test riepilogo di un evento senza ricette")
+    public void testRiepilogoEventoSenzaRicette() {
+        // Arrange
+        Ricetta risotto = new Ricetta(1, "Risotto", chef);
+        Compito compito = service.assegnaCompito(chef, cuoco, "Mattina", risotto, 30, 1);
+        Evento matrimonio = creaEvento(1, risotto);
+        Evento vuoto = creaEvento(2);
+        service.creaRiepilogoCompiti(matrimonio);
+
+        // Act
+        List<Compito> compitiVuoto = service.creaRiepilogoCompiti(vuoto);
+
+        // Assert - senza ricette si mostrano tutti i compiti, ma restano associati al loro evento
+        assertEquals(List.of(compito), compitiVuoto);
+        assertEquals(List.of(compito), service.creaRiepilogoCompiti(matrimonio));
+        assertEquals(1, service.getAvanzamentoEvento(matrimonio).getTotale());
+        assertEquals(0, service.getAvanzamentoEvento(vuoto).getTotale());
+    }
+
+    @Test
+    @DisplayName("Test analisi del piano senza modificare il monitor di avanzamento")
+    public void testAnalisiSenzaAssociare() {
+        // Arrange
+        Ricetta risotto = new Ricetta(1, "Risotto", chef);
+        Compito compito = service.assegnaCompito(chef, cuoco, "Mattina", risotto, 30, 1);
+        Evento matrimonio = creaEvento(1, risotto);
+        Evento vuoto = creaEvento(2);
+
+        // Act
+        service.calcolaPercorsoCritico(matrimonio);
+        service.simulaPiano(matrimonio);
+
+        // Assert - le analisi usano solo i compiti delle ricette, senza il ripiego dimostrativo
+        assertEquals(0, service.getAvanzamentoEvento(matrimonio).getTotale());
+        assertEquals(List.of(compito), service.calcolaRiepilogoCompiti(service.getRicetteEvento(matrimonio), service.getCompiti()));
+        assertTrue(service.calcolaPercorsoCritico(vuoto).getCompiti().isEmpty());
+        assertEquals(0, service.getAvanzamentoEvento(vuoto).getTotale());
+    }
+}
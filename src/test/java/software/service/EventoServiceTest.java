@@ -0,0 +1,115 @@
+package software.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import software.domain.eventi.Evento;
+import software.domain.eventi.RegolaRicorrenza;
+import software.domain.eventi.Servizio;
+import software.service.calendario.OccorrenzaEvento;
+import software.service.calendario.OccorrenzaServizio;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventoServiceTest {
+
+    private EventoService eventoService;
+    private LocalDate sabato;
+    private Evento matrimonio;
+    private Evento conferenza;
+    private Servizio cena;
+
+    @BeforeEach
+    public void setup() {
+        eventoService = new EventoService();
+        sabato = LocalDate.of(2025, 6, 7);
+        matrimonio = eventoService.creaEvento("Matrimonio Bianchi", sabato, sabato, "Villa Aurora", 120);
+        conferenza = eventoService.creaEvento("Conferenza", sabato.minusDays(2), sabato.minusDays(1), "Hotel", 80);
+        eventoService.creaServizio(matrimonio, "Pranzo", sabato.atTime(12, 30), sabato.atTime(16, 30), "Sala");
+        cena = eventoService.creaServizio(matrimonio, "Cena", sabato.atTime(19, 0), sabato.atTime(23, 0), "Giardino");
+    }
+
+    @Test
+    @DisplayName("Test eventi nel periodo con estremi inclusi")
+    public void testEventiNelPeriodo() {
+        // Act & Assert
+        assertEquals(List.of(conferenza, matrimonio), eventoService.getEventiNelPeriodo(sabato.minusDays(1), sabato));
+        assertEquals(List.of(matrimonio), eventoService.getEventiNelPeriodo(sabato, sabato.plusDays(7)));
+        assertTrue(eventoService.getEventiNelPeriodo(sabato.plusDays(1), sabato.plusDays(7)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test servizi sovrapposti alla sera del sabato")
+    public void testServiziSovrapposti() {
+        // Act
+        List<Servizio> sera = eventoService.getServiziSovrapposti(sabato.atTime(16, 30), sabato.atTime(22, 0));
+
+        // Assert - il pranzo finisce esattamente alle 16:30 e non è incluso
+        assertEquals(List.of(cena), sera);
+        assertSame(matrimonio, eventoService.getCalendario().getEventoDelServizio(cena));
+    }
+
+    @Test
+    @DisplayName("Test aggiornamento del calendario alla modifica di eventi e servizi")
+    public void testAggiornamentoIncrementale() {
+        // Act - la cena viene anticipata e il matrimonio spostato di una settimana
+        cena.setDataOraInizio(sabato.atTime(17, 0));
+        LocalDateTime sabatoDopo = sabato.plusDays(7).atStartOfDay();
+        assertEquals(List.of(cena), eventoService.getServiziSovrapposti(sabato.atTime(16, 30), sabato.atTime(17, 30)));
+
+        matrimonio.setDataInizio(sabato.plusDays(7));
+        matrimonio.setDataFine(sabato.plusDays(7));
+        matrimonio.getServizi().remove(cena);
+        eventoService.getEventi().remove(conferenza);
+
+        // Assert
+        assertTrue(eventoService.getEventiNelPeriodo(sabato.minusDays(2), sabato).isEmpty());
+        assertEquals(List.of(matrimonio), eventoService.getEventiNelPeriodo(sabatoDopo.toLocalDate(), sabatoDopo.toLocalDate()));
+        assertTrue(eventoService.getServiziSovrapposti(sabato.atTime(17, 0), sabato.atTime(23, 0)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test occorrenze virtuali di un evento ricorrente senza fine")
+    public void testEventoRicorrente() {
+        // Arrange - pranzo aziendale ogni lunedì per sempre
+        LocalDate lunedi = LocalDate.of(2025, 6, 2);
+        Evento pranzo = eventoService.creaEvento("Pranzo aziendale", lunedi, lunedi, "Sede ACME", 40);
+        Servizio buffet = eventoService.creaServizio(pranzo, "Buffet", lunedi.atTime(12, 0), lunedi.atTime(14, 0), "Mensa");
+        pranzo.setRegolaRicorrenza(RegolaRicorrenza.settimanale(null));
+
+        // Act - dieci anni dopo
+        LocalDate lunediLontano = lunedi.plusWeeks(520);
+        List<OccorrenzaEvento> occorrenze = eventoService.getOccorrenzeNelPeriodo(lunediLontano.minusDays(1), lunediLontano.plusDays(7));
+        List<OccorrenzaServizio> servizi = eventoService.getCalendario()
+            .getOccorrenzeServizi(lunediLontano.atTime(13, 0), lunediLontano.atTime(13, 30));
+
+        // Assert
+        assertTrue(pranzo.isRicorrente());
+        assertEquals(2, occorrenze.size());
+        assertEquals(520, occorrenze.get(0).getIndice());
+        assertEquals(lunediLontano.plusWeeks(1), occorrenze.get(1).getDataInizio());
+        assertEquals(1, servizi.size());
+        assertSame(buffet, servizi.get(0).getServizio());
+        assertEquals(lunediLontano.atTime(12, 0), servizi.get(0).getDataOraInizio());
+        assertEquals(List.of(pranzo), eventoService.getEventiNelPeriodo(lunediLontano, lunediLontano));
+        assertTrue(eventoService.getEventiNelPeriodo(lunediLontano.plusDays(1), lunediLontano.plusDays(6)).isEmpty());
+        assertTrue(eventoService.getServiziSovrapposti(lunediLontano.atTime(15, 0), lunediLontano.atTime(23, 0)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test fine di una serie e ritorno a evento singolo")
+    public void testFineSerie() {
+        // Arrange
+        matrimonio.setRegolaRicorrenza(new RegolaRicorrenza(RegolaRicorrenza.Frequenza.GIORNALIERA, 1, sabato.plusDays(2)));
+
+        // Act & Assert
+        assertEquals(3, eventoService.getOccorrenzeNelPeriodo(sabato, sabato.plusDays(30)).size());
+        matrimonio.setRegolaRicorrenza(null);
+        assertFalse(matrimonio.isRicorrente());
+        assertEquals(1, eventoService.getOccorrenzeNelPeriodo(sabato, sabato.plusDays(30)).size());
+    }
+}
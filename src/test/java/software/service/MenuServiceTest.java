@@ -8,6 +8,7 @@ import software.domain.menu.SezioneMenu;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -129,6 +130,32 @@ public class MenuServiceTest {
         assertEquals(ricetta, menuModificato.getSezioni().get(0).getRicette().get(0));
     }
     
+    @Test
+    @DisplayName("Test modificaMenuEsistente indipendente dall'originale")
+    public void testModificaMenuEsistenteIndipendente() {
+        // Arrange
+        Menu menu = menuService.creaNuovoMenu(chef);
+        menu.definisciSezioni(Arrays.asList("Antipasti", "Primi"));
+        menu.annotaInformazioni("Senza lattosio");
+        Ricetta bruschetta = new Ricetta(1, "Bruschetta", chef);
+        Ricetta risotto = new Ricetta(2, "Risotto", chef);
+        menu.inserisciRicetta(bruschetta, menu.getSezioni().get(0));
+        menu.inserisciRicetta(risotto, menu.getSezioni().get(1));
+        Menu copia = menuService.modificaMenuEsistente(menu, chef);
+
+        // Act
+        copia.getSezioni().get(0).rimuoviRicetta(bruschetta);
+        menu.inserisciRicetta(new Ricetta(3, "Carbonara", chef), menu.getSezioni().get(1));
+
+        // Assert
+        assertEquals("Senza lattosio", copia.getNote());
+        assertNotSame(menu.getSezioni().get(0), copia.getSezioni().get(0));
+        assertEquals(List.of(bruschetta), menu.getSezioni().get(0).getRicette());
+        assertTrue(copia.getSezioni().get(0).getRicette().isEmpty());
+        assertEquals(List.of(risotto), copia.getSezioni().get(1).getRicette());
+        assertEquals(2, menu.getSezioni().get(1).getRicette().size());
+    }
+    
     @Test
     @DisplayName("Test pubblicaMenu")
     public void testPubblicaMenu() {
@@ -218,6 +245,85 @@ public class MenuServiceTest {
         assertEquals(nuovaRicetta, menu.getSezioni().get(0).getRicette().get(0));
     }
 
+    @Test
+    @DisplayName("Test sostituzione di una ricetta in tutti i menu")
+    public void testSostituisciRicetta() {
+        // Arrange
+        Ricetta bruschetta = new Ricetta(1, "Bruschetta", chef);
+        Ricetta bruschettaGourmet = new Ricetta(2, "Bruschetta Gourmet", chef);
+        Menu pranzo = menuService.creaNuovoMenu(chef);
+        pranzo.definisciSezioni(Arrays.asList("Antipasti"));
+        pranzo.inserisciRicetta(bruschetta, pranzo.getSezioni().get(0));
+        Menu cena = menuService.modificaMenuEsistente(pranzo, chef);
+        cena.inserisciRicetta(bruschetta, cena.getSezioni().get(0));
+        menuService.pubblicaMenu(cena, "PDF", List.of());
+        
+        // Act
+        List<Menu> pubblicati = menuService.getMenuPubblicatiConRicetta(bruschetta);
+        int sostituite = menuService.sostituisciRicetta(bruschetta, bruschettaGourmet);
+        
+        // Assert
+        assertEquals(List.of(cena), pubblicati);
+        assertEquals(3, sostituite);
+        assertEquals(List.of(bruschettaGourmet), pranzo.getSezioni().get(0).getRicette());
+        assertEquals(List.of(bruschettaGourmet, bruschettaGourmet), cena.getSezioni().get(0).getRicette());
+        assertFalse(bruschetta.isInUso());
+        assertTrue(bruschettaGourmet.isInUso());
+        assertTrue(menuService.getMenuConRicetta(bruschetta).isEmpty());
+        
+        // Eliminare un menu libera le sue ricette
+        menuService.eliminaMenu(pranzo);
+        assertTrue(bruschettaGourmet.isInUso());
+        menuService.eliminaMenu(cena);
+        assertFalse(bruschettaGourmet.isInUso());
+    }
+
+    @Test
+    @DisplayName("Test sostituzione con una ricetta uguale presente più volte")
+    public void testSostituisciRicettaUguale() {
+        // Arrange - stessa ricetta due volte nella stessa sezione
+        Ricetta bruschetta = new Ricetta(1, "Bruschetta", chef);
+        Ricetta bruschettaAggiornata = new Ricetta(1, "Bruschetta al pomodoro", chef);
+        Menu menu = menuService.creaNuovoMenu(chef);
+        menu.definisciSezioni(Arrays.asList("Antipasti"));
+        menu.inserisciRicetta(bruschetta, menu.getSezioni().get(0));
+        menu.inserisciRicetta(bruschetta, menu.getSezioni().get(0));
+        List<Ricetta> notificate = new ArrayList<>();
+        menuService.setOsservatoreUsoRicette(notificate::add);
+        
+        // Act
+        int sostituite = menuService.sostituisciRicetta(bruschetta, bruschettaAggiornata);
+        
+        // Assert - entrambe le occorrenze puntano alla nuova istanza
+        assertEquals(2, sostituite);
+        List<Ricetta> ricette = menu.getSezioni().get(0).getRicette();
+        assertSame(bruschettaAggiornata, ricette.get(0));
+        assertSame(bruschettaAggiornata, ricette.get(1));
+        assertTrue(bruschettaAggiornata.isInUso());
+        // Solo la nuova istanza passa in uso, una volta
+        assertEquals(List.of(bruschettaAggiornata), notificate);
+    }
+
+    @Test
+    @DisplayName("Test modificaRicetta sostituisce nella prima sezione del menu")
+    public void testModificaRicettaOrdineSezioni() {
+        // Arrange - la ricetta entra prima nella seconda sezione
+        Ricetta bruschetta = new Ricetta(1, "Bruschetta", chef);
+        Ricetta bruschettaGourmet = new Ricetta(2, "Bruschetta Gourmet", chef);
+        Menu menu = menuService.creaNuovoMenu(chef);
+        menu.definisciSezioni(Arrays.asList("Antipasti", "Finger food"));
+        menu.inserisciRicetta(bruschetta, menu.getSezioni().get(1));
+        menu.inserisciRicetta(bruschetta, menu.getSezioni().get(0));
+        
+        // Act
+        boolean risultato = menuService.modificaRicetta(menu, bruschetta, bruschettaGourmet);
+        
+        // Assert
+        assertTrue(risultato);
+        assertEquals(List.of(bruschettaGourmet), menu.getSezioni().get(0).getRicette());
+        assertEquals(List.of(bruschetta), menu.getSezioni().get(1).getRicette());
+    }
+
     @Test
     @DisplayName("Test modificaRicetta con ricetta non presente")
     public void testModificaRicettaNonPresente() {
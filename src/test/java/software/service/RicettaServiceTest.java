@@ -3,7 +3,9 @@ package software.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import javafx.collections.ListChangeListener;
 import software.domain.exceptions.DomainException;
+import software.domain.ricette.Ingrediente;
 import software.domain.ricette.Ricetta;
 import software.domain.utenti.Chef;
 import software.service.persistence.InMemoryRepository;
@@ -137,6 +139,93 @@ public class RicettaServiceTest {
         assertEquals("Nuova descrizione", ricettaSalvata.getDescrizione());
     }
     
+    @Test
+    @DisplayName("Test aggiornamento del ViewModel sul posto")
+    public void testAggiornaRicettaViewModelSulPosto() {
+        // Arrange
+        Ricetta ricetta = ricettaService.creaRicetta("Carbonara", testChef);
+        ricetta.aggiungiIngrediente(new Ingrediente("Guanciale", 150, "g"));
+        ricettaService.aggiornaRicetta(ricetta);
+        RicettaViewModel viewModel = ricettaService.getViewModel(ricetta);
+        List<String> modifiche = new ArrayList<>();
+        ricettaService.getRicetteViewModel().addListener((ListChangeListener<RicettaViewModel>) c -> {
+            while (c.next()) {
+                modifiche.add(c.wasReplaced() ? "sostituita" : c.toString());
+            }
+        });
+        viewModel.getIngredienti().addListener((ListChangeListener<Ingrediente>) c -> {
+            while (c.next()) {
+                modifiche.add(c.wasAdded() ? "ingrediente " + c.getAddedSubList().get(0).getNome() : c.toString());
+            }
+        });
+        
+        // Act
+        ricetta.setNome("Carbonara classica");
+        ricetta.aggiungiIngrediente(new Ingrediente("Pecorino", 50, "g"));
+        ricettaService.aggiornaRicetta(ricetta);
+        
+        // Assert - stesso ViewModel, aggiornato con le sole differenze
+        assertSame(viewModel, ricettaService.getViewModel(ricetta));
+        assertEquals("Carbonara classica", viewModel.nomeProperty().get());
+        assertEquals(2, viewModel.getIngredienti().size());
+        assertEquals(List.of("ingrediente Pecorino", "sostituita"), modifiche);
+    }
+    
+    @Test
+    @DisplayName("Test ViewModel creati solo su richiesta e in numero limitato")
+    public void testViewModelSuRichiesta() {
+        // Arrange
+        int numeroRicette = RicettaService.CAPACITA_CACHE_VIEW_MODEL * 2;
+        InMemoryRepository<Ricetta, Integer> catalogo =
+            new InMemoryRepository<>("test-catalogo-ricette", Ricetta.class, "id");
+        for (int i = 0; i < numeroRicette; i++) {
+            catalogo.save(new Ricetta(0, "Ricetta " + i, testChef));
+        }
+        RicettaService servizio = new RicettaService(catalogo);
+        
+        // Assert - nessun ViewModel creato all'avvio
+        assertTrue(servizio.getRicetteViewModel().size() >= numeroRicette);
+        assertEquals(0, servizio.getNumeroViewModelInCache());
+        
+        // Act - una riga mostrata due volte usa lo stesso ViewModel
+        RicettaViewModel riga = servizio.getRicetteViewModel().get(3);
+        assertSame(riga, servizio.getRicetteViewModel().get(3));
+        assertEquals(1, servizio.getNumeroViewModelInCache());
+        
+        // Act - scorrere tutto il catalogo non supera la capacità della cache
+        servizio.getRicetteViewModel().forEach(vm -> assertNotNull(vm.getRicetta()));
+        assertEquals(RicettaService.CAPACITA_CACHE_VIEW_MODEL, servizio.getNumeroViewModelInCache());
+        assertSame(riga, servizio.getViewModel(riga.getRicetta()), "Un ViewModel ancora in uso non viene duplicato");
+    }
+    
+    @Test
+    @DisplayName("Test viste per stato aggiornate a ogni modifica")
+    public void testVistePerStato() {
+        // Arrange
+        var pubblicate = ricettaService.getRicettePubblicate();
+        var inBozza = ricettaService.getRicetteInBozza();
+        var inUso = ricettaService.getRicetteInUso();
+        Ricetta carbonara = ricettaService.creaRicetta("Carbonara", testChef);
+        Ricetta amatriciana = ricettaService.creaRicetta("Amatriciana", testChef);
+        Ricetta gricia = ricettaService.creaRicetta("Gricia", testChef);
+        
+        // Act
+        ricettaService.pubblicaRicetta(carbonara);
+        ricettaService.pubblicaRicetta(amatriciana);
+        amatriciana.setInUso(true);
+        ricettaService.aggiornaRicetta(amatriciana);
+        ricettaService.eliminaRicetta(gricia);
+        
+        // Assert - le viste sono condivise e già aggiornate
+        assertSame(pubblicate, ricettaService.getRicettePubblicate());
+        assertTrue(pubblicate.containsAll(List.of(carbonara, amatriciana)));
+        assertFalse(inBozza.contains(carbonara));
+        assertFalse(inBozza.contains(gricia));
+        assertTrue(inUso.contains(amatriciana));
+        assertFalse(inUso.contains(carbonara));
+        assertThrows(UnsupportedOperationException.class, () -> pubblicate.add(gricia));
+    }
+    
     @Test
     @DisplayName("Test aggiornamento ricetta nulla")
     public void testAggiornaRicettaNulla() {
@@ -0,0 +1,63 @@
+package software.service.calendario;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlberoIntervalliTest {
+
+    @Test
+    @DisplayName("Test intervalli semiaperti adiacenti non sovrapposti")
+    public void testEstremi() {
+        // Arrange
+        AlberoIntervalli<Integer, String> albero = new AlberoIntervalli<>();
+        albero.inserisci(10, 20, "pranzo");
+        albero.inserisci(20, 30, "merenda");
+        albero.inserisci(5, 40, "giornata");
+
+        // Act & Assert
+        assertEquals(List.of("giornata", "pranzo"), albero.sovrapposti(15, 20));
+        assertEquals(List.of("giornata", "merenda"), albero.sovrapposti(20, 21));
+        assertEquals(List.of(), albero.sovrapposti(40, 50));
+        assertEquals(List.of("giornata", "pranzo", "merenda"), albero.valori());
+    }
+
+    @Test
+    @DisplayName("Test coerenza con la ricerca lineare dopo inserimenti e rimozioni casuali")
+    public void testConfrontoRicercaLineare() {
+        // Arrange
+        AlberoIntervalli<Integer, Integer> albero = new AlberoIntervalli<>();
+        List<AlberoIntervalli.Intervallo<Integer, Integer>> presenti = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            if (presenti.isEmpty() || random.nextInt(3) > 0) {
+                int inizio = random.nextInt(1_000);
+                presenti.add(albero.inserisci(inizio, inizio + random.nextInt(50), i));
+            } else {
+                assertTrue(albero.rimuovi(presenti.remove(random.nextInt(presenti.size()))));
+            }
+
+            // Act & Assert - ogni tanto confronta una ricerca con la scansione completa
+            if (i % 100 == 0) {
+                int da = random.nextInt(1_000);
+                int a = da + random.nextInt(100);
+                List<Integer> attesi = new ArrayList<>();
+                for (AlberoIntervalli.Intervallo<Integer, Integer> intervallo : presenti) {
+                    if (intervallo.getInizio() < a && intervallo.getFine() > da) {
+                        attesi.add(intervallo.getValore());
+                    }
+                }
+                List<Integer> trovati = albero.sovrapposti(da, a);
+                assertEquals(attesi.size(), trovati.size());
+                assertTrue(trovati.containsAll(attesi));
+            }
+        }
+        assertEquals(presenti.size(), albero.size());
+    }
+}
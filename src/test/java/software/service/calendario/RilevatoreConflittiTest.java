@@ -0,0 +1,134 @@
+package software.service.calendario;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import software.domain.compiti.Compito;
+import software.domain.compiti.Turno;
+import software.domain.eventi.Evento;
+import software.domain.eventi.Servizio;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.domain.utenti.Cuoco;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RilevatoreConflittiTest {
+
+    private LocalDate sabato;
+    private CalendarioEventi calendario;
+    private ObservableList<Turno> turni;
+    private ObservableList<Compito> compiti;
+    private RilevatoreConflitti rilevatore;
+    private Chef chef;
+    private Cuoco luigi;
+
+    @BeforeEach
+    public void setup() {
+        sabato = LocalDate.of(2025, 6, 7);
+        calendario = new CalendarioEventi();
+        turni = FXCollections.observableArrayList();
+        compiti = FXCollections.observableArrayList();
+        rilevatore = new RilevatoreConflitti(calendario, turni, compiti);
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        luigi = new Cuoco(2, "Luigi", "Verdi", "luigi@example.com", "987654321");
+    }
+
+    private Evento creaEvento(int id, String luogo, Servizio... servizi) {
+        Evento evento = new Evento(id, "Evento " + id, sabato, sabato, luogo, 100);
+        for (Servizio servizio : servizi) {
+            evento.aggiungiServizio(servizio);
+        }
+        calendario.aggiungi(evento);
+        return evento;
+    }
+
+    private Servizio creaServizio(int id, String luogo, int oraInizio, int oraFine) {
+        return new Servizio(id, "Servizio " + id, sabato.atTime(oraInizio, 0), sabato.atTime(oraFine, 0), luogo);
+    }
+
+    private Turno creaTurno(int id, int oraInizio, int oraFine, String cucina) {
+        Turno turno = new Turno(id, sabato, LocalTime.of(oraInizio, 0), LocalTime.of(oraFine, 0), cucina, "Preparatorio");
+        turni.add(turno);
+        return turno;
+    }
+
+    @Test
+    @DisplayName("Test conflitto di luogo tra servizi dello stesso sito")
+    public void testConflittoLuogo() {
+        // Arrange - la stessa sala in due siti diversi non è un conflitto
+        Servizio pranzo = creaServizio(1, "Sala Principale", 12, 16);
+        Servizio rinfresco = creaServizio(2, "Sala Principale", 15, 18);
+        Servizio altrove = creaServizio(3, "Sala Principale", 12, 16);
+        Servizio cena = creaServizio(4, "Sala Principale", 16, 20);
+        creaEvento(1, "Villa Aurora", pranzo, cena);
+        creaEvento(2, "Villa Aurora", rinfresco);
+        creaEvento(3, "Hotel Excelsior", altrove);
+
+        // Act
+        List<Conflitto> conflitti = rilevatore.rileva(sabato.atStartOfDay(), sabato.plusDays(1).atStartOfDay());
+
+        // Assert - rinfresco si sovrappone a pranzo (15-16) e cena (16-18)
+        assertEquals(2, conflitti.size());
+        assertTrue(conflitti.stream().allMatch(c -> c.getTipo() == Conflitto.Tipo.LUOGO && c.coinvolge(rinfresco)));
+        assertEquals(2, rilevatore.verifica(rinfresco).size());
+        assertEquals(1, rilevatore.verifica(pranzo).size());
+        assertTrue(rilevatore.verifica(altrove).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test conflitti di personale e di cucina tra turni")
+    public void testConflittiTurni() {
+        // Arrange
+        Turno mattina = creaTurno(1, 8, 12, "Cucina A");
+        Turno tarda = creaTurno(2, 11, 15, "Cucina B");
+        Turno sera = creaTurno(3, 18, 22, "Cucina A");
+        compiti.add(new Compito(1, new Ricetta(1, "Brodo", chef), luigi, mattina.getEtichetta(), 60, 1));
+        Compito risotto = new Compito(2, new Ricetta(2, "Risotto", chef), luigi, sera.getEtichetta(), 30, 1);
+        compiti.add(risotto);
+        assertTrue(rilevatore.rileva(sabato.atStartOfDay(), sabato.plusDays(1).atStartOfDay()).isEmpty());
+
+        // Act - il risotto viene spostato nel turno che si sovrappone alla mattina
+        risotto.setTurno(tarda.getEtichetta());
+        sera.aggiornaOrario(LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        // Assert
+        List<Conflitto> conflitti = rilevatore.rileva(sabato.atStartOfDay(), sabato.plusDays(1).atStartOfDay());
+        assertEquals(2, conflitti.size());
+        Conflitto personale = rilevatore.verifica(risotto).get(0);
+        assertEquals(Conflitto.Tipo.PERSONALE, personale.getTipo());
+        assertEquals("Luigi Verdi", personale.getRisorsa());
+        assertEquals(LocalDateTime.of(sabato, LocalTime.of(11, 0)), personale.getInizio());
+        assertEquals(LocalDateTime.of(sabato, LocalTime.of(12, 0)), personale.getFine());
+        List<Conflitto> cucina = rilevatore.verifica(sera);
+        assertEquals(1, cucina.size());
+        assertEquals(Conflitto.Tipo.ATTREZZATURA, cucina.get(0).getTipo());
+        assertTrue(cucina.get(0).coinvolge(mattina));
+    }
+
+    @Test
+    @DisplayName("Test servizi reindicizzati sia dai setter sia dalle proprietà")
+    public void testOrariAggiornati() {
+        // Arrange
+        Servizio pranzo = creaServizio(1, "Sala Principale", 12, 16);
+        Servizio cena = creaServizio(2, "Sala Principale", 18, 22);
+        creaEvento(1, "Villa Aurora", pranzo, cena);
+        assertTrue(rilevatore.verifica(cena).isEmpty());
+
+        // Act & Assert - il setter avvisa il calendario senza creare la proprietà
+        cena.setDataOraInizio(sabato.atTime(15, 0));
+        assertEquals(1, rilevatore.verifica(cena).size());
+
+        // Act & Assert - una modifica dalla proprietà, come da un binding dell'interfaccia
+        cena.dataOraInizioProperty().set(sabato.atTime(17, 0));
+        assertTrue(rilevatore.verifica(cena).isEmpty());
+        assertEquals(List.of(cena), calendario.getServiziSovrapposti(sabato.atTime(17, 0), sabato.atTime(18, 0)));
+    }
+}
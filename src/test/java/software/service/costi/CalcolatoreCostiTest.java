@@ -0,0 +1,120 @@
+package software.service.costi;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.domain.eventi.Evento;
+import software.domain.eventi.Servizio;
+import software.domain.menu.Menu;
+import software.domain.ricette.Ingrediente;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalcolatoreCostiTest {
+
+    private Chef chef;
+    private Ricetta risotto;
+    private Ricetta tiramisu;
+    private ListinoPrezzi listino;
+    private CalcolatoreCosti calcolatore;
+
+    @BeforeEach
+    public void setup() {
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        risotto = new Ricetta(1, "Risotto ai funghi", chef);
+        risotto.setPorzioni(4);
+        risotto.aggiungiIngrediente(new Ingrediente("Riso Carnaroli", 320, "g"));
+        risotto.aggiungiIngrediente(new Ingrediente("Funghi porcini", 200, "g"));
+        tiramisu = new Ricetta(2, "Tiramisù", chef);
+        tiramisu.setPorzioni(8);
+        tiramisu.aggiungiIngrediente(new Ingrediente("Mascarpone", 500, "g"));
+        tiramisu.aggiungiIngrediente(new Ingrediente("Uova", 4, "pz"));
+
+        listino = new ListinoPrezzi();
+        listino.impostaPrezzo("riso carnaroli", "g", 0.005);
+        listino.impostaPrezzo(" Funghi  porcini ", "G", 0.04);
+        listino.impostaPrezzo("Mascarpone", "g", 0.012);
+        listino.impostaPrezzo("Uova", "pz", 0.3);
+        calcolatore = new CalcolatoreCosti(listino);
+    }
+
+    private Menu creaMenu() {
+        Menu menu = new Menu(1, chef);
+        menu.definisciSezioni(List.of("Primi", "Dessert"));
+        menu.inserisciRicetta(risotto, menu.getSezioni().get(0));
+        menu.inserisciRicetta(tiramisu, menu.getSezioni().get(1));
+        return menu;
+    }
+
+    @Test
+    @DisplayName("Test costo di ricette, sezioni, menu ed eventi")
+    public void testCosti() {
+        // Arrange
+        Menu menu = creaMenu();
+        LocalDate data = LocalDate.of(2025, 6, 7);
+        Evento evento = new Evento(1, "Matrimonio", data, data, "Villa Aurora", 100);
+        Servizio cena = new Servizio(1, "Cena", data.atTime(19, 0), data.atTime(23, 0), "Sala");
+        cena.setMenu(menu);
+        evento.aggiungiServizio(cena);
+        evento.aggiungiServizio(new Servizio(2, "Aperitivo", data.atTime(18, 0), data.atTime(19, 0), "Giardino"));
+
+        // Act
+        CostoRicetta costoRisotto = calcolatore.costoRicetta(risotto);
+
+        // Assert - 320 * 0.005 + 200 * 0.04 = 9.6 per 4 porzioni
+        assertEquals(9.6, costoRisotto.getTotale(), 1e-9);
+        assertEquals(2.4, costoRisotto.getCostoPorzione(), 1e-9);
+        assertTrue(costoRisotto.isCompleto());
+        // Tiramisù: (500 * 0.012 + 4 * 0.3) / 8 = 0.9 per porzione
+        assertEquals(0.9, calcolatore.costoSezione(menu.getSezioni().get(1)), 1e-9);
+        assertEquals(3.3, calcolatore.costoMenu(menu), 1e-9);
+        assertEquals(330, calcolatore.costoEvento(evento), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test costi memorizzati e invalidati solo per le ricette cambiate")
+    public void testInvalidazione() {
+        // Arrange
+        Menu menu = creaMenu();
+        calcolatore.costoMenu(menu, 100);
+        int ricalcoliIniziali = calcolatore.getNumeroRicalcoli();
+
+        // Act & Assert - un secondo preventivo non ricalcola nulla
+        calcolatore.costoMenu(menu, 200);
+        assertEquals(ricalcoliIniziali, calcolatore.getNumeroRicalcoli());
+
+        // Il prezzo dei funghi riguarda solo il risotto
+        listino.impostaPrezzo("Funghi porcini", "g", 0.05);
+        assertEquals(3.8, calcolatore.costoMenu(menu), 1e-9);
+        assertEquals(ricalcoliIniziali + 1, calcolatore.getNumeroRicalcoli());
+
+        // Una modifica della ricetta invalida solo il suo costo
+        tiramisu.setPorzioni(10);
+        assertEquals(2.9 + 0.72, calcolatore.costoMenu(menu), 1e-9);
+        assertEquals(ricalcoliIniziali + 2, calcolatore.getNumeroRicalcoli());
+    }
+
+    @Test
+    @DisplayName("Test ingredienti senza prezzo")
+    public void testIngredientiSenzaPrezzo() {
+        // Arrange
+        risotto.aggiungiIngrediente(new Ingrediente("Zafferano", 1, "bustina"));
+
+        // Act
+        CostoRicetta senzaZafferano = calcolatore.costoRicetta(risotto);
+        listino.impostaPrezzo("zafferano", "bustina", 1.5);
+        CostoRicetta conZafferano = calcolatore.costoRicetta(risotto);
+
+        // Assert
+        assertEquals(List.of("Zafferano (bustina)"), senzaZafferano.getIngredientiSenzaPrezzo());
+        assertEquals(9.6, senzaZafferano.getTotale(), 1e-9);
+        assertTrue(conZafferano.isCompleto());
+        assertEquals(11.1, conZafferano.getTotale(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> listino.impostaPrezzo("Sale", "g", -1));
+    }
+}
@@ -0,0 +1,121 @@
+package software.service.pianificazione;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import software.domain.compiti.Compito;
+import software.domain.compiti.StatoCompito;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.domain.utenti.Cuoco;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DispatcherCompitiTest {
+
+    private Chef chef;
+    private Cuoco luigi;
+    private Cuoco anna;
+    private Compito brodo;
+    private Compito risotto;
+    private Compito insalata;
+    private DispatcherCompiti dispatcher;
+
+    @BeforeEach
+    public void setup() {
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        luigi = new Cuoco(2, "Luigi", "Verdi", "luigi@example.com", "987654321");
+        anna = new Cuoco(3, "Anna", "Neri", "anna@example.com", "555555555");
+
+        brodo = creaCompito(1, "Brodo vegetale", 90, luigi);
+        risotto = creaCompito(2, "Risotto ai funghi", 30, luigi);
+        insalata = creaCompito(3, "Insalata di riso", 20, null);
+        risotto.aggiungiDipendenza(brodo);
+
+        dispatcher = new DispatcherCompiti(Arrays.asList(brodo, risotto, insalata));
+    }
+
+    private Compito creaCompito(int id, String nomeRicetta, int durata, Cuoco cuoco) {
+        return new Compito(id, new Ricetta(id, nomeRicetta, chef), cuoco, "Mattina", durata, 1);
+    }
+
+    @Test
+    @DisplayName("Test compito bloccato finché la dipendenza non è completata")
+    public void testDipendenzaSbloccaCompito() {
+        // Assert - il risotto attende il brodo
+        assertEquals(brodo, dispatcher.prossimoCompito(luigi));
+        assertFalse(dispatcher.isPronto(risotto));
+
+        // Act
+        assertEquals(brodo, dispatcher.avviaProssimoCompito(luigi));
+        assertEquals(StatoCompito.IN_CORSO, brodo.getStato());
+        brodo.setStato(StatoCompito.COMPLETATO);
+
+        // Assert
+        assertTrue(dispatcher.isPronto(risotto));
+        assertEquals(risotto, dispatcher.prossimoCompito(luigi));
+    }
+
+    @Test
+    @DisplayName("Test compiti non più osservati dopo la chiusura")
+    public void testChiusura() {
+        // Act
+        dispatcher.chiudi();
+        brodo.setStato(StatoCompito.COMPLETATO);
+
+        // Assert - il dispatcher chiuso non riceve più le modifiche dei compiti
+        assertFalse(dispatcher.isPronto(risotto));
+        assertEquals(brodo, dispatcher.prossimoCompito(luigi));
+
+        // Un nuovo dispatcher chiuso con try-with-resources vede lo stato aggiornato
+        try (DispatcherCompiti nuovo = new DispatcherCompiti(Arrays.asList(brodo, risotto, insalata))) {
+            assertTrue(nuovo.isPronto(risotto));
+        }
+    }
+
+    @Test
+    @DisplayName("Test compiti non assegnati proposti a chi è libero")
+    public void testCompitiNonAssegnati() {
+        // Act
+        Compito compito = dispatcher.avviaProssimoCompito(anna);
+
+        // Assert
+        assertEquals(insalata, compito);
+        assertEquals(anna, insalata.getCuocoAssegnato());
+        assertNull(dispatcher.prossimoCompito(anna));
+        assertEquals(1, dispatcher.getNumeroCompitiPronti());
+    }
+
+    @Test
+    @DisplayName("Test priorità aggiornata al cambio di importanza")
+    public void testCambioImportanza() {
+        // Arrange - l'insalata passa a Luigi e diventa urgente
+        insalata.setCuocoAssegnato(luigi);
+        assertEquals(brodo, dispatcher.prossimoCompito(luigi), "Il brodo è critico e viene prima");
+
+        // Act
+        insalata.setImportanza(5);
+
+        // Assert
+        assertEquals(insalata, dispatcher.prossimoCompito(luigi));
+    }
+
+    @Test
+    @DisplayName("Test annullamento del completamento blocca di nuovo i dipendenti")
+    public void testAnnullaCompletamento() {
+        // Arrange
+        brodo.setStato(StatoCompito.COMPLETATO);
+        assertTrue(dispatcher.isPronto(risotto));
+
+        // Act
+        brodo.setStato(StatoCompito.IN_CORSO);
+
+        // Assert
+        assertFalse(dispatcher.isPronto(risotto));
+        dispatcher.chiudi();
+        brodo.setStato(StatoCompito.COMPLETATO);
+        assertFalse(dispatcher.isPronto(risotto), "Dopo la chiusura il dispatcher non osserva più i compiti");
+    }
+}
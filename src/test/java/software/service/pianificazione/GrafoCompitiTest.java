@@ -0,0 +1,109 @@
+package software.service.pianificazione;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import software.domain.compiti.Compito;
+import software.domain.exceptions.DomainException;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GrafoCompitiTest {
+
+    private Chef chef;
+    private Compito brodo;
+    private Compito risotto;
+    private Compito crema;
+    private Compito tiramisu;
+
+    @BeforeEach
+    public void setup() {
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        brodo = creaCompito(1, "Brodo vegetale", 90);
+        risotto = creaCompito(2, "Risotto ai funghi", 30);
+        crema = creaCompito(3, "Crema al mascarpone", 20);
+        tiramisu = creaCompito(4, "Tiramisù", 40);
+
+        risotto.aggiungiDipendenza(brodo);
+        tiramisu.aggiungiDipendenza(crema);
+    }
+
+    private Compito creaCompito(int id, String nomeRicetta, int durata) {
+        return new Compito(id, new Ricetta(id, nomeRicetta, chef), null, null, durata, 1);
+    }
+
+    @Test
+    @DisplayName("Test ordinamento topologico rispetta le dipendenze")
+    public void testOrdinamentoTopologico() {
+        // Act
+        List<Compito> ordinati = new GrafoCompiti(Arrays.asList(risotto, tiramisu, brodo, crema))
+            .ordinamentoTopologico();
+
+        // Assert
+        assertEquals(4, ordinati.size());
+        assertTrue(ordinati.indexOf(brodo) < ordinati.indexOf(risotto), "Il brodo deve precedere il risotto");
+        assertTrue(ordinati.indexOf(crema) < ordinati.indexOf(tiramisu), "La crema deve precedere il tiramisù");
+    }
+
+    @Test
+    @DisplayName("Test ordinamento topologico stabile rispetto all'ordine di partenza")
+    public void testOrdinamentoTopologicoStabile() {
+        // Act - il risotto si libera dopo la crema ma la precede nella collezione
+        List<Compito> ordinati = new GrafoCompiti(Arrays.asList(brodo, risotto, crema, tiramisu))
+            .ordinamentoTopologico();
+
+        // Assert
+        assertEquals(Arrays.asList(brodo, risotto, crema, tiramisu), ordinati);
+    }
+
+    @Test
+    @DisplayName("Test calcolo percorso critico e slack")
+    public void testPercorsoCritico() {
+        // Act
+        PercorsoCritico percorso = new GrafoCompiti(Arrays.asList(brodo, risotto, crema, tiramisu))
+            .calcolaPercorsoCritico();
+
+        // Assert
+        assertEquals(120, percorso.getDurataTotale(), "Brodo (90) + risotto (30) è la catena più lunga");
+        assertEquals(Arrays.asList(brodo, risotto), percorso.getCatenaCritica());
+        assertTrue(percorso.isCritico(brodo));
+        assertTrue(percorso.isCritico(risotto));
+        assertEquals(90, percorso.getInizioAlPiuPresto(risotto));
+        assertEquals(60, percorso.getSlack(crema), "Crema e tiramisù possono slittare di 60 minuti");
+        assertEquals(60, percorso.getSlack(tiramisu));
+        assertEquals(80, percorso.getInizioAlPiuTardi(tiramisu));
+    }
+
+    @Test
+    @DisplayName("Test rilevamento ciclo tra dipendenze")
+    public void testRilevamentoCiclo() {
+        // Arrange - il brodo dipende dal risotto che dipende dal brodo
+        brodo.aggiungiDipendenza(risotto);
+        GrafoCompiti grafo = new GrafoCompiti(Arrays.asList(brodo, risotto, crema, tiramisu));
+
+        // Act & Assert
+        assertTrue(grafo.contieneCicli());
+        List<Compito> ciclo = grafo.trovaCiclo();
+        assertEquals(2, ciclo.size());
+        assertTrue(ciclo.containsAll(Arrays.asList(brodo, risotto)));
+        assertThrows(DomainException.class, grafo::ordinamentoTopologico);
+        assertThrows(DomainException.class, grafo::calcolaPercorsoCritico);
+    }
+
+    @Test
+    @DisplayName("Test dipendenze verso compiti esterni al grafo ignorate")
+    public void testDipendenzeEsterne() {
+        // Act - il brodo non fa parte del grafo
+        PercorsoCritico percorso = new GrafoCompiti(Arrays.asList(risotto)).calcolaPercorsoCritico();
+
+        // Assert
+        assertEquals(30, percorso.getDurataTotale());
+        assertEquals(0, percorso.getInizioAlPiuPresto(risotto));
+        assertFalse(percorso.contiene(brodo));
+    }
+}
@@ -0,0 +1,88 @@
+package software.service.pianificazione;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import software.domain.compiti.Compito;
+import software.domain.compiti.StatoCompito;
+import software.domain.eventi.Evento;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.domain.utenti.Cuoco;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MonitorAvanzamentoTest {
+
+    private MonitorAvanzamento monitor;
+    private Evento evento;
+    private Cuoco luigi;
+    private Cuoco anna;
+    private Compito brodo;
+    private Compito risotto;
+
+    @BeforeEach
+    public void setup() {
+        Chef chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        luigi = new Cuoco(2, "Luigi", "Verdi", "luigi@example.com", "987654321");
+        anna = new Cuoco(3, "Anna", "Bianchi", "anna@example.com", "555555555");
+        evento = new Evento(1, "Matrimonio", LocalDate.now(), LocalDate.now(), "Villa", 100);
+        brodo = new Compito(1, new Ricetta(1, "Brodo vegetale", chef), luigi, "Mattina", 90, 1);
+        risotto = new Compito(2, new Ricetta(2, "Risotto ai funghi", chef), luigi, "Mattina", 30, 1);
+
+        monitor = new MonitorAvanzamento();
+        monitor.associaEvento(brodo, evento);
+        monitor.associaEvento(risotto, evento);
+    }
+
+    @Test
+    @DisplayName("Test contatori aggiornati al cambio di stato")
+    public void testCambioStato() {
+        // Act
+        brodo.setStato(StatoCompito.COMPLETATO);
+        risotto.setStato(StatoCompito.IN_CORSO);
+
+        // Assert
+        ContatoreAvanzamento avanzamento = monitor.getAvanzamentoEvento(evento);
+        assertEquals(2, avanzamento.getTotale());
+        assertEquals(1, avanzamento.getNumero(StatoCompito.COMPLETATO));
+        assertEquals(1, avanzamento.getNumero(StatoCompito.IN_CORSO));
+        assertEquals(0, avanzamento.getDaAvviare());
+        assertEquals(50, avanzamento.getPercentualeCompletamento());
+        assertEquals(50, monitor.getAvanzamentoTurno("Mattina").getPercentualeCompletamento());
+        assertEquals(50, monitor.getAvanzamentoGlobale().getPercentualeCompletamento());
+    }
+
+    @Test
+    @DisplayName("Test spostamento di un compito tra cuochi e turni")
+    public void testSpostamento() {
+        // Arrange
+        brodo.setStato(StatoCompito.COMPLETATO);
+
+        // Act
+        brodo.setCuocoAssegnato(anna);
+        brodo.setTurno("Pomeriggio");
+
+        // Assert
+        assertEquals(1, monitor.getAvanzamentoCuoco(luigi).getTotale());
+        assertEquals(0, monitor.getAvanzamentoCuoco(luigi).getNumero(StatoCompito.COMPLETATO));
+        assertEquals(1, monitor.getAvanzamentoCuoco(anna).getNumero(StatoCompito.COMPLETATO));
+        assertEquals(1, monitor.getAvanzamentoTurno("Mattina").getTotale());
+        assertEquals(100, monitor.getAvanzamentoTurno("Pomeriggio").getPercentualeCompletamento());
+    }
+
+    @Test
+    @DisplayName("Test rimozione di un compito dal monitor")
+    public void testRimozione() {
+        // Act
+        monitor.associaEvento(brodo, evento); // associazione ripetuta senza effetto
+        monitor.rimuovi(brodo);
+        brodo.setStato(StatoCompito.COMPLETATO);
+
+        // Assert
+        assertEquals(1, monitor.getAvanzamentoEvento(evento).getTotale());
+        assertEquals(0, monitor.getAvanzamentoGlobale().getNumero(StatoCompito.COMPLETATO));
+    }
+}
@@ -0,0 +1,109 @@
+package software.service.pianificazione;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import software.domain.compiti.Compito;
+import software.domain.compiti.Turno;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.domain.utenti.Cuoco;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulazionePianoTest {
+
+    private Cuoco luigi;
+    private Cuoco anna;
+    private Turno mattina;
+    private String etichettaMattina;
+    private Compito brodo;
+    private Compito risotto;
+    private Compito tiramisu;
+    private SimulazionePiano simulazione;
+
+    @BeforeEach
+    public void setup() {
+        Chef chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        luigi = new Cuoco(2, "Luigi", "Verdi", "luigi@example.com", "987654321");
+        anna = new Cuoco(3, "Anna", "Bianchi", "anna@example.com", "555555555");
+        mattina = new Turno(1, LocalDate.of(2025, 6, 1), LocalTime.of(8, 0), LocalTime.of(12, 0), "Cucina", "Preparazione");
+        etichettaMattina = mattina.getEtichetta();
+
+        brodo = new Compito(1, new Ricetta(1, "Brodo vegetale", chef), luigi, etichettaMattina, 90, 10);
+        risotto = new Compito(2, new Ricetta(2, "Risotto ai funghi", chef), luigi, etichettaMattina, 30, 10);
+        tiramisu = new Compito(3, new Ricetta(3, "Tiramisù", chef), luigi, etichettaMattina, 60, 10);
+        risotto.aggiungiDipendenza(brodo);
+
+        simulazione = new SimulazionePiano(Arrays.asList(brodo, risotto, tiramisu),
+                                           Collections.singletonList(mattina), 50);
+    }
+
+    @Test
+    @DisplayName("Test calcolo del piano senza modifiche")
+    public void testPianoIniziale() {
+        // Act
+        RisultatoSimulazione risultato = simulazione.calcola();
+
+        // Assert
+        assertEquals(180, risultato.getCaricoTurno(etichettaMattina));
+        assertEquals(240, risultato.getCapacitaTurno(etichettaMattina));
+        assertTrue(risultato.getTurniSovraccarichi().isEmpty());
+        assertEquals(120, risultato.getPercorsoCritico().getDurataTotale());
+        assertEquals(180, risultato.getTempoCompletamento(), "Luigi da solo lavora 180 minuti");
+    }
+
+    @Test
+    @DisplayName("Test spostamento di un cuoco senza toccare il piano reale")
+    public void testSpostaCuoco() {
+        // Act
+        RisultatoSimulazione risultato = simulazione.assegnaCuoco(tiramisu, anna).calcola();
+
+        // Assert
+        assertEquals(120, risultato.getTempoCompletamento());
+        assertEquals(60, risultato.getCaricoCuochi().get(anna));
+        assertEquals(luigi, tiramisu.getCuocoAssegnato(), "Il compito reale non deve cambiare");
+        assertEquals(1, simulazione.getNumeroModifiche());
+    }
+
+    @Test
+    @DisplayName("Test turno accorciato e ospiti aggiuntivi")
+    public void testTurnoEOspiti() {
+        // Act - il turno perde un'ora e gli ospiti passano da 50 a 100
+        RisultatoSimulazione risultato = simulazione
+            .accorciaTurno(mattina, 60)
+            .aggiungiOspiti(50)
+            .calcola();
+
+        // Assert
+        assertEquals(180, risultato.getCapacitaTurno(etichettaMattina));
+        assertEquals(360, risultato.getCaricoTurno(etichettaMattina));
+        assertEquals(Collections.singletonList(etichettaMattina), risultato.getTurniSovraccarichi());
+        assertEquals(240, risultato.getPercorsoCritico().getDurataTotale());
+        assertEquals(90, brodo.getDurata(), "Il compito reale non deve cambiare");
+    }
+
+    @Test
+    @DisplayName("Test diramazioni indipendenti")
+    public void testDiramazioni() {
+        // Arrange
+        simulazione.modificaDurata(brodo, 60);
+
+        // Act
+        SimulazionePiano conAnna = simulazione.dirama().assegnaCuoco(tiramisu, anna);
+        SimulazionePiano brodoLungo = simulazione.dirama().modificaDurata(brodo, 120);
+
+        // Assert
+        assertEquals(60, conAnna.getCompito(brodo).getDurata(), "La diramazione eredita le modifiche");
+        assertEquals(90, conAnna.calcola().getTempoCompletamento());
+        assertEquals(luigi, brodoLungo.getCompito(tiramisu).getCuocoAssegnato());
+        assertEquals(150, brodoLungo.calcola().getPercorsoCritico().getDurataTotale());
+        assertEquals(60, simulazione.getCompito(brodo).getDurata(), "L'originale non vede le diramazioni");
+        assertSame(tiramisu, simulazione.getCompito(tiramisu), "I compiti non modificati sono condivisi");
+    }
+}
@@ -0,0 +1,103 @@
+package software.service.previsioni;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import software.domain.eventi.Evento;
+import software.domain.eventi.Servizio;
+import software.domain.exceptions.DomainException;
+import software.domain.menu.Menu;
+import software.domain.ricette.Ingrediente;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrevisoreDomandaTest {
+
+    private Chef chef;
+    private Ricetta risotto;
+    private PrevisoreDomanda previsore;
+
+    @BeforeEach
+    public void setup() {
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        risotto = new Ricetta(1, "Risotto ai funghi", chef);
+        risotto.setPorzioni(4);
+        risotto.aggiungiIngrediente(new Ingrediente("Riso", 320, "g"));
+        risotto.aggiungiIngrediente(new Ingrediente("Funghi", 200, "g"));
+        previsore = new PrevisoreDomanda(1.0);
+    }
+
+    private Evento creaEvento(int id, int ospiti, String stato) {
+        LocalDate data = LocalDate.of(2025, 6, id);
+        Evento evento = new Evento(id, "Evento " + id, data, data, "Villa Aurora", ospiti);
+        evento.setStato(stato);
+        return evento;
+    }
+
+    private Servizio creaServizio(Evento evento, String tipo) {
+        LocalDate data = evento.getDataInizio();
+        Servizio servizio = new Servizio(evento.getId(), tipo, data.atTime(12, 0), data.atTime(15, 0), "Sala");
+        evento.aggiungiServizio(servizio);
+        return servizio;
+    }
+
+    @Test
+    @DisplayName("Test previsione lineare dai consumi registrati")
+    public void testPrevisioneLineare() {
+        // Arrange - a pranzo si consumano 10 porzioni fisse più 0.5 per ospite
+        for (int ospiti : new int[] {40, 80, 120}) {
+            Evento evento = creaEvento(ospiti / 40, ospiti, "Concluso");
+            previsore.registraConsumo(evento, creaServizio(evento, "Pranzo"), risotto, 10 + 0.5 * ospiti);
+        }
+
+        // Act & Assert
+        assertEquals(3, previsore.getNumeroOsservazioni(risotto));
+        assertEquals(60, previsore.prevediPorzioni(risotto, "Pranzo", 100), 1e-6);
+        assertEquals(60, previsore.prevediPorzioni(risotto, "Cena", 100), 1e-6,
+                     "Senza dati per il tipo di servizio si usano tutti i consumi della ricetta");
+        assertEquals(100, previsore.prevediPorzioni(new Ricetta(2, "Tiramisù", chef), "Pranzo", 100), 1e-6,
+                     "Senza dati si prevede una porzione per ospite");
+    }
+
+    @Test
+    @DisplayName("Test consumi di eventi non conclusi rifiutati")
+    public void testEventoNonConcluso() {
+        // Arrange
+        Evento evento = creaEvento(1, 50, "Confermato");
+        Servizio pranzo = creaServizio(evento, "Pranzo");
+
+        // Act & Assert
+        assertThrows(DomainException.class, () -> previsore.registraConsumo(evento, pranzo, risotto, 40));
+        assertEquals(0, previsore.getNumeroOsservazioni(risotto));
+    }
+
+    @Test
+    @DisplayName("Test fabbisogno ingredienti per una stagione di eventi")
+    public void testPrevisioneStagione() {
+        // Arrange - si consuma sempre mezza porzione per ospite
+        Evento passato = creaEvento(1, 60, "Concluso");
+        previsore.registraConsumo(passato, creaServizio(passato, "Pranzo"), risotto, 30);
+
+        Menu menu = new Menu(1, chef);
+        menu.definisciSezioni(List.of("Primi"));
+        menu.inserisciRicetta(risotto, menu.getSezioni().get(0));
+        Evento primo = creaEvento(10, 40, "Confermato");
+        Evento secondo = creaEvento(11, 80, "Confermato");
+        creaServizio(primo, "Pranzo").setMenu(menu);
+        creaServizio(secondo, "Pranzo").setMenu(menu);
+
+        // Act
+        PrevisioneFabbisogno fabbisogno = previsore.prevediStagione(List.of(primo, secondo));
+
+        // Assert - 60 porzioni, cioè 15 volte le dosi per 4 porzioni
+        assertEquals(60, fabbisogno.getPorzioni(risotto), 1e-6);
+        assertEquals(4800, fabbisogno.getQuantitaIngrediente("Riso", "g"), 1e-6);
+        assertEquals(3000, fabbisogno.getQuantitaIngrediente("Funghi", "g"), 1e-6);
+        assertEquals(2, fabbisogno.getFabbisognoIngredienti().size());
+    }
+}
@@ -0,0 +1,229 @@
+package software.service.pubblicazione;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.domain.exceptions.DomainException;
+import software.domain.menu.Menu;
+import software.domain.ricette.Ricetta;
+import software.domain.ricette.Tag;
+import software.domain.utenti.Chef;
+import software.service.MenuService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PubblicatoreMenuTest {
+
+    @TempDir
+    Path cartella;
+
+    private Chef chef;
+    private Menu menu;
+    private PubblicatoreMenu pubblicatore;
+
+    @BeforeEach
+    public void setup() {
+        chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        Ricetta risotto = new Ricetta(1, "Risotto ai funghi", chef);
+        risotto.setDescrizione("Mantecato, con \"porcini\" freschi");
+        risotto.setTempoPreparazione(40);
+        risotto.aggiungiTag(Tag.di("Vegetariano"));
+        risotto.aggiungiTag(Tag.di("Senza glutine"));
+        Ricetta torta = new Ricetta(2, "Torta <fragole> & panna", chef);
+        torta.setTempoPreparazione(60);
+
+        menu = new Menu(7, chef);
+        menu.setTitolo("Cena d'estate");
+        menu.definisciSezioni(List.of("Primi", "Dessert"));
+        menu.inserisciRicetta(risotto, menu.getSezioni().get(0));
+        menu.inserisciRicetta(torta, menu.getSezioni().get(1));
+
+        pubblicatore = new PubblicatoreMenu(cartella, 2);
+    }
+
+    @AfterEach
+    public void chiudi() {
+        pubblicatore.chiudi();
+    }
+
+    private String scrivi(String formato) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pubblicatore.getScrittore(formato).scrivi(FotografiaMenu.di(menu), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Test contenuto dei formati disponibili")
+    public void testFormati() throws IOException {
+        // Act
+        JsonNode json = new ObjectMapper().readTree(scrivi("json"));
+        String html = scrivi("HTML");
+        String csv = scrivi("CSV");
+        String testo = scrivi("Testo");
+
+        // Assert
+        assertEquals(List.of("CSV", "HTML", "JSON", "TESTO"), List.copyOf(pubblicatore.getFormati()));
+        assertEquals(7, json.get("id").asInt());
+        assertEquals("Mario Rossi", json.get("creatore").asText());
+        JsonNode risotto = json.get("sezioni").get(0).get("piatti").get(0);
+        assertEquals("Mantecato, con \"porcini\" freschi", risotto.get("descrizione").asText());
+        assertEquals("Senza glutine", risotto.get("tag").get(1).asText());
+        assertTrue(html.contains("Torta &lt;fragole&gt; &amp; panna"));
+        assertTrue(html.contains("Cena d&#39;estate"));
+        assertTrue(csv.contains("Primi,Risotto ai funghi,\"Mantecato, con \"\"porcini\"\" freschi\",40,"
+                                + "\"Vegetariano;Senza glutine\"\r\n"));
+        assertTrue(testo.startsWith("Cena d'estate\n"));
+        assertTrue(testo.contains("Torta <fragole> & panna"));
+    }
+
+    @Test
+    @DisplayName("Test nomi mancanti lasciati vuoti in tutti i formati")
+    public void testNomiMancanti() throws IOException {
+        // Arrange - sezione e ricetta senza nome
+        Ricetta risotto = menu.getSezioni().get(0).getRicette().get(0);
+        Ricetta torta = menu.getSezioni().get(1).getRicette().get(0);
+        menu.definisciSezioni(Arrays.asList(null, "Dolci di stagione"));
+        risotto.setNome(null);
+        menu.inserisciRicetta(risotto, menu.getSezioni().get(0));
+        menu.inserisciRicetta(torta, menu.getSezioni().get(1));
+
+        // Act & Assert - nessun formato si interrompe
+        for (String formato : pubblicatore.getFormati()) {
+            assertFalse(scrivi(formato).isEmpty(), formato);
+        }
+        String testo = scrivi("Testo");
+        assertTrue(testo.contains("\n\n\n  - : Mantecato"));
+        assertTrue(testo.contains("DOLCI DI STAGIONE\n"));
+    }
+
+    @Test
+    @DisplayName("Test pubblicazione in parallelo a più destinatari")
+    public void testPubblicazioneDestinatari() throws IOException {
+        // Act
+        List<Path> file = pubblicatore.pubblica(menu, "JSON",
+            List.of("sala@example.com", "cucina@example.com", "Ufficio eventi"));
+
+        // Assert
+        assertEquals(cartella.resolve("sala@example.com").resolve("menu-7.json"), file.get(0));
+        assertEquals(cartella.resolve("Ufficio_eventi").resolve("menu-7.json"), file.get(2));
+        String atteso = scrivi("JSON");
+        for (Path f : file) {
+            assertEquals(atteso, Files.readString(f));
+        }
+        assertThrows(DomainException.class, () -> pubblicatore.pubblica(menu, "PDF", List.of("sala@example.com")));
+        assertThrows(DomainException.class, () -> pubblicatore.pubblica(menu, "CSV", List.of("..")));
+    }
+
+    @Test
+    @DisplayName("Test cartelle distinte per destinatari diversi e ripetuti")
+    public void testCartelleDestinatari() throws IOException {
+        // Act
+        List<Path> file = pubblicatore.pubblica(menu, "TESTO",
+            List.of("mario rossi", "mario_rossi", "Mario Rossi", "mario rossi"));
+
+        // Assert - "Mario Rossi" coinciderebbe con "mario rossi" su un file system che ignora le maiuscole
+        assertEquals(cartella.resolve("mario_rossi").resolve("menu-7.txt"), file.get(0));
+        assertEquals(cartella.resolve("mario%5Frossi").resolve("menu-7.txt"), file.get(1));
+        assertEquals(file.get(0), file.get(2));
+        assertEquals(file.get(0), file.get(3));
+        assertEquals(scrivi("TESTO"), Files.readString(file.get(1)));
+    }
+
+    @Test
+    @DisplayName("Test file sostituito solo a scrittura completata")
+    public void testScritturaAtomica() throws IOException {
+        // Arrange
+        Path file = cartella.resolve("sala@example.com").resolve("menu-7.txt");
+        new ScrittoreTesto().scrivi(FotografiaMenu.di(menu), file);
+        String precedente = Files.readString(file);
+        ScrittoreMenu interrotto = new ScrittoreTesto() {
+            @Override
+            protected void scrivi(FotografiaMenu fotografia, Writer out) throws IOException {
+                out.write("Menu a metà");
+                out.flush();
+                throw new IOException("connessione persa");
+            }
+        };
+
+        // Act
+        assertThrows(DomainException.class, () -> pubblicatore.pubblica(FotografiaMenu.di(menu), interrotto,
+            List.of(DestinazionePubblicazione.file(file))));
+
+        // Assert - il file precedente resta intatto e il temporaneo viene eliminato
+        assertEquals(precedente, Files.readString(file));
+        try (Stream<Path> contenuto = Files.list(file.getParent())) {
+            assertEquals(List.of(file), contenuto.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test errore di una destinazione senza interrompere le altre")
+    public void testDestinazioneNonScrivibile() {
+        // Arrange
+        ByteArrayOutputStream riuscita = new ByteArrayOutputStream();
+        DestinazionePubblicazione guasta = new DestinazionePubblicazione() {
+            @Override
+            public String getNome() {
+                return "guasta";
+            }
+
+            @Override
+            public OutputStream apri() throws IOException {
+                throw new IOException("disco pieno");
+            }
+        };
+        DestinazionePubblicazione buona = new DestinazionePubblicazione() {
+            @Override
+            public String getNome() {
+                return "buona";
+            }
+
+            @Override
+            public OutputStream apri() {
+                return riuscita;
+            }
+        };
+
+        // Act
+        DomainException errore = assertThrows(DomainException.class, () ->
+            pubblicatore.pubblica(FotografiaMenu.di(menu), new ScrittoreTesto(), List.of(guasta, buona)));
+
+        // Assert
+        assertTrue(errore.getMessage().contains("guasta"));
+        assertFalse(errore.getMessage().contains("buona"));
+        assertTrue(riuscita.size() > 0);
+    }
+
+    @Test
+    @DisplayName("Test pubblicazione dal servizio dei menu")
+    public void testPubblicazioneDalServizio() {
+        // Arrange
+        MenuService menuService = new MenuService();
+        menuService.setPubblicatore(pubblicatore);
+
+        // Act & Assert - un formato non supportato lascia il menu com'era
+        String statoIniziale = menu.getStato();
+        assertThrows(DomainException.class, () -> menuService.pubblicaMenu(menu, "PDF", List.of("sala@example.com")));
+        assertEquals(statoIniziale, menu.getStato());
+
+        menuService.pubblicaMenu(menu, "html", List.of("sala@example.com"));
+        assertEquals("Pubblicato", menu.getStato());
+        assertTrue(Files.exists(cartella.resolve("sala@example.com").resolve("menu-7.html")));
+    }
+}
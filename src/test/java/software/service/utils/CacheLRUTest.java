@@ -0,0 +1,48 @@
+package software.service.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheLRUTest {
+
+    @Test
+    @DisplayName("Test rimozione dell'elemento usato meno di recente")
+    public void testRimozioneLRU() {
+        // Arrange
+        CacheLRU<Integer, String> cache = new CacheLRU<>(2);
+        cache.put(1, "uno");
+        cache.put(2, "due");
+
+        // Act - l'accesso a 1 rende 2 il meno recente
+        cache.get(1);
+        cache.put(3, "tre");
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals("uno", cache.get(1));
+        assertEquals("tre", cache.get(3));
+    }
+
+    @Test
+    @DisplayName("Test elemento ancora in uso restituito dopo la rimozione")
+    public void testElementoInUso() {
+        // Arrange
+        CacheLRU<Integer, Object> cache = new CacheLRU<>(1);
+        Object inUso = cache.get(1, k -> new Object());
+
+        // Act
+        cache.get(2, k -> new Object());
+
+        // Assert - la stessa istanza, non una copia
+        assertEquals(1, cache.size());
+        assertSame(inUso, cache.get(1, k -> new Object()));
+    }
+
+    @Test
+    @DisplayName("Test capacità non valida")
+    public void testCapacitaNonValida() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheLRU<>(0));
+    }
+}
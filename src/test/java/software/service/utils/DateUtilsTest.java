@@ -0,0 +1,68 @@
+package software.service.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateUtilsTest {
+
+    @Test
+    @DisplayName("Test stream e iteratore coerenti con la lista di date")
+    public void testIntervalliDiDate() {
+        // Arrange
+        LocalDate inizio = LocalDate.of(2024, 2, 27);
+        LocalDate fine = LocalDate.of(2024, 3, 2);
+
+        // Act
+        List<LocalDate> lista = DateUtils.getDatesBetween(inizio, fine);
+        List<LocalDate> daStream = DateUtils.streamDatesBetween(inizio, fine).collect(Collectors.toList());
+        List<LocalDate> daIteratore = new ArrayList<>();
+        for (LocalDate data : DateUtils.datesBetween(inizio, fine)) {
+            daIteratore.add(data);
+        }
+
+        // Assert
+        assertEquals(5, lista.size());
+        assertEquals(lista, daStream);
+        assertEquals(lista, daIteratore);
+        assertEquals(0, DateUtils.streamDatesBetween(fine, inizio).count());
+        assertFalse(DateUtils.datesBetween(fine, inizio).iterator().hasNext());
+    }
+
+    @Test
+    @DisplayName("Test parser veloce di date coerente con LocalDate")
+    public void testParseEpochDay() {
+        // Act & Assert - un giorno ogni 37 tra il 1900 e il 2100
+        for (LocalDate data = LocalDate.of(1900, 1, 1); data.getYear() < 2100; data = data.plusDays(37)) {
+            assertEquals(data.toEpochDay(), DateUtils.parseEpochDay(DateUtils.formatDate(data)), data.toString());
+        }
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), DateUtils.parseEpochDay("29/02/2024"));
+    }
+
+    @Test
+    @DisplayName("Test parser veloce con input non validi")
+    public void testParseNonValidi() {
+        for (String input : new String[] {null, "", "1/1/2024", "29/02/2023", "31/04/2024", "00/01/2024",
+                                          "01/13/2024", "01-01-2024", "aa/01/2024", "01/01/0000"}) {
+            assertEquals(DateUtils.INVALID_DATE, DateUtils.parseEpochDay(input), String.valueOf(input));
+        }
+        for (String input : new String[] {null, "", "9:30", "24:00", "12:60", "12.30", "1a:00"}) {
+            assertEquals(DateUtils.INVALID_TIME, DateUtils.parseMinuteOfDay(input), String.valueOf(input));
+        }
+    }
+
+    @Test
+    @DisplayName("Test parser veloce di orari")
+    public void testParseMinuteOfDay() {
+        assertEquals(0, DateUtils.parseMinuteOfDay("00:00"));
+        assertEquals(LocalTime.of(23, 59).toSecondOfDay() / 60, DateUtils.parseMinuteOfDay("23:59"));
+        assertEquals(12 * 60 + 30, DateUtils.parseMinuteOfDay("12:30"));
+    }
+}
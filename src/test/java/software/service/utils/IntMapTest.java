@@ -0,0 +1,57 @@
+package software.service.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntMapTest {
+
+    @Test
+    @DisplayName("Test inserimento, ricerca e sostituzione")
+    public void testPutGet() {
+        // Arrange
+        IntMap<String> mappa = new IntMap<>();
+
+        // Act
+        mappa.put(1, "uno");
+        mappa.put(-7, "meno sette");
+        String precedente = mappa.put(1, "UNO");
+
+        // Assert
+        assertEquals("uno", precedente);
+        assertEquals("UNO", mappa.get(1));
+        assertEquals("meno sette", mappa.get(-7));
+        assertNull(mappa.get(2));
+        assertEquals(2, mappa.size());
+    }
+
+    @Test
+    @DisplayName("Test coerenza con HashMap dopo molte operazioni casuali")
+    public void testOperazioniCasuali() {
+        // Arrange
+        IntMap<Integer> mappa = new IntMap<>();
+        Map<Integer, Integer> attesa = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act - inserimenti e rimozioni su un intervallo ristretto per generare collisioni
+        for (int i = 0; i < 20_000; i++) {
+            int chiave = random.nextInt(500);
+            if (random.nextBoolean()) {
+                assertEquals(attesa.put(chiave, i), mappa.put(chiave, i));
+            } else {
+                assertEquals(attesa.remove(chiave), mappa.remove(chiave));
+            }
+        }
+
+        // Assert
+        assertEquals(attesa.size(), mappa.size());
+        for (int chiave = 0; chiave < 500; chiave++) {
+            assertEquals(attesa.get(chiave), mappa.get(chiave));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package software.ui.viewmodels;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import software.domain.menu.SezioneMenu;
+import software.domain.ricette.Ricetta;
+import software.domain.utenti.Chef;
+import software.service.RicettaService;
+import software.service.persistence.InMemoryRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SezioneMenuViewModelTest {
+
+    private RicettaService ricettaService;
+    private SezioneMenu sezione;
+    private Ricetta carbonara;
+    private Ricetta amatriciana;
+    private Ricetta gricia;
+
+    @BeforeEach
+    public void setup() {
+        Chef chef = new Chef(1, "Mario", "Rossi", "chef@example.com", "123456789");
+        ricettaService = new RicettaService(new InMemoryRepository<>("test-sezioni-menu", Ricetta.class, "id"));
+        carbonara = ricettaService.creaRicetta("Carbonara", chef);
+        amatriciana = ricettaService.creaRicetta("Amatriciana", chef);
+        gricia = ricettaService.creaRicetta("Gricia", chef);
+        sezione = new SezioneMenu(1, "Primi");
+    }
+
+    private List<Ricetta> ricette(SezioneMenuViewModel viewModel) {
+        return viewModel.getRicette().stream().map(RicettaViewModel::getRicetta).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Test lista allineata alle modifiche della sezione")
+    public void testAllineamentoSezione() {
+        // Arrange
+        sezione.aggiungiRicetta(gricia);
+        SezioneMenuViewModel viewModel = new SezioneMenuViewModel(sezione, ricettaService);
+
+        // Act
+        sezione.aggiungiRicetta(carbonara);
+        sezione.getRicette().add(0, amatriciana);
+        sezione.rimuoviRicetta(gricia);
+
+        // Assert - stesso ordine della sezione e stessi ViewModel del servizio
+        assertEquals(List.of(amatriciana, carbonara), ricette(viewModel));
+        assertSame(ricettaService.getViewModel(carbonara), viewModel.getRicette().get(1));
+
+        // Act - riordino
+        sezione.getRicette().sort((a, b) -> a.getNome().compareTo(b.getNome()));
+        sezione.getRicette().setAll(List.of(carbonara));
+
+        // Assert
+        assertEquals(List.of(carbonara), ricette(viewModel));
+    }
+
+    @Test
+    @DisplayName("Test sostituzione del ViewModel dopo l'aggiornamento della ricetta")
+    public void testAggiornamentoRicetta() {
+        // Arrange
+        sezione.aggiungiRicetta(carbonara);
+        sezione.aggiungiRicetta(amatriciana);
+        SezioneMenuViewModel viewModel = new SezioneMenuViewModel(sezione, ricettaService);
+
+        // Act
+        ricettaService.pubblicaRicetta(amatriciana);
+
+        // Assert
+        assertSame(ricettaService.getViewModel(amatriciana), viewModel.getRicette().get(1));
+        assertEquals("Pubblicata", viewModel.getRicette().get(1).getRicetta().getStato());
+        assertEquals(List.of(carbonara, amatriciana), ricette(viewModel));
+    }
+}